@@ -0,0 +1,171 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import battlecode.common.GameActionException;
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.Team;
+import battlecode.common.Transaction;
+import julianbot.robots.Robot;
+import julianbot.utils.blockchain.BidEstimator;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.Message;
+import julianbot.utils.blockchain.MessageHandler;
+import julianbot.utils.blockchain.Priority;
+import julianbot.utils.blockchain.StateDigest;
+import julianbot.utils.blockchain.TransactionCodec;
+import julianbot.utils.blockchain.TransactionWriter;
+
+/**
+ * Times reading one full block and writing one transaction's worth of messages.
+ * The controller is a stub that serves the same block every round, so only our own code is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommsBenchmark {
+
+	private static final long SEED = 2020;
+	private static final Robot.Type[] TYPES = Robot.Type.values();
+
+	/**
+	 * Blocks of our own transactions, of other teams' transactions, or alternating between the two.
+	 */
+	@Param({"ours", "foreign", "mixed"})
+	public String block;
+
+	private RobotController rc;
+	private BlockchainReader reader;
+	private TransactionWriter writer;
+	private ConsumingHandler handler;
+
+	@Setup(Level.Trial)
+	public void setUp(Blackhole blackhole) {
+		Random random = new Random(SEED);
+		Transaction[] transactions = new Transaction[GameConstants.NUMBER_OF_TRANSACTIONS_PER_BLOCK];
+		for(int i = 0; i < transactions.length; i++) {
+			boolean ours = block.equals("ours") || (block.equals("mixed") && i % 2 == 0);
+			transactions[i] = new Transaction(transactions.length - i, ours ? ourTransaction(random) : foreignTransaction(random), i);
+		}
+
+		rc = (RobotController) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {RobotController.class}, new BlockController(transactions));
+		BidEstimator bidEstimator = new BidEstimator();
+		reader = new BlockchainReader(1, Team.A, bidEstimator);
+		reader.subscribeForeignTransactions();
+		for(Robot.Type type : TYPES) {
+			reader.subscribe(type);
+		}
+		writer = new TransactionWriter(Team.A, bidEstimator);
+		handler = new ConsumingHandler(blackhole);
+	}
+
+	private static int[] ourTransaction(Random random) {
+		int[] transaction = new int[TransactionCodec.TRANSACTION_LENGTH];
+		for(int i = 0; i < TransactionCodec.MESSAGES_PER_TRANSACTION; i++) {
+			transaction[i] = TransactionCodec.packMessage(random.nextInt(TYPES.length), random.nextInt(SyntheticMaps.SIZE), random.nextInt(SyntheticMaps.SIZE), random.nextInt(TransactionCodec.MAX_PAYLOAD + 1));
+		}
+		TransactionCodec.seal(transaction, 1 + random.nextInt(GameConstants.GAME_MAX_NUMBER_OF_ROUNDS), TransactionCodec.teamKey(Team.A));
+		return transaction;
+	}
+
+	private static int[] foreignTransaction(Random random) {
+		int[] transaction = new int[GameConstants.MAX_BLOCKCHAIN_TRANSACTION_LENGTH];
+		for(int i = 0; i < transaction.length; i++) {
+			transaction[i] = random.nextInt();
+		}
+		return transaction;
+	}
+
+	/**
+	 * Each call reads the block for the round that just ended.
+	 */
+	@Benchmark
+	public void readBlock() throws GameActionException {
+		reader.read(rc, handler, 0, 0);
+	}
+
+	@Benchmark
+	public boolean writeTransaction() throws GameActionException {
+		for(int i = 0; i < TransactionCodec.MESSAGES_PER_TRANSACTION; i++) {
+			writer.write(rc, TYPES[i % TYPES.length], new MapLocation(i, i), i, i == 0 ? Priority.URGENT : Priority.NORMAL);
+		}
+		return writer.flush(rc);
+	}
+
+	/**
+	 * Serves one block for every round, advancing the round each time it is asked, and accepts every transaction.
+	 */
+	private static class BlockController implements InvocationHandler {
+
+		private final Transaction[] block;
+		private int round = 1;
+
+		BlockController(Transaction[] block) {
+			this.block = block;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			switch(method.getName()) {
+				case "getRoundNum":          return ++round;
+				case "getBlock":             return block;
+				case "getTeamSoup":          return Integer.MAX_VALUE;
+				case "canSubmitTransaction": return true;
+				case "submitTransaction":    return null;
+				default:
+					throw new UnsupportedOperationException("The benchmark controller does not support RobotController." + method.getName());
+			}
+		}
+
+	}
+
+	private static class ConsumingHandler implements MessageHandler {
+
+		private final Blackhole blackhole;
+
+		ConsumingHandler(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void handleMessage(Message message, int round) {
+			blackhole.consume(message.getType());
+			blackhole.consume(message.getX() + message.getY() + message.getBonus());
+		}
+
+		@Override
+		public void handleForeignTransaction(Transaction transaction, int round) {
+			blackhole.consume(transaction);
+		}
+
+		@Override
+		public void handleDigest(StateDigest digest, int round) {
+			blackhole.consume(digest.getSoupCount());
+		}
+
+	}
+
+}
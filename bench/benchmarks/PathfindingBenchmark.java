@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+import julianbot.robotdata.RobotData;
+import julianbot.robots.Robot;
+import julianbot.utils.pathfinder.MapGraph;
+import simulator.SimulatedRobot;
+import simulator.SimulatedWorld;
+
+/**
+ * Times a miner sensing its surroundings into a MapGraph, searching it, and taking a single bug navigation step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+
+	static final MapLocation START = SyntheticMaps.HQ.translate(-4, -1);
+	static final MapLocation DESTINATION = START.translate(-4, 3); //Across a maze wall, or into the basin
+
+	@State(Scope.Thread)
+	public static class Miner {
+
+		@Param({SyntheticMaps.OPEN, SyntheticMaps.MAZE, SyntheticMaps.WALL, SyntheticMaps.BASIN})
+		public String map;
+
+		SimulatedWorld world;
+		SimulatedRobot miner;
+		RobotController rc;
+		Robot robot;
+		MapGraph graph;
+
+		@Setup(Level.Trial)
+		public void setUp() throws GameActionException {
+			world = SyntheticMaps.build(map);
+			miner = world.spawn(RobotType.MINER, Team.A, START);
+			rc = world.createController(miner);
+			robot = new Robot(rc);
+			robot.setRobotData(new RobotData(rc, SyntheticMaps.HQ));
+			graph = new MapGraph(RobotType.MINER.sensorRadiusSquared);
+			graph.connectEdges(rc);
+		}
+
+	}
+
+	/**
+	 * The step moves the miner, so it is put back and its navigation state cleared before every call.
+	 */
+	@State(Scope.Thread)
+	public static class SteppingMiner extends Miner {
+
+		@Setup(Level.Invocation)
+		public void reset() {
+			world.place(miner, START);
+			RobotData data = robot.getRobotData();
+			data.setCurrentDestination(START);
+			data.setClosestDist(-1);
+			data.setObstacleLoc(null);
+		}
+
+	}
+
+	@Benchmark
+	public MapGraph connectEdges(Miner state) throws GameActionException {
+		state.graph.connectEdges(state.rc);
+		return state.graph;
+	}
+
+	@Benchmark
+	public Direction[] bfs(Miner state) {
+		return state.graph.BFS(START, DESTINATION);
+	}
+
+	@Benchmark
+	public boolean bugNavStep(SteppingMiner state) throws GameActionException {
+		return state.robot.bugNav(DESTINATION);
+	}
+
+}
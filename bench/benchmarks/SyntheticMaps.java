@@ -0,0 +1,107 @@
+package benchmarks;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+import simulator.SimulatedWorld;
+
+/**
+ * Builds the maps the benchmarks run on. Every map is generated from fixed rules, so results are comparable between runs and machines.
+ * The maps are 64x64 with an HQ for team A in the center, and start on the first round. Robots spawned on them never take a turn.
+ */
+public class SyntheticMaps {
+
+	public static final int SIZE = 64;
+	public static final int GROUND = 5;
+	public static final int CLIFF = 50; //Far too high to climb from the ground
+	public static final MapLocation HQ = new MapLocation(SIZE / 2, SIZE / 2);
+
+	public static final String OPEN = "open";
+	public static final String MAZE = "maze";
+	public static final String WALL = "wall";
+	public static final String BASIN = "basin";
+
+	private static final int MAZE_SPACING = 3; //Columns between maze walls
+	private static final int WALL_RADIUS = 2; //Matches the wall offsets of an HQ away from the map edge
+	private static final int WALL_HEIGHT = GROUND + 10;
+	private static final int BASIN_RADIUS_SQUARED = 36;
+
+	/**
+	 * @param name One of OPEN, MAZE, WALL or BASIN
+	 * @return A new world with the named map laid out
+	 */
+	public static SimulatedWorld build(String name) {
+		SimulatedWorld world = new SimulatedWorld(SIZE, SIZE);
+		for(int x = 0; x < SIZE; x++) {
+			for(int y = 0; y < SIZE; y++) {
+				world.setElevation(x, y, GROUND);
+			}
+		}
+
+		switch(name) {
+			case OPEN:  break;
+			case MAZE:  layMaze(world);  break;
+			case WALL:  layWall(world);  break;
+			case BASIN: layBasin(world); break;
+			default: throw new IllegalArgumentException("Unknown synthetic map '" + name + "'");
+		}
+
+		world.spawn(RobotType.HQ, Team.A, HQ);
+		world.setRound(1); //Round zero never occurs in a game, and players treat it as never
+		return world;
+	}
+
+	/**
+	 * Vertical cliffs every few columns, each with a single gap that alternates between the top and bottom of the map.
+	 * The cliffs are lined with enemy buildings, so occupancy-based searches have to route around them as well.
+	 */
+	private static void layMaze(SimulatedWorld world) {
+		boolean gapAtTop = true;
+		for(int x = MAZE_SPACING; x < SIZE; x += MAZE_SPACING + 1) {
+			int gap = gapAtTop ? SIZE - 2 : 1;
+			for(int y = 0; y < SIZE; y++) {
+				if(y == gap) continue;
+				world.setElevation(x, y, CLIFF);
+				world.spawn(RobotType.NET_GUN, Team.B, new MapLocation(x, y));
+			}
+			gapAtTop = !gapAtTop;
+		}
+	}
+
+	/**
+	 * A finished wall around the HQ with flooded ground outside of it.
+	 */
+	private static void layWall(SimulatedWorld world) {
+		for(int dx = -WALL_RADIUS - 1; dx <= WALL_RADIUS + 1; dx++) {
+			for(int dy = -WALL_RADIUS - 1; dy <= WALL_RADIUS + 1; dy++) {
+				int ring = Math.max(Math.abs(dx), Math.abs(dy));
+				if(ring == WALL_RADIUS) world.setElevation(HQ.x + dx, HQ.y + dy, WALL_HEIGHT);
+				else if(ring > WALL_RADIUS) world.setFlooded(HQ.x + dx, HQ.y + dy, true);
+			}
+		}
+	}
+
+	/**
+	 * A flooded bowl left of the HQ, deepest in the middle.
+	 */
+	private static void layBasin(SimulatedWorld world) {
+		MapLocation center = HQ.translate(-12, 0);
+		for(int x = 0; x < SIZE; x++) {
+			for(int y = 0; y < SIZE; y++) {
+				int distanceSquared = center.distanceSquaredTo(new MapLocation(x, y));
+				if(distanceSquared > BASIN_RADIUS_SQUARED) continue;
+				world.setElevation(x, y, GROUND - (BASIN_RADIUS_SQUARED - distanceSquared) / 6);
+				world.setFlooded(x, y, true);
+			}
+		}
+	}
+
+	/**
+	 * Leaves a gap in the wall laid by the WALL map, at its last corner.
+	 * @param world
+	 */
+	public static void breachWall(SimulatedWorld world) {
+		world.setElevation(HQ.x + WALL_RADIUS, HQ.y + WALL_RADIUS, GROUND);
+	}
+
+}
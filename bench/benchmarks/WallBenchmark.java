@@ -0,0 +1,95 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import battlecode.common.GameActionException;
+import battlecode.common.RobotController;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+import julianbot.robotdata.RobotData;
+import julianbot.robots.Robot;
+import julianbot.utils.WallGeometry;
+import simulator.SimulatedWorld;
+
+/**
+ * Times the checks robots make against remembered tiles of the wall around their HQ.
+ * WallGeometry caches the results until MapMemory sees a tile of the wall or moat change, so each check first marks the wall changed, as a turn that re-senses a changed tile would,
+ * and then times the scan that follows. cachedWallBuilt times the check when nothing has changed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WallBenchmark {
+
+	/**
+	 * The three checks share one refresh, which scans every wall tile for the lowest elevation whether or not the wall is breached, so the two walls differ only in the results.
+	 * The moat is dry in both, so the flood part of the refresh stops at its first known tile.
+	 */
+	@Param({"complete", "breached"})
+	public String wall;
+
+	private Robot robot;
+	private WallGeometry wallGeometry;
+
+	@Setup(Level.Trial)
+	public void setUp() throws GameActionException {
+		SimulatedWorld world = SyntheticMaps.build(SyntheticMaps.WALL);
+		if(wall.equals("breached")) SyntheticMaps.breachWall(world);
+
+		//A miner beside the HQ can sense the whole wall and the ground around it.
+		RobotController rc = world.createController(world.spawn(RobotType.MINER, Team.A, SyntheticMaps.HQ.translate(1, 0)));
+		RobotData data = new RobotData(rc, SyntheticMaps.HQ);
+		data.initializeWallData(SyntheticMaps.HQ, rc.getMapWidth(), rc.getMapHeight());
+		data.getMapMemory().update(rc); //The first update remembers everything in view
+		robot = new Robot(rc);
+		robot.setRobotData(data);
+		wallGeometry = data.getWallGeometry(SyntheticMaps.HQ);
+	}
+
+	/**
+	 * Marks the HQ's tile changed, which drops the cached results without changing any tile
+	 */
+	private void markWallChanged() {
+		wallGeometry.tileChanged(SyntheticMaps.HQ.x, SyntheticMaps.HQ.y);
+	}
+
+	@Benchmark
+	public boolean wallBuilt() throws GameActionException {
+		markWallChanged();
+		return robot.wallBuilt(SyntheticMaps.HQ);
+	}
+
+	@Benchmark
+	public int lowestWallElevation() throws GameActionException {
+		markWallChanged();
+		return robot.getLowestWallElevation(SyntheticMaps.HQ);
+	}
+
+	@Benchmark
+	public boolean wallBarringFloodwaters() throws GameActionException {
+		markWallChanged();
+		return robot.wallBarringFloodwaters(SyntheticMaps.HQ);
+	}
+
+	@Benchmark
+	public boolean cachedWallBuilt() throws GameActionException {
+		return robot.wallBuilt(SyntheticMaps.HQ);
+	}
+
+}
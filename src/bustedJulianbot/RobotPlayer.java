@@ -15,6 +15,7 @@ import bustedJulianbot.robots.NetGun;
 import bustedJulianbot.robots.Refinery;
 import bustedJulianbot.robots.Robot;
 import bustedJulianbot.robots.Vaporator;
+import julianbot.utils.FastRandom;
 
 public strictfp class RobotPlayer {
     static RobotController rc;
@@ -36,6 +37,7 @@ public strictfp class RobotPlayer {
         // and to get information on its current status.	
         System.out.println("Initializing Robot.");
     	RobotPlayer.rc = rc;
+    	FastRandom.initialize(rc);
     	Robot robot = getRobot(rc.getType());
         
         while (true) {
@@ -7,6 +7,7 @@ import battlecode.common.Direction;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.Transaction;
+import julianbot.utils.FastRandom;
 
 public class HQData extends RobotData {
 
@@ -50,7 +51,7 @@ public class HQData extends RobotData {
 	
 	public Transaction getRandomForeignTransaction() {
 		if(foreignTransactions.size() == 0) return null;
-		return foreignTransactions.get((int) (Math.random() * foreignTransactions.size()));
+		return foreignTransactions.get(FastRandom.nextInt(foreignTransactions.size()));
 	}
 
 	public MapLocation getEnemyHqLocation() {
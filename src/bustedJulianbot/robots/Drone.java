@@ -15,6 +15,7 @@ import battlecode.common.Team;
 import battlecode.common.Transaction;
 import bustedJulianbot.robotdata.DroneData;
 import bustedJulianbot.utils.NumberMath;
+import julianbot.utils.FastRandom;
 
 public class Drone extends Scout {
 
@@ -264,7 +265,7 @@ public class Drone extends Scout {
 			return;
 		}
 
-		data.setSearchDirection(directions[(int) (Math.random() * directions.length)]);
+		data.setSearchDirection(directions[FastRandom.nextInt(directions.length)]);
 	}
 	
 	private void killDroneProtocol() throws GameActionException {
@@ -15,6 +15,7 @@ import battlecode.common.Team;
 import battlecode.common.Transaction;
 import bustedJulianbot.robotdata.RobotData;
 import bustedJulianbot.utils.pathfinder.Pathfinder;
+import julianbot.utils.FastRandom;
 
 public class Robot {
 	
@@ -503,7 +504,7 @@ public class Robot {
 	protected boolean moveAnywhere() throws GameActionException {
 		stopFollowingPath();
 		
-		Direction dir = directions[(int)(Math.random() * directions.length)];
+		Direction dir = directions[FastRandom.nextInt(directions.length)];
 		int rotateLimit = 8;
 		
 		waitUntilReady();
@@ -534,7 +535,7 @@ public class Robot {
 			return;
 		}
 
-		data.setSearchDirection(directions[(int) (Math.random() * directions.length)]);
+		data.setSearchDirection(directions[FastRandom.nextInt(directions.length)]);
 	}
 
 	/**
@@ -609,7 +610,7 @@ public class Robot {
 	}
 	
 	protected boolean sendTransaction(int soupBid, Type type, MapLocation loc, int bonusInt) throws GameActionException {		
-		int transactionTag = (int) (Math.random()*500); //This use of parentheses will prevent truncation of the random number.
+		int transactionTag = FastRandom.nextInt(500);
 		int[] message = new int[]{transactionTag, type.getVal()+transactionTag, loc.x+transactionTag, loc.y+transactionTag, rc.getRoundNum()+transactionTag, bonusInt+transactionTag, 0};
 		int odd = 0;
 		for (int i : message) {
@@ -965,11 +966,11 @@ public class Robot {
 	}
 
 	static Direction randomDirection() {
-		return Direction.allDirections()[(int) (Math.random() * Direction.allDirections().length)];
+		return Direction.allDirections()[FastRandom.nextInt(Direction.allDirections().length)];
 	}
 	
 	protected Direction getRandomNonCenterDirection() {
-		return directions[(int) (Math.random() * directions.length)];
+		return directions[FastRandom.nextInt(directions.length)];
 	}
 
 	/**
@@ -23,6 +23,8 @@ import clonebot.robotdata.LandscaperData;
 import clonebot.robotdata.MinerData;
 import clonebot.robotdata.NetGunData;
 import clonebot.robotdata.RobotData;
+import julianbot.utils.FastRandom;
+import julianbot.utils.Log;
 
 public strictfp class RobotPlayer {
     static RobotController rc;
@@ -42,7 +44,9 @@ public strictfp class RobotPlayer {
 
         // This is the RobotController object. You use it to perform actions from this robot,
         // and to get information on its current status.	
-        System.out.println("Initializing Robot.");
+        Log.initialize(rc.getType());
+        FastRandom.initialize(rc);
+        if(Log.INFO) Log.info("Initializing Robot.");
     	RobotPlayer.rc = rc;
         robotData = initializeRobotData(rc.getType());
         turnCount = 0;
@@ -72,8 +76,8 @@ public strictfp class RobotPlayer {
                 Clock.yield();
 
             } catch (Exception e) {
-                System.out.println(rc.getType() + " Exception");
-                e.printStackTrace();
+                if(Log.ERROR) Log.error(rc.getType() + " Exception");
+                if(Log.ERROR) Log.error(e);
             }
         }
     }
@@ -185,18 +189,18 @@ public strictfp class RobotPlayer {
     	RobotInfo designSchool = GeneralCommands.senseUnitType(rc, RobotType.DESIGN_SCHOOL, rc.getTeam());
     	
     	if(designSchool != null) {
-    		System.out.println("\tDesign School already exists.");
+    		if(Log.DEBUG) Log.debug("\tDesign School already exists.");
     		RobotInfo fulfillmentCenter = GeneralCommands.senseUnitType(rc, RobotType.FULFILLMENT_CENTER, rc.getTeam());
     		minerData.setCurrentRole((fulfillmentCenter != null) ? MinerData.ROLE_SOUP_MINER : MinerData.ROLE_FULFILLMENT_BUILDER);
     		minerData.setDesignSchoolBuilt(true);
     		return;
     	} else if(rc.getLocation().equals(designSchoolBuildSite)) {
     		//Move off of design school build site.
-    		System.out.println("\tMoving off of DS site.");
+    		if(Log.DEBUG) Log.debug("\tMoving off of DS site.");
     		GeneralCommands.moveAnywhere(rc, minerData);
     		return;
     	} else if(rc.getLocation().isWithinDistanceSquared(designSchoolBuildSite, 3)) {
-    		System.out.println("\tAttempting to build DS.");
+    		if(Log.DEBUG) Log.debug("\tAttempting to build DS.");
     		if(MinerCommands.attemptDesignSchoolConstruction(rc, rc.getLocation().directionTo(designSchoolBuildSite))) minerData.setCurrentRole(MinerData.ROLE_SOUP_MINER);
     		return;
     	} else {
@@ -232,7 +236,7 @@ public strictfp class RobotPlayer {
     static void refineryMinerProtocol() throws GameActionException {
     	MinerData minerData = (MinerData) robotData;
     	
-    	System.out.println("refinery protocol");
+    	if(Log.DEBUG) Log.debug("refinery protocol");
     	
     	RobotInfo refinery = GeneralCommands.senseUnitType(rc, RobotType.REFINERY, rc.getTeam());
     	if(refinery != null) {
@@ -249,10 +253,10 @@ public strictfp class RobotPlayer {
 	    		minerData.addRefineryLoc(refineryLocation);
 	    		
 	    		if(!GeneralCommands.sendTransaction(rc, 10, GeneralCommands.Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC, refineryLocation)) {
-	    			System.out.println("Refinery transaction pending!");
+	    			if(Log.DEBUG) Log.debug("Refinery transaction pending!");
 	    			minerData.setPendingTransaction(GeneralCommands.Type.TRANSACTION_ENEMY_REFINERY_AT_LOC, refineryLocation, 10);
 	    		} else {
-	    			System.out.println("Completed refinery transaction!");
+	    			if(Log.DEBUG) Log.debug("Completed refinery transaction!");
 	    		}
 	    		
 	    		return;
@@ -290,7 +294,7 @@ public strictfp class RobotPlayer {
 	static void fullMinerProtocol() throws GameActionException {
     	MinerData minerData = (MinerData) robotData;
 
-    	System.out.println("full protocol");
+    	if(Log.DEBUG) Log.debug("full protocol");
     	
 		//Start by trying to deposit into a refinery.
 		Direction adjacentRefineryDirection = MinerCommands.getAdjacentRefineryDirection(rc);
@@ -300,7 +304,7 @@ public strictfp class RobotPlayer {
 			minerData.addRefineryLoc(rc.getLocation().add(adjacentRefineryDirection));
 			
 			//TODO: This first condition for refinery building is not yet satisfactory. Soup locations need to be taken into account everywhere and removed when vacant before this yet has entirely desirable effects.
-			System.out.println("This miner knows of " + minerData.getSoupLocs().size() + " soup location(s) and " + minerData.getRefineryLocs().size() + " refiner(ies).");
+			if(Log.DEBUG) Log.debug("This miner knows of " + minerData.getSoupLocs().size() + " soup location(s) and " + minerData.getRefineryLocs().size() + " refiner(ies).");
 			if(MinerCommands.getBuildPriority(minerData) == RobotType.REFINERY) minerData.setCurrentRole(MinerData.ROLE_REFINERY_BUILDER);
 			else if(rc.getTeamSoup() >= RobotType.DESIGN_SCHOOL.cost && !MinerCommands.canSenseHubDesignSchool(rc, minerData)) minerData.setCurrentRole(MinerData.ROLE_DESIGN_BUILDER);
 			else if(rc.getTeamSoup() >= RobotType.FULFILLMENT_CENTER.cost && !MinerCommands.canSenseHubFulfillmentCenter(rc, minerData)) minerData.setCurrentRole(MinerData.ROLE_FULFILLMENT_BUILDER);
@@ -317,7 +321,7 @@ public strictfp class RobotPlayer {
 		
 		if(hq != null) {
 			if(landscaper != null) {
-				System.out.println("Moving from landscaper site.");
+				if(Log.DEBUG) Log.debug("Moving from landscaper site.");
 	    		moveMinerFromHQ(minerData);
 	    		minerData.removeRefineryLoc(hq.getLocation());
 	    		if(minerData.getRefineryLocs().size() == 0) {
@@ -325,22 +329,22 @@ public strictfp class RobotPlayer {
 	        	}
 	    		return;
 			} else {
-				System.out.println("No landscaper present.");
+				if(Log.DEBUG) Log.debug("No landscaper present.");
 				if(minerData.getRefineryLocs().size() > 0) {
-					System.out.println("Routing to alternative refinery.");
+					if(Log.DEBUG) Log.debug("Routing to alternative refinery.");
 					GeneralCommands.routeTo(GeneralCommands.locateClosestLocation(rc, minerData.getRefineryLocs(), rc.getLocation()), rc, minerData);
 				} else {
-					System.out.println("Switching from soup miner to refinery builder.");
+					if(Log.DEBUG) Log.debug("Switching from soup miner to refinery builder.");
 					minerData.setCurrentRole(MinerData.ROLE_REFINERY_BUILDER);
 				}
 	    	}
 		} else {
-			System.out.println("The HQ cannot be detected.");
+			if(Log.DEBUG) Log.debug("The HQ cannot be detected.");
 			if(minerData.getRefineryLocs().size() > 0) {
-				System.out.println("Routing to alternative refinery.");
+				if(Log.DEBUG) Log.debug("Routing to alternative refinery.");
 				GeneralCommands.routeTo(GeneralCommands.locateClosestLocation(rc, minerData.getRefineryLocs(), rc.getLocation()), rc, minerData);
 			} else {
-				System.out.println("Switching from soup miner to refinery builder.");
+				if(Log.DEBUG) Log.debug("Switching from soup miner to refinery builder.");
 				minerData.setCurrentRole(MinerData.ROLE_REFINERY_BUILDER);
 			}
 		}
@@ -353,7 +357,7 @@ public strictfp class RobotPlayer {
 	static void emptyMinerProtocol() throws GameActionException {
     	MinerData minerData = (MinerData) robotData;
     	
-    	System.out.println("empty protocol");
+    	if(Log.DEBUG) Log.debug("empty protocol");
     	
     	RobotInfo hq = GeneralCommands.senseUnitType(rc, RobotType.HQ, rc.getTeam());
     	RobotInfo fulfillmentCenter = GeneralCommands.senseUnitType(rc, RobotType.FULFILLMENT_CENTER, rc.getTeam());
@@ -363,7 +367,7 @@ public strictfp class RobotPlayer {
     	if(landscaper != null) {
     		//We only need the miners to back off if the wall is not yet built.
     		if(rc.getLocation().distanceSquaredTo(minerData.getSpawnerLocation()) <= 8 && rc.senseElevation(landscaper.getLocation()) - rc.senseElevation(rc.getLocation()) <= GameConstants.MAX_DIRT_DIFFERENCE) {
-	    		System.out.println("\tLandscaper detected");
+	    		if(Log.DEBUG) Log.debug("\tLandscaper detected");
 	        	moveMinerFromHQ(minerData);
 	        	minerData.removeRefineryLoc(hq.getLocation());
 	        	if(minerData.getRefineryLocs().size() == 0) {
@@ -379,18 +383,18 @@ public strictfp class RobotPlayer {
     	//TODO: Clarify these conditionals. They're causing miners to become idle when they shouldn't be.
     	if(hq != null && rc.getTeamSoup() >= RobotType.DESIGN_SCHOOL.cost) {
     		if(MinerCommands.getBuildPriority(minerData) == RobotType.REFINERY) {
-    			System.out.println("\tSetting role to refinery builder");
+    			if(Log.DEBUG) Log.debug("\tSetting role to refinery builder");
     			minerData.setCurrentRole(MinerData.ROLE_REFINERY_BUILDER);
         		return;
     		} else if(!minerData.isDesignSchoolBuilt()){
-    			System.out.println("\tSetting role to design school builder");
+    			if(Log.DEBUG) Log.debug("\tSetting role to design school builder");
         		minerData.setCurrentRole(MinerData.ROLE_DESIGN_BUILDER);
         		return;
     		}
     	}
     	
     	if(!MinerCommands.mineRawSoup(rc,  MinerCommands.getAdjacentSoupDirection(rc))) {
-    		System.out.println("Could not mine adjacent soup.");
+    		if(Log.DEBUG) Log.debug("Could not mine adjacent soup.");
     		if(minerData.getSoupLocs().size() > 0) MinerCommands.refreshSoupLocations(rc, minerData);
     		if(minerData.getSoupLocs().size() == 0) MinerCommands.findNearbySoup(rc, minerData);
     		
@@ -401,7 +405,7 @@ public strictfp class RobotPlayer {
     			MinerCommands.continueSearch(rc, minerData);
     		}
 		} else {
-			System.out.println("Mined soup. (" + rc.getSoupCarrying() + ")");
+			if(Log.DEBUG) Log.debug("Mined soup. (" + rc.getSoupCarrying() + ")");
 		}
     }
     
@@ -429,23 +433,23 @@ public strictfp class RobotPlayer {
 					if (minerData.getPreviousTarget() == null) {
 						// Sets as target if there was no previous target
 						minerData.setTargetRobot(robot);
-						System.out.println("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
+						if(Log.DEBUG) Log.debug("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
 					} else if (robot.getID() != minerData.getPreviousTarget().getID()) {
 						// If there was previous target, checks to ensure it is not that previous target
 						minerData.setTargetRobot(robot);
-						System.out.println("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
+						if(Log.DEBUG) Log.debug("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
 					}
 				} else if (minerData.getTargetRobot().getID() == robot.getID()) {
 					//If the bot scanned is the same bot it was following the turn before and it has been following it for some turns
 					if (minerData.getTurnsScouted() < 100) {
 						minerData.setTargetRobot(robot); // To update robot's location
 						minerData.incrementTurnsScouted();
-						System.out.println("Following target. Loc: " + minerData.getTargetRobot().getLocation());
+						if(Log.DEBUG) Log.debug("Following target. Loc: " + minerData.getTargetRobot().getLocation());
 					} else {
 						minerData.setPreviousTarget(minerData.getTargetRobot());
 						minerData.setTargetRobot(null);
 						minerData.resetTurnsScouted();
-						System.out.println("Switching target...");
+						if(Log.DEBUG) Log.debug("Switching target...");
 					}
 				}
 			}
@@ -463,7 +467,7 @@ public strictfp class RobotPlayer {
 		MapLocation soupLoc = MinerCommands.getSoupLocation(rc);
 		if (soupLoc != null) {
 			if (minerData.addSoupLoc(soupLoc)) {
-				System.out.println("Found Soup! Loc: " + soupLoc);
+				if(Log.DEBUG) Log.debug("Found Soup! Loc: " + soupLoc);
 				GeneralCommands.sendTransaction(rc, 5, GeneralCommands.Type.TRANSACTION_SOUP_AT_LOC, soupLoc);
 			}
 		}
@@ -9,6 +9,7 @@ import battlecode.common.RobotType;
 import battlecode.common.Transaction;
 import clonebot.robotdata.DesignSchoolData;
 import clonebot.robotdata.MinerData;
+import julianbot.utils.Log;
 
 public class DesignSchoolCommands {
 	
@@ -54,7 +55,7 @@ public class DesignSchoolCommands {
     			if(message.length >= 4) {
     				if(message[1] == GeneralCommands.Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC.getVal()) {
     					data.setStableSoupIncomeConfirmed(true);
-    					System.out.println("Stable soup income confirmed!");
+    					if(Log.DEBUG) Log.debug("Stable soup income confirmed!");
     					return;
     				}
     			}
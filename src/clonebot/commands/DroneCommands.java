@@ -10,6 +10,7 @@ import battlecode.common.Team;
 import battlecode.common.Transaction;
 import clonebot.commands.GeneralCommands.Type;
 import clonebot.robotdata.DroneData;
+import julianbot.utils.Log;
 
 public class DroneCommands {
 
@@ -108,7 +109,7 @@ public class DroneCommands {
 				MapLocation loc = new MapLocation(decodedMessage[2], decodedMessage[3]);
 
 				if (category == null) {
-					System.out.println("Something is terribly wrong. enumOfValue returns null");
+					if(Log.DEBUG) Log.debug("Something is terribly wrong. enumOfValue returns null");
 				}
 				//System.out.println("Category of message: " + category);
 				switch(category) {
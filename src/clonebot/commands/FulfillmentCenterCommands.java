@@ -7,6 +7,7 @@ import battlecode.common.RobotController;
 import battlecode.common.RobotType;
 import battlecode.common.Transaction;
 import clonebot.robotdata.FulfillmentCenterData;
+import julianbot.utils.Log;
 
 public class FulfillmentCenterCommands {
 	
@@ -51,7 +52,7 @@ public class FulfillmentCenterCommands {
     			if(message.length >= 4) {
     				if(message[1] == GeneralCommands.Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC.getVal()) {
     					data.setStableSoupIncomeConfirmed(true);
-    					System.out.println("Stable soup income confirmed!");
+    					if(Log.DEBUG) Log.debug("Stable soup income confirmed!");
     					return;
     				}
     			}
@@ -13,7 +13,9 @@ import battlecode.common.RobotType;
 import battlecode.common.Team;
 import battlecode.common.Transaction;
 import clonebot.robotdata.RobotData;
+import julianbot.utils.FastRandom;
 import julianbot.utils.pathfinder.Pathfinder;
+import julianbot.utils.Log;
 
 public class GeneralCommands {
 	
@@ -238,7 +240,7 @@ public class GeneralCommands {
 	public static boolean moveAnywhere(RobotController rc, RobotData data) throws GameActionException {
 		stopFollowingPath(data);
 		
-		Direction dir = directions[(int)(Math.random() * directions.length)];
+		Direction dir = directions[FastRandom.nextInt(directions.length)];
 		int rotateLimit = 8;
 		
 		waitUntilReady(rc);
@@ -255,7 +257,7 @@ public class GeneralCommands {
 	//TRANSACTIONS
 	//CLONE VERSION
 	public static boolean sendTransaction(RobotController rc, int soupBid, Type type, MapLocation loc) throws GameActionException {		
-		int transactionTag = (int) (Math.random()*500); //This use of parentheses will prevent truncation of the random number.
+		int transactionTag = FastRandom.nextInt(500);
 		int[] message = new int[]{transactionTag, type.getVal()+transactionTag, loc.x+transactionTag, loc.y+transactionTag, rc.getRoundNum()+transactionTag, 0};
 		int signature = 75092384;
 		message[5] = signature;
@@ -330,7 +332,7 @@ public class GeneralCommands {
 	
 	public static void sendPendingTransaction(RobotController rc, RobotData data) throws GameActionException {
 		if(GeneralCommands.sendTransaction(rc, data.getPendingTransactionSoupBid(), data.getPendingTransactionType(), data.getPendingTransactionLocation())) {
-			System.out.println("Submitted pending transaction!");
+			if(Log.DEBUG) Log.debug("Submitted pending transaction!");
 			data.clearPendingTransaction();
 		}
 	}
@@ -9,6 +9,7 @@ import battlecode.common.RobotType;
 import battlecode.common.Transaction;
 import clonebot.commands.GeneralCommands.Type;
 import clonebot.robotdata.HQData;
+import julianbot.utils.TileOffsets;
 
 public class HQCommands {
 	
@@ -62,18 +63,15 @@ public class HQCommands {
     
     public static void setBuildDirectionTowardsSoup(RobotController rc, HQData hqData) throws GameActionException {
     	MapLocation rcLocation = rc.getLocation();
-    	int dimension = (int) Math.ceil(Math.sqrt(RobotType.HQ.sensorRadiusSquared));
-    	for(int dx = -dimension; dx <= dimension; dx++) {
-    		for(int dy = -dimension; dy <= dimension; dy++) {
-    			MapLocation searchLocation = rcLocation.translate(dx, dy);
-    			if(rc.canSenseLocation(searchLocation)) {
-    				if(rc.senseSoup(searchLocation) > 0) {
-    					hqData.setBuildDirection(rcLocation.directionTo(searchLocation));
-    					return;
-    				}
-    			}
+    	MapLocation soupLocation = TileOffsets.forSensor(RobotType.HQ).sweep(rc, rcLocation, new TileOffsets.Visitor() {
+    		@Override
+    		public boolean visit(MapLocation searchLocation) throws GameActionException {
+    			return rc.senseSoup(searchLocation) > 0;
     		}
-    	}
+    	});
+    	
+    	//Soup under the HQ keeps the current build direction.
+    	if(soupLocation != null && !soupLocation.equals(rcLocation)) hqData.setBuildDirection(rcLocation.directionTo(soupLocation));
     }
 	
     public static void storeForeignTransactions(RobotController rc, HQData data) throws GameActionException {
@@ -8,11 +8,13 @@ import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
 import battlecode.common.Transaction;
 import clonebot.robotdata.MinerData;
+import julianbot.utils.FastRandom;
+import julianbot.utils.Log;
+import julianbot.utils.TileOffsets;
 
 public class MinerCommands {
 	
 	static Direction[] directions = {Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST, Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST};
-	private static final int SENSOR_RADIUS = (int) Math.ceil(Math.sqrt(RobotType.MINER.sensorRadiusSquared));
 	
 	public static void discernRole(RobotController rc, MinerData data) throws GameActionException {
 		RobotInfo[] robots = rc.senseNearbyRobots(-1, rc.getTeam());
@@ -68,7 +70,7 @@ public class MinerCommands {
 			return true;
 		}
 		
-		System.out.println("Failed to build design school...");
+		if(Log.DEBUG) Log.debug("Failed to build design school...");
 		
 		return false;
 	}
@@ -81,7 +83,7 @@ public class MinerCommands {
 			return true;
 		}
 		
-		System.out.println("Failed to build fulfillment center...");
+		if(Log.DEBUG) Log.debug("Failed to build fulfillment center...");
 		
 		return false;
 	}
@@ -130,7 +132,7 @@ public class MinerCommands {
 			}
 		}
 		
-		System.out.println("Failed to build refinery...");
+		if(Log.DEBUG) Log.debug("Failed to build refinery...");
 		
 		return false;
 	}
@@ -167,16 +169,13 @@ public class MinerCommands {
 	 * @throws GameActionException
 	 */
 	public static void findNearbySoup(RobotController rc, MinerData data) throws GameActionException {
-		MapLocation rcLocation = rc.getLocation();
-		
-		for(int dx = -SENSOR_RADIUS; dx <= SENSOR_RADIUS; dx++) {
-			for(int dy = -SENSOR_RADIUS; dy <= SENSOR_RADIUS; dy++) {
-				MapLocation potentialSoupLocation = rcLocation.translate(dx, dy);
-				if(rc.canSenseLocation(potentialSoupLocation)) {
-					if(rc.senseSoup(potentialSoupLocation) > 0) data.addSoupLoc(potentialSoupLocation);
-				}
+		TileOffsets.forSensor(RobotType.MINER).sweep(rc, rc.getLocation(), new TileOffsets.Visitor() {
+			@Override
+			public boolean visit(MapLocation potentialSoupLocation) throws GameActionException {
+				if(rc.senseSoup(potentialSoupLocation) > 0) data.addSoupLoc(potentialSoupLocation);
+				return false;
 			}
-		}
+		});
 	}
 
 	public static void refreshSoupLocations(RobotController rc, MinerData data) throws GameActionException {
@@ -244,7 +243,7 @@ public class MinerCommands {
 			return;
 		}
 		
-		data.setSearchDirection(directions[(int) (Math.random() * directions.length)]);
+		data.setSearchDirection(directions[FastRandom.nextInt(directions.length)]);
 	}
 	
 	public static boolean routeToFulfillmentCenterSite(RobotController rc, MinerData minerData) throws GameActionException {
@@ -271,7 +270,7 @@ public class MinerCommands {
 			return true;
 		}
 		
-		System.out.println("Failed to build fulfillment center.");
+		if(Log.DEBUG) Log.debug("Failed to build fulfillment center.");
 		
 		return false;
 	}
@@ -292,7 +291,7 @@ public class MinerCommands {
 				MapLocation loc = new MapLocation(decodedMessage[2], decodedMessage[3]);
 
 				if (category == null) {
-					System.out.println("Something is terribly wrong. enumOfValue returns null");
+					if(Log.DEBUG) Log.debug("Something is terribly wrong. enumOfValue returns null");
 				}
 				switch(category) {
 					case TRANSACTION_SOUP_AT_LOC:
@@ -4,6 +4,7 @@ import battlecode.common.Direction;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.Team;
+import julianbot.utils.Log;
 
 public class DroneData extends RobotData {
 	
@@ -73,7 +74,7 @@ public class DroneData extends RobotData {
 	public void proceedToNextSearchDestination() {
 		activeSearchDestinationIndex++;
 		activeSearchDestinationIndex %= searchDestinations.length;
-		System.out.println("Active destination is now " + searchDestinations[activeSearchDestinationIndex]);
+		if(Log.DEBUG) Log.debug("Active destination is now " + searchDestinations[activeSearchDestinationIndex]);
 	}
 
 	public void setEnemyFrom(Team team) {
@@ -6,6 +6,7 @@ import java.util.List;
 import battlecode.common.Direction;
 import battlecode.common.RobotController;
 import battlecode.common.Transaction;
+import julianbot.utils.FastRandom;
 
 public class HQData extends RobotData {
 
@@ -47,7 +48,7 @@ public class HQData extends RobotData {
 	
 	public Transaction getRandomForeignTransaction() {
 		if(foreignTransactions.size() == 0) return null;
-		return foreignTransactions.get((int) (Math.random() * foreignTransactions.size()));
+		return foreignTransactions.get(FastRandom.nextInt(foreignTransactions.size()));
 	}
 	
 }
@@ -1,5 +1,6 @@
 package examplefuncsplayer;
 import battlecode.common.*;
+import julianbot.utils.FastRandom;
 
 public strictfp class RobotPlayer {
     static RobotController rc;
@@ -20,6 +21,7 @@ public strictfp class RobotPlayer {
         // This is the RobotController object. You use it to perform actions from this robot,
         // and to get information on its current status.
         RobotPlayer.rc = rc;
+        FastRandom.initialize(rc);
 
         turnCount = 0;
 
@@ -122,7 +124,7 @@ public strictfp class RobotPlayer {
      * @return a random Direction
      */
     static Direction randomDirection() {
-        return directions[(int) (Math.random() * directions.length)];
+        return directions[FastRandom.nextInt(directions.length)];
     }
 
     /**
@@ -131,7 +133,7 @@ public strictfp class RobotPlayer {
      * @return a random RobotType
      */
     static RobotType randomSpawnedByMiner() {
-        return spawnedByMiner[(int) (Math.random() * spawnedByMiner.length)];
+        return spawnedByMiner[FastRandom.nextInt(spawnedByMiner.length)];
     }
 
     static boolean tryMove() throws GameActionException {
@@ -15,6 +15,9 @@ import julianbot.robots.NetGun;
 import julianbot.robots.Refinery;
 import julianbot.robots.Robot;
 import julianbot.robots.Vaporator;
+import julianbot.utils.FastRandom;
+import julianbot.utils.Log;
+import julianbot.utils.Profiler;
 
 public strictfp class RobotPlayer {
     static RobotController rc;
@@ -34,7 +37,9 @@ public strictfp class RobotPlayer {
 
         // This is the RobotController object. You use it to perform actions from this robot,
         // and to get information on its current status.	
-        System.out.println("Initializing Robot.");
+        Log.initialize(rc.getType());
+        FastRandom.initialize(rc);
+        if(Log.INFO) Log.info("Initializing Robot.");
     	RobotPlayer.rc = rc;
     	Robot robot = getRobot(rc.getType());
         
@@ -45,12 +50,15 @@ public strictfp class RobotPlayer {
                 // Here, we've separated the controls into a different method for each RobotType.
                 // You can add the missing ones or rewrite this into your own control structure.
             	
+                if(Profiler.ENABLED) Profiler.beginTurn(rc);
                 robot.run();
+                robot.flushTransactions();
+                if(Profiler.ENABLED) Profiler.endTurn();
                 Clock.yield();
 
             } catch (Exception e) {
-                System.out.println(rc.getType() + " Exception");
-                e.printStackTrace();
+                if(Log.ERROR) Log.error(rc.getType() + " Exception");
+                if(Log.ERROR) Log.error(e);
             }
         }
     }
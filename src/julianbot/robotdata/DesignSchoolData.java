@@ -15,7 +15,6 @@ public class DesignSchoolData extends RobotData {
 	private int landscapersBuilt;
 	
 	private boolean stableSoupIncomeConfirmed;
-		private int transactionRound;
 		private boolean searchedForVaporator;
 	
 	private boolean waitingOnRefinery;
@@ -37,8 +36,6 @@ public class DesignSchoolData extends RobotData {
 		
 		waitingOnRefinery = true;
 		
-		transactionRound = 1;
-		
 		pauseBuildTimer = 0;
 		isAttackSchool = false;
 	}
@@ -135,14 +132,6 @@ public class DesignSchoolData extends RobotData {
 		this.stableSoupIncomeConfirmed = stableSoupIncomeConfirmed;
 	}
 	
-	public int getTransactionRound() {
-		return transactionRound;
-	}
-
-	public void setTransactionRound(int transactionRound) {
-		this.transactionRound = transactionRound;
-	}
-
 	public boolean searchedForVaporator() {
 		return searchedForVaporator;
 	}
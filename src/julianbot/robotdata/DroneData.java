@@ -1,20 +1,17 @@
 package julianbot.robotdata;
 
-import java.util.ArrayList;
-
 import battlecode.common.Direction;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.RobotType;
 import battlecode.common.Team;
+import julianbot.utils.LocationIndex;
+import julianbot.utils.Log;
 
 public class DroneData extends ScoutData {
 	
 	//ROUTING
-	private ArrayList<MapLocation> floodedLocs;
-	
-	//TRANSACTION SEARCHING
-	private int transactionRound;
+	private LocationIndex floodedLocs;
 	
 	//CARGO
 	private Team enemyFrom;
@@ -31,6 +28,7 @@ public class DroneData extends ScoutData {
 	private boolean awaitingKillOrder;
 	private boolean receivedKillOrder;
 		private int killOrderReceptionRound;
+		private int latestKillOrderRound; //Round of the newest kill order posted to the blockchain
 	private static final Direction[][] WAIT_LOCATION_ORDER = new Direction[][]{
 		{null, Direction.EAST, Direction.EAST, Direction.EAST, Direction.EAST, Direction.SOUTHEAST, null},
 		{Direction.NORTHEAST, null, null, null, null, null, Direction.SOUTH},
@@ -51,28 +49,21 @@ public class DroneData extends ScoutData {
 	public DroneData(RobotController rc, MapLocation spawnerLocation) {
 		super(rc, spawnerLocation);
 		holdingEnemy = false;
-		transactionRound = 1;
-		floodedLocs = new ArrayList<MapLocation>();
+		floodedLocs = new LocationIndex(rc.getMapWidth(), rc.getMapHeight());
 		
 		gridXShift = gridYShift = WAIT_LOCATION_GRID_DIMENSION / 2;
 	}
 
-	public ArrayList<MapLocation> getFloodedLocs() {
+	public LocationIndex getFloodedLocs() {
 		return floodedLocs;
 	}
 
 	/**
-	 * Adds flooded loc if it not too close to already added one or is already added
+	 * Adds flooded loc, which is a single bit test if it is already known
 	 * @param loc
 	 */
 	public void addFloodedLoc(MapLocation loc) {
-		boolean shouldAdd = true;
-		for (MapLocation floodedLoc : floodedLocs) {
-			if (loc.distanceSquaredTo(floodedLoc) < 16 || loc.equals(floodedLoc)) {
-				shouldAdd = false;
-			}
-		}
-		if (shouldAdd) floodedLocs.add(loc);
+		floodedLocs.add(loc);
 	}
 
 	public boolean getHoldingEnemy() {
@@ -136,7 +127,7 @@ public class DroneData extends ScoutData {
 	public void proceedToNextAttackWaitLocation() {
 		int maxGrid = WAIT_LOCATION_GRID_DIMENSION - 1;
 		
-		System.out.println("Proceeding from base location " + baseAttackWaitLocation);
+		if(Log.DEBUG) Log.debug("Proceeding from base location " + baseAttackWaitLocation);
 		int gridX = baseAttackWaitLocation.x - getHqLocation().x + gridXShift;
 		int gridY = getHqLocation().y - baseAttackWaitLocation.y + gridYShift;
 		
@@ -153,13 +144,13 @@ public class DroneData extends ScoutData {
 		else if(gridY == 0) cardinalOffsetFromHq = Direction.NORTH;
 		else if(gridY == maxGrid) cardinalOffsetFromHq = Direction.SOUTH;
 		
-		System.out.println("Cardinal Offset = " + cardinalOffsetFromHq);
+		if(Log.DEBUG) Log.debug("Cardinal Offset = " + cardinalOffsetFromHq);
 		
 		for(int i = 0; i < attackLocationCycles; i++) {
 			attackWaitLocation = attackWaitLocation.add(cardinalOffsetFromHq);
 		}
 		
-		System.out.println("Final attack wait location = " + attackWaitLocation);
+		if(Log.DEBUG) Log.debug("Final attack wait location = " + attackWaitLocation);
 	}
 	
 	public void setGridOffset(int dx, int dy) {
@@ -195,12 +186,12 @@ public class DroneData extends ScoutData {
 		this.killOrderReceptionRound = killOrderReceptionRound;
 	}
 
-	public int getTransactionRound() {
-		return transactionRound;
+	public int getLatestKillOrderRound() {
+		return latestKillOrderRound;
 	}
 
-	public void setTransactionRound(int transactionRound) {
-		this.transactionRound = transactionRound;
+	public void setLatestKillOrderRound(int latestKillOrderRound) {
+		this.latestKillOrderRound = latestKillOrderRound;
 	}
 	
 	public boolean isWallBuildChecked() {
@@ -8,7 +8,6 @@ public class FulfillmentCenterData extends RobotData {
 	private int dronesBuilt;
 	
 	private boolean stableSoupIncomeConfirmed;
-		private int transactionRound;
 		private boolean searchedForVaporator;
 	private boolean waitingOnRefinery;
 	
@@ -23,7 +22,6 @@ public class FulfillmentCenterData extends RobotData {
 	public FulfillmentCenterData(RobotController rc, MapLocation spawnerLocation) {
 		super(rc, spawnerLocation);
 		buildDirection = Direction.NORTH;
-		transactionRound = 1;
 		
 		waitingOnRefinery = true;
 	}
@@ -64,14 +62,6 @@ public class FulfillmentCenterData extends RobotData {
 		this.stableSoupIncomeConfirmed = stableSoupIncomeConfirmed;
 	}
 
-	public int getTransactionRound() {
-		return transactionRound;
-	}
-
-	public void setTransactionRound(int transactionRound) {
-		this.transactionRound = transactionRound;
-	}
-
 	public boolean searchedForVaporator() {
 		return searchedForVaporator;
 	}
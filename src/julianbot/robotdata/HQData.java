@@ -1,26 +1,37 @@
 package julianbot.robotdata;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import battlecode.common.Direction;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
-import battlecode.common.Transaction;
+import julianbot.utils.FastRandom;
+import julianbot.utils.PlayerConstants;
+import julianbot.utils.blockchain.StateDigest;
 
 public class HQData extends RobotData {
 
 	private int minersBuilt;
 	private Direction buildDirection;
 	
-	private List<Transaction> foreignTransactions;
+	//FOREIGN TRANSACTIONS
+	private static final int SEEN_HASHES_CAPACITY = Integer.highestOneBit(PlayerConstants.FOREIGN_TRANSACTION_CAPACITY) * 8; //Slots in the table of recently seen hashes, a power of two
+	
+	private int[][] foreignTransactions; //Uniform sample of the distinct foreign transactions seen so far
+	private int foreignTransactionCount;
+	private int[] seenHashes; //Direct mapped table of recently seen hashes, where a new hash overwrites whatever shares its slot, with zero marking an empty slot
+	private int foreignTransactionsSeen;
 	
 	private MapLocation enemyHqLocation;
 	
+	//STATE DIGEST
+	private StateDigest stateDigest;
+	private int lastDigestRound;
+	
 	public HQData(RobotController rc, MapLocation spawnerLocation) {
 		super(rc, spawnerLocation);
 		buildDirection = Direction.NORTH;
-		foreignTransactions = new ArrayList<>();
+		foreignTransactions = new int[PlayerConstants.FOREIGN_TRANSACTION_CAPACITY][];
+		seenHashes = new int[SEEN_HASHES_CAPACITY];
+		stateDigest = new StateDigest();
 	}
 
 	public int getMinersBuilt() {
@@ -43,14 +54,44 @@ public class HQData extends RobotData {
 		this.buildDirection = buildDirection;
 	}
 	
-	//TODO: Take note that this will likely get large, and could easily exceed the 8 MB limit. Further data management will be required.
-	public void addForeignTransaction(Transaction transaction) {
-		foreignTransactions.add(transaction);
+	/**
+	 * Offers a foreign transaction to a fixed size reservoir, so that every distinct transaction seen has the same chance of being kept.
+	 * A transaction seen recently, whether or not it was kept, is ignored, so re-broadcasting one does not raise its chances.
+	 * Transactions are told apart by hash, and only the hashes of recent ones are remembered, in a table of fixed size. An old duplicate whose slot has been taken since gets through, which skews the sample only slightly.
+	 * @param message
+	 */
+	public void addForeignTransaction(int[] message) {
+		int hash = 1;
+		for(int i = 0; i < message.length; i++) {
+			hash = 31 * hash + message[i];
+		}
+		if(!addSeenHash(hash == 0 ? 1 : hash)) return;
+
+		int slot = foreignTransactionsSeen++;
+		if(slot >= foreignTransactions.length) {
+			slot = FastRandom.nextInt(foreignTransactionsSeen);
+			if(slot >= foreignTransactions.length) return;
+		} else {
+			foreignTransactionCount++;
+		}
+
+		foreignTransactions[slot] = message;
+	}
+	
+	/**
+	 * @param hash A nonzero hash
+	 * @return Whether the hash was not in its slot, which it now holds
+	 */
+	private boolean addSeenHash(int hash) {
+		int slot = (hash ^ (hash >>> 16)) & (seenHashes.length - 1);
+		if(seenHashes[slot] == hash) return false;
+		seenHashes[slot] = hash;
+		return true;
 	}
 	
-	public Transaction getRandomForeignTransaction() {
-		if(foreignTransactions.size() == 0) return null;
-		return foreignTransactions.get((int) (Math.random() * foreignTransactions.size()));
+	public int[] getRandomForeignTransaction() {
+		if(foreignTransactionCount == 0) return null;
+		return foreignTransactions[FastRandom.nextInt(foreignTransactionCount)];
 	}
 
 	public MapLocation getEnemyHqLocation() {
@@ -60,5 +101,17 @@ public class HQData extends RobotData {
 	public void setEnemyHqLocation(MapLocation enemyHqLocation) {
 		this.enemyHqLocation = enemyHqLocation;
 	}
+
+	public StateDigest getStateDigest() {
+		return stateDigest;
+	}
+
+	public int getLastDigestRound() {
+		return lastDigestRound;
+	}
+
+	public void setLastDigestRound(int lastDigestRound) {
+		this.lastDigestRound = lastDigestRound;
+	}
 	
 }
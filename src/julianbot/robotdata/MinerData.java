@@ -1,9 +1,9 @@
 package julianbot.robotdata;
 
-import java.util.ArrayList;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.RobotInfo;
+import julianbot.utils.LocationIndex;
 
 public class MinerData extends ScoutData {
 
@@ -30,12 +30,11 @@ public class MinerData extends ScoutData {
 	public static final int ROLE_DRONE_RUSH_FINISHER = 9;
 
 	//LANDMARKS
-	private ArrayList<MapLocation> soupLocs;
-		private ArrayList<MapLocation> removedSoupLocs;
-	private ArrayList<MapLocation> refineryLocs;
+	private LocationIndex soupLocs; //Also remembers soup locations that were removed, so they are not re-added
+	private LocationIndex refineryLocs;
 	
 	//TRANSACTION READING
-	private int transactionRound;
+	private int buildSitesStatusRound; //Round of the newest build site status applied, so older messages read from backlog cannot override it.
 	
 	/**
 	 * Constructs MinerData
@@ -46,13 +45,10 @@ public class MinerData extends ScoutData {
 		super(rc, spawnerLocation);
 		currentRole = ROLE_SOUP_MINER;
 		
-		soupLocs = new ArrayList<MapLocation>();
-			removedSoupLocs = new ArrayList<MapLocation>();
-		refineryLocs = new ArrayList<MapLocation>();
+		soupLocs = new LocationIndex(rc.getMapWidth(), rc.getMapHeight());
+		refineryLocs = new LocationIndex(rc.getMapWidth(), rc.getMapHeight());
 		refineryLocs.add(spawnerLocation);
 		setHqLocation(spawnerLocation);
-		
-		transactionRound = 1;
 	}
 
 	public int getCurrentRole() {
@@ -173,7 +169,7 @@ public class MinerData extends ScoutData {
 	 * Returns known locations for soup
 	 * @return
 	 */
-	public ArrayList<MapLocation> getSoupLocs() {
+	public LocationIndex getSoupLocs() {
 		return soupLocs;
 	}
 
@@ -181,30 +177,18 @@ public class MinerData extends ScoutData {
 	 * Returns known locations of allied refineries
 	 * @return
 	 */
-	public ArrayList<MapLocation> getRefineryLocs() {
+	public LocationIndex getRefineryLocs() {
 		return refineryLocs;
 	}
 
 	/**
-	 * Adds Soup Location if there is no other close Soup Location and it hasn't been added before
+	 * Adds Soup Location if it hasn't been added before
 	 * @param loc
 	 * @return Whether soupLoc is added
 	 */
 	public boolean addSoupLoc(MapLocation loc) {
-		for (MapLocation soupLoc : soupLocs) {
-			//21 is default sensor radius besides miner and hq.
-
-			if (/*soupLoc.distanceSquaredTo(loc) < 21 || */soupLoc.equals(loc)) {
-				return false;
-			}
-		}
-
-		for(MapLocation soupLoc : removedSoupLocs) {
-			if(soupLoc.equals(loc)) return false;
-		}
-
-		soupLocs.add(loc);
-		return true;
+		if(soupLocs.wasRemoved(loc)) return false;
+		return soupLocs.add(loc);
 	}
 
 	/**
@@ -213,22 +197,11 @@ public class MinerData extends ScoutData {
 	 * @return Whether location successfully sent
 	 */
 	public boolean addRefineryLoc(MapLocation loc) {
-		for (MapLocation refineryLoc : refineryLocs) {
-			if (refineryLoc.equals(loc)) {
-				return false;
-			}
-		}
-		
-		refineryLocs.add(loc);
-		return true;
+		return refineryLocs.add(loc);
 	}
 	
 	public boolean hqRefineryStored() {
-		for (MapLocation refineryLoc : refineryLocs) {
-			if (refineryLoc.equals(hqLocation)) return true;
-		}
-		
-		return false;
+		return refineryLocs.contains(hqLocation);
 	}
 
 	/**
@@ -237,9 +210,7 @@ public class MinerData extends ScoutData {
 	 * @return Whether location removed
 	 */
 	public boolean removeSoupLoc(MapLocation loc) {
-		boolean removalSuccessful = soupLocs.remove(loc);
-		if(removalSuccessful) removedSoupLocs.add(loc);
-		return removalSuccessful;
+		return soupLocs.remove(loc);
 	}
 
 	/**
@@ -251,12 +222,12 @@ public class MinerData extends ScoutData {
 		return refineryLocs.remove(loc);
 	}
 
-	public int getTransactionRound() {
-		return transactionRound;
+	public int getBuildSitesStatusRound() {
+		return buildSitesStatusRound;
 	}
 
-	public void setTransactionRound(int transactionRound) {
-		this.transactionRound = transactionRound;
+	public void setBuildSitesStatusRound(int buildSitesStatusRound) {
+		this.buildSitesStatusRound = buildSitesStatusRound;
 	}
 	
 }
@@ -4,8 +4,16 @@ import battlecode.common.Direction;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.Team;
-import julianbot.robots.Robot;
+import julianbot.utils.MapMemory;
+import julianbot.utils.SensingSnapshot;
+import julianbot.utils.WallGeometry;
+import julianbot.utils.blockchain.BidEstimator;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.TransactionWriter;
+import julianbot.utils.pathfinder.AStarPlanner;
 import julianbot.utils.pathfinder.MapGraph;
+import julianbot.utils.pathfinder.PathSearch;
+import julianbot.utils.Log;
 
 import java.util.Map;
 
@@ -16,6 +24,8 @@ public class RobotData {
 	protected final Team opponent;
 	protected MapLocation spawnLocation;
 	protected MapLocation spawnerLocation;
+	protected MapMemory mapMemory;
+	protected SensingSnapshot sensingSnapshot;
 	
 	//ROUTING
 	private MapLocation previousLocation;
@@ -23,12 +33,12 @@ public class RobotData {
 	protected MapGraph mapGraph;
 		protected Direction[] path;
 		protected int pathProgression;
+	protected PathSearch pathSearch;
+	protected AStarPlanner planner;
 	
 	//TRANSACTIONS
-	private boolean hasPendingTransaction;
-		private Robot.Type pendingTransactionType;
-		private MapLocation pendingTransactionLocation;
-		private int pendingTransactionSoupBid;
+	protected BlockchainReader blockchainReader;
+	protected TransactionWriter transactionWriter;
 	private Direction searchDirection;
 
 	//BugNav Data
@@ -39,6 +49,7 @@ public class RobotData {
 	//WALL DIMENSIONS
 	private int wallOffsetXMin, wallOffsetXMax, wallOffsetYMin, wallOffsetYMax;
 	private boolean baseOnEdge;
+	private WallGeometry wallGeometry;
 	
 	//BUILDING
 	private MapLocation designSchoolBuildSite;
@@ -54,14 +65,18 @@ public class RobotData {
 		setSpawnerLocation(spawnerLocation);
 		previousLocation = rc.getLocation();
 		currentDestination = rc.getLocation();
-		hasPendingTransaction = false;
 		bugNavClosestDist = -1;
 		setSpawnerLocation(spawnerLocation);
+		mapMemory = new MapMemory(rc.getMapWidth(), rc.getMapHeight(), rc.getType().sensorRadiusSquared);
+		sensingSnapshot = new SensingSnapshot();
+		BidEstimator bidEstimator = new BidEstimator();
+		blockchainReader = new BlockchainReader(rc.getRoundNum(), team, bidEstimator);
+		transactionWriter = new TransactionWriter(team, bidEstimator);
 
 		if (!rc.getType().isBuilding()) {
 			if(spawnerLocation == null || rc.getLocation() == null) {
-				System.out.println("RobotData constructor on round " + rc.getRoundNum() + ":");
-				System.out.println("Spawner Location = " + spawnerLocation + ", Self Location = " + rc.getLocation());
+				if(Log.DEBUG) Log.debug("RobotData constructor on round " + rc.getRoundNum() + ":");
+				if(Log.DEBUG) Log.debug("Spawner Location = " + spawnerLocation + ", Self Location = " + rc.getLocation());
 				searchDirection = Direction.NORTH;
 			} else {
 				searchDirection = spawnerLocation.directionTo(rc.getLocation());
@@ -145,6 +160,8 @@ public class RobotData {
 			setNetGunBuildSite(hqLocation.translate(-1, -1));
 			setWallOffsetBounds(-2, 2, -2, 2);
 		}
+		
+		getWallGeometry(hqLocation);
 	}
 	
 	public Team getTeam() {
@@ -183,6 +200,22 @@ public class RobotData {
 		this.spawnerLocation = spawnerLocation;
 	}
 
+	public MapMemory getMapMemory() {
+		return mapMemory;
+	}
+	
+	public SensingSnapshot getSensingSnapshot() {
+		return sensingSnapshot;
+	}
+	
+	public BlockchainReader getBlockchainReader() {
+		return blockchainReader;
+	}
+
+	public TransactionWriter getTransactionWriter() {
+		return transactionWriter;
+	}
+
 	public Direction getSearchDirection() {
 		return searchDirection;
 	}
@@ -215,6 +248,26 @@ public class RobotData {
 		this.mapGraph = mapGraph;
 	}
 
+	public PathSearch getPathSearch() {
+		return pathSearch;
+	}
+	
+	public boolean hasPathSearch() {
+		return pathSearch != null;
+	}
+
+	public void setPathSearch(PathSearch pathSearch) {
+		this.pathSearch = pathSearch;
+	}
+
+	public AStarPlanner getPlanner() {
+		return planner;
+	}
+
+	public void setPlanner(AStarPlanner planner) {
+		this.planner = planner;
+	}
+
 	public Direction[] getPath() {
 		return path;
 	}
@@ -247,45 +300,6 @@ public class RobotData {
 		return pathProgression >= path.length;
 	}
 	
-	public boolean hasPendingTransaction() {
-		return hasPendingTransaction;
-	}
-	
-	public void setPendingTransaction(Robot.Type transactionType, MapLocation location, int soupBid) {
-		this.hasPendingTransaction = true;
-		this.pendingTransactionType = transactionType;
-		this.pendingTransactionLocation = location;
-		this.pendingTransactionSoupBid = soupBid;
-	}
-	
-	public void clearPendingTransaction() {
-		this.hasPendingTransaction = false;
-	}
-
-	public Robot.Type getPendingTransactionType() {
-		return pendingTransactionType;
-	}
-
-	public void setPendingTransactionType(Robot.Type pendingTransactionType) {
-		this.pendingTransactionType = pendingTransactionType;
-	}
-
-	public MapLocation getPendingTransactionLocation() {
-		return pendingTransactionLocation;
-	}
-
-	public void setPendingTransactionLocation(MapLocation pendingTransactionLocation) {
-		this.pendingTransactionLocation = pendingTransactionLocation;
-	}
-
-	public int getPendingTransactionSoupBid() {
-		return pendingTransactionSoupBid;
-	}
-
-	public void setPendingTransactionSoupBid(int pendingTransactionSoupBid) {
-		this.pendingTransactionSoupBid = pendingTransactionSoupBid;
-	}
-
 	public MapLocation getCurrentDestination() {
 		return currentDestination;
 	}
@@ -323,6 +337,21 @@ public class RobotData {
 		this.wallOffsetXMax = wallOffsetXMax;
 		this.wallOffsetYMin = wallOffsetYMin;
 		this.wallOffsetYMax = wallOffsetYMax;
+		this.wallGeometry = null;
+	}
+	
+	/**
+	 * Returns the geometry of the wall around an HQ, building it from the wall offset bounds if they have changed or the HQ is a different one
+	 * @param hqLocation
+	 * @return
+	 */
+	public WallGeometry getWallGeometry(MapLocation hqLocation) {
+		if(wallGeometry == null || !wallGeometry.getHqLocation().equals(hqLocation)) {
+			wallGeometry = new WallGeometry(hqLocation, wallOffsetXMin, wallOffsetXMax, wallOffsetYMin, wallOffsetYMax, mapMemory.getMapWidth(), mapMemory.getMapHeight(), mapMemory);
+			mapMemory.setWallGeometry(wallGeometry);
+		}
+		
+		return wallGeometry;
 	}
 
 	public MapLocation getDesignSchoolBuildSite() {
@@ -2,6 +2,7 @@ package julianbot.robotdata;
 
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
+import julianbot.utils.Log;
 
 public class ScoutData extends RobotData {
 
@@ -53,7 +54,7 @@ public class ScoutData extends RobotData {
     public void proceedToNextSearchDestination() {
         activeSearchDestinationIndex++;
         activeSearchDestinationIndex %= searchDestinations.length;
-        System.out.println("Active destination is now " + searchDestinations[activeSearchDestinationIndex]);
+        if(Log.DEBUG) Log.debug("Active destination is now " + searchDestinations[activeSearchDestinationIndex]);
     }
 
 }
@@ -9,15 +9,31 @@ import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
 import battlecode.common.Transaction;
 import julianbot.robotdata.DesignSchoolData;
+import julianbot.utils.FloodForecast;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.Message;
+import julianbot.utils.blockchain.Priority;
+import julianbot.utils.blockchain.StateDigest;
+import julianbot.utils.Log;
 
 public class DesignSchool extends Robot {
 	
+	private static final int LANDSCAPER_PAUSE_ROUNDS = 150;
+	
 	private DesignSchoolData designSchoolData;
 
 	public DesignSchool(RobotController rc) {
 		super(rc);
 		this.data = new DesignSchoolData(rc, getSpawnerLocation());
 		this.designSchoolData = (DesignSchoolData) this.data;
+		
+		BlockchainReader blockchainReader = data.getBlockchainReader();
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_HQ_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_PAUSE_LANDSCAPER_BUILDING);
+		blockchainReader.subscribe(Type.TRANSACTION_KILL_ORDER);
+		blockchainReader.subscribe(Type.TRANSACTION_BUILD_SITE_BLOCKED);
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC);
+		blockchainReader.subscribeDigest();
 	}
 
 	@Override
@@ -25,14 +41,11 @@ public class DesignSchool extends Robot {
 		super.run();
 		
 		if(turnCount == 1) {
-			learnHqLocation();
 			designSchoolData.initializeWallData(designSchoolData.getHqLocation(), rc.getMapWidth(), rc.getMapHeight());
 			discernRole();
 			determineBuildDirection();
 		}
 
-		readTransactions();
-		
 		designSchoolData.setPauseBuildTimer(designSchoolData.getPauseBuildTimer() - 1);
 
     	
@@ -49,16 +62,6 @@ public class DesignSchool extends Robot {
 		}
 	}
 	
-	private void learnHqLocation() throws GameActionException {
-		for(Transaction transaction : rc.getBlock(1)) {
-			int[] message = decodeTransaction(transaction);
-			if(message.length > 1 && message[1] == Type.TRANSACTION_FRIENDLY_HQ_AT_LOC.getVal()) {
-				designSchoolData.setHqLocation(new MapLocation(message[2], message[3]));
-				return;
-			}
-		}
-	}
-	
 	private void discernRole() {
 		if(rc.getLocation().equals(designSchoolData.getDesignSchoolBuildSite())) {
 			designSchoolData.setCurrentRole(DesignSchoolData.ROLE_WALL_BUILDER);
@@ -140,15 +143,17 @@ public class DesignSchool extends Robot {
 	private void attackDesignSchoolProtocol() throws GameActionException {
 		if(designSchoolData.getCurrentRole() == DesignSchoolData.ROLE_ATTACKER) {
     		if (designSchoolData.getEnemyHqLocation() != null) {
-        		System.out.println("ATTACK THE HQ!");
+        		if(Log.DEBUG) Log.debug("ATTACK THE HQ!");
 	        	attackTarget(designSchoolData.getEnemyHqLocation());
 	        	return;
 			}
 	        
-    		RobotInfo[] enemy = rc.senseNearbyRobots(rc.getCurrentSensorRadiusSquared(), designSchoolData.getOpponent());
-	        for(RobotInfo potentialThreat : enemy) {
+    		RobotInfo[] enemy = senseRobots(designSchoolData.getOpponent());
+    		int enemyCount = senseRobotCount(designSchoolData.getOpponent());
+	        for(int i = 0; i < enemyCount; i++) {
+	        	RobotInfo potentialThreat = enemy[i];
 	        	if(potentialThreat.type.isBuilding()) {
-	        		System.out.println("ATTACK THE BUILDING!");
+	        		if(Log.DEBUG) Log.debug("ATTACK THE BUILDING!");
 	        		attackTarget(potentialThreat.getLocation());
 	        		return;
 	        	} 
@@ -157,10 +162,10 @@ public class DesignSchool extends Robot {
 	}
 	
 	private void attackTarget(MapLocation target) throws GameActionException {
-		System.out.println("Attack Design School Protocol");
+		if(Log.DEBUG) Log.debug("Attack Design School Protocol");
 		if (!designSchoolData.getIsAttackSchool()) {
 			designSchoolData.setIsAttackSchool(true);
-			sendTransaction(15, Type.TRANSACTION_PAUSE_LANDSCAPER_BUILDING, rc.getLocation());
+			sendTransaction(Priority.URGENT, Type.TRANSACTION_PAUSE_LANDSCAPER_BUILDING, rc.getLocation());
 		}
 		
 		int allyLandscapers = this.senseNumberOfUnits(RobotType.LANDSCAPER, rc.getTeam());
@@ -180,12 +185,12 @@ public class DesignSchool extends Robot {
         
         boolean oughtBuildLandscaper = oughtBuildLandscaper();
         boolean adjacentFlooding = isFloodingAdjacent();
-        System.out.println("Ought build for building's sake? " + oughtBuildLandscaper + " Flooding imminent? " + adjacentFlooding);
+        if(Log.DEBUG) Log.debug("Ought build for building's sake? " + oughtBuildLandscaper + " Flooding imminent? " + adjacentFlooding);
         if(adjacentFlooding && !designSchoolData.getIsAttackSchool()) {
-			System.out.println("Flooding is imminent! We need to force a build.");
+			if(Log.DEBUG) Log.debug("Flooding is imminent! We need to force a build.");
 			forceBuild();
 		} else if(oughtBuildLandscaper) {
-    		System.out.println("Design school ought build a landscaper.");
+    		if(Log.DEBUG) Log.debug("Design school ought build a landscaper.");
     		if(designSchoolData.getLandscapersBuilt() > 0 && onMapEdge(rc.getLocation().add(designSchoolData.getDefaultBuildDirection()))) {
     			designSchoolData.setDefaultBuildDirection(designSchoolData.getDefaultAttackBuildDirection());
     			designSchoolData.setBuildDirection(designSchoolData.getDefaultAttackBuildDirection());
@@ -197,7 +202,7 @@ public class DesignSchool extends Robot {
     				boolean wallAtBuildLocation = rc.senseElevation(attemptedBuildLocation) - rc.senseElevation(rc.getLocation()) > GameConstants.MAX_DIRT_DIFFERENCE;
     				boolean mapEdgeAtBuildLocation = onMapEdge(attemptedBuildLocation);
     				if(wallAtBuildLocation || mapEdgeAtBuildLocation && rc.getTeamSoup() >= RobotType.LANDSCAPER.cost) {
-    					System.out.println("Wall built! We can proceed to attack landscapers.");
+    					if(Log.DEBUG) Log.debug("Wall built! We can proceed to attack landscapers.");
     					//The wall already exists, so we can start building northwards to generate attack landscapers.  
     					designSchoolData.setDefaultBuildDirection(designSchoolData.getDefaultAttackBuildDirection());
     				}
@@ -208,14 +213,14 @@ public class DesignSchool extends Robot {
 
 	private boolean oughtBuildLandscaper() throws GameActionException {
 		//Build a landscaper if the fulfillment center has been built but no landscapers are present.
-		System.out.println("Ought build landscaper?");
+		if(Log.DEBUG) Log.debug("Ought build landscaper?");
 		if(designSchoolData.getPauseBuildTimer() > 0 && !designSchoolData.getBuildSitesBlocked()) return false;
 		
 		boolean floodingImminent = isFloodingImminent();
 		boolean floodingAdjacent = isFloodingAdjacent();
 		
-		System.out.println("Flooding imminent or adjacent? " + floodingImminent + " / " + floodingAdjacent);
-		System.out.println("Build sites blocked? " + designSchoolData.getBuildSitesBlocked());
+		if(Log.DEBUG) Log.debug("Flooding imminent or adjacent? " + floodingImminent + " / " + floodingAdjacent);
+		if(Log.DEBUG) Log.debug("Build sites blocked? " + designSchoolData.getBuildSitesBlocked());
 		
 		if (designSchoolData.getLandscapersBuilt() == 0) {
 			return designSchoolData.getBuildSitesBlocked() || senseUnitType(RobotType.FULFILLMENT_CENTER, rc.getTeam()) != null || floodingAdjacent || floodingImminent;
@@ -224,13 +229,13 @@ public class DesignSchool extends Robot {
 		if(designSchoolData.getPauseBuildTimer() > 0) return false;
 		
 		if(!designSchoolData.isRefineryBuilt() && !wallBarringFloodwaters(designSchoolData.getHqLocation())) {
-			System.out.println("No refinery is built, nor is the wall barring floodwaters.");
+			if(Log.DEBUG) Log.debug("No refinery is built, nor is the wall barring floodwaters.");
 			designSchoolData.setWaitingOnRefinery(!(floodingImminent || floodingAdjacent));
 		} else {
 			designSchoolData.setWaitingOnRefinery(false);
 		}
 		
-		System.out.println("Waiting on refinery? " + designSchoolData.isWaitingOnRefinery());
+		if(Log.DEBUG) Log.debug("Waiting on refinery? " + designSchoolData.isWaitingOnRefinery());
 		
 		if(designSchoolData.isWaitingOnRefinery()) return false;
 		
@@ -238,13 +243,14 @@ public class DesignSchool extends Robot {
 	}
 	
 	private boolean isFloodingImminent() throws GameActionException {		
+		int warningRounds = (int) (RobotType.LANDSCAPER.cost * 1.5);
 		if(isWithinWall(rc.getLocation(), designSchoolData.getHqLocation())) {
 			int lowestWallElevation = getLowestWallElevation(designSchoolData.getHqLocation());
-			int projectedFlooding = this.getFloodingAtRound(rc.getRoundNum() + (RobotType.LANDSCAPER.cost * 1.5));
-			System.out.println(lowestWallElevation + " <= " + projectedFlooding);
-			return lowestWallElevation <= projectedFlooding;
+			int roundsUntilFlooding = FloodForecast.getRoundsUntilLevel(lowestWallElevation, rc.getRoundNum());
+			if(Log.DEBUG) Log.debug("Wall at " + lowestWallElevation + " floods in " + roundsUntilFlooding + " rounds");
+			return roundsUntilFlooding <= warningRounds;
 		} else {
-			return rc.senseElevation(rc.getLocation()) <= this.getFloodingAtRound(rc.getRoundNum() + (RobotType.LANDSCAPER.cost * 1.5));
+			return FloodForecast.getRoundsUntilLevel(rc.senseElevation(rc.getLocation()), rc.getRoundNum()) <= warningRounds;
 		}
 	}
 	
@@ -339,7 +345,7 @@ public class DesignSchool extends Robot {
     			if(message.length >= 4) {
     				if(message[1] == Robot.Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC.getVal()) {
     					designSchoolData.setStableSoupIncomeConfirmed(true);
-    					System.out.println("Stable soup income confirmed!");
+    					if(Log.DEBUG) Log.debug("Stable soup income confirmed!");
     					return;
     				}
     			}
@@ -353,42 +359,47 @@ public class DesignSchool extends Robot {
     	*/
     }
 	
-	private void readTransactions() throws GameActionException {
-    	for(int i = designSchoolData.getTransactionRound(); i < rc.getRoundNum(); i++) {
-    		designSchoolData.setTransactionRound(i);
-    		
-    		for(Transaction transaction : rc.getBlock(i)) {
-    			int[] message = decodeTransaction(transaction);
-    			
-    			if (message.length == GameConstants.NUMBER_OF_TRANSACTIONS_PER_BLOCK) {
-    				Robot.Type category = Robot.Type.enumOfValue(message[1]);
-
-    				if (category == null) {
-    					System.out.println("Something is terribly wrong. enumOfValue returns null. Miner readTransaction line ~621");
-    				}
-    				
-    				switch(category) {
-    					case TRANSACTION_PAUSE_LANDSCAPER_BUILDING:
-    						System.out.println("Pausing building...");
-    						designSchoolData.setPauseBuildTimer(150);
-    						break;
-    					case TRANSACTION_KILL_ORDER:
-    						System.out.println("Pausing building...");
-    						designSchoolData.setPauseBuildTimer(message[5]);
-    						break;
-    					case TRANSACTION_BUILD_SITE_BLOCKED:
-    						designSchoolData.setBuildSitesBlocked(true);
-    						break;
-    					case TRANSACTION_FRIENDLY_REFINERY_AT_LOC:
-    						designSchoolData.setRefineryBuilt(true);
-    						designSchoolData.setWaitingOnRefinery(false);
-    						break;
-    					default:
-    						break;
-    				}
-    			}
-    		}
-    	}
-    }
+	@Override
+	public void handleMessage(Message message, int round) throws GameActionException {
+		switch(message.getType()) {
+			case TRANSACTION_FRIENDLY_HQ_AT_LOC:
+				designSchoolData.setHqLocation(message.getLocation());
+				break;
+			case TRANSACTION_PAUSE_LANDSCAPER_BUILDING:
+				if(Log.DEBUG) Log.debug("Pausing building...");
+				pauseBuilding(LANDSCAPER_PAUSE_ROUNDS, message.getSentRound());
+				break;
+			case TRANSACTION_KILL_ORDER:
+				if(Log.DEBUG) Log.debug("Pausing building...");
+				pauseBuilding(message.getBonus(), message.getSentRound());
+				break;
+			case TRANSACTION_BUILD_SITE_BLOCKED:
+				designSchoolData.setBuildSitesBlocked(true);
+				break;
+			case TRANSACTION_FRIENDLY_REFINERY_AT_LOC:
+				designSchoolData.setRefineryBuilt(true);
+				designSchoolData.setWaitingOnRefinery(false);
+				break;
+			default:
+				break;
+		}
+	}
+	
+	@Override
+	public void handleDigest(StateDigest digest, int round) throws GameActionException {
+		if(digest.getHqLocation() != null) designSchoolData.setHqLocation(digest.getHqLocation());
+		if(digest.getPauseRound() > 0) pauseBuilding(LANDSCAPER_PAUSE_ROUNDS, digest.getPauseRound());
+		if(digest.getKillOrderRound() > 0) pauseBuilding(digest.getKillOrderDuration(), digest.getKillOrderRound());
+		if(digest.getBuildSitesBlocked()) designSchoolData.setBuildSitesBlocked(true);
+		if(digest.getRefineryCount() > 0) {
+			designSchoolData.setRefineryBuilt(true);
+			designSchoolData.setWaitingOnRefinery(false);
+		}
+	}
+	
+	private void pauseBuilding(int duration, int round) {
+		int remaining = getRemainingDuration(duration, round);
+		if(remaining > designSchoolData.getPauseBuildTimer()) designSchoolData.setPauseBuildTimer(remaining);
+	}
 	
 }
@@ -3,7 +3,6 @@ package julianbot.robots;
 import java.util.ArrayList;
 import java.util.List;
 
-import battlecode.common.Clock;
 import battlecode.common.Direction;
 import battlecode.common.GameActionException;
 import battlecode.common.GameConstants;
@@ -12,9 +11,14 @@ import battlecode.common.RobotController;
 import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
 import battlecode.common.Team;
-import battlecode.common.Transaction;
 import julianbot.robotdata.DroneData;
+import julianbot.utils.FastRandom;
 import julianbot.utils.NumberMath;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.Message;
+import julianbot.utils.blockchain.Priority;
+import julianbot.utils.blockchain.StateDigest;
+import julianbot.utils.Log;
 
 public class Drone extends Scout {
 
@@ -27,6 +31,12 @@ public class Drone extends Scout {
 		this.data = new DroneData(rc, getSpawnerLocation());
 		this.scoutData = (DroneData) this.data;
 		this.droneData = (DroneData) scoutData;
+		
+		BlockchainReader blockchainReader = data.getBlockchainReader();
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_HQ_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_ENEMY_HQ_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_KILL_ORDER);
+		blockchainReader.subscribeDigest();
 	}
 	
 	//MOVEMENT
@@ -76,83 +86,93 @@ public class Drone extends Scout {
 	public void run() throws GameActionException {
 		super.run();
 		
-		System.out.println("Turn Count 1 Check");
+		if(Log.DEBUG) Log.debug("Turn Count 1 Check");
 		if(turnCount == 1) {
-			learnHqLocation();
 			droneData.calculateInitialAttackWaitLocation();
 			droneData.initializeWallData(droneData.getHqLocation(), rc.getMapWidth(), rc.getMapHeight());
 			determineEdgeState();
 		}
 		
-		System.out.println("Enemy HQ Null Check");
-    	if(droneData.getEnemyHqLocation() == null) learnEnemyHqLocation();
-    	
     	RobotInfo[] drownableEnemies = getDrownableEnemies();
-    	System.out.println("There are " + drownableEnemies.length + " drownable enem(ies).");
+    	if(Log.DEBUG) Log.debug("There are " + drownableEnemies.length + " drownable enem(ies).");
     	
     	if(droneData.receivedKillOrder()) {
-    		System.out.println("Received kill order");
+    		if(Log.DEBUG) Log.debug("Received kill order");
     		killDroneProtocol();
 		} else if(checkPotentialThreats(drownableEnemies)) {
-			System.out.println("Found potential threat.");
+			if(Log.DEBUG) Log.debug("Found potential threat.");
     		defenseDroneProtocol(drownableEnemies);
     		return;
     	} else if(droneData.isAwaitingKillOrder()) {
-			System.out.println("Idle hit man");
+			if(Log.DEBUG) Log.debug("Idle hit man");
 			if(rc.isCurrentlyHoldingUnit() && droneData.getHoldingEnemy()) drownEnemyProtocol();
 			else if(rc.isCurrentlyHoldingUnit() && droneData.getHoldingCow()) drownCowProtocol();
 			else idleHitManDroneProtocol();
     	} else if(droneData.isPreparingToAttack()) {
-    		System.out.println("Attack prep prot");
+    		if(Log.DEBUG) Log.debug("Attack prep prot");
 			attackPreparationProtocol();
     	} else if(droneData.getEnemyHqLocation() != null) {
-    		System.out.println("Sensing flooding");
+    		if(Log.DEBUG) Log.debug("Sensing flooding");
     		senseAdjacentFlooding();    
     		
     		if(!rc.isCurrentlyHoldingUnit()) {
-    			System.out.println("No unit held");
+    			if(Log.DEBUG) Log.debug("No unit held");
     			int distanceSquaredFromEnemyHq = rc.getLocation().distanceSquaredTo(droneData.getEnemyHqLocation());
         		
     			if(distanceSquaredFromEnemyHq > 25 && approachNearbyCows()) {
     				//Distance check is to prevent routing into the enemy HQ net gun's range.
         			liftAdjacentCow();
         		} else {
-        			System.out.println("Cargo seeking");
+        			if(Log.DEBUG) Log.debug("Cargo seeking");
         			cargoSeekerProtocol();
         		}
         	} else if(droneData.getHoldingEnemy()) {
-        		System.out.println("Drown enemy prot");
+        		if(Log.DEBUG) Log.debug("Drown enemy prot");
         		drownEnemyProtocol();
         	} else if(droneData.getHoldingCow())  {
-        		System.out.println("Drown cow prot");
+        		if(Log.DEBUG) Log.debug("Drown cow prot");
         		drownCowProtocol();
         	} else {
         		droneData.setPreparingToAttack(true);
         	}
     		
     	} else {
-    		System.out.println("Needs to scout for enemy HQ");
+    		if(Log.DEBUG) Log.debug("Needs to scout for enemy HQ");
     		
     		
     		if(droneData.getHoldingEnemy()) {
-    			System.out.println("Going to drown enemy");
+    			if(Log.DEBUG) Log.debug("Going to drown enemy");
     			drownEnemyProtocol();
     		} else {
-    			System.out.println("No business with enemies -- can perform recon");
+    			if(Log.DEBUG) Log.debug("No business with enemies -- can perform recon");
     			reconDroneProtocol();
     		}
     	}
 	}
 	
-	private void learnHqLocation() throws GameActionException {
-		for(Transaction transaction : rc.getBlock(1)) {
-			int[] message = decodeTransaction(transaction);
-			if(message.length > 1 && message[1] == Type.TRANSACTION_FRIENDLY_HQ_AT_LOC.getVal()) {
-				droneData.setHqLocation(new MapLocation(message[2], message[3]));
-				return;
-			}
+	@Override
+	public void handleMessage(Message message, int round) throws GameActionException {
+		switch(message.getType()) {
+			case TRANSACTION_FRIENDLY_HQ_AT_LOC:
+				droneData.setHqLocation(message.getLocation());
+				break;
+			case TRANSACTION_ENEMY_HQ_AT_LOC:
+				if(droneData.getEnemyHqLocation() == null) droneData.setEnemyHqLocation(message.getLocation());
+				break;
+			case TRANSACTION_KILL_ORDER:
+				if(round > droneData.getLatestKillOrderRound()) droneData.setLatestKillOrderRound(round);
+				break;
+			default:
+				break;
 		}
 	}
+	
+	@Override
+	public void handleDigest(StateDigest digest, int round) throws GameActionException {
+		if(digest.getHqLocation() != null) droneData.setHqLocation(digest.getHqLocation());
+		if(droneData.getEnemyHqLocation() == null) droneData.setEnemyHqLocation(digest.getEnemyHqLocation());
+		if(digest.getKillOrderRound() > droneData.getLatestKillOrderRound()) droneData.setLatestKillOrderRound(digest.getKillOrderRound());
+	}
 
 	private void determineEdgeState() {
 		MapLocation hqLocation = droneData.getHqLocation();
@@ -181,7 +201,7 @@ public class Drone extends Scout {
 	 * Once drone is holding enemy, will search for flooded area and drop it there.
 	 */
 	private void drownEnemyProtocol() throws GameActionException {
-		System.out.println("Entered Drown Enemy Protocol");
+		if(Log.DEBUG) Log.debug("Entered Drown Enemy Protocol");
 		MapLocation rcLoation = rc.getLocation();
 		
 		for(Direction direction : Direction.allDirections()) {
@@ -195,8 +215,8 @@ public class Drone extends Scout {
 		}
 		
 		if (droneData.getFloodedLocs().size() > 0) {
-			System.out.println("Moving toward flooded loc");
-			MapLocation closestLoc = locateClosestLocation(droneData.getFloodedLocs(), rcLoation);
+			if(Log.DEBUG) Log.debug("Moving toward flooded loc");
+			MapLocation closestLoc = droneData.getFloodedLocs().nearest(rcLoation);
 			if (rcLoation.distanceSquaredTo(closestLoc) > 3) {
 				routeTo(closestLoc);
 			} else if (dropUnit(rcLoation.directionTo(closestLoc))) {
@@ -212,7 +232,7 @@ public class Drone extends Scout {
 	}
 	
 	private void drownCowProtocol() throws GameActionException {
-		System.out.println("Entered Drown Cow Protocol");
+		if(Log.DEBUG) Log.debug("Entered Drown Cow Protocol");
 		MapLocation rcLocation = rc.getLocation();
 		
 		for(Direction direction : Direction.allDirections()) {
@@ -226,8 +246,8 @@ public class Drone extends Scout {
 		}
 		
 		if (droneData.getFloodedLocs().size() > 0) {
-			System.out.println("Moving toward flooded loc");
-			MapLocation closestLoc = locateClosestLocation(droneData.getFloodedLocs(), rcLocation);
+			if(Log.DEBUG) Log.debug("Moving toward flooded loc");
+			MapLocation closestLoc = droneData.getFloodedLocs().nearest(rcLocation);
 			if (rcLocation.distanceSquaredTo(closestLoc) > 3) {
 				routeTo(closestLoc);
 			} else if (dropUnit(rcLocation.directionTo(closestLoc))) {
@@ -265,26 +285,7 @@ public class Drone extends Scout {
 			return;
 		}
 
-		data.setSearchDirection(directions[(int) (Math.random() * directions.length)]);
-	}
-	
-	private void learnEnemyHqLocation() throws GameActionException {
-		for(int i = droneData.getTransactionRound(); i < rc.getRoundNum(); i++) {
-    		for(Transaction transaction : rc.getBlock(i)) {
-    			int[] message = decodeTransaction(transaction);
-    			if(message.length >= 4) {
-    				if(message[1] == Robot.Type.TRANSACTION_ENEMY_HQ_AT_LOC.getVal()) {
-    					droneData.setEnemyHqLocation(new MapLocation(message[2], message[3]));
-    					return;
-    				}
-    			}
-    		}
-    		
-    		droneData.setTransactionRound(i + 1);
-    		if(Clock.getBytecodesLeft() <= 200) {
-    			break;
-    		}
-    	}
+		data.setSearchDirection(directions[FastRandom.nextInt(directions.length)]);
 	}
 	
 	private void killDroneProtocol() throws GameActionException {
@@ -292,14 +293,14 @@ public class Drone extends Scout {
 			//ATTACK ENEMY HQ
 			
 			if(!rc.getLocation().isWithinDistanceSquared(droneData.getEnemyHqLocation(), 8)) {
-				System.out.println("Not yet near HQ!");
+				if(Log.DEBUG) Log.debug("Not yet near HQ!");
 				if(rc.isCurrentlyHoldingUnit()) {
 					if(droneData.getHoldingEnemy() || droneData.getHoldingCow()) {
-						System.out.println("Holding hostile force!");
+						if(Log.DEBUG) Log.debug("Holding hostile force!");
 						//Drop enemies and cows in the ocean.
 						Direction adjacentFloodingDirection = getAdjacentFloodingDirection();
 						if(adjacentFloodingDirection != null) {
-							System.out.println("Can drown it to the " + adjacentFloodingDirection);
+							if(Log.DEBUG) Log.debug("Can drown it to the " + adjacentFloodingDirection);
 							dropUnit(adjacentFloodingDirection);
 							return;
 						}
@@ -310,13 +311,13 @@ public class Drone extends Scout {
 				
 				bfsRouteTo(droneData.getEnemyHqLocation());
 			} else {
-				System.out.println("Near HQ!");
+				if(Log.DEBUG) Log.debug("Near HQ!");
 				if(rc.isCurrentlyHoldingUnit()) {
 					if(droneData.getHoldingEnemy() || droneData.getHoldingCow()) {
 						//Drop enemies and cows in the ocean.
 						Direction adjacentFloodingDirection = getAdjacentFloodingDirection();
 						if(adjacentFloodingDirection != null) {
-							System.out.println("Can drown it to the " + adjacentFloodingDirection);
+							if(Log.DEBUG) Log.debug("Can drown it to the " + adjacentFloodingDirection);
 							dropUnit(adjacentFloodingDirection);
 							return;
 						}
@@ -375,13 +376,14 @@ public class Drone extends Scout {
 	}
 	
 	private boolean approachNearbyEnemies() throws GameActionException {
-		RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
-		if(enemies.length == 0) return false;
+		RobotInfo[] enemies = senseRobots(rc.getTeam().opponent());
+		int enemyCount = senseRobotCount(rc.getTeam().opponent());
+		if(enemyCount == 0) return false;
 		
-		System.out.println("ENEMY SPOTTED! KILL IT!");
+		if(Log.DEBUG) Log.debug("ENEMY SPOTTED! KILL IT!");
 		
-		int[] enemySquaredDistances = new int[enemies.length];
-		for(int i = 0; i < enemies.length; i++) {
+		int[] enemySquaredDistances = new int[enemyCount];
+		for(int i = 0; i < enemyCount; i++) {
 			enemySquaredDistances[i] = enemies[i].getType().canBePickedUp() ? rc.getLocation().distanceSquaredTo(enemies[i].getLocation()) : Integer.MAX_VALUE;
 		}
 		
@@ -393,9 +395,11 @@ public class Drone extends Scout {
 	}
 	
 	private boolean liftAdjacentEnemy() throws GameActionException {
-		RobotInfo[] enemies = rc.senseNearbyRobots(-1, droneData.getOpponent());
+		RobotInfo[] enemies = senseRobots(droneData.getOpponent());
+		int enemyCount = senseRobotCount(droneData.getOpponent());
 		
-		for(RobotInfo enemy : enemies) {
+		for(int i = 0; i < enemyCount; i++) {
+			RobotInfo enemy = enemies[i];
 			if(pickUpUnit(enemy)) {
 				droneData.setHoldingEnemy(true);
 				droneData.setCargoType(enemy.getType());
@@ -407,17 +411,11 @@ public class Drone extends Scout {
 	}
 	
 	private boolean approachNearbyCows() throws GameActionException {
-		RobotInfo[] cows = this.senseAllUnitsOfType(RobotType.COW, Team.NEUTRAL);
-		if(cows.length == 0) return false;
-		
-		System.out.println("I SEE MY DELICIOUS CATTLEY PREY!");
+		RobotInfo targetCow = senseClosestUnitType(RobotType.COW, Team.NEUTRAL);
+		if(targetCow == null) return false;
 		
-		int[] cowSquaredDistances = new int[cows.length];
-		for(int i = 0; i < cows.length; i++) {
-			cowSquaredDistances[i] = rc.getLocation().distanceSquaredTo(cows[i].getLocation());
-		}
+		if(Log.DEBUG) Log.debug("I SEE MY DELICIOUS CATTLEY PREY!");
 		
-		RobotInfo targetCow = cows[NumberMath.indexOfLeast(cowSquaredDistances)];
 		if(targetCow.getLocation().isWithinDistanceSquared(rc.getLocation(), 3)) return true;
 		return routeTo(targetCow.getLocation());
 	}
@@ -440,14 +438,14 @@ public class Drone extends Scout {
 	private void attackPreparationProtocol() throws GameActionException {
 		if(droneData.isWallBuildConfirmed()) {
 			//If the wall build is confirmed, the drone can prepare to attack.
-			System.out.println("Wall build confirmed!");
+			if(Log.DEBUG) Log.debug("Wall build confirmed!");
 			//Route to appropriate location (any location three units away from the HQ in either direction) and wait for kill order.
 			if(rc.getLocation().equals(droneData.getAttackWaitLocation())) {
-				System.out.println("Waiting on the kill order!");
+				if(Log.DEBUG) Log.debug("Waiting on the kill order!");
 				droneData.setAwaitingKillOrder(true);
 			} else {
 				cycleNewAttackLocation();
-				System.out.println("Routing to attack wait location " + droneData.getAttackWaitLocation());
+				if(Log.DEBUG) Log.debug("Routing to attack wait location " + droneData.getAttackWaitLocation());
 				routeTo(droneData.getAttackWaitLocation());
 				
 				MapLocation rcLocation = rc.getLocation();
@@ -455,7 +453,7 @@ public class Drone extends Scout {
 				Direction toHqDirection = rcLocation.directionTo(hqLocation);
 				MapLocation potentialWallLocation = rcLocation.add(toHqDirection);
 				
-				System.out.println("Cargo type = " + droneData.getCargoType());
+				if(Log.DEBUG) Log.debug("Cargo type = " + droneData.getCargoType());
 				if(!findVacanciesOnWall() && isWithinWall(rcLocation, hqLocation)) {
 					if(rc.isCurrentlyHoldingUnit() && !droneData.getHoldingEnemy() && !droneData.getHoldingCow()) dropUnitAnywhereSafe();
 					else pickUpWallUnit();
@@ -466,30 +464,30 @@ public class Drone extends Scout {
 			}
 		} else {
 			//If the wall build is not confirmed, the drone can proceed to move a landscaper to the next wall segment.
-			System.out.println("Wall build NOT confirmed!");
+			if(Log.DEBUG) Log.debug("Wall build NOT confirmed!");
 			
 			MapLocation nextWallSegment = droneData.getNextWallSegment();
 			if(nextWallSegment == null) {
-				System.out.println("Null next wall segment. Have we checked yet? " + droneData.isWallBuildChecked());
+				if(Log.DEBUG) Log.debug("Null next wall segment. Have we checked yet? " + droneData.isWallBuildChecked());
 				
 				if(!droneData.isWallBuildChecked()) checkWallBuild();
 				else droneData.setWallBuildConfirmed(true);
 				
-				System.out.println("Wall build confirmed now? " + droneData.isWallBuildConfirmed());
+				if(Log.DEBUG) Log.debug("Wall build confirmed now? " + droneData.isWallBuildConfirmed());
 			} else if(rc.canSenseLocation(nextWallSegment)) {
-				System.out.println("Can sense next wall segment " + nextWallSegment);
+				if(Log.DEBUG) Log.debug("Can sense next wall segment " + nextWallSegment);
 				
 				if(rc.getLocation().isWithinDistanceSquared(droneData.getNextWallSegment(), 3)) {
-					System.out.println("Dropping on adjacent wall segment.");
+					if(Log.DEBUG) Log.debug("Dropping on adjacent wall segment.");
 					if(!dropUnit(rc.getLocation().directionTo(droneData.getNextWallSegment()))) {
-						System.out.println("The wall drop failed, so we'll consider the wall built.");
+						if(Log.DEBUG) Log.debug("The wall drop failed, so we'll consider the wall built.");
 						droneData.setWallBuildConfirmed(true);
 					}
 				} else if(rc.isLocationOccupied(nextWallSegment)) {
-					System.out.println("Next wall segment is occupied, so the wall will be considered built!");
+					if(Log.DEBUG) Log.debug("Next wall segment is occupied, so the wall will be considered built!");
 					droneData.setWallBuildConfirmed(true);
 				} else {
-					System.out.println("Routing to next wall segment!");
+					if(Log.DEBUG) Log.debug("Routing to next wall segment!");
 					routeTo(nextWallSegment);
 				}
 			} else {
@@ -517,10 +515,10 @@ public class Drone extends Scout {
 		boolean oughtPickUpLandscaper = oughtPickUpLandscaper();
 		boolean oughtPickUpMiner = oughtPickUpMiner();
 		
-		System.out.println("No unit held! Lift Landscaper? " + oughtPickUpLandscaper);
+		if(Log.DEBUG) Log.debug("No unit held! Lift Landscaper? " + oughtPickUpLandscaper);
 		
 		if(senseUnitType(RobotType.COW) != null) {
-			System.out.println("Sensed a cow that ought be lifted.");
+			if(Log.DEBUG) Log.debug("Sensed a cow that ought be lifted.");
 			if(!pickUpUnit(RobotType.COW)) {
 				routeTo(droneData.getHqLocation());
 			} else {
@@ -532,16 +530,16 @@ public class Drone extends Scout {
 			if(!rc.canSenseLocation(droneData.getHqLocation())) {
 				routeTo(droneData.getHqLocation());
 			} else if(idleAttackMiner != null) {
-				System.out.println("\tFound an idle attack miner");
+				if(Log.DEBUG) Log.debug("\tFound an idle attack miner");
 				if(!pickUpUnit(idleAttackMiner)) {
     				routeTo(idleAttackMiner.getLocation());
     			}
 			} else {
-				System.out.println("Routing to waiting point");
+				if(Log.DEBUG) Log.debug("Routing to waiting point");
 				routeToWaitingPoint();
 			}
 		} else if(oughtPickUpLandscaper) {
-			System.out.println("Ought lift a landscaper rather than a cow.");
+			if(Log.DEBUG) Log.debug("Ought lift a landscaper rather than a cow.");
 			RobotInfo idleAttackLandscaper = senseAttackLandscaper();
 			
 			if(!rc.canSenseLocation(droneData.getHqLocation())) {
@@ -556,21 +554,21 @@ public class Drone extends Scout {
 				}
 				
 			} else if(idleAttackLandscaper != null) {
-				System.out.println("\tFound an idle attack landscaper");
+				if(Log.DEBUG) Log.debug("\tFound an idle attack landscaper");
 				if(!pickUpUnit(idleAttackLandscaper)) {
     				routeTo(idleAttackLandscaper.getLocation());
     			} else {
     				checkWallBuild();
     			}
 			} else {
-				System.out.println("Routing to waiting point");
+				if(Log.DEBUG) Log.debug("Routing to waiting point");
 				routeToWaitingPoint();
 			}
 		} else if(!rc.canSenseLocation(droneData.getFulfillmentCenterBuildSite())){
-			System.out.println("Ought not lift a landscaper, so routing to waiting point");
+			if(Log.DEBUG) Log.debug("Ought not lift a landscaper, so routing to waiting point");
 			routeToWaitingPoint();
 		} else if(isOnWall(rc.getLocation(), droneData.getHqLocation())) {
-			System.out.println("Drone on the wall needs to move");
+			if(Log.DEBUG) Log.debug("Drone on the wall needs to move");
 			routeTo(droneData.getFulfillmentCenterBuildSite().add(droneData.getFulfillmentCenterBuildSite().directionTo(rc.getLocation())));
 		}
 	}
@@ -640,7 +638,7 @@ public class Drone extends Scout {
 	
 	private void defenseDroneProtocol(RobotInfo[] targets) throws GameActionException {
 		if(approachNearbyEnemies()) {
-			System.out.println("Successful enemy approach! Attempting lift...");
+			if(Log.DEBUG) Log.debug("Successful enemy approach! Attempting lift...");
 			liftAdjacentEnemy();
 		}
 	}
@@ -671,10 +669,12 @@ public class Drone extends Scout {
 	}
 	
 	private RobotInfo[] getDrownableEnemies() {
-		RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
+		RobotInfo[] enemies = senseRobots(rc.getTeam().opponent());
+		int enemyCount = senseRobotCount(rc.getTeam().opponent());
 		List<RobotInfo> drownableEnemies = new ArrayList<>();
 		
-		for(RobotInfo enemy : enemies) {
+		for(int i = 0; i < enemyCount; i++) {
+			RobotInfo enemy = enemies[i];
 			if(enemy.type.canBePickedUp()) drownableEnemies.add(enemy);
 		}
 		
@@ -689,8 +689,8 @@ public class Drone extends Scout {
 		attemptEnemyHQDetection();
 		
 		if(droneData.getEnemyHqLocation() != null) {
-			sendTransaction(10, Robot.Type.TRANSACTION_ENEMY_HQ_AT_LOC, droneData.getEnemyHqLocation());
-			System.out.println("Detected the HQ and sent a transaction!");
+			sendTransaction(Priority.URGENT, Robot.Type.TRANSACTION_ENEMY_HQ_AT_LOC, droneData.getEnemyHqLocation());
+			if(Log.DEBUG) Log.debug("Detected the HQ and sent a transaction!");
 		} else {
 			cautiouslyApproachHqLocation();
 		}
@@ -700,7 +700,7 @@ public class Drone extends Scout {
 		MapLocation searchDestination = droneData.getActiveSearchDestination();
 		int distanceSquared = rc.getLocation().distanceSquaredTo(searchDestination);
 		
-		System.out.println("Distance from prospective HQ Location = " + distanceSquared);
+		if(Log.DEBUG) Log.debug("Distance from prospective HQ Location = " + distanceSquared);
 		if(distanceSquared <= 25) {
 			//If we move diagonally towards the HQ, we will be within net gun range and will be shot. We have to be pragmatic about how we move.
 			for(Direction direction : Direction.allDirections()) {
@@ -708,7 +708,7 @@ public class Drone extends Scout {
 				int prospectiveDistanceSquared = targetLocation.distanceSquaredTo(searchDestination);
 				if(16 <= prospectiveDistanceSquared && prospectiveDistanceSquared < distanceSquared) {
 					if(rc.canMove(direction)) {
-						System.out.println("Alright, we\'re going to cautiously move " + direction);
+						if(Log.DEBUG) Log.debug("Alright, we\'re going to cautiously move " + direction);
 						move(direction);
 						break;
 					}
@@ -800,7 +800,7 @@ public class Drone extends Scout {
 	private void senseAdjacentFlooding() throws GameActionException {
 		for (Direction dir : Direction.allDirections()) {
 			if (rc.canSenseLocation(rc.adjacentLocation(dir)) && rc.senseFlooding(rc.adjacentLocation(dir))) {
-				System.out.println("Storing flooded loc");
+				if(Log.DEBUG) Log.debug("Storing flooded loc");
 				rc.setIndicatorDot(rc.adjacentLocation(dir), 255, 165, 0);
 				droneData.addFloodedLoc(rc.adjacentLocation(dir));
 			}
@@ -843,16 +843,7 @@ public class Drone extends Scout {
 	}
 	
 	private boolean readKillOrder() throws GameActionException {
-		for(Transaction transaction : rc.getBlock(rc.getRoundNum() - 1)) {
-			int[] message = decodeTransaction(transaction);
-			if(message.length >= 4) {
-				if(message[1] == Robot.Type.TRANSACTION_KILL_ORDER.getVal()) {
-					return true;
-				}
-			}
-		}
-		
-		return false;
+		return droneData.getLatestKillOrderRound() == rc.getRoundNum() - 1;
 	}
 	
 	private void checkWallBuild() throws GameActionException {
@@ -861,27 +852,19 @@ public class Drone extends Scout {
     	droneData.setWallBuildChecked(true);
     	droneData.setWallBuildConfirmed(true);
     	
-    	int minDx = droneData.getWallOffsetXMin();
-    	int maxDx = droneData.getWallOffsetXMax();
-    	int minDy = droneData.getWallOffsetYMin();
-    	int maxDy = droneData.getWallOffsetYMax();
-    	
-    	for(int dx = minDx; dx <= maxDx; dx++) {
-    		for(int dy = minDy; dy <= maxDy; dy++) {
-    			MapLocation wallLocation = hqLocation.translate(dx, dy);
-    			if(isOnWall(wallLocation, hqLocation) && rc.canSenseLocation(wallLocation)) {
-    				if(rc.senseElevation(wallLocation) - hqElevation <= GameConstants.MAX_DIRT_DIFFERENCE) {
-    					droneData.setWallBuildConfirmed(false);
-    					if(!rc.isLocationOccupied(wallLocation)) {
-    						MapLocation nextWallSegment = droneData.getNextWallSegment();
-    						
-    						if(nextWallSegment == null) {
-    							droneData.setNextWallSegment(wallLocation);
-    						} else {
-    							if(wallLocation.x > nextWallSegment.x) droneData.setNextWallSegment(wallLocation);
-        						else if(wallLocation.x == nextWallSegment.x && wallLocation.y > nextWallSegment.y) droneData.setNextWallSegment(wallLocation);
-    						}    						
-    					}
+    	for(MapLocation wallLocation : droneData.getWallGeometry(hqLocation).getWallTiles()) {
+    		if(rc.canSenseLocation(wallLocation)) {
+    			if(rc.senseElevation(wallLocation) - hqElevation <= GameConstants.MAX_DIRT_DIFFERENCE) {
+    				droneData.setWallBuildConfirmed(false);
+    				if(!rc.isLocationOccupied(wallLocation)) {
+    					MapLocation nextWallSegment = droneData.getNextWallSegment();
+    					
+    					if(nextWallSegment == null) {
+    						droneData.setNextWallSegment(wallLocation);
+    					} else {
+    						if(wallLocation.x > nextWallSegment.x) droneData.setNextWallSegment(wallLocation);
+    						else if(wallLocation.x == nextWallSegment.x && wallLocation.y > nextWallSegment.y) droneData.setNextWallSegment(wallLocation);
+    					}    						
     				}
     			}
     		}
@@ -892,18 +875,10 @@ public class Drone extends Scout {
 		MapLocation rcLocation = rc.getLocation();
 		MapLocation hqLocation = droneData.getHqLocation();
     	
-    	int minDx = droneData.getWallOffsetXMin();
-    	int maxDx = droneData.getWallOffsetXMax();
-    	int minDy = droneData.getWallOffsetYMin();
-    	int maxDy = droneData.getWallOffsetYMax();
-    	
-    	for(int dx = minDx; dx <= maxDx; dx++) {
-    		for(int dy = minDy; dy <= maxDy; dy++) {
-    			MapLocation wallLocation = hqLocation.translate(dx, dy);
-    			if(rc.canSenseLocation(wallLocation) && wallLocation.isWithinDistanceSquared(rcLocation, 3) && isOnWall(wallLocation, hqLocation)) {
-    				if(!rc.isLocationOccupied(wallLocation)) {
-    					return true;
-    				}
+    	for(MapLocation wallLocation : droneData.getWallGeometry(hqLocation).getWallTiles()) {
+    		if(wallLocation.isWithinDistanceSquared(rcLocation, 3) && rc.canSenseLocation(wallLocation)) {
+    			if(!rc.isLocationOccupied(wallLocation)) {
+    				return true;
     			}
     		}
     	}
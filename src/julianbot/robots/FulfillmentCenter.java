@@ -3,13 +3,16 @@ package julianbot.robots;
 import battlecode.common.Clock;
 import battlecode.common.Direction;
 import battlecode.common.GameActionException;
-import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
 import battlecode.common.Transaction;
 import julianbot.robotdata.FulfillmentCenterData;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.Message;
+import julianbot.utils.blockchain.StateDigest;
+import julianbot.utils.Log;
 
 public class FulfillmentCenter extends Robot {
 
@@ -19,6 +22,13 @@ public class FulfillmentCenter extends Robot {
 		super(rc);
 		this.data = new FulfillmentCenterData(rc, getSpawnerLocation());
 		this.fulfillmentCenterData = (FulfillmentCenterData) this.data;
+		
+		BlockchainReader blockchainReader = data.getBlockchainReader();
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_HQ_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_ENEMY_HQ_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_KILL_ORDER);
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC);
+		blockchainReader.subscribeDigest();
 	}
 
 	@Override
@@ -26,12 +36,9 @@ public class FulfillmentCenter extends Robot {
 		super.run();
 		
 		if(turnCount == 1) {
-			learnHQLocation();
 			determineEdgeState();
 		}
 
-    	readTransactions();
-    	
 		if(!fulfillmentCenterData.isStableSoupIncomeConfirmed()) confirmStableSoupIncome();
 		
 		fulfillmentCenterData.setPauseBuildTimer(fulfillmentCenterData.getPauseBuildTimer() - 1);
@@ -40,16 +47,6 @@ public class FulfillmentCenter extends Robot {
     	if(oughtBuildDrone()) tryBuild();
 	}
 	
-	private void learnHQLocation() throws GameActionException {
-		for(Transaction transaction : rc.getBlock(1)) {
-			int[] message = decodeTransaction(transaction);
-			if(message.length > 1 && message[1] == Type.TRANSACTION_FRIENDLY_HQ_AT_LOC.getVal()) {
-				fulfillmentCenterData.setHqLocation(new MapLocation(message[2], message[3]));
-				return;
-			}
-		}		
-	}
-
 	private void determineEdgeState() {
 		MapLocation hqLocation = fulfillmentCenterData.getHqLocation();
 		
@@ -88,9 +85,10 @@ public class FulfillmentCenter extends Robot {
 		int numFriendlyDrones = this.senseNumberOfUnits(RobotType.DELIVERY_DRONE, rc.getTeam());
 		
 		if(numFriendlyDrones < 3 && rc.getTeamSoup() >= RobotType.DELIVERY_DRONE.cost) {
-			RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
-			for(RobotInfo enemy : enemies) {
-				if(enemy.type.canBePickedUp()) {
+			RobotInfo[] enemies = senseRobots(rc.getTeam().opponent());
+			int enemyCount = senseRobotCount(rc.getTeam().opponent());
+			for(int i = 0; i < enemyCount; i++) {
+				if(enemies[i].type.canBePickedUp()) {
 					return defensiveBuild();
 				}
 			}
@@ -188,7 +186,7 @@ public class FulfillmentCenter extends Robot {
     			if(message.length >= 4) {
     				if(message[1] == Robot.Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC.getVal()) {
     					fulfillmentCenterData.setStableSoupIncomeConfirmed(true);
-    					System.out.println("Stable soup income confirmed!");
+    					if(Log.DEBUG) Log.debug("Stable soup income confirmed!");
     					return;
     				}
     			}
@@ -202,37 +200,37 @@ public class FulfillmentCenter extends Robot {
     	*/
     }
     
-    private void readTransactions() throws GameActionException {
-    	for(int i = fulfillmentCenterData.getTransactionRound(); i < rc.getRoundNum(); i++) {
-    		for(Transaction transaction : rc.getBlock(i)) {
-    			int[] message = decodeTransaction(transaction);
-    			
-    			if (message.length == GameConstants.NUMBER_OF_TRANSACTIONS_PER_BLOCK) {
-	    			Robot.Type category = Robot.Type.enumOfValue(message[1]);
-	
-					//System.out.println("Category of message: " + category);
-					switch(category) {
-						case TRANSACTION_ENEMY_HQ_AT_LOC:
-							fulfillmentCenterData.setEnemyHqLocated(true);
-							break;
-						case TRANSACTION_KILL_ORDER:
-    						System.out.println("Pausing building...");
-    						fulfillmentCenterData.setPauseBuildTimer(message[5]);
-    						break;
-						case TRANSACTION_FRIENDLY_REFINERY_AT_LOC:
-							fulfillmentCenterData.setWaitingOnRefinery(false);
-    						break;
-						default:
-							break;
-					}
-    			}
-    		}
-    		
-    		if(Clock.getBytecodesLeft() <= 500) {
-    			fulfillmentCenterData.setTransactionRound(i);
-    			break;
-    		}
-    	}
+    @Override
+    public void handleMessage(Message message, int round) throws GameActionException {
+		switch(message.getType()) {
+			case TRANSACTION_FRIENDLY_HQ_AT_LOC:
+				fulfillmentCenterData.setHqLocation(message.getLocation());
+				break;
+			case TRANSACTION_ENEMY_HQ_AT_LOC:
+				fulfillmentCenterData.setEnemyHqLocated(true);
+				break;
+			case TRANSACTION_KILL_ORDER:
+				if(Log.DEBUG) Log.debug("Pausing building...");
+				int remaining = getRemainingDuration(message.getBonus(), message.getSentRound());
+				if(remaining > fulfillmentCenterData.getPauseBuildTimer()) fulfillmentCenterData.setPauseBuildTimer(remaining);
+				break;
+			case TRANSACTION_FRIENDLY_REFINERY_AT_LOC:
+				fulfillmentCenterData.setWaitingOnRefinery(false);
+				break;
+			default:
+				break;
+		}
     }
 	
+	@Override
+	public void handleDigest(StateDigest digest, int round) throws GameActionException {
+		if(digest.getHqLocation() != null) fulfillmentCenterData.setHqLocation(digest.getHqLocation());
+		if(digest.getEnemyHqLocation() != null) fulfillmentCenterData.setEnemyHqLocated(true);
+		if(digest.getKillOrderRound() > 0) {
+			int remaining = getRemainingDuration(digest.getKillOrderDuration(), digest.getKillOrderRound());
+			if(remaining > fulfillmentCenterData.getPauseBuildTimer()) fulfillmentCenterData.setPauseBuildTimer(remaining);
+		}
+		if(digest.getRefineryCount() > 0) fulfillmentCenterData.setWaitingOnRefinery(false);
+	}
+	
 }
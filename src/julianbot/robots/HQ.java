@@ -9,6 +9,13 @@ import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
 import battlecode.common.Transaction;
 import julianbot.robotdata.HQData;
+import julianbot.utils.FloodForecast;
+import julianbot.utils.PlayerConstants;
+import julianbot.utils.TileOffsets;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.Message;
+import julianbot.utils.blockchain.Priority;
+import julianbot.utils.Log;
 
 public class HQ extends Robot {
 
@@ -16,11 +23,24 @@ public class HQ extends Robot {
 	
 	private static final int KILL_ORDER_COOLDOWN_ROUNDS = 50;
 	private int killOrderCooldownCount;
+	private static final int SOS_INTERVAL_ROUNDS = 20; //An SOS that cannot be afforded stays queued until it is sent, so repeating it sooner only pays for the same news again
+	private int lastSosRound = -SOS_INTERVAL_ROUNDS;
 	
 	public HQ(RobotController rc) {
 		super(rc);
 		this.data = new HQData(rc, getSpawnerLocation());
 		this.hqData = (HQData) this.data;
+		
+		BlockchainReader blockchainReader = data.getBlockchainReader();
+		blockchainReader.subscribe(Type.TRANSACTION_ENEMY_HQ_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_SOUP_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_BUILD_SITE_BLOCKED);
+		blockchainReader.subscribe(Type.TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED);
+		blockchainReader.subscribe(Type.TRANSACTION_PAUSE_LANDSCAPER_BUILDING);
+		blockchainReader.subscribeForeignTransactions();
+		
+		hqData.getStateDigest().setHqLocation(rc.getLocation());
 	}
 
 	@Override
@@ -38,18 +58,19 @@ public class HQ extends Robot {
         	tryBuild();
         }
         
-        if(hqData.getEnemyHqLocation() == null) readForEnemyHq();
-        
-        storeForeignTransactions();
         if(rc.getRoundNum() % 100 == 0) repeatForeignTransaction();    
+        if(rc.getRoundNum() - hqData.getLastDigestRound() >= PlayerConstants.STATE_DIGEST_INTERVAL) publishDigest();
         
-        RobotInfo[] enemies = rc.senseNearbyRobots(rc.getCurrentSensorRadiusSquared(), hqData.getOpponent());
+        int enemyCount = senseRobotCount(hqData.getOpponent());
                 
-        if(enemies.length > 0) {
-        	if(enemies.length > 10) {
+        if(enemyCount > 0) {
+        	if(enemyCount > 10) {
 	        	sendSOS();
 	        }
         	
+        	//Copied, since shooting or building refills the shared list.
+        	RobotInfo[] enemies = new RobotInfo[enemyCount];
+        	System.arraycopy(senseRobots(hqData.getOpponent()), 0, enemies, 0, enemyCount);
 	        for(RobotInfo enemy : enemies) {
 	        	if(enemy.type.equals(RobotType.LANDSCAPER) && senseUnitType(RobotType.FULFILLMENT_CENTER, rc.getTeam()) == null) {
 	        		hqData.setBuildDirection(rc.getLocation().directionTo(enemy.location).rotateLeft());
@@ -63,23 +84,25 @@ public class HQ extends Robot {
         }
         
         if(wallBuilt(rc.getLocation()) && lacksVaporatorMiner() && lacksVaporator()) {
-        	System.out.println("Building vaporator miner...");
+        	if(Log.DEBUG) Log.debug("Building vaporator miner...");
         	buildVaporatorMiner();
         }
         
         if(killOrderCooldownCount <= 0) {
         	int estimatedAttackTime = getEstimatedDroneAttackTime();
-        	int projectedFlooding = getFloodingAtRound(rc.getRoundNum() + estimatedAttackTime);
+        	int projectedFlooding = FloodForecast.getWaterLevel(rc.getRoundNum() + estimatedAttackTime);
         	
         	if(rc.getRoundNum() > 1000 && projectedFlooding > lowestWallHeight()) {
         		sendKillOrder(estimatedAttackTime);
         		return;
         	}
         	
-	        RobotInfo[] allies = rc.senseNearbyRobots(-1, rc.getTeam());
+	        RobotInfo[] allies = senseRobots(rc.getTeam());
+	        int allyCount = senseRobotCount(rc.getTeam());
 	        int attackDroneCount = 0;
 	        
-	        for(RobotInfo ally : allies) {
+	        for(int i = 0; i < allyCount; i++) {
+	        	RobotInfo ally = allies[i];
 	        	if(ally.type == RobotType.DELIVERY_DRONE && (Math.abs(ally.getLocation().x - rc.getLocation().x) == 3 || Math.abs(ally.getLocation().y - rc.getLocation().y) == 3)) attackDroneCount++;
 	        }
 	        
@@ -95,8 +118,8 @@ public class HQ extends Robot {
 	}
 	
 	private void makeInitialReport() throws GameActionException {
-		//Since there can be seven transactions per round, we can be guaranteed to get one message through on the first round if that message is sent with a bid of one more than a seventh of the inital soup cost.
-		sendTransaction((GameConstants.INITIAL_SOUP / 7) + 1, Type.TRANSACTION_FRIENDLY_HQ_AT_LOC, rc.getLocation());
+		//With no block prices observed yet, an urgent bid is one more than a seventh of the initial soup, which is guaranteed to get through on the first round.
+		sendTransaction(Priority.URGENT, Type.TRANSACTION_FRIENDLY_HQ_AT_LOC, rc.getLocation());
 	}
 	
 	private boolean oughtBuildMiner() {
@@ -113,16 +136,17 @@ public class HQ extends Robot {
     	int vaporatorElevation = rc.senseElevation(hqData.getVaporatorBuildSite());
     	int vaporatorMinerElevation = rc.senseElevation(hqData.getVaporatorBuildMinerLocation());
 		
-		if(designSchoolElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(1, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getDesignSchoolBuildSite());
-		else if(fulfillmentCenterElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(1, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getFulfillmentCenterBuildSite());
-		else if(vaporatorElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(1, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getVaporatorBuildSite());
-		else if(vaporatorMinerElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(1, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getVaporatorBuildMinerLocation());
+		if(designSchoolElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(Priority.NORMAL, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getDesignSchoolBuildSite());
+		else if(fulfillmentCenterElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(Priority.NORMAL, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getFulfillmentCenterBuildSite());
+		else if(vaporatorElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(Priority.NORMAL, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getVaporatorBuildSite());
+		else if(vaporatorMinerElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE) sendTransaction(Priority.NORMAL, Type.TRANSACTION_BUILD_SITE_BLOCKED, hqData.getVaporatorBuildMinerLocation());
 	}
 	
 	//DEFENSE
 	private void sendSOS() throws GameActionException {
-		//Since there can be seven transactions per round, we can be guaranteed to get one message through if that message is sent with a bid of one more than a seventh of the inital soup cost.
-		sendTransaction(10, Type.TRANSACTION_SOS_AT_LOC, rc.getLocation());
+		if(rc.getRoundNum() - lastSosRound < SOS_INTERVAL_ROUNDS) return;
+		sendTransaction(Priority.URGENT, Type.TRANSACTION_SOS_AT_LOC, rc.getLocation());
+		lastSosRound = rc.getRoundNum();
 	}
 	
 	private void shootUnit(int robotID) throws GameActionException {
@@ -173,37 +197,26 @@ public class HQ extends Robot {
     //TODO: Rewrite this using rc.senseNearbySoup()
     private void setBuildDirectionTowardsSoup() throws GameActionException {
     	MapLocation rcLocation = rc.getLocation();
-    	int dimension = (int) Math.ceil(Math.sqrt(RobotType.HQ.sensorRadiusSquared));
-    	for(int dx = -dimension; dx <= dimension; dx++) {
-    		for(int dy = -dimension; dy <= dimension; dy++) {
-    			MapLocation searchLocation = rcLocation.translate(dx, dy);
-    			if(rc.canSenseLocation(searchLocation)) {
-    				if(rc.senseSoup(searchLocation) > 0) {
-    					hqData.setBuildDirection(rcLocation.directionTo(searchLocation));
-    					return;
-    				}
-    			}
+    	MapLocation soupLocation = TileOffsets.forSensor(RobotType.HQ).sweep(rc, rcLocation, new TileOffsets.Visitor() {
+    		@Override
+    		public boolean visit(MapLocation location) throws GameActionException {
+    			return rc.senseSoup(location) > 0;
     		}
-    	}
+    	});
+    	
+    	//Soup under the HQ is next to every build tile, so the default direction serves it as well as any. Aiming at it would give CENTER, where nothing can be built.
+    	if(soupLocation != null && !soupLocation.equals(rcLocation)) hqData.setBuildDirection(rcLocation.directionTo(soupLocation));
     }
     
     private int lowestWallHeight() throws GameActionException {
     	MapLocation rcLocation = rc.getLocation();
     	int lowestElevation = Integer.MAX_VALUE;
-    	int waterLevel = getFloodingAtRound(rc.getRoundNum());
-    	
-    	int minDx = data.getWallOffsetXMin();
-    	int maxDx = data.getWallOffsetXMax();
-    	int minDy = data.getWallOffsetYMin();
-    	int maxDy = data.getWallOffsetYMax();
+    	int waterLevel = FloodForecast.getWaterLevel(rc.getRoundNum());
     	
-    	for(int dx = minDx; dx <= maxDx; dx++) {
-    		for(int dy = minDy; dy <= maxDy; dy++) {
-    			MapLocation location = rcLocation.translate(dx, dy);
-    			if(rc.canSenseLocation(location) && isOnWall(location, rcLocation)) {
-    				int elevation = rc.senseElevation(location);
-    				if(elevation < lowestElevation && elevation > waterLevel) lowestElevation = elevation;
-    			}
+    	for(MapLocation location : data.getWallGeometry(rcLocation).getWallTiles()) {
+    		if(rc.canSenseLocation(location)) {
+    			int elevation = rc.senseElevation(location);
+    			if(elevation < lowestElevation && elevation > waterLevel) lowestElevation = elevation;
     		}
     	}
     	
@@ -211,12 +224,7 @@ public class HQ extends Robot {
     }
     
     private boolean lacksVaporatorMiner() {
-    	RobotInfo[] potentialMiners = rc.senseNearbyRobots(3, rc.getTeam());
-    	for(RobotInfo robot : potentialMiners) {
-    		if(robot.getType() == RobotType.MINER) return false;
-    	}
-    	
-    	return true;
+    	return senseNumberOfUnits(RobotType.MINER, rc.getTeam(), 3) == 0;
     }
     
     private boolean lacksVaporator() {
@@ -234,42 +242,60 @@ public class HQ extends Robot {
         return false;
     }
     
-    private void readForEnemyHq() throws GameActionException {
-    	if(rc.getRoundNum() == 1) return;
-    	
-    	for(Transaction transaction : rc.getBlock(rc.getRoundNum() - 1)) {
-			int[] message = decodeTransaction(transaction);
-			if(message.length >= 4) {
-				if(message[1] == Robot.Type.TRANSACTION_ENEMY_HQ_AT_LOC.getVal()) {
-					hqData.setEnemyHqLocation(new MapLocation(message[2], message[3]));
-					return;
-				}
-			}
-		}
+    @Override
+    public void handleMessage(Message message, int round) throws GameActionException {
+    	switch(message.getType()) {
+    		case TRANSACTION_ENEMY_HQ_AT_LOC:
+    			if(hqData.getEnemyHqLocation() != null) break;
+    			hqData.setEnemyHqLocation(message.getLocation());
+    			hqData.getStateDigest().setEnemyHqLocation(message.getLocation());
+    			break;
+    		case TRANSACTION_SOUP_AT_LOC:
+    			hqData.getStateDigest().addSoupLocation(message.getLocation(), round);
+    			break;
+    		case TRANSACTION_FRIENDLY_REFINERY_AT_LOC:
+    			hqData.getStateDigest().addRefinery(message.getLocation());
+    			break;
+    		case TRANSACTION_BUILD_SITE_BLOCKED:
+    			hqData.getStateDigest().setBuildSitesStatus(true, round);
+    			break;
+    		case TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED:
+    			hqData.getStateDigest().setBuildSitesStatus(false, round);
+    			break;
+    		case TRANSACTION_PAUSE_LANDSCAPER_BUILDING:
+    			hqData.getStateDigest().setPauseRound(message.getSentRound());
+    			break;
+    		default:
+    			break;
+    	}
     }
 	
     private void sendKillOrder(int estimatedAttackTime) throws GameActionException {
-        sendTransaction(10, Type.TRANSACTION_KILL_ORDER, hqData.getEnemyHqLocation(), estimatedAttackTime);
+        sendTransaction(Priority.URGENT, Type.TRANSACTION_KILL_ORDER, hqData.getEnemyHqLocation(), estimatedAttackTime);
         killOrderCooldownCount = KILL_ORDER_COOLDOWN_ROUNDS;
+        hqData.getStateDigest().setKillOrder(rc.getRoundNum(), estimatedAttackTime);
     }
     
-    private void storeForeignTransactions() throws GameActionException {
-    	if(rc.getRoundNum() > 1) {
-    		Transaction[] block = rc.getBlock(rc.getRoundNum() - 1);
-	    	for(Transaction transaction : block) {
-	    		if(transaction.getMessage().length > 0) {
-	    			hqData.addForeignTransaction(transaction);
-	    		}
-	    	}
-    	}
+    /**
+     * Posts what the HQ has learned from the blockchain so far, so that robots created later can start reading from here.
+     * @throws GameActionException
+     */
+    private void publishDigest() throws GameActionException {
+    	hqData.getStateDigest().pruneSoupLocations(rc.getRoundNum(), PlayerConstants.SOUP_CLUSTER_MAX_AGE);
+    	if(data.getTransactionWriter().submitDigest(rc, hqData.getStateDigest())) hqData.setLastDigestRound(rc.getRoundNum());
+    }
+    
+    @Override
+    public void handleForeignTransaction(Transaction transaction, int round) throws GameActionException {
+    	hqData.addForeignTransaction(transaction.getMessage());
     }
     
     private void repeatForeignTransaction() throws GameActionException {
-    	Transaction interceptedTransaction = hqData.getRandomForeignTransaction();
-    	if(interceptedTransaction == null || interceptedTransaction.getMessage().length == 0) return;
+    	int[] interceptedMessage = hqData.getRandomForeignTransaction();
+    	if(interceptedMessage == null) return;
     	    	
-    	if(rc.canSubmitTransaction(interceptedTransaction.getMessage(), 1)) {
-    		rc.submitTransaction(interceptedTransaction.getMessage(), 1);
+    	if(rc.canSubmitTransaction(interceptedMessage, 1)) {
+    		rc.submitTransaction(interceptedMessage, 1);
     	}
     }
 	
@@ -7,9 +7,12 @@ import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
-import battlecode.common.Transaction;
 import julianbot.robotdata.LandscaperData;
+import julianbot.utils.FloodForecast;
 import julianbot.utils.NumberMath;
+import julianbot.utils.Log;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.Message;
 
 public class Landscaper extends Robot {
 
@@ -74,6 +77,11 @@ public class Landscaper extends Robot {
 		super(rc);
 		this.data = new LandscaperData(rc, getSpawnerLocation());
 		this.landscaperData = (LandscaperData) this.data;
+		
+		//Landscapers only need the HQ location, which is always posted in the first round.
+		BlockchainReader blockchainReader = data.getBlockchainReader();
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_HQ_AT_LOC);
+		blockchainReader.limitBacklog(2);
 	}
 
 	@Override
@@ -81,7 +89,6 @@ public class Landscaper extends Robot {
 		super.run();
 		
     	if(turnCount == 1) {
-    		learnHQLocation();
     		landscaperData.initializeWallData(landscaperData.getHqLocation(), rc.getMapWidth(), rc.getMapHeight());
     		determineWallDirections();
     		determineHqElevation();
@@ -92,11 +99,11 @@ public class Landscaper extends Robot {
     	
     	discernAttackRole();
     	    	
-		System.out.println("Landscaper Role = " + landscaperData.getCurrentRole());
+		if(Log.DEBUG) Log.debug("Landscaper Role = " + landscaperData.getCurrentRole());
 		
 		if(landscaperData.getCurrentRole() == LandscaperData.ATTACK) {
 	    	if(landscaperData.getEnemyHQLocation() != null) {
-	    		System.out.println("Attempting burial of enemy HQ");
+	    		if(Log.DEBUG) Log.debug("Attempting burial of enemy HQ");
 	    		buryEnemyHq();
 	    	} else if(oughtTargetEnemyBuilding()) {
 	    		buryEnemyBuilding();
@@ -113,26 +120,21 @@ public class Landscaper extends Robot {
     		}
     	} else if(landscaperData.getCurrentRole() == LandscaperData.DEFEND_HQ_FROM_FLOOD) {
     		if(seekAdjacentEnemyBuilding()) {
-    			System.out.println("Burying enemy building");
+    			if(Log.DEBUG) Log.debug("Burying enemy building");
     			buryEnemyBuilding();
     		} else {
-    			System.out.println("Attempting to build HQ wall");
+    			if(Log.DEBUG) Log.debug("Attempting to build HQ wall");
     			buildHQWall();
     		}
     	} else if(!isOnWall(rc.getLocation(), landscaperData.getHqLocation()) && !isWithinWall(rc.getLocation(), landscaperData.getHqLocation())) {
-    		System.out.println("Ought to return to HQ.");
+    		if(Log.DEBUG) Log.debug("Ought to return to HQ.");
     		landscaperData.setCurrentRole(LandscaperData.TRAVEL_TO_HQ);
     	}
 	}
 	
-	private void learnHQLocation() throws GameActionException {
-		for(Transaction transaction : rc.getBlock(1)) {
-			int[] message = decodeTransaction(transaction);
-			if(message.length > 1 && message[1] == Type.TRANSACTION_FRIENDLY_HQ_AT_LOC.getVal()) {
-				landscaperData.setHqLocation(new MapLocation(message[2], message[3]));
-				return;
-			}
-		}		
+	@Override
+	public void handleMessage(Message message, int round) throws GameActionException {
+		if(message.getType() == Type.TRANSACTION_FRIENDLY_HQ_AT_LOC) landscaperData.setHqLocation(message.getLocation());
 	}
 	
 	private void determineWallDirections() {
@@ -212,12 +214,13 @@ public class Landscaper extends Robot {
 	}
 	
 	private RobotInfo seekClosestEnemyBuilding() {
-		RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
-		if(enemies.length == 0) return null;
+		RobotInfo[] enemies = senseRobots(rc.getTeam().opponent());
+		int enemyCount = senseRobotCount(rc.getTeam().opponent());
+		if(enemyCount == 0) return null;
 		
-		int[] buildingDistances = new int[enemies.length];
+		int[] buildingDistances = new int[enemyCount];
 		
-		for(int i = 0; i < enemies.length; i++) {
+		for(int i = 0; i < enemyCount; i++) {
 			buildingDistances[i] = enemies[i].getType().isBuilding() ? rc.getLocation().distanceSquaredTo(enemies[i].getLocation()) : Integer.MAX_VALUE;
 		}
 		
@@ -245,10 +248,10 @@ public class Landscaper extends Robot {
 		if(closestEnemyBuilding == null) return;
 		
 		if(!rc.getLocation().isWithinDistanceSquared(closestEnemyBuilding.getLocation(), 3)) {
-			System.out.println("Too far from enemy building.");
+			if(Log.DEBUG) Log.debug("Too far from enemy building.");
 			routeTo(closestEnemyBuilding.getLocation());
 		} else {
-			System.out.println("Adjacent to enemy building.");
+			if(Log.DEBUG) Log.debug("Adjacent to enemy building.");
 			if(rc.getDirtCarrying() > 0) {
 				depositDirt(rc.getLocation().directionTo(closestEnemyBuilding.getLocation()));
 			} else {
@@ -258,12 +261,12 @@ public class Landscaper extends Robot {
 					boolean onWall = isOnWall(digLocation, landscaperData.getHqLocation());
 					boolean withinWall = isWithinWall(digLocation, landscaperData.getHqLocation());
 					
-					System.out.println("On wall? " + onWall + " Within wall? " + withinWall);
+					if(Log.DEBUG) Log.debug("On wall? " + onWall + " Within wall? " + withinWall);
 					
 					if(!onWall && !withinWall) {
 						if(dig(digDirection)) break;
 					} else {
-						System.out.println("Dig failed. Rotating dig direction.");
+						if(Log.DEBUG) Log.debug("Dig failed. Rotating dig direction.");
 						digDirection = digDirection.rotateLeft();
 					}
 				}
@@ -276,7 +279,7 @@ public class Landscaper extends Robot {
 		if(!rc.getLocation().isAdjacentTo(landscaperData.getEnemyHQLocation())) {
 			if (!routeTo(landscaperData.getEnemyHQLocation())) {
 				int dirtDifference = rc.senseElevation(rc.getLocation()) - rc.senseElevation(rc.adjacentLocation(dirToHQ));
-				RobotInfo[] robots = rc.senseNearbyRobots();
+				RobotInfo[] robots = senseRobots();
 				boolean robotInTheWay = false;
 				for (RobotInfo robot : robots) {
 					if ((!robot.getType().isBuilding() || robot.getTeam() == rc.getTeam()) && robot.getLocation() == rc.getLocation().add(dirToHQ)) {
@@ -357,6 +360,7 @@ public class Landscaper extends Robot {
 		if(rc.isReady() && rc.canDigDirt(dir)) {
 			rc.setIndicatorDot(rc.getLocation().add(dir), 255, 0, 0);
 			rc.digDirt(dir);
+			data.getMapMemory().markDirty(rc.getLocation().add(dir));
 			return true;
 		}
 		
@@ -368,6 +372,7 @@ public class Landscaper extends Robot {
 		if(rc.isReady() && rc.canDepositDirt(dir)) {
 			rc.setIndicatorDot(rc.getLocation().add(dir), 0, 255, 0);
 			rc.depositDirt(dir);
+			data.getMapMemory().markDirty(rc.getLocation().add(dir));
 			return true;
 		}
 		
@@ -411,24 +416,24 @@ public class Landscaper extends Robot {
 		
 		
 		if(nextLocationIrrelevant) {
-			System.out.println("Toggling from irrelevant location");
+			if(Log.DEBUG) Log.debug("Toggling from irrelevant location");
 			toggleDirection();
 		}
 		
 		//If where we're going is too low, deposit dirt there.
 		if(rc.canSenseLocation(rcLocation.add(movePattern[gridY][gridX])) && rc.senseElevation(rcLocation) - rc.senseElevation(rcLocation.add(movePattern[gridY][gridX])) > GameConstants.MAX_DIRT_DIFFERENCE) {
-			System.out.println(movePattern[gridY][gridX] + " is too low -- depositing dirt there.");
+			if(Log.DEBUG) Log.debug(movePattern[gridY][gridX] + " is too low -- depositing dirt there.");
 			depositDirt(movePattern[gridY][gridX]);
 			return;
 		}
 		
 		constructDirections = buildPattern[gridY][gridX];
 		if(constructDirections.length == 0) {
-			System.out.println("Nowhere hard-coded to build. Moving on.");
+			if(Log.DEBUG) Log.debug("Nowhere hard-coded to build. Moving on.");
 			Direction moveDirection = movePattern[gridY][gridX];
 			
 			if(rc.senseFlooding(rcLocation.add(moveDirection))) {
-				System.out.println("OH, NO! The wall is flooded already?! Trying to save it...");
+				if(Log.DEBUG) Log.debug("OH, NO! The wall is flooded already?! Trying to save it...");
 				depositDirt(moveDirection);
 			} else {
 				move(moveDirection);
@@ -451,12 +456,12 @@ public class Landscaper extends Robot {
 		
 		Direction constructDirection = constructDirections[NumberMath.indexOfLeast(constructElevations)];
 		MapLocation constructLocation = rcLocation.add(constructDirection);
-		System.out.println("The place to build is to the " + constructDirection);
+		if(Log.DEBUG) Log.debug("The place to build is to the " + constructDirection);
 		
 		if(rc.senseFlooding(innerWallLocation)) depositDirt(rcLocation.directionTo(hqLocation));
 		else if(rc.senseFlooding(nextLocation)) depositDirt(rcLocation.directionTo(nextLocation));
 		else if(rc.senseElevation(rcLocation) - rc.senseElevation(constructLocation) < GameConstants.MAX_DIRT_DIFFERENCE) {
-			System.out.println("Current elevation not too high! Depositing dirt to the " + constructDirection);
+			if(Log.DEBUG) Log.debug("Current elevation not too high! Depositing dirt to the " + constructDirection);
 			depositDirt(constructDirection);
 		}
 		else move(movePattern[gridY][gridX]);
@@ -501,10 +506,10 @@ public class Landscaper extends Robot {
 			digDirection = digPattern[gridY][gridX];
 			
 			if(!rc.onTheMap(rcLocation.add(digDirection))) {
-				System.out.println("Dig direction is off the map. Turning around...");
+				if(Log.DEBUG) Log.debug("Dig direction is off the map. Turning around...");
 				toggleDirection();
 			} else {
-				System.out.println("Digging to the " + digDirection);
+				if(Log.DEBUG) Log.debug("Digging to the " + digDirection);
 				dig(digDirection);
 				return;
 			}
@@ -515,20 +520,20 @@ public class Landscaper extends Robot {
 		}
 		
 		if(!rc.isLocationOccupied(rcLocation.add(rcLocation.directionTo(hqLocation))) && innerWallObstructed()) {
-			System.out.println("Inner wall obstructed");
+			if(Log.DEBUG) Log.debug("Inner wall obstructed");
 			//If we are next to an obstructed build site, dig from there.
 			dig(rcLocation.directionTo(hqLocation));
 			landscaperData.setClearingObstruction(true);
 			return;
 		} else {
-			System.out.println("Inner wall clear");
+			if(Log.DEBUG) Log.debug("Inner wall clear");
 			landscaperData.setClearingObstruction(false);
 			
 			MapLocation nextLocation = rcLocation.add(movePattern[gridY][gridX]);
 			
 			if(rc.canSenseLocation(nextLocation)) {
 				if(!isOnWall(rcLocation, hqLocation) && rc.senseFlooding(nextLocation)) {
-					System.out.println("The wall is already flooded! Trying to save it...");
+					if(Log.DEBUG) Log.debug("The wall is already flooded! Trying to save it...");
 					for(MapLocation location : landscaperData.getLastResortBuildLocations()) {
 						if(rcLocation.isWithinDistanceSquared(location, 3) && dig(rcLocation.directionTo(location))) break; 
 					}
@@ -538,12 +543,12 @@ public class Landscaper extends Robot {
 		
 		digDirection = digPattern[gridY][gridX];
 		if(digDirection != null) {
-			System.out.println("Non-null dig direction of " + digDirection);
+			if(Log.DEBUG) Log.debug("Non-null dig direction of " + digDirection);
 			if(rc.onTheMap(rcLocation.add(digDirection))) {
-				System.out.println("As hard-coded, digging to the " + digDirection);
+				if(Log.DEBUG) Log.debug("As hard-coded, digging to the " + digDirection);
 				dig(digDirection);
 			} else {
-				System.out.println("Hard-coded, dig direction is obstructed, so trying a rotation.");
+				if(Log.DEBUG) Log.debug("Hard-coded, dig direction is obstructed, so trying a rotation.");
 				
 				for(Direction direction : Robot.directions) {
 					MapLocation digLocation = rcLocation.add(direction);
@@ -555,7 +560,7 @@ public class Landscaper extends Robot {
 		}
 		
 		if(!rc.senseFlooding(rcLocation.add(movePattern[gridY][gridX]))) {
-			System.out.println("No flooding! Moving on...");
+			if(Log.DEBUG) Log.debug("No flooding! Moving on...");
 			move(movePattern[gridY][gridX]);
 		}
 	}
@@ -586,6 +591,6 @@ public class Landscaper extends Robot {
 	
 	private boolean floodingImminent() throws GameActionException {
 		int wallElevation = rc.senseElevation(rc.getLocation());
-		return getFloodingAtRound(rc.getRoundNum() + 100) >= wallElevation;
+		return FloodForecast.getRoundsUntilLevel(wallElevation, rc.getRoundNum()) <= 100;
 	}
 }
@@ -1,8 +1,5 @@
 package julianbot.robots;
 
-import java.util.ArrayList;
-
-import battlecode.common.Clock;
 import battlecode.common.Direction;
 import battlecode.common.GameActionException;
 import battlecode.common.GameConstants;
@@ -10,9 +7,13 @@ import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
 import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
-import battlecode.common.Transaction;
 import julianbot.robotdata.MinerData;
 import julianbot.utils.NumberMath;
+import julianbot.utils.blockchain.BlockchainReader;
+import julianbot.utils.blockchain.Message;
+import julianbot.utils.blockchain.Priority;
+import julianbot.utils.blockchain.StateDigest;
+import julianbot.utils.Log;
 
 public class Miner extends Scout {
 	
@@ -26,6 +27,13 @@ public class Miner extends Scout {
 		this.data = new MinerData(rc, getSpawnerLocation());
 		this.scoutData = (MinerData) this.data;
 		this.minerData = (MinerData) this.data;
+		
+		BlockchainReader blockchainReader = data.getBlockchainReader();
+		blockchainReader.subscribe(Type.TRANSACTION_SOUP_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC);
+		blockchainReader.subscribe(Type.TRANSACTION_BUILD_SITE_BLOCKED);
+		blockchainReader.subscribe(Type.TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED);
+		blockchainReader.subscribeDigest();
 	}
 	
 	@Override
@@ -39,16 +47,15 @@ public class Miner extends Scout {
     	
     	if(oughtSelfDestruct()) {
     		selfDestructCountdown--;
-    		System.out.println("SELF-DESTRUCT COUNTDOWN " + selfDestructCountdown);
+    		if(Log.DEBUG) Log.debug("SELF-DESTRUCT COUNTDOWN " + selfDestructCountdown);
     		if(selfDestructCountdown <= 0) {
-	    		System.out.println("So long, cruel world.");
+	    		if(Log.DEBUG) Log.debug("So long, cruel world.");
 	    		rc.disintegrate();
     		}
     	} else {
     		selfDestructCountdown = SELF_DESTRUCT_COUNTDOWN_RESET;
     	}
 
-		readTransactions();
 		senseBuildings();
 		
 		respondToThreats();
@@ -100,35 +107,38 @@ public class Miner extends Scout {
 		boolean interferingWithBase = isOnWall(rc.getLocation(), minerData.getSpawnerLocation()) || isWithinWall(rc.getLocation(), minerData.getSpawnerLocation());
 		boolean wallBuilt = wallBuilt(minerData.getSpawnerLocation());
 		
-		System.out.println("Self destruct? Base Interference = " + interferingWithBase + ", Role = " + minerData.getCurrentRole() + ", Wall Built = " + wallBuilt);
+		if(Log.DEBUG) Log.debug("Self destruct? Base Interference = " + interferingWithBase + ", Role = " + minerData.getCurrentRole() + ", Wall Built = " + wallBuilt);
 		
 		return this.senseUnitType(RobotType.LANDSCAPER, rc.getTeam(), 3) != null && interferingWithBase && (minerData.getCurrentRole() != MinerData.ROLE_DEFENSE || wallBuilt) && minerData.getCurrentRole() != MinerData.ROLE_VAPORATOR_BUILDER;
 	}
 	
 	//ROLES
 	private void discernInitialRole() throws GameActionException {		
-		RobotInfo[] robots = rc.senseNearbyRobots(-1, rc.getTeam());
+		RobotInfo[] robots = senseRobots(rc.getTeam());
+		int robotCount = senseRobotCount(rc.getTeam());
 		
-		RobotInfo[] enemy = rc.senseNearbyRobots(-1, data.getOpponent());
+		RobotInfo[] enemy = senseRobots(data.getOpponent());
+		int enemyCount = senseRobotCount(data.getOpponent());
 		boolean enemyDesignSchoolNearby = false;
 		
-		for(RobotInfo robot : robots) {
+		for(int i = 0; i < robotCount; i++) {
+			RobotInfo robot = robots[i];
 			if(robot.type == RobotType.FULFILLMENT_CENTER) minerData.setFulfillmentCenterBuilt(true);
 			else if(robot.type == RobotType.DESIGN_SCHOOL) minerData.setDesignSchoolBuilt(true);
 			else if(robot.type == RobotType.VAPORATOR) minerData.setVaporatorBuilt(true);
 		}
 		
-		for(RobotInfo robot : enemy) {
-			if(robot.type == RobotType.DESIGN_SCHOOL) enemyDesignSchoolNearby = true;
+		for(int i = 0; i < enemyCount; i++) {
+			if(enemy[i].type == RobotType.DESIGN_SCHOOL) enemyDesignSchoolNearby = true;
 		}
 		
 		boolean vaporatorBuilt = minerData.isVaporatorBuilt();
 		boolean designSchoolBuilt = minerData.isDesignSchoolBuilt();
 		boolean fulfillmentCenterBuilt = minerData.isFulfillmentCenterBuilt();
 		
-		System.out.println("Vaporator built? " + vaporatorBuilt);
-		System.out.println("Design school built? " + designSchoolBuilt);
-		System.out.println("Fulfillment center built? " + fulfillmentCenterBuilt);
+		if(Log.DEBUG) Log.debug("Vaporator built? " + vaporatorBuilt);
+		if(Log.DEBUG) Log.debug("Design school built? " + designSchoolBuilt);
+		if(Log.DEBUG) Log.debug("Fulfillment center built? " + fulfillmentCenterBuilt);
 		
 		/*
 		if(enemyDesignSchoolAdjacent) minerData.setCurrentRole(MinerData.ROLE_BLOCK);
@@ -141,23 +151,23 @@ public class Miner extends Scout {
 		*/
 		
 		RobotInfo[] landscapers = senseAllUnitsOfType(RobotType.LANDSCAPER, rc.getTeam());
-		System.out.println("Sensed " + landscapers.length + " landscapers");
+		if(Log.DEBUG) Log.debug("Sensed " + landscapers.length + " landscapers");
 		
 		boolean landscaperOnWall = false;
 		MapLocation hqLocation = minerData.getSpawnerLocation();
-		System.out.println("HQ Location = " + hqLocation);
+		if(Log.DEBUG) Log.debug("HQ Location = " + hqLocation);
 		
 		for(RobotInfo landscaper : landscapers) {
 			if(isOnWall(landscaper.getLocation(), hqLocation)) {
 				landscaperOnWall = true;
 				break;
 			} else {
-				System.out.println(landscaper.getLocation() + " is NOT on the wall.");
+				if(Log.DEBUG) Log.debug(landscaper.getLocation() + " is NOT on the wall.");
 			}
 		}
 		
-		System.out.println("Miner in vaporator build miner location? " + (rc.getLocation().equals(minerData.getVaporatorBuildMinerLocation())));
-		System.out.println("Landscaper on wall? " + landscaperOnWall);
+		if(Log.DEBUG) Log.debug("Miner in vaporator build miner location? " + (rc.getLocation().equals(minerData.getVaporatorBuildMinerLocation())));
+		if(Log.DEBUG) Log.debug("Landscaper on wall? " + landscaperOnWall);
 		
 		if(enemyDesignSchoolNearby) minerData.setCurrentRole(MinerData.ROLE_BLOCK);
 		else if(rc.getLocation().equals(minerData.getVaporatorBuildMinerLocation()) && landscaperOnWall) minerData.setCurrentRole(MinerData.ROLE_VAPORATOR_BUILDER);
@@ -168,7 +178,7 @@ public class Miner extends Scout {
 		else if(rc.getRoundNum() <= 2) minerData.setCurrentRole(MinerData.ROLE_RUSH);
 		else minerData.setCurrentRole(MinerData.ROLE_SOUP_MINER);
 		
-		System.out.println("Initial role set to " + minerData.getCurrentRole());
+		if(Log.DEBUG) Log.debug("Initial role set to " + minerData.getCurrentRole());
 	}
 	
 	private boolean buildingIsAffordable(RobotType type) {
@@ -187,14 +197,16 @@ public class Miner extends Scout {
 		else if(minerData.getRefineryLocs().size() == 0) minerData.setCurrentRole(MinerData.ROLE_REFINERY_BUILDER);
 		else minerData.setCurrentRole(MinerData.ROLE_SOUP_MINER);
 		
-		System.out.println("Set role to " + minerData.getCurrentRole());
+		if(Log.DEBUG) Log.debug("Set role to " + minerData.getCurrentRole());
 	}
 	
 	private void respondToThreats() {
 		if(minerData.getCurrentRole() == MinerData.ROLE_RUSH) return;
 		
-		RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
-		for(RobotInfo enemy : enemies) {
+		RobotInfo[] enemies = senseRobots(rc.getTeam().opponent());
+		int enemyCount = senseRobotCount(rc.getTeam().opponent());
+		for(int i = 0; i < enemyCount; i++) {
+			RobotInfo enemy = enemies[i];
 			if(enemy.getType().canBePickedUp() || enemy.getType() == RobotType.DESIGN_SCHOOL) {
 //				if(enemy.getLocation().isWithinDistanceSquared(minerData.getHqLocation(), 35) && !minerData.isFulfillmentCenterBuilt()) minerData.setCurrentRole(MinerData.ROLE_DEFENSE);
 			}
@@ -214,7 +226,7 @@ public class Miner extends Scout {
 			return;
 		} else if(rc.getLocation().equals(designSchoolBuildSite)) {
     		//Move off of design school build site.
-    		System.out.println("\tMoving off of DS site.");
+    		if(Log.DEBUG) Log.debug("\tMoving off of DS site.");
     		moveAnywhere();
     		return;
     	}
@@ -222,9 +234,9 @@ public class Miner extends Scout {
 		MapLocation buildLocation = null;
 		
 		if(rc.getLocation().isWithinDistanceSquared(designSchoolBuildSite, 3)) {
-    		System.out.println("\tAttempting to build DS.");
+    		if(Log.DEBUG) Log.debug("\tAttempting to build DS.");
     		if(attemptDesignSchoolConstruction(rc.getLocation().directionTo(designSchoolBuildSite))) {
-    			if(minerData.getBuildSitesBlocked()) this.sendTransaction(3, Type.TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED, buildLocation);
+    			if(minerData.getBuildSitesBlocked()) this.sendTransaction(Priority.NORMAL, Type.TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED, buildLocation);
     			updateRole();
     		}
     		return;
@@ -239,14 +251,14 @@ public class Miner extends Scout {
 		//TODO: FIX THIS!!!
 		/*if(buildDesignSchoolForClearance()) {
     		//If the previous conditions failed, then the design school build site is obstructed. We need to build a design school anywhere we can so that the landscaper can clear obstructions.
-    		if(minerData.getBuildSitesBlocked()) this.sendTransaction(3, Type.TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED, buildLocation);
+    		if(minerData.getBuildSitesBlocked()) this.sendTransaction(Priority.NORMAL, Type.TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED, buildLocation);
     		updateRole();
     	}
     	*/
     }
     
     private void fulfillmentMinerProtocol() throws GameActionException {    
-    	System.out.println("fulfillment protocol");
+    	if(Log.DEBUG) Log.debug("fulfillment protocol");
     	
     	MapLocation fulfillmentCenterBuildSite = minerData.getFulfillmentCenterBuildSite();
     	
@@ -254,11 +266,11 @@ public class Miner extends Scout {
     		updateRole();
     	} else if(rc.getLocation().equals(fulfillmentCenterBuildSite)) {
     		//Move off of fulfillment center build site.
-    		System.out.println("\tMoving off of FC site.");
+    		if(Log.DEBUG) Log.debug("\tMoving off of FC site.");
     		moveAnywhere();
     		return;
     	} else if(rc.getLocation().isWithinDistanceSquared(fulfillmentCenterBuildSite, 3)) {
-    		System.out.println("\tAttempting to build FC.");
+    		if(Log.DEBUG) Log.debug("\tAttempting to build FC.");
     		if(attemptFulfillmentCenterConstruction(rc.getLocation().directionTo(fulfillmentCenterBuildSite))) updateRole();
     		return;
     	} else {
@@ -268,11 +280,12 @@ public class Miner extends Scout {
     }
     
     private void refineryMinerProtocol() throws GameActionException {
-		System.out.println("refinery protocol");
+		if(Log.DEBUG) Log.debug("refinery protocol");
 		
 		//If we have found another refinery via reading transactions, go back to soup mining.
 		//TODO: Should we only accept refineries within a certain distance? Is it worth paying 200 more soup?
-		for(MapLocation refineryLocation : minerData.getRefineryLocs()) {
+		for(int i = 0; i < minerData.getRefineryLocs().size(); i++) {
+			MapLocation refineryLocation = minerData.getRefineryLocs().get(i);
 			if(!refineryLocation.equals(minerData.getHqLocation()) && refineryLocation.isWithinDistanceSquared(rc.getLocation(), 256)) {
 				updateRole();
 				return;
@@ -295,10 +308,10 @@ public class Miner extends Scout {
 	    		MapLocation refineryLocation = senseUnitType(RobotType.REFINERY, rc.getTeam(), 3).getLocation();
 	    		minerData.addRefineryLoc(refineryLocation);
 	    		
-	    		sendTransaction(2, Robot.Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC, refineryLocation);
+	    		sendTransaction(Priority.NORMAL, Robot.Type.TRANSACTION_FRIENDLY_REFINERY_AT_LOC, refineryLocation);
 	    		updateRole();
     		} else if(minerData.getSoupLocs().size() > 0) {
-    			MapLocation closestSoupLocation = closestLocationAwayFromHq(minerData.getSoupLocs(), rc.getLocation(), 9);
+    			MapLocation closestSoupLocation = minerData.getSoupLocs().nearest(rc.getLocation(), 9);
     			if(closestSoupLocation != null && !routeTo(closestSoupLocation)) minerData.removeSoupLoc(closestSoupLocation);
     		}
     	} else {
@@ -309,7 +322,7 @@ public class Miner extends Scout {
     }
      
     private void vaporatorMinerProtocol() throws GameActionException {
-		System.out.println("vaporator protocol");
+		if(Log.DEBUG) Log.debug("vaporator protocol");
 		
 		//TODO: In the case that the devs are absolutely evil and decide to place the HQs RIGHT NEXT TO EACH OTHER, this may or may not be a problem. We can decide if we want to do anything aobut this.
 		RobotInfo enemyHq = senseUnitType(RobotType.HQ, rc.getTeam().opponent(), 8);
@@ -363,7 +376,7 @@ public class Miner extends Scout {
 	 * @throws GameActionException
 	 */
 	private void defenseMinerProtocol() throws GameActionException {
-		System.out.println("defense protocol");
+		if(Log.DEBUG) Log.debug("defense protocol");
 		
 		if(senseUnitType(RobotType.NET_GUN, rc.getTeam().opponent()) != null) {
 			defensiveDesignSchoolBuild();
@@ -398,7 +411,7 @@ public class Miner extends Scout {
 	 * @throws GameActionException
 	 */
 	private void fullMinerProtocol() throws GameActionException {
-    	System.out.println("full protocol");
+    	if(Log.DEBUG) Log.debug("full protocol");
     	
     	updateRefineryLocations();
     	
@@ -414,7 +427,7 @@ public class Miner extends Scout {
 		RobotInfo landscaper = senseUnitType(RobotType.LANDSCAPER, rc.getTeam());
 		
 		if(hq != null && landscaper != null) minerData.removeRefineryLoc(hq.getLocation());
-		if(minerData.getRefineryLocs().size() > 0) routeTo(locateClosestLocation(minerData.getRefineryLocs(), rc.getLocation()));
+		if(minerData.getRefineryLocs().size() > 0) routeTo(minerData.getRefineryLocs().nearest(rc.getLocation()));
 		
 		updateRole();
     }
@@ -424,7 +437,7 @@ public class Miner extends Scout {
 	 * @throws GameActionException
 	 */
 	private void emptyMinerProtocol() throws GameActionException {		
-    	System.out.println("empty protocol");
+    	if(Log.DEBUG) Log.debug("empty protocol");
     	
     	updateRefineryLocations();
     	
@@ -432,7 +445,7 @@ public class Miner extends Scout {
     	RobotInfo landscaper = senseUnitType(RobotType.LANDSCAPER, rc.getTeam());
     	
     	if(landscaper != null) {
-    		System.out.println("Miner sees a landscaper! It may become a vaporator builder.");
+    		if(Log.DEBUG) Log.debug("Miner sees a landscaper! It may become a vaporator builder.");
     		
     		if(isOnWall(rc.getLocation(), minerData.getSpawnerLocation())) {
 	        	moveMinerFromHQ();
@@ -447,18 +460,18 @@ public class Miner extends Scout {
     	}
     	
     	if(!mineRawSoup(getAdjacentSoupDirection())) {
-    		System.out.println("Failed to mine adjacent soup.");
+    		if(Log.DEBUG) Log.debug("Failed to mine adjacent soup.");
     		if(minerData.getSoupLocs().size() > 0) refreshSoupLocations();
     		if(minerData.getSoupLocs().size() == 0) findNearbySoup();
     		
     		if(minerData.getSoupLocs().size() > 0) {
-    			MapLocation closestSoup = locateClosestLocation(minerData.getSoupLocs(), rc.getLocation());
+    			MapLocation closestSoup = minerData.getSoupLocs().nearest(rc.getLocation());
     			if(!routeTo(closestSoup)) minerData.removeSoupLoc(closestSoup);
     		} else {
     			continueSearch();
     		}
 		} else {
-			System.out.println("Mined soup. (" + rc.getSoupCarrying() + ")");
+			if(Log.DEBUG) Log.debug("Mined soup. (" + rc.getSoupCarrying() + ")");
 		}
     }
 	
@@ -467,36 +480,38 @@ public class Miner extends Scout {
 	 * @throws GameActionException
 	 */
 	private void scoutMinerProtocol() throws GameActionException {
-		RobotInfo[] robots = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
+		RobotInfo[] robots = senseRobots(rc.getTeam().opponent());
+		int robotCount = senseRobotCount(rc.getTeam().opponent());
 		// Scans for enemy robots, if it's a building, reports it and if it's a unit, sets it as unit to follow.
-		for (RobotInfo robot : robots) {
+		for (int i = 0; i < robotCount; i++) {
+			RobotInfo robot = robots[i];
 			RobotType unitType = robot.getType();
 			if (unitType.isBuilding()) {
-				int soupBid = (robot.getType() == RobotType.HQ) ? 10 : 5; //HQ Location is more important than other buildings hence higher cost
+				Priority priority = (robot.getType() == RobotType.HQ) ? Priority.URGENT : Priority.NORMAL; //HQ Location is more important than other buildings hence higher priority
 				// Add check here if location already reported
-				sendTransaction(soupBid, Robot.getLocationType(rc, unitType, robot.getTeam()), robot.getLocation());
+				sendTransaction(priority, Robot.getLocationType(rc, unitType, robot.getTeam()), robot.getLocation());
 			} else {
 				if (minerData.getTargetRobot() == null) {
 					if (minerData.getPreviousTarget() == null) {
 						// Sets as target if there was no previous target
 						minerData.setTargetRobot(robot);
-						System.out.println("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
+						if(Log.DEBUG) Log.debug("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
 					} else if (robot.getID() != minerData.getPreviousTarget().getID()) {
 						// If there was previous target, checks to ensure it is not that previous target
 						minerData.setTargetRobot(robot);
-						System.out.println("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
+						if(Log.DEBUG) Log.debug("Target acquired. Loc: " + minerData.getTargetRobot().getLocation());
 					}
 				} else if (minerData.getTargetRobot().getID() == robot.getID()) {
 					//If the bot scanned is the same bot it was following the turn before and it has been following it for some turns
 					if (minerData.getTurnsScouted() < 100) {
 						minerData.setTargetRobot(robot); // To update robot's location
 						minerData.incrementTurnsScouted();
-						System.out.println("Following target. Loc: " + minerData.getTargetRobot().getLocation());
+						if(Log.DEBUG) Log.debug("Following target. Loc: " + minerData.getTargetRobot().getLocation());
 					} else {
 						minerData.setPreviousTarget(minerData.getTargetRobot());
 						minerData.setTargetRobot(null);
 						minerData.resetTurnsScouted();
-						System.out.println("Switching target...");
+						if(Log.DEBUG) Log.debug("Switching target...");
 					}
 				}
 			}
@@ -514,8 +529,8 @@ public class Miner extends Scout {
 		MapLocation soupLoc = getSoupLocation();
 		if (soupLoc != null) {
 			if (minerData.addSoupLoc(soupLoc)) {
-				System.out.println("Found Soup! Loc: " + soupLoc);
-				sendTransaction(5, Robot.Type.TRANSACTION_SOUP_AT_LOC, soupLoc);
+				if(Log.DEBUG) Log.debug("Found Soup! Loc: " + soupLoc);
+				sendTransaction(Priority.LOW, Robot.Type.TRANSACTION_SOUP_AT_LOC, soupLoc);
 			}
 		}
 
@@ -529,7 +544,7 @@ public class Miner extends Scout {
 	 * Miner that finds enemy HQ and builds design school to bury enemy HQ
 	 */
 	private void rushMinerProtocol() throws GameActionException {
-		System.out.println("Rush Miner Protocol");
+		if(Log.DEBUG) Log.debug("Rush Miner Protocol");
 		findNearbySoup();
 		if (rc.getRoundNum() > 250) minerData.setCurrentRole(MinerData.ROLE_SOUP_MINER);
 		
@@ -541,7 +556,7 @@ public class Miner extends Scout {
 			routeTo(minerData.getActiveSearchDestination());
 			attemptEnemyHQDetection();
 			if (minerData.getEnemyHqLocation() != null) {
-				sendTransaction(10, Robot.Type.TRANSACTION_ENEMY_HQ_AT_LOC, minerData.getEnemyHqLocation());
+				sendTransaction(Priority.URGENT, Robot.Type.TRANSACTION_ENEMY_HQ_AT_LOC, minerData.getEnemyHqLocation());
 			}
 		} else {
 			if (!rc.getLocation().isAdjacentTo(minerData.getEnemyHqLocation())) {
@@ -567,14 +582,14 @@ public class Miner extends Scout {
 		for(Direction direction : Robot.directions) {
 			if(rc.canBuildRobot(RobotType.NET_GUN, direction)) {
 				rc.buildRobot(RobotType.NET_GUN, direction);
-				System.out.println("Built a net gun!");
+				if(Log.DEBUG) Log.debug("Built a net gun!");
 				return;
 			} else {
-				System.out.println("Cannot build a robot to the " + direction);
+				if(Log.DEBUG) Log.debug("Cannot build a robot to the " + direction);
 			}
 		}
 		
-		System.out.println("Net gun build failed. (" + rc.getCooldownTurns() + ")");
+		if(Log.DEBUG) Log.debug("Net gun build failed. (" + rc.getCooldownTurns() + ")");
 		if(minerData.getEnemyHqLocation() != null && !rc.getLocation().isWithinDistanceSquared(minerData.getEnemyHqLocation(), 3)) routeTo(minerData.getEnemyHqLocation());
 	}
 	
@@ -602,18 +617,6 @@ public class Miner extends Scout {
 		return true;
 	}
     
-	private MapLocation closestLocationAwayFromHq(ArrayList<MapLocation> locations, MapLocation reference, int minimumSquaredDistance) {
-	    	MapLocation closestLocation = null;
-	    	int closestDistance = Integer.MAX_VALUE;
-	    	
-	    	for(MapLocation location : locations) {
-	    		int distanceSquared = location.distanceSquaredTo(reference);
-	    		if(minimumSquaredDistance <= distanceSquared && distanceSquared < closestDistance) closestLocation = location;
-	    	}
-	    	
-	    	return closestLocation;
-	    }
-	
     private void moveMinerFromHQ() throws GameActionException {
     	Direction fromHQDirection = data.getSpawnerLocation().directionTo(rc.getLocation());
     	routeTo(rc.getLocation().add(fromHQDirection));
@@ -673,7 +676,7 @@ public class Miner extends Scout {
 				if(foundSoup > mostSoupLocated) {
 					mostSoupDirection = direction;
 					mostSoupLocated = foundSoup;
-					System.out.println("Found " + mostSoupLocated + " soup to the " + mostSoupDirection + " at " + rcLocation.add(direction));
+					if(Log.DEBUG) Log.debug("Found " + mostSoupLocated + " soup to the " + mostSoupDirection + " at " + rcLocation.add(direction));
 				}
 			}
 		}
@@ -699,10 +702,10 @@ public class Miner extends Scout {
 				}
 			}
 			if(minerData.addSoupLoc(bestSoupLoc)) {
-				sendTransaction(1, Type.TRANSACTION_SOUP_AT_LOC, bestSoupLoc);
+				sendTransaction(Priority.LOW, Type.TRANSACTION_SOUP_AT_LOC, bestSoupLoc);
 				rc.setIndicatorDot(bestSoupLoc, 255, 165, 0);
 			}
-			System.out.println("Transmitted soup!");
+			if(Log.DEBUG) Log.debug("Transmitted soup!");
 		}
 
 	}
@@ -712,13 +715,12 @@ public class Miner extends Scout {
 	 * @throws GameActionException
 	 */
 	private void refreshSoupLocations() throws GameActionException {		
-		//Use of "int i" rather than MapLocation location : data.getSoupLocs() was intentional. This will throw an error otherwise.
-		for(int i = 0; i < minerData.getSoupLocs().size(); i++) {
+		//Iterates backwards because removing a location moves the last one into its place.
+		for(int i = minerData.getSoupLocs().size() - 1; i >= 0; i--) {
 			MapLocation allegedSoupLocation = minerData.getSoupLocs().get(i);
-			if(allegedSoupLocation != null && rc.canSenseLocation(allegedSoupLocation)) {
+			if(rc.canSenseLocation(allegedSoupLocation)) {
 				if(rc.senseSoup(allegedSoupLocation) == 0 || (wallBuilt(minerData.getHqLocation()) && isWithinWall(allegedSoupLocation, minerData.getHqLocation()))) {
 					minerData.removeSoupLoc(allegedSoupLocation);
-					i--;
 				}
 			}
 		}
@@ -757,13 +759,13 @@ public class Miner extends Scout {
 			return true;
 		}
 		
-		System.out.println("Failed to build design school...");
+		if(Log.DEBUG) Log.debug("Failed to build design school...");
 		
 		return false;
 	}
 	
     private boolean buildDesignSchoolForClearance() throws GameActionException {
-    	System.out.println("Building a design school for clearance...");
+    	if(Log.DEBUG) Log.debug("Building a design school for clearance...");
     	MapLocation hqLocation = minerData.getHqLocation();
     	
     	for(Direction direction : Robot.directions) {
@@ -782,7 +784,7 @@ public class Miner extends Scout {
 			return true;
 		}
 		
-		System.out.println("Failed to build fulfillment center...");
+		if(Log.DEBUG) Log.debug("Failed to build fulfillment center...");
 		
 		return false;
 	}
@@ -816,7 +818,7 @@ public class Miner extends Scout {
 			}
 		}
 		
-		System.out.println("Failed to build refinery...");
+		if(Log.DEBUG) Log.debug("Failed to build refinery...");
 		
 		return false;
 	}
@@ -834,7 +836,7 @@ public class Miner extends Scout {
 			return true;
 		}
 		
-		System.out.println("Failed to build vaporator...");
+		if(Log.DEBUG) Log.debug("Failed to build vaporator...");
 		
 		return false;
 	}
@@ -853,7 +855,7 @@ public class Miner extends Scout {
 			return true;
 		}
 		
-		System.out.println("Failed to build net gun...");
+		if(Log.DEBUG) Log.debug("Failed to build net gun...");
 		
 		return false;
 	}
@@ -864,7 +866,7 @@ public class Miner extends Scout {
 		if(rc.canSenseLocation(fulfillmentCenterBuildSite)) {
 			RobotInfo fulfillmentCenter = rc.senseRobotAtLocation(fulfillmentCenterBuildSite);
 			if(fulfillmentCenter != null && fulfillmentCenter.getType() == RobotType.FULFILLMENT_CENTER) {
-				System.out.println("Fulfillment center confirmed built!");
+				if(Log.DEBUG) Log.debug("Fulfillment center confirmed built!");
 				minerData.setFulfillmentCenterBuilt(true);
 				return;
 			}
@@ -875,10 +877,10 @@ public class Miner extends Scout {
 			//We will likely need to add logic to make this work as desired, and may even need to draw upon other miners building other fulfillment centers.
 			moveMinerFromHQ();
 		} else if(rc.getLocation().isWithinDistanceSquared(fulfillmentCenterBuildSite, 3) && rc.getTeamSoup() >= RobotType.FULFILLMENT_CENTER.cost) {
-			System.out.println("Attempting to build fulfillment center...");
+			if(Log.DEBUG) Log.debug("Attempting to build fulfillment center...");
 			if(attemptFulfillmentCenterConstruction(rc.getLocation().directionTo(fulfillmentCenterBuildSite))) minerData.setFulfillmentCenterBuilt(true);
 		} else if(!rc.getLocation().isWithinDistanceSquared(minerData.getSpawnerLocation(), 3)) {
-			System.out.println("Routing to HQ...");
+			if(Log.DEBUG) Log.debug("Routing to HQ...");
 			routeTo(data.getSpawnerLocation());
 			//TODO: Add logic to favor routing to locations that are closest to the most enemies.
 		}
@@ -889,7 +891,7 @@ public class Miner extends Scout {
 		if(rc.canSenseLocation(designSchoolBuildSite)) {
 			RobotInfo designSchool = rc.senseRobotAtLocation(designSchoolBuildSite);
 			if(designSchool != null && designSchool.getType() == RobotType.DESIGN_SCHOOL) {
-				System.out.println("Design school confirmed built!");
+				if(Log.DEBUG) Log.debug("Design school confirmed built!");
 				minerData.setDesignSchoolBuilt(true);
 				return;
 			}
@@ -900,61 +902,62 @@ public class Miner extends Scout {
 			//We will likely need to add logic to make this work as desired, and may even need to draw upon other miners building other fulfillment centers.
 			moveMinerFromHQ();
 		} else if(rc.getLocation().isWithinDistanceSquared(designSchoolBuildSite, 3) && rc.getTeamSoup() >= RobotType.DESIGN_SCHOOL.cost) {
-			System.out.println("Attempting to build fulfillment center...");
+			if(Log.DEBUG) Log.debug("Attempting to build fulfillment center...");
 			if(attemptDesignSchoolConstruction(rc.getLocation().directionTo(designSchoolBuildSite))) minerData.setDesignSchoolBuilt(true);
 		} else if(!rc.getLocation().isWithinDistanceSquared(minerData.getSpawnerLocation(), 3)) {
-			System.out.println("Routing to HQ...");
+			if(Log.DEBUG) Log.debug("Routing to HQ...");
 			routeTo(data.getSpawnerLocation());
 			//TODO: Add logic to favor routing to locations that are closest to the most enemies.
 		}
 	}
 
 	private void defensiveHqBlock() throws GameActionException {
-		RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
-		System.out.println("Scouting nearby region yielded " + enemies.length + " enemies.");
-		if(enemies.length < 2) minerData.setCurrentRole(MinerData.ROLE_SOUP_MINER);
+		int enemyCount = senseRobotCount(rc.getTeam().opponent());
+		if(Log.DEBUG) Log.debug("Scouting nearby region yielded " + enemyCount + " enemies.");
+		if(enemyCount < 2) minerData.setCurrentRole(MinerData.ROLE_SOUP_MINER);
 		else if(!rc.getLocation().isWithinDistanceSquared(minerData.getSpawnerLocation(), 3)) routeTo(minerData.getSpawnerLocation());
 	}
 	
 	//TRANSACTIONS
-	private void readTransactions() throws GameActionException {
-    	for(int i = minerData.getTransactionRound(); i < rc.getRoundNum(); i++) {
-    		minerData.setTransactionRound(i);
-    		if(Clock.getBytecodesLeft() <= 500) break;
-    		
-    		for(Transaction transaction : rc.getBlock(i)) {
-    			int[] message = decodeTransaction(transaction);
-    			
-    			if (message.length == GameConstants.NUMBER_OF_TRANSACTIONS_PER_BLOCK) {
-    				Robot.Type category = Robot.Type.enumOfValue(message[1]);
-    				MapLocation loc = new MapLocation(message[2], message[3]);
-
-    				if (category == null) {
-    					System.out.println("Something is terribly wrong. enumOfValue returns null. Miner readTransaction line ~621");
-    				}
-    				
-    				switch(category) {
-    					case TRANSACTION_SOUP_AT_LOC:
-    						minerData.addSoupLoc(loc);
-    						System.out.println("read soup loc " + loc);
-    						break;
-    					case TRANSACTION_FRIENDLY_REFINERY_AT_LOC:
-    						minerData.addRefineryLoc(loc);
-    						System.out.println("read refinery loc " + loc);
-    						break;
-    					case TRANSACTION_BUILD_SITE_BLOCKED:
-    						minerData.setBuildSitesBlocked(true);
-    						break;
-    					case TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED:
-    						minerData.setBuildSitesBlocked(false);
-    						break;
-    					default:
-    						break;
-    				}
-    			}
-    		}
-    	}
-    }
+	@Override
+	public void handleMessage(Message message, int round) throws GameActionException {
+		switch(message.getType()) {
+			case TRANSACTION_SOUP_AT_LOC:
+				minerData.addSoupLoc(message.getLocation());
+				if(Log.DEBUG) Log.debug("read soup loc " + message.getLocation());
+				break;
+			case TRANSACTION_FRIENDLY_REFINERY_AT_LOC:
+				minerData.addRefineryLoc(message.getLocation());
+				if(Log.DEBUG) Log.debug("read refinery loc " + message.getLocation());
+				break;
+			case TRANSACTION_BUILD_SITE_BLOCKED:
+				if(round < minerData.getBuildSitesStatusRound()) break;
+				minerData.setBuildSitesBlocked(true);
+				minerData.setBuildSitesStatusRound(round);
+				break;
+			case TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED:
+				if(round < minerData.getBuildSitesStatusRound()) break;
+				minerData.setBuildSitesBlocked(false);
+				minerData.setBuildSitesStatusRound(round);
+				break;
+			default:
+				break;
+		}
+	}
+	
+	@Override
+	public void handleDigest(StateDigest digest, int round) throws GameActionException {
+		for(int i = digest.getRefineryCount() - 1; i >= 0; i--) {
+			minerData.addRefineryLoc(digest.getRefinery(i));
+		}
+		for(int i = digest.getSoupCount() - 1; i >= 0; i--) {
+			minerData.addSoupLoc(digest.getSoupLocation(i));
+		}
+		if(digest.getBuildSitesStatusRound() >= minerData.getBuildSitesStatusRound()) {
+			minerData.setBuildSitesBlocked(digest.getBuildSitesBlocked());
+			minerData.setBuildSitesStatusRound(digest.getBuildSitesStatusRound());
+		}
+	}
 
 	//TRACKING
 	private void senseBuildings() throws GameActionException {
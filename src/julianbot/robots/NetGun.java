@@ -19,9 +19,11 @@ public class NetGun extends Robot {
 	public void run() throws GameActionException {
 		super.run();
 		
-    	RobotInfo[] enemy = rc.senseNearbyRobots(rc.getCurrentSensorRadiusSquared(), netGunData.getOpponent());
-    	if(enemy.length > 0) {
-    		for (RobotInfo target : enemy) {
+    	RobotInfo[] enemy = senseRobots(netGunData.getOpponent());
+    	int enemyCount = senseRobotCount(netGunData.getOpponent());
+    	if(enemyCount > 0) {
+    		for (int i = 0; i < enemyCount; i++) {
+    			RobotInfo target = enemy[i];
     			if(rc.canShootUnit(target.getID())) {
     				rc.shootUnit(target.getID());
     			}
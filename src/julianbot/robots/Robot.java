@@ -2,12 +2,21 @@ package julianbot.robots;
 
 import battlecode.common.*;
 import julianbot.robotdata.RobotData;
+import julianbot.utils.FastRandom;
+import julianbot.utils.MapMemory;
+import julianbot.utils.PlayerConstants;
+import julianbot.utils.Profiler;
+import julianbot.utils.SensingSnapshot;
+import julianbot.utils.blockchain.Message;
+import julianbot.utils.blockchain.MessageHandler;
+import julianbot.utils.blockchain.Priority;
+import julianbot.utils.blockchain.StateDigest;
+import julianbot.utils.pathfinder.AStarPlanner;
+import julianbot.utils.pathfinder.PathSearch;
 import julianbot.utils.pathfinder.Pathfinder;
+import julianbot.utils.Log;
 
-import java.util.ArrayList;
-import java.util.List;
-
-public class Robot {
+public class Robot implements MessageHandler {
 	
 	protected RobotController rc;
 	protected RobotData data;
@@ -17,42 +26,23 @@ public class Robot {
 	protected int spawnRound;
 	protected int turnCount;
 	
+	//Messages carry ordinal() + 1 as their type code, in a field of TransactionCodec.TYPE_BITS bits, so there can be at most TransactionCodec.MAX_TYPE_CODE types.
 	public enum Type{
-		TRANSACTION_SOS_AT_LOC(-104),
-		TRANSACTION_SOUP_AT_LOC(249),
-		TRANSACTION_FRIENDLY_HQ_AT_LOC(9),
-		TRANSACTION_ENEMY_HQ_AT_LOC(29),
-		TRANSACTION_FRIENDLY_REFINERY_AT_LOC(-477),
-		TRANSACTION_ENEMY_REFINERY_AT_LOC(-443),
-		TRANSACTION_FRIENDLY_DESIGN_SCHOOL_AT_LOC(793), // Not sure if we'd ever need this, but putting it just in case
-		TRANSACTION_ENEMY_DESIGN_SCHOOL_AT_LOC(740),
-		TRANSACTION_FRIENDLY_FULFILLMENT_CENTER_AT_LOC(117), // Not sure if we'd ever need this, but putting it just in case
-		TRANSACTION_ENEMY_FULFILLMENT_CENTER_AT_LOC(177),
-		TRANSACTION_ATTACK_AT_LOC(-171),
-		TRANSACTION_KILL_ORDER(88),
-		TRANSACTION_PAUSE_LANDSCAPER_BUILDING(8482),
-		TRANSACTION_BUILD_SITE_BLOCKED(642),
-		TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED(1533);
-		
-		private int val;
-		
-		Type(int val){
-			this.val = val;
-		}
-		
-		public int getVal() {
-			return val;
-		}
-		
-		public static Type enumOfValue(int value) {
-		    for (Type e : values()) {
-		        if (e.val==value) {
-		            return e;
-		        }
-		    }
-		    return null;
-		}
-		//Call Type.enumOfValue(plaintxt[1]) to get enum from value
+		TRANSACTION_SOS_AT_LOC,
+		TRANSACTION_SOUP_AT_LOC,
+		TRANSACTION_FRIENDLY_HQ_AT_LOC,
+		TRANSACTION_ENEMY_HQ_AT_LOC,
+		TRANSACTION_FRIENDLY_REFINERY_AT_LOC,
+		TRANSACTION_ENEMY_REFINERY_AT_LOC,
+		TRANSACTION_FRIENDLY_DESIGN_SCHOOL_AT_LOC, // Not sure if we'd ever need this, but putting it just in case
+		TRANSACTION_ENEMY_DESIGN_SCHOOL_AT_LOC,
+		TRANSACTION_FRIENDLY_FULFILLMENT_CENTER_AT_LOC, // Not sure if we'd ever need this, but putting it just in case
+		TRANSACTION_ENEMY_FULFILLMENT_CENTER_AT_LOC,
+		TRANSACTION_ATTACK_AT_LOC,
+		TRANSACTION_KILL_ORDER,
+		TRANSACTION_PAUSE_LANDSCAPER_BUILDING,
+		TRANSACTION_BUILD_SITE_BLOCKED,
+		TRANSACTION_BLOCKED_BUILD_SITE_ADDRESSED;
 	}
 	
 	public Robot(RobotController rc) {
@@ -77,19 +67,22 @@ public class Robot {
 	}
 	
 	public void run() throws GameActionException {
-		sendPendingTransaction();
+		if(Profiler.ENABLED) Profiler.begin(Profiler.COMMS);
+		data.getBlockchainReader().read(rc, this, PlayerConstants.COMMS_BACKLOG_BYTECODE_BUDGET, PlayerConstants.COMMS_BYTECODE_RESERVE);
+		if(Profiler.ENABLED) Profiler.end(Profiler.COMMS);
+		
     	updateTurnCount();
+    	
+    	if(Profiler.ENABLED) Profiler.begin(Profiler.SENSING);
+    	data.getMapMemory().update(rc);
+    	data.getSensingSnapshot().update(rc);
+    	if(Profiler.ENABLED) Profiler.end(Profiler.SENSING);
 	}
 
 	public void updateTurnCount() {
 		 turnCount = rc.getRoundNum() - spawnRound + 1;
 	}
 	
-	//FLOODING
-	protected int getFloodingAtRound(double roundNumber) {
-		return (int) (Math.pow(Math.E, (0.0028 * roundNumber) - (1.38 * Math.sin(0.00157 * roundNumber - 1.73)) + (1.38 * Math.sin(-1.73))) - 1);
-	}
-	
 	//BOUNDS
 	public boolean onMapEdge(MapLocation location) {
 		return location.x == 0 || location.x == rc.getMapWidth() - 1 || location.y == 0 || location.y == rc.getMapHeight() - 1;
@@ -97,108 +90,30 @@ public class Robot {
 	
 	//WALL
 	public boolean isOnWall(MapLocation location, MapLocation hqLocation) {    	
-    	int minDx = data.getWallOffsetXMin();
-    	int maxDx = data.getWallOffsetXMax();
-    	int minDy = data.getWallOffsetYMin();
-    	int maxDy = data.getWallOffsetYMax();
-    	
-    	int dx = location.x - hqLocation.x;
-    	int dy = location.y - hqLocation.y;
-    	
-    	boolean dxOnBound = (dx == minDx || dx == maxDx);
-    	boolean dyInRange = minDy <= dy && dy <= maxDy;
-    	if(dxOnBound && dyInRange) return true;
-    	
-    	
-    	boolean dyOnBound = (dy == minDy || dy == maxDy);
-    	boolean dxInRange = minDx <= dx && dx <= maxDx;
-    	if(dyOnBound && dxInRange) return true;
-    	
-    	return false;
+		return data.getWallGeometry(hqLocation).isOnWall(location);
 	}
 	
 	public boolean isWithinWall(MapLocation location, MapLocation hqLocation) {    	
-    	int minDx = data.getWallOffsetXMin();
-    	int maxDx = data.getWallOffsetXMax();
-    	int minDy = data.getWallOffsetYMin();
-    	int maxDy = data.getWallOffsetYMax();
-    	
-    	int dx = location.x - hqLocation.x;
-    	int dy = location.y - hqLocation.y;
-    	
-    	boolean dxInRange = minDx < dx && dx < maxDx;
-    	boolean dyInRange = minDy < dy && dy < maxDy;
-    	return dxInRange && dyInRange;
+		return data.getWallGeometry(hqLocation).isWithinWall(location);
 	}
 	
 	public int getLowestWallElevation(MapLocation hqLocation) throws GameActionException {
-		if(!rc.canSenseLocation(hqLocation)) return Integer.MAX_VALUE;
-		int lowestElevation = Integer.MAX_VALUE;
-		
-    	int minDx = data.getWallOffsetXMin();
-    	int maxDx = data.getWallOffsetXMax();
-    	int minDy = data.getWallOffsetYMin();
-    	int maxDy = data.getWallOffsetYMax();
-    	
-    	for(int dx = minDx; dx <= maxDx; dx++) {
-    		for(int dy = minDy; dy <= maxDy; dy++) {
-    			MapLocation location = hqLocation.translate(dx, dy);
-    			if(rc.canSenseLocation(location) && !onMapEdge(location) && isOnWall(location, hqLocation)) {
-    				int elevation = rc.senseElevation(location);
-    				lowestElevation = elevation < lowestElevation ? elevation : lowestElevation;
-    			}
-    		}
-    	}
-    	
-    	return lowestElevation;
+		return data.getWallGeometry(hqLocation).getLowestElevation();
 	}
 	
-	/*
-     * TODO: This function ignores tiles on the edge of the map, but there are map edges that should be part of the wall.
-     * This is likely not a problem, as an estimate is sufficient for desired behavior, but this needs to be officially decided.
-     */
     public boolean wallBuilt(MapLocation hqLocation) throws GameActionException {
-    	if(!rc.canSenseLocation(hqLocation)) return false;
-    	int hqElevation = rc.senseElevation(hqLocation);
-    	
-    	int minDx = data.getWallOffsetXMin();
-    	int maxDx = data.getWallOffsetXMax();
-    	int minDy = data.getWallOffsetYMin();
-    	int maxDy = data.getWallOffsetYMax();
-    	
-    	for(int dx = minDx; dx <= maxDx; dx++) {
-    		for(int dy = minDy; dy <= maxDy; dy++) {
-    			MapLocation location = hqLocation.translate(dx, dy);
-    			if(rc.canSenseLocation(location) && !onMapEdge(location) && isOnWall(location, hqLocation)) {
-    				if(rc.senseElevation(location) - hqElevation <= GameConstants.MAX_DIRT_DIFFERENCE) return false;
-    			}
-    		}
-    	}
-    	
-    	return true;
+    	return data.getWallGeometry(hqLocation).isBuilt();
     }
     
     public boolean wallBarringFloodwaters(MapLocation hqLocation) throws GameActionException {
-    	if(!rc.canSenseLocation(hqLocation)) return false;
-    	
-    	int minDx = data.getWallOffsetXMin();
-    	int maxDx = data.getWallOffsetXMax();
-    	int minDy = data.getWallOffsetYMin();
-    	int maxDy = data.getWallOffsetYMax();
-    	
-    	for(int dx = minDx -1; dx <= maxDx + 1; dx++) {
-    		for(int dy = minDy - 1; dy <= maxDy + 1; dy++) {
-    			MapLocation location = hqLocation.translate(dx, dy);
-    			if(rc.canSenseLocation(location) && !isOnWall(location, hqLocation) && !isWithinWall(location, hqLocation)) {
-    				if(!rc.senseFlooding(location)) return false;
-    			}
-    		}
-    	}
-    	
-    	return true;
+    	return data.getWallGeometry(hqLocation).isBarringFloodwaters();
     }
 	
 	//RECONNAISSANCE
+	/**
+	 * Senses the unit that spawned this one. Called while constructing the robot, before its data and sensing snapshot exist.
+	 * @return Location of the spawner. Null if not found
+	 */
 	protected MapLocation getSpawnerLocation() {
 		RobotInfo[] robots = rc.senseNearbyRobots(3, rc.getTeam());
 		RobotType targetType = getSpawnerTypeFor(rc.getType());
@@ -218,6 +133,42 @@ public class Robot {
 		return RobotType.HQ;
 	}
 	
+	/**
+	 * Returns the sensing snapshot, sensing again first if the robot has acted since it was taken
+	 * @return
+	 */
+	protected SensingSnapshot sensing() {
+		SensingSnapshot snapshot = data.getSensingSnapshot();
+		snapshot.update(rc);
+		return snapshot;
+	}
+	
+	/**
+	 * Senses all units within sensor radius.
+	 * @return Units within sensor radius. Shared with other queries this turn, so do not modify it.
+	 */
+	protected RobotInfo[] senseRobots() {
+		return sensing().getRobots();
+	}
+	
+	/**
+	 * Senses all units of a team within sensor radius.
+	 * @param team
+	 * @return Units of given team, in the first senseRobotCount(team) entries. Shared with other queries and refilled once the robot acts, so do not modify or keep it.
+	 */
+	protected RobotInfo[] senseRobots(Team team) {
+		return sensing().getRobots(team);
+	}
+	
+	/**
+	 * Senses number of units of a team within sensor radius.
+	 * @param team
+	 * @return Number of units of given team
+	 */
+	protected int senseRobotCount(Team team) {
+		return sensing().getRobotCount(team);
+	}
+	
 	/**
 	 * Senses unit type within sensor radius.
 	 * @param rc
@@ -225,9 +176,10 @@ public class Robot {
 	 * @return First unit of given type. Null if not found
 	 */
 	protected RobotInfo senseUnitType(RobotType type) {
-		RobotInfo[] robots = rc.senseNearbyRobots();
-		for (RobotInfo robot : robots) {
-			if (robot.getType() == type) {
+		SensingSnapshot snapshot = sensing();
+		for (Team team : Team.values()) {
+			RobotInfo robot = snapshot.find(team, type, -1);
+			if (robot != null) {
 				return robot;
 			}
 		}
@@ -241,15 +193,11 @@ public class Robot {
 	 * @return Number of units of given type
 	 */
 	protected int senseNumberOfUnits(RobotType type) {
+		SensingSnapshot snapshot = sensing();
 		int unitCount = 0;
-		
-		RobotInfo[] robots = rc.senseNearbyRobots();
-		for (RobotInfo robot : robots) {
-			if (robot.getType() == type) {
-				unitCount++;
-			}
+		for (Team team : Team.values()) {
+			unitCount += snapshot.count(team, type, -1);
 		}
-		
 		return unitCount;
 	}
 
@@ -261,31 +209,11 @@ public class Robot {
 	 * @return First unit of given type and team. Null if not found
 	 */
 	protected RobotInfo senseUnitType(RobotType type, Team team) {
-		RobotInfo[] robots = rc.senseNearbyRobots(-1, team);
-		for (RobotInfo robot : robots) {
-			if (robot.getType() == type) {
-				return robot;
-			}
-		}
-		return null;
+		return sensing().find(team, type, -1);
 	}
 	
 	protected RobotInfo[] senseAllUnitsOfType(RobotType type, Team team) {
-		RobotInfo[] robots = rc.senseNearbyRobots(-1, team);
-		List<RobotInfo> matchingRobots = new ArrayList<>();
-		
-		for (RobotInfo robot : robots) {
-			if (robot.getType() == type) {
-				matchingRobots.add(robot);
-			}
-		}
-		
-		RobotInfo[] matchingRobotsArray = new RobotInfo[matchingRobots.size()];
-		for(int i = 0; i < matchingRobots.size(); i++) {
-			matchingRobotsArray[i] = matchingRobots.get(i);
-		}
-		
-		return matchingRobotsArray;
+		return sensing().getRobots(team, type);
 	}
 	
 	/**
@@ -296,16 +224,7 @@ public class Robot {
 	 * @return Number of units of given type and team
 	 */
 	protected int senseNumberOfUnits(RobotType type, Team team) {
-		int unitCount = 0;
-		
-		RobotInfo[] robots = rc.senseNearbyRobots(-1, team);
-		for (RobotInfo robot : robots) {
-			if (robot.getType() == type) {
-				unitCount++;
-			}
-		}
-		
-		return unitCount;
+		return sensing().count(team, type, -1);
 	}
 
 	/**
@@ -316,13 +235,7 @@ public class Robot {
 	 * @return First unit of given type and team. Null if not found.
 	 */
 	protected RobotInfo senseUnitType(RobotType type, Team team, int radiusSquared) {
-		RobotInfo[] robots = rc.senseNearbyRobots(radiusSquared, team);
-		for (RobotInfo robot : robots) {
-			if (robot.getType() == type) {
-				return robot;
-			}
-		}
-		return null;
+		return sensing().find(team, type, radiusSquared);
 	}
 	
 	/**
@@ -333,21 +246,23 @@ public class Robot {
 	 * @return Number of units of given type and team
 	 */
 	protected int senseNumberOfUnits(RobotType type, Team team, int radiusSquared) {
-		int unitCount = 0;
-		
-		RobotInfo[] robots = rc.senseNearbyRobots(radiusSquared, team);
-		for (RobotInfo robot : robots) {
-			if (robot.getType() == type) {
-				unitCount++;
-			}
-		}
-		
-		return unitCount;
+		return sensing().count(team, type, radiusSquared);
+	}
+	
+	/**
+	 * Senses the closest unit of a type and team within sensor radius
+	 * @param type
+	 * @param team
+	 * @return Closest unit of given type and team. Null if not found.
+	 */
+	protected RobotInfo senseClosestUnitType(RobotType type, Team team) {
+		return sensing().nearest(team, type, rc.getLocation());
 	}
 	
 	//TURN MANAGEMENT
 	protected void waitUntilReady() {
 		while(!rc.isReady()) {
+			if(Profiler.ENABLED) Profiler.yieldTurn();
 			Clock.yield();
 		}
 	}
@@ -385,7 +300,7 @@ public class Robot {
 	protected boolean moveAnywhere() throws GameActionException {
 		stopFollowingPath();
 		
-		Direction dir = directions[(int)(Math.random() * directions.length)];
+		Direction dir = directions[FastRandom.nextInt(directions.length)];
 		int rotateLimit = 8;
 		
 		waitUntilReady();
@@ -416,7 +331,7 @@ public class Robot {
 			return;
 		}
 
-		data.setSearchDirection(directions[(int) (Math.random() * directions.length)]);
+		data.setSearchDirection(directions[FastRandom.nextInt(directions.length)]);
 	}
 
 	/**
@@ -436,53 +351,68 @@ public class Robot {
 	}
 
 	//TRANSACTIONS
-	protected boolean sendTransaction(int soupBid, Type type, MapLocation loc) throws GameActionException {		
-		return sendTransaction(soupBid, type, loc, 0);
+	protected void sendTransaction(Priority priority, Type type, MapLocation loc) throws GameActionException {		
+		sendTransaction(priority, type, loc, 0);
 	}
 	
-	protected boolean sendTransaction(int soupBid, Type type, MapLocation loc, int bonusInt) throws GameActionException {		
-		int transactionTag = (int) (Math.random()*500); //This use of parentheses will prevent truncation of the random number.
-		int[] message = new int[]{transactionTag, type.getVal()+transactionTag, loc.x+transactionTag, loc.y+transactionTag, rc.getRoundNum()+transactionTag, bonusInt+transactionTag, 0};
-		int odd = 0;
-		for (int i : message) {
-			if (i%2 == 1)
-				odd++;
-		}
-		message[6] = odd;
-		
-		if(rc.canSubmitTransaction(message, soupBid)) {
-			rc.submitTransaction(message, soupBid);
-			return true;
-		} else {
-			data.setPendingTransaction(type, loc, soupBid);
-		}
-		
-		return false;
+	/**
+	 * Queues a message to be sent at the end of the turn. It is bid according to its priority and recent block prices, and shares a transaction with other queued messages.
+	 * @param priority
+	 * @param type
+	 * @param loc
+	 * @param bonusInt Payload between 0 and 65535
+	 * @throws GameActionException
+	 */
+	protected void sendTransaction(Priority priority, Type type, MapLocation loc, int bonusInt) throws GameActionException {
+		data.getTransactionWriter().write(rc, type, loc, bonusInt, priority);
+	}
+	
+	/**
+	 * Submits the messages queued this turn. Called once at the end of every turn.
+	 * @throws GameActionException
+	 */
+	public void flushTransactions() throws GameActionException {
+		if(Profiler.ENABLED) Profiler.begin(Profiler.COMMS);
+		if(!data.getTransactionWriter().flush(rc) && Log.DEBUG) Log.debug("Transaction held until next turn.");
+		if(Profiler.ENABLED) Profiler.end(Profiler.COMMS);
 	}
 
 	/**
-	 * Decodes transaction. Returns empty array if message is from enemy team.
-	 * @param transaction
-	 * @return
+	 * Called by the blockchain reader for each message of a type this robot has subscribed to.
+	 * @param message
+	 * @param round
 	 * @throws GameActionException
 	 */
-	protected int[] decodeTransaction(Transaction transaction) throws GameActionException {		
-		int[] message = transaction.getMessage();
-		int transactionTag = message[0];
-		int[] plaintxt = new int[7];
+	@Override
+	public void handleMessage(Message message, int round) throws GameActionException {
 		
-		int odd = 0;
-		for (int i = 0; i<message.length-1; i++) {
-			if (message[i]%2 == 1)
-				odd++;
-		}
+	}
+	
+	@Override
+	public void handleForeignTransaction(Transaction transaction, int round) throws GameActionException {
 		
-		if (odd!=message[6]) return new int[] {0}; //empty means message not from own team
-		for (int i = 0; i<message.length-1; i++) {
-			plaintxt[i] = message[i] - transactionTag;
-		}
-		if (Type.enumOfValue(plaintxt[1]) == null) return new int[] {0}; //Checks if matches one of categories.
-		return plaintxt;
+	}
+	
+	/**
+	 * Called by the blockchain reader with the newest state digest, if this robot has subscribed to digests.
+	 * @param digest
+	 * @param round
+	 * @throws GameActionException
+	 */
+	@Override
+	public void handleDigest(StateDigest digest, int round) throws GameActionException {
+		
+	}
+	
+	/**
+	 * Returns how much of an order lasting the given number of rounds remains, given the round it was sent in.
+	 * Orders read late from backlog have already partly elapsed.
+	 * @param duration
+	 * @param sentRound
+	 * @return
+	 */
+	protected int getRemainingDuration(int duration, int sentRound) {
+		return duration - (rc.getRoundNum() - 1 - sentRound);
 	}
 
 	/**
@@ -522,21 +452,23 @@ public class Robot {
 		}
 	}
 	
-	public void sendPendingTransaction() throws GameActionException {
-		if(!data.hasPendingTransaction()) return;
+	//PATHFINDING
+	protected boolean routeTo(MapLocation destination) throws GameActionException {
+		if(!Profiler.ENABLED) return navigateTo(destination);
 		
-		if(sendTransaction(data.getPendingTransactionSoupBid(), data.getPendingTransactionType(), data.getPendingTransactionLocation())) {
-			System.out.println("Submitted pending transaction!");
-			data.clearPendingTransaction();
+		Profiler.begin(Profiler.PATHFINDING);
+		try {
+			return navigateTo(destination);
+		} finally {
+			Profiler.end(Profiler.PATHFINDING);
 		}
 	}
 	
-	//PATHFINDING
-	protected boolean routeTo(MapLocation destination) throws GameActionException {
+	private boolean navigateTo(MapLocation destination) throws GameActionException {
 		rc.setIndicatorLine(rc.getLocation(), destination, 0, 0, 255);
 		//If we're already pathfinding, continue on.	
 		if(!data.getCurrentDestination().equals(destination)) {
-			System.out.println("Change in destination.");
+			if(Log.DEBUG) Log.debug("Change in destination.");
 			data.setBugNaving(false);
 			data.setObstacleLoc(null);
 			data.setClosestDist(-1);
@@ -544,11 +476,11 @@ public class Robot {
 		}
 		
 		if(data.isBugNaving()) {
-			System.out.println("Continuing bug nav.");
+			if(Log.DEBUG) Log.debug("Continuing bug nav.");
 			boolean bugNavingSuccessful = bugNav(destination);
 			if(!bugNavingSuccessful) {
 				data.setBugNaving(false);
-				System.out.println("Bug nav failure.");
+				if(Log.DEBUG) Log.debug("Bug nav failure.");
 			}
 			return bugNavingSuccessful;
 		} else if(data.hasPath()) {
@@ -586,21 +518,60 @@ public class Robot {
 		//If all of these measures have failed, we'll need to use pathfinding to get around.
 		//However, just in case, we will allow for the previous location to be used next turn.
 		data.setPreviousLocation(rcLocation);
-		System.out.println("Resorting to intensive pathfinding.");
-		/*if (rc.canSenseLocation(destination) && pathfind(destination)) {
-			System.out.println("BFS succeeded.");
+		if(Log.DEBUG) Log.debug("Resorting to intensive pathfinding.");
+		if (planRouteTo(destination)) {
+			if(Log.DEBUG) Log.debug("A* succeeded.");
 			data.setCurrentDestination(destination);
 			return true;
-		} else */if (bugNav(destination)) {
-			System.out.println("Bug Nav succeeded.");
+		} else if (bugNav(destination)) {
+			if(Log.DEBUG) Log.debug("Bug Nav succeeded.");
 			data.setBugNaving(true);
 			return true;
 		}
-		System.out.println("Intensive pathfinding failed.");
+		if(Log.DEBUG) Log.debug("Intensive pathfinding failed.");
 		
 		return false;
 	}
 	
+	/**
+	 * Plans a route with A* and takes its first step.
+	 * Ground units avoid flooded tiles and steps they cannot climb, and drones steer clear of enemy guns where possible.
+	 * @param destination
+	 * @return Whether the robot moved
+	 * @throws GameActionException
+	 */
+	protected boolean planRouteTo(MapLocation destination) throws GameActionException {
+		AStarPlanner planner = data.getPlanner();
+		if(planner == null) {
+			planner = new AStarPlanner(rc.getType().sensorRadiusSquared);
+			data.setPlanner(planner);
+		}
+		
+		boolean flying = rc.getType().canFly();
+		MapLocation[] threats = null;
+		if(flying) {
+			RobotInfo[] enemies = senseRobots(data.getOpponent());
+			int enemyCount = senseRobotCount(data.getOpponent());
+			int threatCount = 0;
+			threats = new MapLocation[enemyCount];
+			for(int i = 0; i < enemyCount; i++) {
+				RobotInfo enemy = enemies[i];
+				if(enemy.getType().canShoot()) threats[threatCount++] = enemy.getLocation();
+			}
+			
+			MapLocation[] trimmedThreats = new MapLocation[threatCount];
+			System.arraycopy(threats, 0, trimmedThreats, 0, threatCount);
+			threats = trimmedThreats;
+		}
+		
+		Direction[] route = planner.plan(rc, destination, flying, threats, PlayerConstants.ASTAR_BYTECODE_CEILING, PlayerConstants.PATHFINDING_BYTECODE_RESERVE);
+		if(route.length == 0) return false;
+		
+		data.setPath(route);
+		data.setPathProgression(0);
+		return proceedAlongPath();
+	}
+	
 	protected boolean bfsRouteTo(MapLocation destination) throws GameActionException {
 		rc.setIndicatorLine(rc.getLocation(), destination, 0, 0, 255);
 		//If we're already pathfinding, continue on.
@@ -641,11 +612,16 @@ public class Robot {
 		}
 		
 		data.setPreviousLocation(rcLocation);
-		System.out.println("Resorting to intensive pathfinding.");
+		if(Log.DEBUG) Log.debug("Resorting to intensive pathfinding.");
 		if (pathfind(destination)) {
-			System.out.println("BFS succeeded.");
+			if(Log.DEBUG) Log.debug("BFS succeeded.");
 			data.setCurrentDestination(destination);
 			return true;
+		} else if(data.hasPathSearch()) {
+			//The search ran out of bytecode this turn and will resume next turn. Keep moving in the meantime, unless that would spoil the search.
+			if(!data.getPathSearch().allowsMovingFrom(rc.getLocation())) return true;
+			if(Log.DEBUG) Log.debug("BFS in progress. Bug naving until it finishes.");
+			return bugNav(destination);
 		}
 		
 		return false;
@@ -664,18 +640,18 @@ public class Robot {
 		}
 
 		if (data.getClosestDist() == -1) {
-			System.out.println("Initializing closestDist");
+			if(Log.DEBUG) Log.debug("Initializing closestDist");
 			data.setClosestDist(rc.getLocation().distanceSquaredTo(destination));
 		}
 		
 		if (rc.getLocation().equals(destination)) {
 			// After robot moves, checks if it is now at its destination
-			System.out.println("Reached destination");
+			if(Log.DEBUG) Log.debug("Reached destination");
 			data.setClosestDist(-1);
 			return true;
 		}
 
-		System.out.println("Closest Dist = " + data.getClosestDist());
+		if(Log.DEBUG) Log.debug("Closest Dist = " + data.getClosestDist());
 		
 		Direction dirToDest = rc.getLocation().directionTo(destination);
 		Direction dirToDestLeft = dirToDest.rotateLeft();
@@ -683,13 +659,13 @@ public class Robot {
 		rc.setIndicatorDot(rc.getLocation().add(dirToDest), 255, 182, 193); // Pink dot
 		if (rc.getLocation().add(dirToDest).distanceSquaredTo(destination) < data.getClosestDist()) {
 			// If the next move toward the destination is closer than the closest its been
-			System.out.println("Raw bug nav move -- DIRECT");
+			if(Log.DEBUG) Log.debug("Raw bug nav move -- DIRECT");
 			return bugNavMove(destination, dirToDest);
 		} else if (rc.getLocation().add(dirToDestLeft).distanceSquaredTo(destination) < data.getClosestDist()) {
-			System.out.println("Raw bug nav move -- LEFT");
+			if(Log.DEBUG) Log.debug("Raw bug nav move -- LEFT");
 			return bugNavMove(destination, dirToDestLeft);
 		} else if (rc.getLocation().add(dirToDestRight).distanceSquaredTo(destination) < data.getClosestDist()) {
-			System.out.println("Raw bug nav move -- RIGHT");
+			if(Log.DEBUG) Log.debug("Raw bug nav move -- RIGHT");
 			return bugNavMove(destination, dirToDestRight);
 		} else {
 			return followWall(dirToDest, destination);
@@ -704,13 +680,13 @@ public class Robot {
 	 * @throws GameActionException
 	 */
 	public boolean bugNavMove(MapLocation destination, Direction dir) throws GameActionException {
-		System.out.println("Attempting bug nav move to the " + dir);
+		if(Log.DEBUG) Log.debug("Attempting bug nav move to the " + dir);
 		
 		if (move(dir)) {
 			//If you can move in that direction
 			data.setClosestDist(rc.getLocation().distanceSquaredTo(destination));
 			data.setObstacleLoc(null);
-			System.out.println("Moved to new closest location. Dist: " + data.getClosestDist());
+			if(Log.DEBUG) Log.debug("Moved to new closest location. Dist: " + data.getClosestDist());
 			return true;
 		} else {
 			return followWall(dir, destination);
@@ -724,7 +700,7 @@ public class Robot {
 	 * @return
 	 */
 	public boolean followWall(Direction dirToDest, MapLocation destination) throws GameActionException {
-		System.out.println("Simulating following wall");
+		if(Log.DEBUG) Log.debug("Simulating following wall");
 		// Left Wall Initialization
 		MapLocation simulatedLocLeft = rc.getLocation();
 		int closestDistLeft = data.getClosestDist();
@@ -788,7 +764,7 @@ public class Robot {
 			}
 		}
 
-		System.out.println("Closest dist left: " + closestDistLeft + " Closest dist right: " + closestDistRight + " closest dist: " + data.getClosestDist());
+		if(Log.DEBUG) Log.debug("Closest dist left: " + closestDistLeft + " Closest dist right: " + closestDistRight + " closest dist: " + data.getClosestDist());
 		rc.setIndicatorDot(simulatedLocLeft, 204, 204, 0); //Puke yellow - Left
 		rc.setIndicatorDot(simulatedLocRight, 153, 0, 153); //Purple - Right
 		if (closestDistLeft <= closestDistRight) {
@@ -804,7 +780,7 @@ public class Robot {
 	 * @throws GameActionException
 	 */
 	public boolean followLeftWall(Direction dirToDest, MapLocation destination) throws GameActionException {
-		System.out.println("Can't move in closer direction. Resorting to left wall hugging.");
+		if(Log.DEBUG) Log.debug("Can't move in closer direction. Resorting to left wall hugging.");
 		if (data.getObstacleLoc() == null) {
 			data.setSearchDirection(dirToDest);
 		} else {
@@ -817,11 +793,11 @@ public class Robot {
 		// Follows wall on left side
 		for (int i = 0; i < 8; i++) {
 			if (continueSearchNonRandom()) {
-				System.out.println("Searched in direction " + data.getSearchDirection());
+				if(Log.DEBUG) Log.debug("Searched in direction " + data.getSearchDirection());
 				int distance = rc.getLocation().distanceSquaredTo(destination);
-				System.out.println("Distance = " + distance);
+				if(Log.DEBUG) Log.debug("Distance = " + distance);
 				if(distance < data.getClosestDist()) data.setClosestDist(distance);
-				System.out.println("Closest Distance = " + data.getClosestDist());
+				if(Log.DEBUG) Log.debug("Closest Distance = " + data.getClosestDist());
 				successfulWallFollow = true;
 				break;
 			} else {
@@ -830,7 +806,7 @@ public class Robot {
 				}
 				data.setObstacleLoc(rc.getLocation().add(data.getSearchDirection()));
 				data.setSearchDirection(data.getSearchDirection().rotateRight());
-				System.out.println("Can't move, setting obstacle at " + data.getObstacleLoc() + " Loc: " + rc.getLocation());
+				if(Log.DEBUG) Log.debug("Can't move, setting obstacle at " + data.getObstacleLoc() + " Loc: " + rc.getLocation());
 				rc.setIndicatorDot(data.getObstacleLoc(), 0, 0, 0);
 			}
 		}
@@ -843,7 +819,7 @@ public class Robot {
 	 * @throws GameActionException
 	 */
 	public boolean followRightWall(Direction dirToDest, MapLocation destination) throws GameActionException {
-		System.out.println("Can't move in closer direction. Resorting to right wall hugging.");
+		if(Log.DEBUG) Log.debug("Can't move in closer direction. Resorting to right wall hugging.");
 		if (data.getObstacleLoc() == null) {
 			data.setSearchDirection(dirToDest);
 		} else {
@@ -856,11 +832,11 @@ public class Robot {
 		// Follows wall on left side
 		for (int i = 0; i < 8; i++) {
 			if (continueSearchNonRandom()) {
-				System.out.println("Searched in direction " + data.getSearchDirection());
+				if(Log.DEBUG) Log.debug("Searched in direction " + data.getSearchDirection());
 				int distance = rc.getLocation().distanceSquaredTo(destination);
-				System.out.println("Distance = " + distance);
+				if(Log.DEBUG) Log.debug("Distance = " + distance);
 				if(distance < data.getClosestDist()) data.setClosestDist(distance);
-				System.out.println("Closest Distance = " + data.getClosestDist());
+				if(Log.DEBUG) Log.debug("Closest Distance = " + data.getClosestDist());
 				successfulWallFollow = true;
 				break;
 			} else {
@@ -869,7 +845,7 @@ public class Robot {
 				}
 				data.setObstacleLoc(rc.getLocation().add(data.getSearchDirection()));
 				data.setSearchDirection(data.getSearchDirection().rotateLeft());
-				System.out.println("Can't move, setting obstacle at " + data.getObstacleLoc() + " Loc: " + rc.getLocation());
+				if(Log.DEBUG) Log.debug("Can't move, setting obstacle at " + data.getObstacleLoc() + " Loc: " + rc.getLocation());
 				rc.setIndicatorDot(data.getObstacleLoc(), 0, 0, 0);
 			}
 		}
@@ -891,12 +867,15 @@ public class Robot {
 			if (robot != null && robot.getType().isBuilding()) {
 				// If the location is occupied by a building
 				return false;
-			} else if (rc.canSenseLocation(currentLoc)) {
-				// If locToMove is not flooded and the elevation difference is not too great
-				int elevationDiff = rc.senseElevation(locToMove) - rc.senseElevation(currentLoc);
-				if (rc.senseFlooding(locToMove) || Math.abs(elevationDiff) > GameConstants.MAX_DIRT_DIFFERENCE) {
-					return false;
-				}
+			}
+		}
+		
+		MapMemory mapMemory = data.getMapMemory();
+		if (mapMemory.isKnown(locToMove) && mapMemory.isKnown(currentLoc)) {
+			// If locToMove is not flooded and the elevation difference is not too great
+			int elevationDiff = mapMemory.getElevation(locToMove) - mapMemory.getElevation(currentLoc);
+			if (mapMemory.isFlooded(locToMove) || Math.abs(elevationDiff) > GameConstants.MAX_DIRT_DIFFERENCE) {
+				return false;
 			}
 		}
 		return true;
@@ -919,10 +898,27 @@ public class Robot {
 		return proceedAlongPath();
 	}
 	
+	/**
+	 * Advances the pathfinding search towards the destination, starting a new one if needed.
+	 * The search pauses when bytecode runs low and is resumed on the next call, so a path may only be available several turns later.
+	 * @param destination
+	 * @throws GameActionException
+	 */
 	protected void calculatePathTo(MapLocation destination) throws GameActionException {
-		data.setMapGraph(Pathfinder.buildMapGraph(rc, rc.getCurrentSensorRadiusSquared()));
-		data.setPath(Pathfinder.getRoute(rc.getLocation(), destination, data.getMapGraph()));
-		data.setPathProgression(0);
+		if(Profiler.ENABLED) Profiler.begin(Profiler.PATHFINDING);
+		PathSearch pathSearch = data.getPathSearch();
+		if(pathSearch == null || !pathSearch.getDestination().equals(destination)) {
+			pathSearch = Pathfinder.beginSearch(rc, rc.getCurrentSensorRadiusSquared(), destination);
+			data.setPathSearch(pathSearch);
+		}
+		
+		if(pathSearch.resume(rc, PlayerConstants.PATHFINDING_BYTECODE_RESERVE)) {
+			data.setMapGraph(pathSearch.getMapGraph());
+			data.setPath(pathSearch.getRouteFrom(rc.getLocation()));
+			data.setPathProgression(0);
+			data.setPathSearch(null);
+		}
+		if(Profiler.ENABLED) Profiler.end(Profiler.PATHFINDING);
 	}
 	
 	protected boolean proceedAlongPath() throws GameActionException {
@@ -946,27 +942,8 @@ public class Robot {
 	}
 
 	static Direction randomDirection() {
-		return Direction.allDirections()[(int) (Math.random() * Direction.allDirections().length)];
-	}
-
-	/**
-	 * Returns closest location of array to target location
-	 * @param rc
-	 * @param locs
-	 * @param targetLoc
-	 * @return
-	 */
-	protected MapLocation locateClosestLocation(ArrayList<MapLocation> locs, MapLocation targetLoc) {
-		MapLocation closestLoc = null;
-		int closestDistance = Integer.MAX_VALUE;
-		for (MapLocation loc : locs) {
-			int dist = loc.distanceSquaredTo(targetLoc);
-			if (dist < closestDistance) {
-				closestLoc = loc;
-				closestDistance = dist;
-			}
-		}
-		return closestLoc;
+		Direction[] allDirections = Direction.allDirections();
+		return allDirections[FastRandom.nextInt(allDirections.length)];
 	}
 
 }
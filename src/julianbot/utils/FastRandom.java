@@ -0,0 +1,69 @@
+package julianbot.utils;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * A xorshift random number generator, cheaper per draw than Math.random and reproducible from its seed.
+ * Each robot seeds it once when it is created, from its ID and the round. Setting PlayerConstants.GLOBAL_RANDOM_SEED makes local runs repeat draw for draw.
+ * State is static, which is per robot, since every robot runs in its own class loader.
+ */
+public class FastRandom {
+
+	private static final int DEFAULT_SEED = 0x9E3779B9; //Used until the robot seeds the generator, and in place of a zero seed
+
+	private static int state = DEFAULT_SEED;
+
+	/**
+	 * Seeds the generator for this robot. Should be called once when the robot is created.
+	 * @param rc
+	 */
+	public static void initialize(RobotController rc) {
+		if(PlayerConstants.GLOBAL_RANDOM_SEED != 0) {
+			//Robot IDs are not the same from one runner to another, so the fixed seed is told apart by where and when the robot was created instead.
+			MapLocation location = rc.getLocation();
+			seed(mix(PlayerConstants.GLOBAL_RANDOM_SEED ^ mix(rc.getRoundNum() * 31 + rc.getType().ordinal()) ^ mix((location.x << 16) | location.y)));
+		} else {
+			seed(mix(rc.getID() * DEFAULT_SEED + rc.getRoundNum()));
+		}
+	}
+
+	public static void seed(int seed) {
+		state = seed == 0 ? DEFAULT_SEED : seed;
+	}
+
+	/**
+	 * @return A random int, positive or negative
+	 */
+	public static int nextInt() {
+		int x = state;
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		state = x;
+		return x;
+	}
+
+	/**
+	 * @param bound
+	 * @return A random int from 0 to bound - 1
+	 */
+	public static int nextInt(int bound) {
+		return (int) (((nextInt() & 0xFFFFFFFFL) * bound) >>> 32);
+	}
+
+	/**
+	 * Scrambles a seed so that close seeds, like consecutive IDs, start far apart
+	 * @param x
+	 * @return
+	 */
+	private static int mix(int x) {
+		x ^= x >>> 16;
+		x *= 0x85EBCA6B;
+		x ^= x >>> 13;
+		x *= 0xC2B2AE35;
+		x ^= x >>> 16;
+		return x;
+	}
+
+}
@@ -0,0 +1,123 @@
+package julianbot.utils;
+
+import battlecode.common.GameConstants;
+
+/**
+ * Forecasts the water level without evaluating the flooding formula.
+ * The water level only ever rises, so the first round at which it reaches each level is enough to answer both "what is the level at round r" and "how long until the level reaches e".
+ */
+public class FloodForecast {
+
+	/**
+	 * The first round at which the water level reaches each level, from level 0 up to the level at the last round of the game.
+	 * Generated from waterLevelFormula for rounds 0 to GameConstants.GAME_MAX_NUMBER_OF_ROUNDS.
+	 */
+	private static final String FIRST_ROUND_AT_LEVEL =
+		"\u0000\u0100\u01d0\u02a5\u03a3\u04ba\u0585\u060a\u0668\u06b1\u06eb\u071b\u0745\u0769\u0789\u07a5" +
+		"\u07bf\u07d7\u07ec\u0800\u0813\u0824\u0834\u0843\u0851\u085f\u086b\u0878\u0883\u088e\u0899\u08a3" +
+		"\u08ac\u08b6\u08bf\u08c7\u08d0\u08d8\u08df\u08e7\u08ee\u08f5\u08fc\u0903\u0909\u090f\u0915\u091b" +
+		"\u0921\u0927\u092c\u0931\u0937\u093c\u0941\u0946\u094b\u094f\u0954\u0958\u095d\u0961\u0965\u0969" +
+		"\u096d\u0971\u0975\u0979\u097d\u0981\u0984\u0988\u098b\u098f\u0992\u0996\u0999\u099c\u09a0\u09a3" +
+		"\u09a6\u09a9\u09ac\u09af\u09b2\u09b5\u09b8\u09bb\u09bd\u09c0\u09c3\u09c6\u09c8\u09cb\u09cd\u09d0" +
+		"\u09d2\u09d5\u09d7\u09da\u09dc\u09df\u09e1\u09e3\u09e6\u09e8\u09ea\u09ec\u09ef\u09f1\u09f3\u09f5" +
+		"\u09f7\u09f9\u09fb\u09fd\u09ff\u0a01\u0a03\u0a05\u0a07\u0a09\u0a0b\u0a0d\u0a0f\u0a11\u0a13\u0a15" +
+		"\u0a16\u0a18\u0a1a\u0a1c\u0a1e\u0a1f\u0a21\u0a23\u0a24\u0a26\u0a28\u0a29\u0a2b\u0a2d\u0a2e\u0a30" +
+		"\u0a32\u0a33\u0a35\u0a36\u0a38\u0a39\u0a3b\u0a3c\u0a3e\u0a3f\u0a41\u0a42\u0a44\u0a45\u0a47\u0a48" +
+		"\u0a49\u0a4b\u0a4c\u0a4e\u0a4f\u0a50\u0a52\u0a53\u0a54\u0a56\u0a57\u0a58\u0a5a\u0a5b\u0a5c\u0a5e" +
+		"\u0a5f\u0a60\u0a61\u0a63\u0a64\u0a65\u0a66\u0a68\u0a69\u0a6a\u0a6b\u0a6c\u0a6e\u0a6f\u0a70\u0a71" +
+		"\u0a72\u0a73\u0a75\u0a76\u0a77\u0a78\u0a79\u0a7a\u0a7b\u0a7c\u0a7d\u0a7f\u0a80\u0a81\u0a82\u0a83" +
+		"\u0a84\u0a85\u0a86\u0a87\u0a88\u0a89\u0a8a\u0a8b\u0a8c\u0a8d\u0a8e\u0a8f\u0a90\u0a91\u0a92\u0a93" +
+		"\u0a94\u0a95\u0a96\u0a97\u0a98\u0a99\u0a9a\u0a9b\u0a9c\u0a9d\u0a9e\u0a9f\u0a9f\u0aa0\u0aa1\u0aa2" +
+		"\u0aa3\u0aa4\u0aa5\u0aa6\u0aa7\u0aa8\u0aa8\u0aa9\u0aaa\u0aab\u0aac\u0aad\u0aae\u0aaf\u0aaf\u0ab0" +
+		"\u0ab1\u0ab2\u0ab3\u0ab4\u0ab4\u0ab5\u0ab6\u0ab7\u0ab8\u0ab8\u0ab9\u0aba\u0abb\u0abc\u0abd\u0abd" +
+		"\u0abe\u0abf\u0ac0\u0ac0\u0ac1\u0ac2\u0ac3\u0ac4\u0ac4\u0ac5\u0ac6\u0ac7\u0ac7\u0ac8\u0ac9\u0aca" +
+		"\u0aca\u0acb\u0acc\u0acd\u0acd\u0ace\u0acf\u0acf\u0ad0\u0ad1\u0ad2\u0ad2\u0ad3\u0ad4\u0ad4\u0ad5" +
+		"\u0ad6\u0ad7\u0ad7\u0ad8\u0ad9\u0ad9\u0ada\u0adb\u0adb\u0adc\u0add\u0add\u0ade\u0adf\u0adf\u0ae0" +
+		"\u0ae1\u0ae1\u0ae2\u0ae3\u0ae3\u0ae4\u0ae5\u0ae5\u0ae6\u0ae7\u0ae7\u0ae8\u0ae9\u0ae9\u0aea\u0aea" +
+		"\u0aeb\u0aec\u0aec\u0aed\u0aee\u0aee\u0aef\u0aef\u0af0\u0af1\u0af1\u0af2\u0af3\u0af3\u0af4\u0af4" +
+		"\u0af5\u0af6\u0af6\u0af7\u0af7\u0af8\u0af8\u0af9\u0afa\u0afa\u0afb\u0afb\u0afc\u0afd\u0afd\u0afe" +
+		"\u0afe\u0aff\u0aff\u0b00\u0b01\u0b01\u0b02\u0b02\u0b03\u0b03\u0b04\u0b04\u0b05\u0b06\u0b06\u0b07" +
+		"\u0b07\u0b08\u0b08\u0b09\u0b09\u0b0a\u0b0a\u0b0b\u0b0c\u0b0c\u0b0d\u0b0d\u0b0e\u0b0e\u0b0f\u0b0f" +
+		"\u0b10\u0b10\u0b11\u0b11\u0b12\u0b12\u0b13\u0b13\u0b14\u0b14\u0b15\u0b15\u0b16\u0b16\u0b17\u0b17" +
+		"\u0b18\u0b18\u0b19\u0b19\u0b1a\u0b1a\u0b1b\u0b1b\u0b1c\u0b1c\u0b1d\u0b1d\u0b1e\u0b1e\u0b1f\u0b1f" +
+		"\u0b20\u0b20\u0b21\u0b21\u0b22\u0b22\u0b23\u0b23\u0b24\u0b24\u0b25\u0b25\u0b25\u0b26\u0b26\u0b27" +
+		"\u0b27\u0b28\u0b28\u0b29\u0b29\u0b2a\u0b2a\u0b2b\u0b2b\u0b2b\u0b2c\u0b2c\u0b2d\u0b2d\u0b2e\u0b2e" +
+		"\u0b2f\u0b2f\u0b30\u0b30\u0b30\u0b31\u0b31\u0b32\u0b32\u0b33\u0b33\u0b33\u0b34\u0b34\u0b35\u0b35" +
+		"\u0b36\u0b36\u0b37\u0b37\u0b37\u0b38\u0b38\u0b39\u0b39\u0b39\u0b3a\u0b3a\u0b3b\u0b3b\u0b3c\u0b3c" +
+		"\u0b3c\u0b3d\u0b3d\u0b3e\u0b3e\u0b3f\u0b3f\u0b3f\u0b40\u0b40\u0b41\u0b41\u0b41\u0b42\u0b42\u0b43" +
+		"\u0b43\u0b43\u0b44\u0b44\u0b45\u0b45\u0b45\u0b46\u0b46\u0b47\u0b47\u0b47\u0b48\u0b48\u0b49\u0b49" +
+		"\u0b49\u0b4a\u0b4a\u0b4a\u0b4b\u0b4b\u0b4c\u0b4c\u0b4c\u0b4d\u0b4d\u0b4e\u0b4e\u0b4e\u0b4f\u0b4f" +
+		"\u0b4f\u0b50\u0b50\u0b51\u0b51\u0b51\u0b52\u0b52\u0b52\u0b53\u0b53\u0b54\u0b54\u0b54\u0b55\u0b55" +
+		"\u0b55\u0b56\u0b56\u0b57\u0b57\u0b57\u0b58\u0b58\u0b58\u0b59\u0b59\u0b59\u0b5a\u0b5a\u0b5b\u0b5b" +
+		"\u0b5b\u0b5c\u0b5c\u0b5c\u0b5d\u0b5d\u0b5d\u0b5e\u0b5e\u0b5e\u0b5f\u0b5f\u0b5f\u0b60\u0b60\u0b60" +
+		"\u0b61\u0b61\u0b62\u0b62\u0b62\u0b63\u0b63\u0b63\u0b64\u0b64\u0b64\u0b65\u0b65\u0b65\u0b66\u0b66" +
+		"\u0b66\u0b67\u0b67\u0b67\u0b68\u0b68\u0b68\u0b69\u0b69\u0b69\u0b6a\u0b6a\u0b6a\u0b6b\u0b6b\u0b6b" +
+		"\u0b6c\u0b6c\u0b6c\u0b6d\u0b6d\u0b6d\u0b6e\u0b6e\u0b6e\u0b6f\u0b6f\u0b6f\u0b70\u0b70\u0b70\u0b70" +
+		"\u0b71\u0b71\u0b71\u0b72\u0b72\u0b72\u0b73\u0b73\u0b73\u0b74\u0b74\u0b74\u0b75\u0b75\u0b75\u0b76" +
+		"\u0b76\u0b76\u0b76\u0b77\u0b77\u0b77\u0b78\u0b78\u0b78\u0b79\u0b79\u0b79\u0b7a\u0b7a\u0b7a\u0b7a" +
+		"\u0b7b\u0b7b\u0b7b\u0b7c\u0b7c\u0b7c\u0b7d\u0b7d\u0b7d\u0b7d\u0b7e\u0b7e\u0b7e\u0b7f\u0b7f\u0b7f" +
+		"\u0b80\u0b80\u0b80\u0b80\u0b81\u0b81\u0b81\u0b82\u0b82\u0b82\u0b82\u0b83\u0b83\u0b83\u0b84\u0b84" +
+		"\u0b84\u0b85\u0b85\u0b85\u0b85\u0b86\u0b86\u0b86\u0b87\u0b87\u0b87\u0b87\u0b88\u0b88\u0b88\u0b89" +
+		"\u0b89\u0b89\u0b89\u0b8a\u0b8a\u0b8a\u0b8b\u0b8b\u0b8b\u0b8b\u0b8c\u0b8c\u0b8c\u0b8c\u0b8d\u0b8d" +
+		"\u0b8d\u0b8e\u0b8e\u0b8e\u0b8e\u0b8f\u0b8f\u0b8f\u0b8f\u0b90\u0b90\u0b90\u0b91\u0b91\u0b91\u0b91" +
+		"\u0b92\u0b92\u0b92\u0b92\u0b93\u0b93\u0b93\u0b94\u0b94\u0b94\u0b94\u0b95\u0b95\u0b95\u0b95\u0b96" +
+		"\u0b96\u0b96\u0b96\u0b97\u0b97\u0b97\u0b98\u0b98\u0b98\u0b98\u0b99\u0b99\u0b99\u0b99\u0b9a\u0b9a" +
+		"\u0b9a\u0b9a\u0b9b\u0b9b\u0b9b\u0b9b\u0b9c\u0b9c\u0b9c\u0b9c\u0b9d\u0b9d\u0b9d\u0b9d\u0b9e\u0b9e" +
+		"\u0b9e\u0b9e\u0b9f\u0b9f\u0b9f\u0b9f\u0ba0\u0ba0\u0ba0\u0ba0\u0ba1\u0ba1\u0ba1\u0ba1\u0ba2\u0ba2" +
+		"\u0ba2\u0ba2\u0ba3\u0ba3\u0ba3\u0ba3\u0ba4\u0ba4\u0ba4\u0ba4\u0ba5\u0ba5\u0ba5\u0ba5\u0ba6\u0ba6" +
+		"\u0ba6\u0ba6\u0ba7\u0ba7\u0ba7\u0ba7\u0ba8\u0ba8\u0ba8\u0ba8\u0ba9\u0ba9\u0ba9\u0ba9\u0baa\u0baa" +
+		"\u0baa\u0baa\u0bab\u0bab\u0bab\u0bab\u0bab\u0bac\u0bac\u0bac\u0bac\u0bad\u0bad\u0bad\u0bad\u0bae" +
+		"\u0bae\u0bae\u0bae\u0baf\u0baf\u0baf\u0baf\u0baf\u0bb0\u0bb0\u0bb0\u0bb0\u0bb1\u0bb1\u0bb1\u0bb1" +
+		"\u0bb2\u0bb2\u0bb2\u0bb2\u0bb2\u0bb3\u0bb3\u0bb3\u0bb3\u0bb4\u0bb4\u0bb4\u0bb4\u0bb5\u0bb5\u0bb5" +
+		"\u0bb5\u0bb5\u0bb6\u0bb6\u0bb6\u0bb6\u0bb7\u0bb7\u0bb7\u0bb7\u0bb7\u0bb8\u0bb8\u0bb8\u0bb8";
+
+	private static final int MAX_LEVEL = FIRST_ROUND_AT_LEVEL.length() - 1;
+
+	/**
+	 * Returns the water level at a round
+	 * @param round
+	 * @return
+	 */
+	public static int getWaterLevel(int round) {
+		if(round <= 0) return 0;
+		if(round > GameConstants.GAME_MAX_NUMBER_OF_ROUNDS) return waterLevelFormula(round);
+
+		//Binary search for the highest level reached by this round.
+		int low = 0;
+		int high = MAX_LEVEL;
+		while(low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if(FIRST_ROUND_AT_LEVEL.charAt(middle) <= round) low = middle;
+			else high = middle - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the first round at which the water level reaches a level
+	 * @param level
+	 * @return First round, or Integer.MAX_VALUE if the level is not reached before the game ends
+	 */
+	public static int getFirstRoundAtLevel(int level) {
+		if(level <= 0) return 0;
+		if(level > MAX_LEVEL) return Integer.MAX_VALUE;
+		return FIRST_ROUND_AT_LEVEL.charAt(level);
+	}
+
+	/**
+	 * Returns how many rounds after the given round the water level reaches a level, such as the elevation of a tile
+	 * @param level
+	 * @param round Current round
+	 * @return Rounds until the level is reached, 0 if it already has been, or Integer.MAX_VALUE if it is not reached before the game ends
+	 */
+	public static int getRoundsUntilLevel(int level, int round) {
+		int firstRound = getFirstRoundAtLevel(level);
+		if(firstRound == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+		return firstRound > round ? firstRound - round : 0;
+	}
+
+	private static int waterLevelFormula(double round) {
+		return (int) (Math.pow(Math.E, (0.0028 * round) - (1.38 * Math.sin(0.00157 * round - 1.73)) + (1.38 * Math.sin(-1.73))) - 1);
+	}
+
+}
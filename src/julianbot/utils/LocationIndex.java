@@ -0,0 +1,220 @@
+package julianbot.utils;
+
+import battlecode.common.MapLocation;
+
+/**
+ * A set of map locations with constant time add, remove and contains, and nearest location queries that only look at the part of the map near the target.
+ * Membership is kept in a bitset over the map's tiles. Locations are also kept in a dense list for iteration, and in coarse buckets of BUCKET_SIZE by BUCKET_SIZE tiles for nearest queries.
+ * Removed locations are remembered in a second bitset, so that callers can refuse to re-add locations they have already given up on.
+ */
+public class LocationIndex {
+
+	private static final int BUCKET_SHIFT = 3;
+	private static final int BUCKET_SIZE = 1 << BUCKET_SHIFT; //Width of a bucket in tiles
+	private static final int BUCKET_CAPACITY = 4; //Initial capacity of a bucket, grown as needed
+
+	private int mapWidth;
+	private int mapHeight;
+	private int bucketsWide;
+	private int bucketsHigh;
+
+	private int[] members;
+	private int[] removed;
+
+	//ITERATION
+	private MapLocation[] locations;
+	private short[] positions; //Index into locations, by tile
+	private int size;
+
+	//BUCKETS
+	private MapLocation[][] buckets;
+	private int[] bucketSizes;
+
+	public LocationIndex(int mapWidth, int mapHeight) {
+		this.mapWidth = mapWidth;
+		this.mapHeight = mapHeight;
+		this.bucketsWide = (mapWidth + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+		this.bucketsHigh = (mapHeight + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+
+		int tileCount = mapWidth * mapHeight;
+		this.members = new int[(tileCount + 31) >> 5];
+		this.removed = new int[(tileCount + 31) >> 5];
+		this.locations = new MapLocation[16];
+		this.positions = new short[tileCount];
+		this.buckets = new MapLocation[bucketsWide * bucketsHigh][];
+		this.bucketSizes = new int[bucketsWide * bucketsHigh];
+	}
+
+	/**
+	 * @return Number of locations in the index
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a location by position, for iteration. Removing a location moves the last location into its position, so iterate backwards to remove while iterating.
+	 * @param i Position, from 0 to size() - 1
+	 * @return
+	 */
+	public MapLocation get(int i) {
+		return locations[i];
+	}
+
+	public boolean contains(MapLocation location) {
+		if(!onMap(location)) return false;
+		int code = location.y * mapWidth + location.x;
+		return (members[code >> 5] & (1 << (code & 31))) != 0;
+	}
+
+	/**
+	 * @param location
+	 * @return Whether the location was ever removed from the index
+	 */
+	public boolean wasRemoved(MapLocation location) {
+		if(!onMap(location)) return false;
+		int code = location.y * mapWidth + location.x;
+		return (removed[code >> 5] & (1 << (code & 31))) != 0;
+	}
+
+	/**
+	 * Adds a location if it is not already in the index
+	 * @param location
+	 * @return Whether the location was added
+	 */
+	public boolean add(MapLocation location) {
+		if(!onMap(location)) return false;
+		int code = location.y * mapWidth + location.x;
+		int bit = 1 << (code & 31);
+		if((members[code >> 5] & bit) != 0) return false;
+		members[code >> 5] |= bit;
+
+		if(size == locations.length) {
+			MapLocation[] grown = new MapLocation[size * 2];
+			System.arraycopy(locations, 0, grown, 0, size);
+			locations = grown;
+		}
+		positions[code] = (short) size;
+		locations[size++] = location;
+
+		int bucket = (location.y >> BUCKET_SHIFT) * bucketsWide + (location.x >> BUCKET_SHIFT);
+		MapLocation[] contents = buckets[bucket];
+		int count = bucketSizes[bucket];
+		if(contents == null) {
+			contents = new MapLocation[BUCKET_CAPACITY];
+			buckets[bucket] = contents;
+		} else if(count == contents.length) {
+			MapLocation[] grown = new MapLocation[count * 2];
+			System.arraycopy(contents, 0, grown, 0, count);
+			contents = grown;
+			buckets[bucket] = contents;
+		}
+		contents[count] = location;
+		bucketSizes[bucket] = count + 1;
+		return true;
+	}
+
+	/**
+	 * Removes a location if it is in the index, and remembers that it was removed
+	 * @param location
+	 * @return Whether the location was removed
+	 */
+	public boolean remove(MapLocation location) {
+		if(!onMap(location)) return false;
+		int code = location.y * mapWidth + location.x;
+		int bit = 1 << (code & 31);
+		if((members[code >> 5] & bit) == 0) return false;
+		members[code >> 5] &= ~bit;
+		removed[code >> 5] |= bit;
+
+		//Move the last location into the removed one's position.
+		int position = positions[code];
+		MapLocation last = locations[--size];
+		locations[position] = last;
+		positions[last.y * mapWidth + last.x] = (short) position;
+		locations[size] = null;
+
+		//Buckets hold a handful of locations, so they are searched rather than indexed.
+		int bucket = (location.y >> BUCKET_SHIFT) * bucketsWide + (location.x >> BUCKET_SHIFT);
+		MapLocation[] contents = buckets[bucket];
+		int count = bucketSizes[bucket] - 1;
+		for(int i = count; i >= 0; i--) {
+			if(contents[i].x == location.x && contents[i].y == location.y) {
+				contents[i] = contents[count];
+				contents[count] = null;
+				break;
+			}
+		}
+		bucketSizes[bucket] = count;
+		return true;
+	}
+
+	/**
+	 * Returns the location closest to the target
+	 * @param target
+	 * @return Closest location, or null if the index is empty
+	 */
+	public MapLocation nearest(MapLocation target) {
+		return nearest(target, 0);
+	}
+
+	/**
+	 * Returns the location closest to the target that is at least a minimum distance away from it.
+	 * Buckets are searched in rings around the target's bucket, and the search stops once no bucket in the next ring could hold a closer location.
+	 * @param target
+	 * @param minimumDistanceSquared
+	 * @return Closest location, or null if there is none far enough away
+	 */
+	public MapLocation nearest(MapLocation target, int minimumDistanceSquared) {
+		if(size == 0) return null;
+
+		int centerX = clamp(target.x >> BUCKET_SHIFT, bucketsWide);
+		int centerY = clamp(target.y >> BUCKET_SHIFT, bucketsHigh);
+		int maxRing = Math.max(Math.max(centerX, bucketsWide - 1 - centerX), Math.max(centerY, bucketsHigh - 1 - centerY));
+
+		MapLocation closest = null;
+		int closestDistance = Integer.MAX_VALUE;
+		for(int ring = 0; ring <= maxRing; ring++) {
+			if(ring > 0) {
+				//Every tile in this ring is at least this many tiles away along one axis.
+				int gap = (ring - 1) * BUCKET_SIZE + 1;
+				if(gap * gap >= closestDistance) break;
+			}
+
+			int minY = Math.max(centerY - ring, 0);
+			int maxY = Math.min(centerY + ring, bucketsHigh - 1);
+			for(int by = minY; by <= maxY; by++) {
+				boolean edgeRow = by == centerY - ring || by == centerY + ring;
+				int step = (edgeRow || ring == 0) ? 1 : 2 * ring;
+				for(int bx = centerX - ring; bx <= centerX + ring; bx += step) {
+					if(bx < 0 || bx >= bucketsWide) continue;
+
+					int bucket = by * bucketsWide + bx;
+					MapLocation[] contents = buckets[bucket];
+					for(int i = bucketSizes[bucket] - 1; i >= 0; i--) {
+						MapLocation location = contents[i];
+						int dx = location.x - target.x;
+						int dy = location.y - target.y;
+						int distance = dx * dx + dy * dy;
+						if(distance < closestDistance && distance >= minimumDistanceSquared) {
+							closest = location;
+							closestDistance = distance;
+						}
+					}
+				}
+			}
+		}
+
+		return closest;
+	}
+
+	private boolean onMap(MapLocation location) {
+		return location.x >= 0 && location.x < mapWidth && location.y >= 0 && location.y < mapHeight;
+	}
+
+	private static int clamp(int value, int length) {
+		if(value < 0) return 0;
+		return value >= length ? length - 1 : value;
+	}
+
+}
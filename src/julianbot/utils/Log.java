@@ -0,0 +1,71 @@
+package julianbot.utils;
+
+import battlecode.common.RobotType;
+
+/**
+ * Logging with levels and per-unit-type enablement.
+ * Call sites are written as "if(Log.DEBUG) Log.debug(...)". Because the level flags are static final, the compiler drops disabled calls along with their string concatenation, so competition builds carry no logging cost.
+ */
+public class Log {
+
+	//LEVELS
+	public static final int LEVEL_OFF = 0;
+	public static final int LEVEL_ERROR = 1;
+	public static final int LEVEL_INFO = 2;
+	public static final int LEVEL_DEBUG = 3;
+
+	public static final int LEVEL = LEVEL_ERROR; //Raise to LEVEL_DEBUG for full traces.
+
+	public static final boolean ERROR = LEVEL >= LEVEL_ERROR;
+	public static final boolean INFO = LEVEL >= LEVEL_INFO;
+	public static final boolean DEBUG = LEVEL >= LEVEL_DEBUG;
+
+	//UNIT TYPES
+	private static final boolean HQ_ENABLED = true;
+	private static final boolean MINER_ENABLED = true;
+	private static final boolean REFINERY_ENABLED = true;
+	private static final boolean VAPORATOR_ENABLED = true;
+	private static final boolean DESIGN_SCHOOL_ENABLED = true;
+	private static final boolean FULFILLMENT_CENTER_ENABLED = true;
+	private static final boolean LANDSCAPER_ENABLED = true;
+	private static final boolean DELIVERY_DRONE_ENABLED = true;
+	private static final boolean NET_GUN_ENABLED = true;
+
+	private static boolean unitEnabled = true;
+
+	/**
+	 * Enables or disables logging for this robot based on its type. Should be called once when the robot is created.
+	 * @param type
+	 */
+	public static void initialize(RobotType type) {
+		switch(type) {
+			case HQ:                 unitEnabled = HQ_ENABLED;                 break;
+			case MINER:              unitEnabled = MINER_ENABLED;              break;
+			case REFINERY:           unitEnabled = REFINERY_ENABLED;           break;
+			case VAPORATOR:          unitEnabled = VAPORATOR_ENABLED;          break;
+			case DESIGN_SCHOOL:      unitEnabled = DESIGN_SCHOOL_ENABLED;      break;
+			case FULFILLMENT_CENTER: unitEnabled = FULFILLMENT_CENTER_ENABLED; break;
+			case LANDSCAPER:         unitEnabled = LANDSCAPER_ENABLED;         break;
+			case DELIVERY_DRONE:     unitEnabled = DELIVERY_DRONE_ENABLED;     break;
+			case NET_GUN:            unitEnabled = NET_GUN_ENABLED;            break;
+			default:                 unitEnabled = true;                       break;
+		}
+	}
+
+	public static void error(Object message) {
+		if(unitEnabled) System.out.println(message);
+	}
+
+	public static void info(Object message) {
+		if(unitEnabled) System.out.println(message);
+	}
+
+	public static void debug(Object message) {
+		if(unitEnabled) System.out.println(message);
+	}
+
+	public static void error(Exception exception) {
+		if(unitEnabled) exception.printStackTrace();
+	}
+
+}
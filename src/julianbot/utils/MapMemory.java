@@ -0,0 +1,245 @@
+package julianbot.utils;
+
+import battlecode.common.Clock;
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * Remembers the elevation, flooding, soup and last-seen round of every tile the robot has sensed.
+ * Tiles are sensed when they enter the sensor radius after a move, and the tiles already in view are re-sensed a few at a time each turn to keep them from going stale.
+ * The HQ's tile and the wall and moat tiles in view are re-sensed every turn, since the wall checks act on them and other robots' digging and the rising water change them unannounced.
+ */
+public class MapMemory {
+
+	private static Direction[] directions = {Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST, Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST};
+
+	//The last-seen round, flood state and dirty state of a tile are packed into a single short.
+	private static final int ROUND_MASK = 0x1FFF;
+	private static final int DIRTY_BIT = 0x2000;
+	private static final int FLOOD_BIT = 0x4000;
+
+	private static final int DIRTY_QUEUE_CAPACITY = 64;
+
+	private int mapWidth;
+	private int mapHeight;
+	private int radiusSquared;
+
+	private short[] elevations;
+	private short[] soup;
+	private short[] tileStates;
+
+	//SENSOR OFFSETS
+	private int[] discX;
+	private int[] discY;
+	private int[][] enteringX;
+	private int[][] enteringY;
+
+	private MapLocation lastLocation;
+	private int sweepIndex;
+	private int sweepRemaining;
+
+	private int[] dirtyQueue;
+	private int dirtyCount;
+
+	private WallGeometry wallGeometry; //Told when a tile changes, so it can drop its cached results
+
+	public MapMemory(int mapWidth, int mapHeight, int radiusSquared) {
+		this.mapWidth = mapWidth;
+		this.mapHeight = mapHeight;
+		this.radiusSquared = radiusSquared;
+
+		int tileCount = mapWidth * mapHeight;
+		this.elevations = new short[tileCount];
+		this.soup = new short[tileCount];
+		this.tileStates = new short[tileCount];
+		this.dirtyQueue = new int[DIRTY_QUEUE_CAPACITY];
+
+		initializeOffsets(radiusSquared);
+	}
+
+	/**
+	 * Precomputes the offsets within the sensor radius, and for each direction of movement, the offsets that enter the radius after a step in that direction.
+	 * @param radiusSquared
+	 */
+	private void initializeOffsets(int radiusSquared) {
+		//Nearest first, so the sweep refreshes the tiles around the robot before the ones at the edge of its view.
+		TileOffsets disc = TileOffsets.forRadius(radiusSquared);
+		discX = disc.dx;
+		discY = disc.dy;
+		int discSize = discX.length;
+
+		enteringX = new int[directions.length][];
+		enteringY = new int[directions.length][];
+		for(int d = 0; d < directions.length; d++) {
+			//A tile is new if it was out of range of the previous location, which lies one step behind the current one.
+			int backX = directions[d].dx;
+			int backY = directions[d].dy;
+
+			int count = 0;
+			for(int j = 0; j < discSize; j++) {
+				int px = discX[j] + backX;
+				int py = discY[j] + backY;
+				if(px * px + py * py > radiusSquared) count++;
+			}
+
+			enteringX[d] = new int[count];
+			enteringY[d] = new int[count];
+			int k = 0;
+			for(int j = 0; j < discSize; j++) {
+				int px = discX[j] + backX;
+				int py = discY[j] + backY;
+				if(px * px + py * py > radiusSquared) {
+					enteringX[d][k] = discX[j];
+					enteringY[d][k] = discY[j];
+					k++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Records the tiles that entered the sensor radius since the last update, re-senses dirty tiles and the wall, and refreshes part of the tiles in view.
+	 * Should be called once per turn.
+	 * @param rc
+	 * @throws GameActionException
+	 */
+	public void update(RobotController rc) throws GameActionException {
+		MapLocation location = rc.getLocation();
+		int round = rc.getRoundNum();
+
+		if(lastLocation == null || location.distanceSquaredTo(lastLocation) > 2) {
+			//On the first turn, or after being carried by a drone, everything in view is new.
+			sweepIndex = 0;
+			sweepRemaining = discX.length;
+		} else if(!location.equals(lastLocation)) {
+			int d = directionIndex(lastLocation.directionTo(location));
+			int[] offsetsX = enteringX[d];
+			int[] offsetsY = enteringY[d];
+			for(int i = 0; i < offsetsX.length; i++) {
+				senseTile(rc, location.x + offsetsX[i], location.y + offsetsY[i], round);
+			}
+		}
+		lastLocation = location;
+
+		while(dirtyCount > 0) {
+			int code = dirtyQueue[--dirtyCount];
+			//Cleared whether or not the tile can be sensed now, so markDirty can queue it again. Out of view, it is sensed when it comes back into view.
+			tileStates[code] &= ~DIRTY_BIT;
+			senseTile(rc, code % mapWidth, code / mapWidth, round);
+		}
+
+		if(wallGeometry != null && wallGeometry.isNear(location, radiusSquared)) {
+			senseTileInRange(rc, location, wallGeometry.getHqLocation(), round);
+			MapLocation[] wallTiles = wallGeometry.getWallTiles();
+			for(int i = wallTiles.length - 1; i >= 0; i--) {
+				senseTileInRange(rc, location, wallTiles[i], round);
+			}
+			MapLocation[] moatTiles = wallGeometry.getMoatTiles();
+			for(int i = moatTiles.length - 1; i >= 0; i--) {
+				senseTileInRange(rc, location, moatTiles[i], round);
+			}
+		}
+
+		int sweepLimit = sweepRemaining > PlayerConstants.MAP_MEMORY_REFRESH_TILES ? sweepRemaining : PlayerConstants.MAP_MEMORY_REFRESH_TILES;
+		for(int i = 0; i < sweepLimit; i++) {
+			if(Clock.getBytecodesLeft() < PlayerConstants.MAP_MEMORY_BYTECODE_RESERVE) break;
+			senseTile(rc, location.x + discX[sweepIndex], location.y + discY[sweepIndex], round);
+			if(++sweepIndex == discX.length) sweepIndex = 0;
+			if(sweepRemaining > 0) sweepRemaining--;
+		}
+	}
+
+	private void senseTileInRange(RobotController rc, MapLocation center, MapLocation tile, int round) throws GameActionException {
+		if(center.distanceSquaredTo(tile) <= radiusSquared) senseTile(rc, tile.x, tile.y, round);
+	}
+
+	private void senseTile(RobotController rc, int x, int y, int round) throws GameActionException {
+		if(x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) return;
+
+		MapLocation location = new MapLocation(x, y);
+		if(!rc.canSenseLocation(location)) return;
+
+		int code = y * mapWidth + x;
+		short elevation = (short) rc.senseElevation(location);
+		boolean flooded = rc.senseFlooding(location);
+		if(wallGeometry != null) {
+			int previousState = tileStates[code];
+			if((previousState & ROUND_MASK) == 0 || elevations[code] != elevation || ((previousState & FLOOD_BIT) != 0) != flooded) wallGeometry.tileChanged(x, y);
+		}
+		elevations[code] = elevation;
+
+		int soupCount = rc.senseSoup(location);
+		soup[code] = (short) (soupCount > Short.MAX_VALUE ? Short.MAX_VALUE : soupCount);
+
+		//Round 0 never occurs in a game, so a stored round of 0 marks a tile that has never been seen.
+		int state = round & ROUND_MASK;
+		if(flooded) state |= FLOOD_BIT;
+		tileStates[code] = (short) state;
+	}
+
+	/**
+	 * Marks a tile as changed, such as after dirt was dug from or deposited onto it, so that it is re-sensed on the next update.
+	 * The dirty bit is set only while the tile is in the queue, so a tile that cannot be queued now can be marked again later.
+	 * @param location
+	 */
+	public void markDirty(MapLocation location) {
+		if(!onMap(location)) return;
+
+		int code = location.y * mapWidth + location.x;
+		if((tileStates[code] & DIRTY_BIT) != 0 || dirtyCount == DIRTY_QUEUE_CAPACITY) return;
+		tileStates[code] |= DIRTY_BIT;
+		dirtyQueue[dirtyCount++] = code;
+	}
+
+	private boolean onMap(MapLocation location) {
+		return location.x >= 0 && location.x < mapWidth && location.y >= 0 && location.y < mapHeight;
+	}
+
+	private int directionIndex(Direction direction) {
+		for(int i = 0; i < directions.length; i++) {
+			if(directions[i] == direction) return i;
+		}
+
+		return 0;
+	}
+
+	public void setWallGeometry(WallGeometry wallGeometry) {
+		this.wallGeometry = wallGeometry;
+	}
+
+	//ACCESSORS
+	public int getMapWidth() {
+		return mapWidth;
+	}
+
+	public int getMapHeight() {
+		return mapHeight;
+	}
+
+	public boolean isKnown(MapLocation location) {
+		return onMap(location) && (tileStates[location.y * mapWidth + location.x] & ROUND_MASK) != 0;
+	}
+
+	public boolean isDirty(MapLocation location) {
+		return onMap(location) && (tileStates[location.y * mapWidth + location.x] & DIRTY_BIT) != 0;
+	}
+
+	public int getElevation(MapLocation location) {
+		return elevations[location.y * mapWidth + location.x];
+	}
+
+	public boolean isFlooded(MapLocation location) {
+		return (tileStates[location.y * mapWidth + location.x] & FLOOD_BIT) != 0;
+	}
+
+	public int getSoup(MapLocation location) {
+		return soup[location.y * mapWidth + location.x];
+	}
+
+	public int getLastSeenRound(MapLocation location) {
+		return tileStates[location.y * mapWidth + location.x] & ROUND_MASK;
+	}
+
+}
@@ -2,4 +2,26 @@ package julianbot.utils;
 
 public class PlayerConstants {
 	
+	//PATHFINDING
+	public static final int PATHFINDING_BYTECODE_RESERVE = 1500; //Searches pause once fewer bytecodes than this remain, leaving room for the rest of the turn.
+	public static final int ASTAR_BYTECODE_CEILING = 5000; //Most bytecodes a single A* plan may spend before settling for the closest tile it has explored.
+	
+	//COMMUNICATION
+	public static final int COMMS_BACKLOG_BYTECODE_BUDGET = 4000; //Bytecodes a robot may spend reading old blocks each turn while catching up.
+	public static final int COMMS_BYTECODE_RESERVE = 500; //Reading stops once fewer bytecodes than this remain.
+	public static final int BID_HISTORY_ROUNDS = 8; //Recent blocks whose clearing prices are used to price bids.
+	public static final int OUTBOUND_QUEUE_CAPACITY = 12; //Messages that may wait at each priority before the oldest are dropped.
+	public static final int LOW_PRIORITY_MAX_WAIT = 20; //Rounds a low priority message waits for an uncongested block before it is bid the normal price.
+	public static final int FOREIGN_TRANSACTION_CAPACITY = 32; //Foreign transactions the HQ keeps to repeat back at the enemy.
+	public static final int STATE_DIGEST_INTERVAL = 100; //Rounds between the HQ's state digests.
+	public static final int STATE_DIGEST_SEARCH_ROUNDS = 150; //Blocks a new robot searches back through for a digest before reading the whole history instead.
+	public static final int SOUP_CLUSTER_MAX_AGE = 300; //Rounds a soup cluster stays in the HQ's state digest after it was last reported.
+	
+	//MAP MEMORY
+	public static final int MAP_MEMORY_REFRESH_TILES = 12; //Tiles already in view that are re-sensed each turn to keep them from going stale.
+	public static final int MAP_MEMORY_BYTECODE_RESERVE = 2000; //Map memory stops sensing once fewer bytecodes than this remain.
+	
+	//RANDOMNESS
+	public static final int GLOBAL_RANDOM_SEED = 0; //Set to any other value in local runs to make every run draw the same random numbers.
+	
 }
@@ -0,0 +1,166 @@
+package julianbot.utils;
+
+import battlecode.common.Clock;
+import battlecode.common.GameActionException;
+import battlecode.common.GameConstants;
+import battlecode.common.RobotController;
+
+/**
+ * Records how many bytecodes each named section of a turn uses.
+ * Every call site is guarded by ENABLED, so when it is false the compiler removes the instrumentation entirely.
+ *
+ * A turn may span several rounds. Bytecodes are counted per round: a voluntary yield, which must be reported with yieldTurn, counts what was used before it,
+ * while a round that ends without one ran out of bytecode, so it counts the whole limit and marks the turn as over the limit.
+ */
+public class Profiler {
+
+	public static final boolean ENABLED = false;
+
+	private static final int REPORT_INTERVAL = 50; //Turns of this robot between match aggregate reports.
+
+	//SECTIONS
+	public static final int SENSING = 0;
+	public static final int COMMS = 1;
+	public static final int PATHFINDING = 2;
+	private static final int ROLE = 3; //Whatever the named sections do not account for.
+	private static final String[] SECTION_NAMES = {"sensing", "comms", "pathfinding", "role"};
+
+	private static RobotController rc;
+	private static int bytecodeLimit;
+
+	//TURN
+	private static int turnStartRound;
+	private static int segmentRound; //Round the bytecodes since segmentStart were used in
+	private static int segmentStart;
+	private static int countedBytecodes; //Used in the turn's earlier rounds
+	private static int voluntaryYields;
+	private static boolean overLimit;
+	private static int[] sectionStarts = new int[SECTION_NAMES.length];
+	private static int[] sectionDepths = new int[SECTION_NAMES.length];
+	private static int[] turnTotals = new int[SECTION_NAMES.length];
+
+	//MATCH
+	private static long[] matchTotals = new long[SECTION_NAMES.length];
+	private static int turnsProfiled;
+	private static int turnsOverLimit;
+	private static int lastRoundOverLimit;
+	private static int maxTurnBytecodes;
+	private static int maxTurnRound;
+
+	public static void beginTurn(RobotController rc) {
+		Profiler.rc = rc;
+		bytecodeLimit = rc.getType().bytecodeLimit;
+		turnStartRound = rc.getRoundNum();
+		segmentRound = turnStartRound;
+		segmentStart = Clock.getBytecodeNum();
+		countedBytecodes = 0;
+		voluntaryYields = 0;
+		overLimit = false;
+
+		//Depths are reset too, in case an exception skipped the end of a section last turn.
+		for(int i = 0; i < turnTotals.length; i++) {
+			turnTotals[i] = 0;
+			sectionDepths[i] = 0;
+		}
+	}
+
+	/**
+	 * Starts timing a section. Sections may be re-entered, in which case only the outermost call is timed.
+	 * @param section
+	 */
+	public static void begin(int section) {
+		if(sectionDepths[section]++ > 0) return;
+		sectionStarts[section] = elapsed();
+	}
+
+	public static void end(int section) {
+		if(--sectionDepths[section] > 0) return;
+		turnTotals[section] += elapsed() - sectionStarts[section];
+	}
+
+	/**
+	 * Should be called just before the robot yields of its own accord partway through its turn, as Robot.waitUntilReady does.
+	 */
+	public static void yieldTurn() {
+		countedBytecodes += Clock.getBytecodeNum() - segmentStart;
+		segmentRound = rc.getRoundNum() + 1;
+		segmentStart = 0;
+		voluntaryYields++;
+	}
+
+	/**
+	 * Prints the bytecodes used by each section this turn and, periodically and on the robot's last turn, the totals for the match so far.
+	 * @throws GameActionException
+	 */
+	public static void endTurn() throws GameActionException {
+		int round = rc.getRoundNum();
+		int turnBytecodes = elapsed();
+
+		int namedBytecodes = 0;
+		for(int i = 0; i < ROLE; i++) {
+			namedBytecodes += turnTotals[i];
+		}
+		turnTotals[ROLE] = turnBytecodes - namedBytecodes;
+
+		if(overLimit) {
+			turnsOverLimit++;
+			lastRoundOverLimit = turnStartRound;
+		}
+
+		if(turnBytecodes > maxTurnBytecodes) {
+			maxTurnBytecodes = turnBytecodes;
+			maxTurnRound = turnStartRound;
+		}
+
+		turnsProfiled++;
+		StringBuilder summary = new StringBuilder("PROFILE ").append(rc.getType()).append(" r").append(turnStartRound).append(" total=").append(turnBytecodes);
+		for(int i = 0; i < SECTION_NAMES.length; i++) {
+			matchTotals[i] += turnTotals[i];
+			summary.append(' ').append(SECTION_NAMES[i]).append('=').append(turnTotals[i]);
+		}
+		if(voluntaryYields > 0) summary.append(" yields=").append(voluntaryYields);
+		if(overLimit) summary.append(" OVER LIMIT");
+		System.out.println(summary);
+
+		if(turnsProfiled % REPORT_INTERVAL == 0 || isLastTurn(round)) printMatchReport();
+	}
+
+	/**
+	 * Whether this turn is the robot's last that can be foreseen: the match ends, or the robot stands in water and drowns at the end of the round.
+	 * Robots destroyed by others are not foreseen, which the periodic reports make up for.
+	 * @param round
+	 * @return
+	 * @throws GameActionException
+	 */
+	private static boolean isLastTurn(int round) throws GameActionException {
+		if(round >= GameConstants.GAME_MAX_NUMBER_OF_ROUNDS - 1) return true;
+		return !rc.getType().canFly() && rc.senseFlooding(rc.getLocation());
+	}
+
+	private static void printMatchReport() {
+		StringBuilder report = new StringBuilder("PROFILE MATCH ").append(rc.getType()).append(" turns=").append(turnsProfiled);
+		for(int i = 0; i < SECTION_NAMES.length; i++) {
+			report.append(" avg_").append(SECTION_NAMES[i]).append('=').append(matchTotals[i] / turnsProfiled);
+		}
+		report.append(" max=").append(maxTurnBytecodes).append("@r").append(maxTurnRound);
+		report.append(" over_limit=").append(turnsOverLimit);
+		if(turnsOverLimit > 0) report.append(" last_over=r").append(lastRoundOverLimit);
+		System.out.println(report);
+	}
+
+	/**
+	 * @return Bytecodes used so far this turn, over every round it has spanned
+	 */
+	private static int elapsed() {
+		int round = rc.getRoundNum();
+		if(round != segmentRound) {
+			//The round changed without a voluntary yield, so the robot ran out of bytecode in each round since.
+			countedBytecodes += (round - segmentRound) * bytecodeLimit - segmentStart;
+			segmentRound = round;
+			segmentStart = 0;
+			overLimit = true;
+		}
+		return countedBytecodes + Clock.getBytecodeNum() - segmentStart;
+	}
+
+}
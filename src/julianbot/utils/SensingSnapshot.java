@@ -0,0 +1,186 @@
+package julianbot.utils;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.RobotInfo;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+
+/**
+ * The robots within sensor radius, sensed once and bucketed by team and type so that every query in a turn can share them.
+ * The snapshot is taken again when the round changes or the robot takes an action, which is whenever its cooldown changes.
+ * Actions are what move the robot or add and remove robots around it within its own turn, so the snapshot is never older than the last thing that could change it.
+ * Its arrays are allocated once and refilled by each snapshot, with a count of how much of each is in use.
+ */
+public class SensingSnapshot {
+
+	private static final Team[] TEAMS = Team.values();
+	private static final RobotType[] TYPES = RobotType.values();
+	private static final int BUCKET_CAPACITY = 8; //Initial capacity of a bucket, grown as needed
+	private static final int TEAM_CAPACITY = 16; //Initial capacity of a team's list, grown as needed
+
+	private int round = -1;
+	private double cooldownTurns;
+	private MapLocation location;
+
+	private RobotInfo[] robots;
+	private RobotInfo[][] robotsByTeam;
+	private int[] teamCounts;
+	private RobotInfo[][] buckets; //By team, then type
+	private int[] bucketSizes;
+
+	public SensingSnapshot() {
+		robotsByTeam = new RobotInfo[TEAMS.length][];
+		teamCounts = new int[TEAMS.length];
+		for(int i = 0; i < robotsByTeam.length; i++) {
+			robotsByTeam[i] = new RobotInfo[TEAM_CAPACITY];
+		}
+		buckets = new RobotInfo[TEAMS.length * TYPES.length][];
+		bucketSizes = new int[TEAMS.length * TYPES.length];
+		for(int i = 0; i < buckets.length; i++) {
+			buckets[i] = new RobotInfo[BUCKET_CAPACITY];
+		}
+	}
+
+	/**
+	 * Senses nearby robots again if the round has changed or the robot has acted since the last snapshot
+	 * @param rc
+	 */
+	public void update(RobotController rc) {
+		int currentRound = rc.getRoundNum();
+		double currentCooldownTurns = rc.getCooldownTurns();
+		if(currentRound == round && currentCooldownTurns == cooldownTurns) return;
+
+		round = currentRound;
+		cooldownTurns = currentCooldownTurns;
+		location = rc.getLocation();
+		robots = rc.senseNearbyRobots();
+
+		for(int i = bucketSizes.length - 1; i >= 0; i--) {
+			bucketSizes[i] = 0;
+		}
+		for(int i = teamCounts.length - 1; i >= 0; i--) {
+			teamCounts[i] = 0;
+		}
+
+		for(RobotInfo robot : robots) {
+			int team = robot.team.ordinal();
+			int count = teamCounts[team];
+			if(count == robotsByTeam[team].length) {
+				RobotInfo[] grown = new RobotInfo[count * 2];
+				System.arraycopy(robotsByTeam[team], 0, grown, 0, count);
+				robotsByTeam[team] = grown;
+			}
+			robotsByTeam[team][count] = robot;
+			teamCounts[team] = count + 1;
+
+			int bucket = team * TYPES.length + robot.type.ordinal();
+			int size = bucketSizes[bucket];
+			if(size == buckets[bucket].length) {
+				RobotInfo[] grown = new RobotInfo[size * 2];
+				System.arraycopy(buckets[bucket], 0, grown, 0, size);
+				buckets[bucket] = grown;
+			}
+			buckets[bucket][size] = robot;
+			bucketSizes[bucket] = size + 1;
+		}
+	}
+
+	/**
+	 * @return Every robot within sensor radius. Shared, so do not modify it.
+	 */
+	public RobotInfo[] getRobots() {
+		return robots;
+	}
+
+	/**
+	 * @param team
+	 * @return The robots of a team within sensor radius, in the first getRobotCount(team) entries. Shared and refilled by the next snapshot, so do not modify or keep it.
+	 */
+	public RobotInfo[] getRobots(Team team) {
+		return robotsByTeam[team.ordinal()];
+	}
+
+	/**
+	 * @param team
+	 * @return Number of robots of a team within sensor radius
+	 */
+	public int getRobotCount(Team team) {
+		return teamCounts[team.ordinal()];
+	}
+
+	/**
+	 * @param team
+	 * @param type
+	 * @return A new array of the robots of a team and type within sensor radius
+	 */
+	public RobotInfo[] getRobots(Team team, RobotType type) {
+		int bucket = team.ordinal() * TYPES.length + type.ordinal();
+		RobotInfo[] matches = new RobotInfo[bucketSizes[bucket]];
+		System.arraycopy(buckets[bucket], 0, matches, 0, matches.length);
+		return matches;
+	}
+
+	/**
+	 * Counts robots of a team and type within a radius of the robot
+	 * @param team
+	 * @param type
+	 * @param radiusSquared Radius, or -1 for the whole sensor radius
+	 * @return
+	 */
+	public int count(Team team, RobotType type, int radiusSquared) {
+		int bucket = team.ordinal() * TYPES.length + type.ordinal();
+		int size = bucketSizes[bucket];
+		if(radiusSquared < 0) return size;
+
+		int count = 0;
+		RobotInfo[] contents = buckets[bucket];
+		for(int i = size - 1; i >= 0; i--) {
+			if(contents[i].location.isWithinDistanceSquared(location, radiusSquared)) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a robot of a team and type within a radius of the robot
+	 * @param team
+	 * @param type
+	 * @param radiusSquared Radius, or -1 for the whole sensor radius
+	 * @return The first robot found, or null if there is none
+	 */
+	public RobotInfo find(Team team, RobotType type, int radiusSquared) {
+		int bucket = team.ordinal() * TYPES.length + type.ordinal();
+		int size = bucketSizes[bucket];
+		if(size == 0) return null;
+		if(radiusSquared < 0) return buckets[bucket][0];
+
+		RobotInfo[] contents = buckets[bucket];
+		for(int i = 0; i < size; i++) {
+			if(contents[i].location.isWithinDistanceSquared(location, radiusSquared)) return contents[i];
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the robot of a team and type closest to a location
+	 * @param team
+	 * @param type
+	 * @param target
+	 * @return The closest robot, or null if there is none
+	 */
+	public RobotInfo nearest(Team team, RobotType type, MapLocation target) {
+		int bucket = team.ordinal() * TYPES.length + type.ordinal();
+		RobotInfo[] contents = buckets[bucket];
+		RobotInfo closest = null;
+		int closestDistance = Integer.MAX_VALUE;
+		for(int i = bucketSizes[bucket] - 1; i >= 0; i--) {
+			int distance = contents[i].location.distanceSquaredTo(target);
+			if(distance < closestDistance) {
+				closest = contents[i];
+				closestDistance = distance;
+			}
+		}
+		return closest;
+	}
+
+}
@@ -0,0 +1,145 @@
+package julianbot.utils;
+
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.RobotType;
+
+/**
+ * The offsets of every tile within a radius, sorted from the center outward, so that tile scans walk only the disc instead of the square around it.
+ * Tables are built once per radius and shared, and a sweep stops as soon as its visitor finds what it was looking for.
+ */
+public class TileOffsets {
+
+	private static final int CACHED_RADII = 128;
+	private static TileOffsets[] cache = new TileOffsets[CACHED_RADII];
+
+	/**
+	 * Visits tiles during a sweep.
+	 */
+	public interface Visitor {
+		/**
+		 * @param location
+		 * @return Whether to stop the sweep at this tile
+		 * @throws GameActionException
+		 */
+		boolean visit(MapLocation location) throws GameActionException;
+	}
+
+	public final int radiusSquared;
+	public final int[] dx;
+	public final int[] dy;
+	public final int[] distancesSquared;
+
+	private TileOffsets(int radiusSquared) {
+		this.radiusSquared = radiusSquared;
+		int lengthToEdge = (int) Math.sqrt(radiusSquared);
+
+		//Counting sort by distance, so the table is built in time proportional to its size.
+		int[] countsByDistance = new int[radiusSquared + 2];
+		for(int x = -lengthToEdge; x <= lengthToEdge; x++) {
+			for(int y = -lengthToEdge; y <= lengthToEdge; y++) {
+				int distanceSquared = x * x + y * y;
+				if(distanceSquared <= radiusSquared) countsByDistance[distanceSquared + 1]++;
+			}
+		}
+		for(int d = 1; d < countsByDistance.length; d++) {
+			countsByDistance[d] += countsByDistance[d - 1];
+		}
+
+		int size = countsByDistance[radiusSquared + 1];
+		this.dx = new int[size];
+		this.dy = new int[size];
+		this.distancesSquared = new int[size];
+		for(int x = -lengthToEdge; x <= lengthToEdge; x++) {
+			for(int y = -lengthToEdge; y <= lengthToEdge; y++) {
+				int distanceSquared = x * x + y * y;
+				if(distanceSquared > radiusSquared) continue;
+				int i = countsByDistance[distanceSquared]++;
+				dx[i] = x;
+				dy[i] = y;
+				distancesSquared[i] = distanceSquared;
+			}
+		}
+	}
+
+	/**
+	 * Returns the offsets within a radius
+	 * @param radiusSquared
+	 * @return
+	 */
+	public static TileOffsets forRadius(int radiusSquared) {
+		if(radiusSquared >= CACHED_RADII) return new TileOffsets(radiusSquared);
+		if(cache[radiusSquared] == null) cache[radiusSquared] = new TileOffsets(radiusSquared);
+		return cache[radiusSquared];
+	}
+
+	/**
+	 * Returns the offsets within a robot type's sensor radius
+	 * @param type
+	 * @return
+	 */
+	public static TileOffsets forSensor(RobotType type) {
+		return forRadius(type.sensorRadiusSquared);
+	}
+
+	public int size() {
+		return dx.length;
+	}
+
+	/**
+	 * Returns the number of offsets within a smaller radius, which are the first ones in the table
+	 * @param radiusSquared
+	 * @return
+	 */
+	public int countWithin(int radiusSquared) {
+		int low = 0;
+		int high = dx.length;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(distancesSquared[middle] <= radiusSquared) low = middle + 1;
+			else high = middle;
+		}
+		return low;
+	}
+
+	/**
+	 * Visits the tiles around a center that the robot can sense, nearest first, until the visitor asks to stop
+	 * @param rc
+	 * @param center
+	 * @param visitor
+	 * @return The tile the sweep stopped at, or null if every tile was visited
+	 * @throws GameActionException
+	 */
+	public MapLocation sweep(RobotController rc, MapLocation center, Visitor visitor) throws GameActionException {
+		return sweepOffsets(rc, center, dx.length, visitor);
+	}
+
+	/**
+	 * Visits the tiles within a smaller radius around a center that the robot can sense, nearest first, until the visitor asks to stop
+	 * @param rc
+	 * @param center
+	 * @param radiusSquared
+	 * @param visitor
+	 * @return The tile the sweep stopped at, or null if every tile was visited
+	 * @throws GameActionException
+	 */
+	public MapLocation sweep(RobotController rc, MapLocation center, int radiusSquared, Visitor visitor) throws GameActionException {
+		return sweepOffsets(rc, center, countWithin(radiusSquared), visitor);
+	}
+
+	private MapLocation sweepOffsets(RobotController rc, MapLocation center, int count, Visitor visitor) throws GameActionException {
+		int mapWidth = rc.getMapWidth();
+		int mapHeight = rc.getMapHeight();
+		for(int i = 0; i < count; i++) {
+			int x = center.x + dx[i];
+			int y = center.y + dy[i];
+			if(x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) continue;
+
+			MapLocation location = new MapLocation(x, y);
+			if(rc.canSenseLocation(location) && visitor.visit(location)) return location;
+		}
+		return null;
+	}
+
+}
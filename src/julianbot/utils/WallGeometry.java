@@ -0,0 +1,221 @@
+package julianbot.utils;
+
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+
+/**
+ * The tiles of the wall around an HQ, worked out once from the wall's offset bounds.
+ * Each tile in the box around the wall is marked as wall, interior or moat (the ring just outside the wall), so membership checks are a single lookup,
+ * and the wall, interior and moat tiles on the map are kept in lists for iteration.
+ * The wall's lowest elevation, whether it is built and whether the moat is flooded are cached, and worked out again only after MapMemory sees a tile in the box change.
+ */
+public class WallGeometry {
+
+	//REGIONS
+	public static final byte OUTSIDE = 0;
+	public static final byte MOAT = 1;
+	public static final byte WALL = 2;
+	public static final byte INTERIOR = 3;
+
+	private final MapLocation hqLocation;
+	private final MapMemory mapMemory;
+
+	//The box spans the wall and the moat around it.
+	private final int boxX;
+	private final int boxY;
+	private final int boxWidth;
+	private final int boxHeight;
+	private final byte[] regions;
+
+	private final MapLocation[] wallTiles;
+	private final MapLocation[] innerWallTiles; //Wall tiles not on the edge of the map
+	private final MapLocation[] interiorTiles;
+	private final MapLocation[] moatTiles;
+
+	//CACHED AGGREGATES
+	private boolean stale;
+	private int lowestElevation;
+	private boolean built;
+	private boolean barringFloodwaters;
+
+	public WallGeometry(MapLocation hqLocation, int minDx, int maxDx, int minDy, int maxDy, int mapWidth, int mapHeight, MapMemory mapMemory) {
+		this.hqLocation = hqLocation;
+		this.mapMemory = mapMemory;
+		this.boxX = hqLocation.x + minDx - 1;
+		this.boxY = hqLocation.y + minDy - 1;
+		this.boxWidth = maxDx - minDx + 3;
+		this.boxHeight = maxDy - minDy + 3;
+		this.regions = new byte[boxWidth * boxHeight];
+
+		int wallCount = 0, innerWallCount = 0, interiorCount = 0, moatCount = 0;
+		for(int dx = minDx - 1; dx <= maxDx + 1; dx++) {
+			for(int dy = minDy - 1; dy <= maxDy + 1; dy++) {
+				byte region;
+				if(dx < minDx || dx > maxDx || dy < minDy || dy > maxDy) region = MOAT;
+				else if(dx == minDx || dx == maxDx || dy == minDy || dy == maxDy) region = WALL;
+				else region = INTERIOR;
+				regions[(dy - minDy + 1) * boxWidth + (dx - minDx + 1)] = region;
+
+				int x = hqLocation.x + dx;
+				int y = hqLocation.y + dy;
+				if(x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) continue;
+				if(region == WALL) {
+					wallCount++;
+					if(x > 0 && x < mapWidth - 1 && y > 0 && y < mapHeight - 1) innerWallCount++;
+				} else if(region == INTERIOR) {
+					interiorCount++;
+				} else {
+					moatCount++;
+				}
+			}
+		}
+
+		this.wallTiles = new MapLocation[wallCount];
+		this.innerWallTiles = new MapLocation[innerWallCount];
+		this.interiorTiles = new MapLocation[interiorCount];
+		this.moatTiles = new MapLocation[moatCount];
+		wallCount = innerWallCount = interiorCount = moatCount = 0;
+		for(int dx = minDx - 1; dx <= maxDx + 1; dx++) {
+			for(int dy = minDy - 1; dy <= maxDy + 1; dy++) {
+				int x = hqLocation.x + dx;
+				int y = hqLocation.y + dy;
+				if(x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) continue;
+
+				MapLocation location = new MapLocation(x, y);
+				byte region = regions[(dy - minDy + 1) * boxWidth + (dx - minDx + 1)];
+				if(region == WALL) {
+					wallTiles[wallCount++] = location;
+					if(x > 0 && x < mapWidth - 1 && y > 0 && y < mapHeight - 1) innerWallTiles[innerWallCount++] = location;
+				} else if(region == INTERIOR) {
+					interiorTiles[interiorCount++] = location;
+				} else {
+					moatTiles[moatCount++] = location;
+				}
+			}
+		}
+
+		this.stale = true;
+	}
+
+	public MapLocation getHqLocation() {
+		return hqLocation;
+	}
+
+	/**
+	 * Returns the region a location falls in
+	 * @param location
+	 * @return OUTSIDE, MOAT, WALL or INTERIOR
+	 */
+	public byte getRegion(MapLocation location) {
+		int x = location.x - boxX;
+		int y = location.y - boxY;
+		if(x < 0 || x >= boxWidth || y < 0 || y >= boxHeight) return OUTSIDE;
+		return regions[y * boxWidth + x];
+	}
+
+	public boolean isOnWall(MapLocation location) {
+		return getRegion(location) == WALL;
+	}
+
+	public boolean isWithinWall(MapLocation location) {
+		return getRegion(location) == INTERIOR;
+	}
+
+	/**
+	 * @return Wall tiles on the map
+	 */
+	public MapLocation[] getWallTiles() {
+		return wallTiles;
+	}
+
+	/**
+	 * @return Tiles within the wall on the map, including the HQ's
+	 */
+	public MapLocation[] getInteriorTiles() {
+		return interiorTiles;
+	}
+
+	/**
+	 * @return Tiles on the map just outside the wall
+	 */
+	public MapLocation[] getMoatTiles() {
+		return moatTiles;
+	}
+
+	/**
+	 * @param location
+	 * @param radiusSquared
+	 * @return Whether any tile of the wall or the moat is within a radius of the location
+	 */
+	public boolean isNear(MapLocation location, int radiusSquared) {
+		int dx = location.x < boxX ? boxX - location.x : location.x >= boxX + boxWidth ? location.x - (boxX + boxWidth - 1) : 0;
+		int dy = location.y < boxY ? boxY - location.y : location.y >= boxY + boxHeight ? location.y - (boxY + boxHeight - 1) : 0;
+		return dx * dx + dy * dy <= radiusSquared;
+	}
+
+	/**
+	 * Called by MapMemory when a tile's elevation or flooding changes, or when it is seen for the first time
+	 * @param x
+	 * @param y
+	 */
+	public void tileChanged(int x, int y) {
+		x -= boxX;
+		y -= boxY;
+		if(x >= 0 && x < boxWidth && y >= 0 && y < boxHeight) stale = true;
+	}
+
+	/**
+	 * Returns the lowest known elevation of the wall, ignoring tiles on the edge of the map
+	 * @return Lowest elevation, or Integer.MAX_VALUE if the HQ's tile has not been seen
+	 */
+	public int getLowestElevation() {
+		if(stale) refresh();
+		return lowestElevation;
+	}
+
+	/**
+	 * TODO: This ignores tiles on the edge of the map, but there are map edges that should be part of the wall.
+	 * This is likely not a problem, as an estimate is sufficient for desired behavior, but this needs to be officially decided.
+	 * @return Whether every known wall tile is too high to climb from the HQ
+	 */
+	public boolean isBuilt() {
+		if(stale) refresh();
+		return built;
+	}
+
+	/**
+	 * @return Whether every known tile just outside the wall is flooded
+	 */
+	public boolean isBarringFloodwaters() {
+		if(stale) refresh();
+		return barringFloodwaters;
+	}
+
+	private void refresh() {
+		stale = false;
+		if(!mapMemory.isKnown(hqLocation)) {
+			lowestElevation = Integer.MAX_VALUE;
+			built = false;
+			barringFloodwaters = false;
+			return;
+		}
+
+		int hqElevation = mapMemory.getElevation(hqLocation);
+		lowestElevation = Integer.MAX_VALUE;
+		for(MapLocation location : innerWallTiles) {
+			if(!mapMemory.isKnown(location)) continue;
+			int elevation = mapMemory.getElevation(location);
+			if(elevation < lowestElevation) lowestElevation = elevation;
+		}
+		built = lowestElevation == Integer.MAX_VALUE || lowestElevation - hqElevation > GameConstants.MAX_DIRT_DIFFERENCE;
+
+		barringFloodwaters = true;
+		for(MapLocation location : moatTiles) {
+			if(mapMemory.isKnown(location) && !mapMemory.isFlooded(location)) {
+				barringFloodwaters = false;
+				break;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+package julianbot.utils.blockchain;
+
+import battlecode.common.GameConstants;
+import battlecode.common.Transaction;
+import julianbot.utils.PlayerConstants;
+
+/**
+ * Estimates what a transaction must bid to be included, from the prices of recent blocks.
+ * A block's clearing price is the lowest bid it included if it was full, or zero if it had room, since then any bid would have made it in.
+ */
+public class BidEstimator {
+
+	private static final int MINIMUM_BID = 1;
+	//With no history, assume the opponent could have split its whole starting soup across the block.
+	private static final int UNOBSERVED_URGENT_BID = GameConstants.INITIAL_SOUP / GameConstants.NUMBER_OF_TRANSACTIONS_PER_BLOCK + 1;
+	private static final int UNOBSERVED_NORMAL_BID = 2;
+	//One expensive block would otherwise set the price of every urgent transaction for the whole history. An outbid transaction stays in the pool and lands later.
+	private static final int MAXIMUM_URGENT_BID = UNOBSERVED_URGENT_BID;
+
+	private int[] clearingPrices;
+	private int observed; //Number of blocks recorded, saturating at the history length
+	private int next;     //Slot the next block will be recorded in
+	private int latestClearingPrice;
+
+	public BidEstimator() {
+		this.clearingPrices = new int[PlayerConstants.BID_HISTORY_ROUNDS];
+	}
+
+	public void record(Transaction[] block) {
+		int clearingPrice = 0;
+		if(block.length >= GameConstants.NUMBER_OF_TRANSACTIONS_PER_BLOCK) {
+			clearingPrice = Integer.MAX_VALUE;
+			for(Transaction transaction : block) {
+				if(transaction.getCost() < clearingPrice) clearingPrice = transaction.getCost();
+			}
+		}
+
+		clearingPrices[next] = clearingPrice;
+		next = (next + 1) % clearingPrices.length;
+		if(observed < clearingPrices.length) observed++;
+		latestClearingPrice = clearingPrice;
+	}
+
+	/**
+	 * @param priority
+	 * @return Soup to bid for a transaction of the given priority
+	 */
+	public int getBid(Priority priority) {
+		switch(priority) {
+			case URGENT:
+				if(observed == 0) return UNOBSERVED_URGENT_BID;
+				int highest = 0;
+				for(int i = 0; i < observed; i++) {
+					if(clearingPrices[i] > highest) highest = clearingPrices[i];
+				}
+				return highest < MAXIMUM_URGENT_BID ? highest + 1 : MAXIMUM_URGENT_BID;
+			case NORMAL:
+				if(observed == 0) return UNOBSERVED_NORMAL_BID;
+				int total = 0;
+				for(int i = 0; i < observed; i++) {
+					total += clearingPrices[i];
+				}
+				return (total + observed - 1) / observed + 1;
+			default:
+				return MINIMUM_BID;
+		}
+	}
+
+	/**
+	 * @return Whether the latest block was full, in which case a minimum bid would likely have to wait
+	 */
+	public boolean isCongested() {
+		return latestClearingPrice > 0;
+	}
+
+}
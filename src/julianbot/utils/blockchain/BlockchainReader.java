@@ -0,0 +1,160 @@
+package julianbot.utils.blockchain;
+
+import battlecode.common.Clock;
+import battlecode.common.GameActionException;
+import battlecode.common.RobotController;
+import battlecode.common.Team;
+import battlecode.common.Transaction;
+import julianbot.robots.Robot;
+import julianbot.utils.PlayerConstants;
+
+/**
+ * Reads the blockchain for a robot, decoding each block exactly once and passing subscribed messages to a handler.
+ * New blocks are read as soon as they appear. Blocks posted before the robot was created are read oldest first as backlog, within a bytecode budget each turn.
+ * A robot subscribed to state digests reads the first block, which holds the HQ's opening reports, then searches back for the newest digest the HQ posted,
+ * and then only reads backlog from the digest's round on.
+ */
+public class BlockchainReader {
+
+	private int key;
+	private int digestKey;
+	private BidEstimator bidEstimator; //Fed the price of every block as it arrives
+	private Message message; //Reused for every message decoded
+	private boolean[] subscribedTypes;
+	private boolean subscribed;
+	private boolean foreignSubscribed;
+
+	private int liveRound; //Next round to read as it arrives
+	private int backlogRound; //Next round of history to read
+	private int backlogEnd; //History ends where live reading began
+
+	//DIGEST SEARCH
+	private StateDigest digest;
+	private boolean firstBlockPending;
+	private int digestSearchRound; //Next round to search for a digest, going back, or 0 once the search is over
+	private int digestSearchEnd; //Oldest round searched before giving up and reading all the history
+
+	public BlockchainReader(int spawnRound, Team team, BidEstimator bidEstimator) {
+		this.key = TransactionCodec.teamKey(team);
+		this.digestKey = TransactionCodec.digestKey(team);
+		this.bidEstimator = bidEstimator;
+		this.message = new Message();
+		this.subscribedTypes = new boolean[Robot.Type.values().length];
+		this.liveRound = spawnRound > 1 ? spawnRound - 1 : 1;
+		this.backlogRound = 1;
+		this.backlogEnd = liveRound;
+	}
+
+	public void subscribe(Robot.Type type) {
+		subscribedTypes[type.ordinal()] = true;
+		subscribed = true;
+	}
+
+	public void subscribeForeignTransactions() {
+		foreignSubscribed = true;
+		subscribed = true;
+	}
+
+	/**
+	 * Starts the backlog at the newest state digest posted before the robot was created, which is passed to the handler before any backlog is read.
+	 * If no digest turns up within PlayerConstants.STATE_DIGEST_SEARCH_ROUNDS, the whole history is read instead.
+	 */
+	public void subscribeDigest() {
+		if(backlogEnd <= 1) return;
+		digest = new StateDigest();
+		firstBlockPending = true;
+		digestSearchRound = backlogEnd - 1;
+		digestSearchEnd = Math.max(1, backlogEnd - PlayerConstants.STATE_DIGEST_SEARCH_ROUNDS);
+	}
+
+	/**
+	 * Stops the backlog before the given round, for robots that only care about the start of the match.
+	 * @param endRound
+	 */
+	public void limitBacklog(int endRound) {
+		if(endRound < backlogEnd) backlogEnd = endRound;
+	}
+
+	/**
+	 * Reads every block that appeared since the last call, recording its price, then reads backlog until the budget is spent or the backlog is exhausted.
+	 * @param rc
+	 * @param handler
+	 * @param bytecodeBudget Bytecodes that may be spent on backlog this turn
+	 * @param bytecodeReserve Reading stops once fewer bytecodes than this remain
+	 * @throws GameActionException
+	 */
+	public void read(RobotController rc, MessageHandler handler, int bytecodeBudget, int bytecodeReserve) throws GameActionException {
+		int currentRound = rc.getRoundNum();
+		while(liveRound < currentRound) {
+			if(Clock.getBytecodesLeft() < bytecodeReserve) return;
+			Transaction[] block = rc.getBlock(liveRound);
+			bidEstimator.record(block);
+			if(subscribed) readBlock(handler, block, liveRound);
+			liveRound++;
+		}
+
+		if(!subscribed) return;
+
+		int bytecodeLimit = Clock.getBytecodeNum() + bytecodeBudget;
+		if(firstBlockPending) {
+			readBlock(handler, rc.getBlock(1), 1);
+			backlogRound = 2;
+			firstBlockPending = false;
+		}
+
+		while(digestSearchRound > 0 && digestSearchRound >= digestSearchEnd) {
+			if(Clock.getBytecodeNum() > bytecodeLimit || Clock.getBytecodesLeft() < bytecodeReserve) return;
+			if(findDigest(rc.getBlock(digestSearchRound))) {
+				handler.handleDigest(digest, digestSearchRound);
+				backlogRound = digestSearchRound;
+				digestSearchRound = 0;
+			} else {
+				digestSearchRound--;
+			}
+		}
+
+		while(backlogRound < backlogEnd) {
+			if(Clock.getBytecodeNum() > bytecodeLimit || Clock.getBytecodesLeft() < bytecodeReserve) return;
+			readBlock(handler, rc.getBlock(backlogRound), backlogRound);
+			backlogRound++;
+		}
+	}
+
+	private void readBlock(MessageHandler handler, Transaction[] block, int round) throws GameActionException {
+		for(Transaction transaction : block) {
+			int[] raw = transaction.getMessage();
+			if(!TransactionCodec.authenticate(raw, key)) {
+				if(foreignSubscribed && raw.length > 0 && !TransactionCodec.authenticate(raw, digestKey)) handler.handleForeignTransaction(transaction, round);
+				continue;
+			}
+
+			int sentRound = TransactionCodec.getSentRound(raw);
+			for(int i = 0; i < TransactionCodec.MESSAGES_PER_TRANSACTION; i++) {
+				if(message.decode(raw[i], sentRound) && subscribedTypes[message.getType().ordinal()]) handler.handleMessage(message, round);
+			}
+		}
+	}
+
+	private boolean findDigest(Transaction[] block) {
+		for(Transaction transaction : block) {
+			int[] raw = transaction.getMessage();
+			if(TransactionCodec.authenticate(raw, digestKey)) {
+				digest.decode(raw);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return Whether every block posted before the robot was created has been read
+	 */
+	public boolean isCaughtUp() {
+		return backlogRound >= backlogEnd;
+	}
+
+	public int getLastReadRound() {
+		return liveRound - 1;
+	}
+
+}
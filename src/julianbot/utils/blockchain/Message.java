@@ -0,0 +1,67 @@
+package julianbot.utils.blockchain;
+
+import battlecode.common.MapLocation;
+import julianbot.robots.Robot;
+
+/**
+ * Decoded view of one of our messages.
+ * A single instance is reused for every message a reader decodes, so handlers must copy out anything they want to keep.
+ */
+public class Message {
+
+	private static final Robot.Type[] TYPES = Robot.Type.values();
+
+	static {
+		//A type code past the field shifts out of the int and reads back as an empty slot, so fail as soon as any message is decoded.
+		if(TYPES.length > TransactionCodec.MAX_TYPE_CODE) throw new IllegalStateException(TYPES.length + " message types do not fit in " + TransactionCodec.TYPE_BITS + " bits");
+	}
+
+	private Robot.Type type;
+	private int x;
+	private int y;
+	private int sentRound;
+	private int bonus;
+
+	/**
+	 * Decodes one message slot of an authenticated transaction into this view.
+	 * @param packed
+	 * @param sentRound
+	 * @return Whether the slot held a message of a known type
+	 */
+	boolean decode(int packed, int sentRound) {
+		int typeCode = TransactionCodec.getTypeCode(packed);
+		if(typeCode == 0 || typeCode > TYPES.length) return false;
+
+		type = TYPES[typeCode - 1];
+		x = TransactionCodec.getX(packed);
+		y = TransactionCodec.getY(packed);
+		this.sentRound = sentRound;
+		bonus = TransactionCodec.getPayload(packed);
+		return true;
+	}
+
+	public Robot.Type getType() {
+		return type;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public MapLocation getLocation() {
+		return new MapLocation(x, y);
+	}
+
+	public int getSentRound() {
+		return sentRound;
+	}
+
+	public int getBonus() {
+		return bonus;
+	}
+
+}
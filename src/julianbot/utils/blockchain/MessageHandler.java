@@ -0,0 +1,35 @@
+package julianbot.utils.blockchain;
+
+import battlecode.common.GameActionException;
+import battlecode.common.Transaction;
+
+/**
+ * Receives the messages a BlockchainReader decodes.
+ */
+public interface MessageHandler {
+
+	/**
+	 * Called once for every message of a subscribed type.
+	 * @param message Decoded view of the message, only valid until this call returns
+	 * @param round Round of the block the message was posted in
+	 * @throws GameActionException
+	 */
+	void handleMessage(Message message, int round) throws GameActionException;
+
+	/**
+	 * Called once for every transaction that did not come from our team, if foreign transactions are subscribed to.
+	 * @param transaction
+	 * @param round Round of the block the transaction was posted in
+	 * @throws GameActionException
+	 */
+	void handleForeignTransaction(Transaction transaction, int round) throws GameActionException;
+
+	/**
+	 * Called with the newest state digest posted before the robot was created, if digests are subscribed to. Blocks from the digest's round on are read afterwards as backlog.
+	 * @param digest Decoded digest, only valid until this call returns
+	 * @param round Round of the block the digest was posted in
+	 * @throws GameActionException
+	 */
+	void handleDigest(StateDigest digest, int round) throws GameActionException;
+
+}
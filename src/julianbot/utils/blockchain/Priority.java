@@ -0,0 +1,10 @@
+package julianbot.utils.blockchain;
+
+/**
+ * How urgently a message needs to reach the blockchain, which decides what it is bid.
+ */
+public enum Priority {
+	LOW,    //Waits for a block with room to spare, so it can be bid the minimum.
+	NORMAL, //Bid the typical recent clearing price.
+	URGENT; //Outbids every recent block so it lands in the next one, up to a fixed cap.
+}
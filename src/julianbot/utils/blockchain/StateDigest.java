@@ -0,0 +1,278 @@
+package julianbot.utils.blockchain;
+
+import battlecode.common.MapLocation;
+
+/**
+ * A checkpoint of what the HQ has learned from the blockchain, which the HQ publishes every few rounds as a transaction of its own.
+ * A robot created late reads the newest digest and then only the blocks after it, instead of every block since the start of the match.
+ *
+ * The digest fills the six message slots of a transaction as one stream of bits, sealed with a key of its own so that readers can tell it from messages:
+ * HQ [known:1][x:6][y:6], enemy HQ [known:1][x:6][y:6], build sites [blocked:1][round:12], kill order [round:12][duration:12], landscaper pause [round:12],
+ * refineries [count:2][x:6][y:6]..., soup [count:3][x:6][y:6]...
+ * Rounds of zero mean there has been no such order.
+ */
+public class StateDigest {
+
+	public static final int MAX_REFINERIES = 3;
+	public static final int MAX_SOUP_LOCATIONS = 6;
+
+	private static final int ROUND_BITS = 12;
+	private static final int ROUND_MASK = (1 << ROUND_BITS) - 1;
+	private static final int COORDINATE_BITS = 6;
+	private static final int SOUP_CLUSTER_RADIUS_SQUARED = 25; //Soup reported this close to a kept location refreshes it instead of taking a slot
+
+	private MapLocation hqLocation;
+	private MapLocation enemyHqLocation;
+	private boolean buildSitesBlocked;
+	private int buildSitesStatusRound;
+	private int killOrderRound;
+	private int killOrderDuration;
+	private int pauseRound;
+
+	//Most recent first
+	private MapLocation[] refineries;
+	private int refineryCount;
+	private MapLocation[] soupLocations;
+	private int[] soupRounds; //Round each soup cluster was last reported in, kept by the HQ only and not encoded
+	private int soupCount;
+
+	private int cursor; //Bit position while encoding or decoding
+
+	public StateDigest() {
+		refineries = new MapLocation[MAX_REFINERIES];
+		soupLocations = new MapLocation[MAX_SOUP_LOCATIONS];
+		soupRounds = new int[MAX_SOUP_LOCATIONS];
+	}
+
+	//ENCODING
+
+	/**
+	 * Writes the digest into the message slots of a transaction
+	 * @param transaction
+	 */
+	public void encode(int[] transaction) {
+		for(int i = 0; i < TransactionCodec.MESSAGES_PER_TRANSACTION; i++) {
+			transaction[i] = 0;
+		}
+		cursor = 0;
+
+		putLocation(transaction, hqLocation);
+		putLocation(transaction, enemyHqLocation);
+		put(transaction, buildSitesBlocked ? 1 : 0, 1);
+		put(transaction, buildSitesStatusRound & ROUND_MASK, ROUND_BITS);
+		put(transaction, killOrderRound & ROUND_MASK, ROUND_BITS);
+		put(transaction, killOrderDuration > ROUND_MASK ? ROUND_MASK : killOrderDuration, ROUND_BITS);
+		put(transaction, pauseRound & ROUND_MASK, ROUND_BITS);
+
+		put(transaction, refineryCount, 2);
+		for(int i = 0; i < refineryCount; i++) {
+			putCoordinates(transaction, refineries[i]);
+		}
+		put(transaction, soupCount, 3);
+		for(int i = 0; i < soupCount; i++) {
+			putCoordinates(transaction, soupLocations[i]);
+		}
+	}
+
+	/**
+	 * Replaces this digest's contents with those of a transaction
+	 * @param transaction
+	 */
+	public void decode(int[] transaction) {
+		cursor = 0;
+
+		hqLocation = takeLocation(transaction);
+		enemyHqLocation = takeLocation(transaction);
+		buildSitesBlocked = take(transaction, 1) == 1;
+		buildSitesStatusRound = take(transaction, ROUND_BITS);
+		killOrderRound = take(transaction, ROUND_BITS);
+		killOrderDuration = take(transaction, ROUND_BITS);
+		pauseRound = take(transaction, ROUND_BITS);
+
+		refineryCount = take(transaction, 2);
+		for(int i = 0; i < refineryCount; i++) {
+			refineries[i] = takeCoordinates(transaction);
+		}
+		soupCount = Math.min(take(transaction, 3), MAX_SOUP_LOCATIONS);
+		for(int i = 0; i < soupCount; i++) {
+			soupLocations[i] = takeCoordinates(transaction);
+		}
+	}
+
+	private void putLocation(int[] words, MapLocation location) {
+		if(location == null) {
+			put(words, 0, 1 + 2 * COORDINATE_BITS);
+			return;
+		}
+		put(words, 1, 1);
+		putCoordinates(words, location);
+	}
+
+	private MapLocation takeLocation(int[] words) {
+		if(take(words, 1) == 0) {
+			cursor += 2 * COORDINATE_BITS;
+			return null;
+		}
+		return takeCoordinates(words);
+	}
+
+	private void putCoordinates(int[] words, MapLocation location) {
+		put(words, (location.x << COORDINATE_BITS) | location.y, 2 * COORDINATE_BITS);
+	}
+
+	private MapLocation takeCoordinates(int[] words) {
+		int coordinates = take(words, 2 * COORDINATE_BITS);
+		return new MapLocation(coordinates >>> COORDINATE_BITS, coordinates & ((1 << COORDINATE_BITS) - 1));
+	}
+
+	private void put(int[] words, int value, int bits) {
+		int word = cursor >>> 5;
+		int offset = cursor & 31;
+		words[word] |= value << offset;
+		if(offset + bits > 32) words[word + 1] |= value >>> (32 - offset);
+		cursor += bits;
+	}
+
+	private int take(int[] words, int bits) {
+		int word = cursor >>> 5;
+		int offset = cursor & 31;
+		int value = words[word] >>> offset;
+		if(offset + bits > 32) value |= words[word + 1] << (32 - offset);
+		cursor += bits;
+		return value & ((1 << bits) - 1);
+	}
+
+	//STATE
+
+	public MapLocation getHqLocation() {
+		return hqLocation;
+	}
+
+	public void setHqLocation(MapLocation hqLocation) {
+		this.hqLocation = hqLocation;
+	}
+
+	public MapLocation getEnemyHqLocation() {
+		return enemyHqLocation;
+	}
+
+	public void setEnemyHqLocation(MapLocation enemyHqLocation) {
+		this.enemyHqLocation = enemyHqLocation;
+	}
+
+	public boolean getBuildSitesBlocked() {
+		return buildSitesBlocked;
+	}
+
+	public int getBuildSitesStatusRound() {
+		return buildSitesStatusRound;
+	}
+
+	/**
+	 * Records whether the HQ's build sites are blocked, unless a later report has already been recorded
+	 * @param blocked
+	 * @param round Round of the block the report was posted in
+	 */
+	public void setBuildSitesStatus(boolean blocked, int round) {
+		if(round < buildSitesStatusRound) return;
+		this.buildSitesBlocked = blocked;
+		this.buildSitesStatusRound = round;
+	}
+
+	public int getKillOrderRound() {
+		return killOrderRound;
+	}
+
+	public int getKillOrderDuration() {
+		return killOrderDuration;
+	}
+
+	/**
+	 * @param sentRound
+	 * @param duration Rounds the order lasts from when it was sent
+	 */
+	public void setKillOrder(int sentRound, int duration) {
+		this.killOrderRound = sentRound;
+		this.killOrderDuration = duration;
+	}
+
+	public int getPauseRound() {
+		return pauseRound;
+	}
+
+	public void setPauseRound(int pauseRound) {
+		if(pauseRound > this.pauseRound) this.pauseRound = pauseRound;
+	}
+
+	public int getRefineryCount() {
+		return refineryCount;
+	}
+
+	public MapLocation getRefinery(int i) {
+		return refineries[i];
+	}
+
+	/**
+	 * Adds a refinery, dropping the oldest if the digest is full
+	 * @param location
+	 */
+	public void addRefinery(MapLocation location) {
+		for(int i = 0; i < refineryCount; i++) {
+			if(refineries[i].equals(location)) return;
+		}
+		pushFront(refineries, refineryCount < MAX_REFINERIES ? refineryCount++ : MAX_REFINERIES - 1, location);
+	}
+
+	public int getSoupCount() {
+		return soupCount;
+	}
+
+	public MapLocation getSoupLocation(int i) {
+		return soupLocations[i];
+	}
+
+	/**
+	 * Adds a soup location, standing in for the cluster around it. A location near one already kept moves that cluster to the front instead,
+	 * so the digest holds the clusters most recently reported, and the oldest is dropped when it is full.
+	 * @param location
+	 * @param round Round of the block the report was posted in
+	 */
+	public void addSoupLocation(MapLocation location, int round) {
+		int index = soupCount < MAX_SOUP_LOCATIONS ? soupCount : MAX_SOUP_LOCATIONS - 1;
+		for(int i = 0; i < soupCount; i++) {
+			if(soupLocations[i].isWithinDistanceSquared(location, SOUP_CLUSTER_RADIUS_SQUARED)) {
+				location = soupLocations[i];
+				index = i;
+				break;
+			}
+		}
+		if(index == soupCount) soupCount++;
+		pushFront(soupLocations, index, location);
+		System.arraycopy(soupRounds, 0, soupRounds, 1, index);
+		soupRounds[0] = round;
+	}
+
+	/**
+	 * Drops the soup clusters that have not been reported for more than a number of rounds, since nothing reports a cluster running dry.
+	 * Clusters are kept most recently reported first, so the stale ones are all at the end.
+	 * @param round
+	 * @param maxAge
+	 */
+	public void pruneSoupLocations(int round, int maxAge) {
+		while(soupCount > 0 && round - soupRounds[soupCount - 1] > maxAge) {
+			soupLocations[--soupCount] = null;
+		}
+	}
+
+	/**
+	 * Shifts the locations before an index back by one, overwriting the one at the index, and puts a location at the front
+	 * @param locations
+	 * @param index
+	 * @param location
+	 */
+	private static void pushFront(MapLocation[] locations, int index, MapLocation location) {
+		System.arraycopy(locations, 0, locations, 1, index);
+		locations[0] = location;
+	}
+
+}
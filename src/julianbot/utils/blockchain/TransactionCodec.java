@@ -0,0 +1,121 @@
+package julianbot.utils.blockchain;
+
+import battlecode.common.Team;
+
+/**
+ * Layout of our transactions. Each transaction carries up to six messages, one per int, followed by a header.
+ *
+ * A message int holds the type (ordinal plus one, so zero marks an empty slot), x, y, and a 16 bit payload:
+ * [type:4][x:6][y:6][payload:16]
+ *
+ * The header holds the round the transaction was sent and a checksum over the messages, keyed by team:
+ * [round:12][checksum:20]
+ */
+public class TransactionCodec {
+
+	public static final int TRANSACTION_LENGTH = 7;
+	public static final int MESSAGES_PER_TRANSACTION = TRANSACTION_LENGTH - 1;
+	public static final int HEADER = MESSAGES_PER_TRANSACTION;
+
+	public static final int MAX_PAYLOAD = 0xFFFF;
+
+	public static final int TYPE_BITS = 4;
+	public static final int MAX_TYPE_CODE = (1 << TYPE_BITS) - 1; //Type codes are ordinals plus one, so this is also the most types there can be
+
+	private static final int TYPE_SHIFT = 32 - TYPE_BITS;
+	private static final int X_SHIFT = 22;
+	private static final int Y_SHIFT = 16;
+	private static final int COORDINATE_MASK = 0x3F;
+
+	private static final int ROUND_SHIFT = 20;
+	private static final int CHECKSUM_MASK = 0xFFFFF;
+
+	private static final int TEAM_KEY = 0x5EC2E7B5; //Shared secret. Changing it makes older builds unable to read our messages.
+	private static final int TEAM_B_SALT = 0x2C1B3C6D; //Keeps two copies of this bot from reading each other's messages.
+	private static final int DIGEST_SALT = 0x63A9E1F1; //Tells the HQ's state digests apart from messages.
+
+	/**
+	 * @param team
+	 * @return Checksum key for the given team
+	 */
+	public static int teamKey(Team team) {
+		return team == Team.A ? TEAM_KEY : TEAM_KEY ^ TEAM_B_SALT;
+	}
+
+	/**
+	 * @param team
+	 * @return Checksum key for the given team's state digests
+	 */
+	public static int digestKey(Team team) {
+		return teamKey(team) ^ DIGEST_SALT;
+	}
+
+	/**
+	 * Packs a single message into an int. Payloads outside of [0, MAX_PAYLOAD] are clamped.
+	 * @param typeOrdinal
+	 * @param x
+	 * @param y
+	 * @param payload
+	 * @return
+	 */
+	public static int packMessage(int typeOrdinal, int x, int y, int payload) {
+		if(payload < 0) payload = 0;
+		else if(payload > MAX_PAYLOAD) payload = MAX_PAYLOAD;
+		return ((typeOrdinal + 1) << TYPE_SHIFT) | (x << X_SHIFT) | (y << Y_SHIFT) | payload;
+	}
+
+	/**
+	 * Writes the header for a transaction whose message slots have already been filled.
+	 * @param transaction
+	 * @param sentRound
+	 * @param key
+	 */
+	public static void seal(int[] transaction, int sentRound, int key) {
+		transaction[HEADER] = (sentRound << ROUND_SHIFT) | checksum(transaction, sentRound, key);
+	}
+
+	/**
+	 * @param transaction
+	 * @param key
+	 * @return Whether the transaction is one of ours
+	 */
+	public static boolean authenticate(int[] transaction, int key) {
+		if(transaction.length != TRANSACTION_LENGTH) return false;
+		int header = transaction[HEADER];
+		return (header & CHECKSUM_MASK) == checksum(transaction, header >>> ROUND_SHIFT, key);
+	}
+
+	public static int getSentRound(int[] transaction) {
+		return transaction[HEADER] >>> ROUND_SHIFT;
+	}
+
+	/**
+	 * @param message
+	 * @return Type ordinal plus one, or zero if the slot is empty
+	 */
+	public static int getTypeCode(int message) {
+		return message >>> TYPE_SHIFT;
+	}
+
+	public static int getX(int message) {
+		return (message >>> X_SHIFT) & COORDINATE_MASK;
+	}
+
+	public static int getY(int message) {
+		return (message >>> Y_SHIFT) & COORDINATE_MASK;
+	}
+
+	public static int getPayload(int message) {
+		return message & MAX_PAYLOAD;
+	}
+
+	private static int checksum(int[] transaction, int sentRound, int key) {
+		int hash = key ^ sentRound;
+		for(int i = 0; i < MESSAGES_PER_TRANSACTION; i++) {
+			hash = (hash ^ transaction[i]) * 0x9E3779B1;
+			hash ^= hash >>> 16;
+		}
+		return hash & CHECKSUM_MASK;
+	}
+
+}
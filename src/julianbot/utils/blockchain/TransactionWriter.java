@@ -0,0 +1,149 @@
+package julianbot.utils.blockchain;
+
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.Team;
+import julianbot.robots.Robot;
+import julianbot.utils.PlayerConstants;
+
+/**
+ * Queues outgoing messages by priority and packs them up to six to a transaction.
+ * Each transaction is bid at the price for its highest priority message, and lower priority messages fill any remaining slots for free.
+ * Low priority messages wait for an uncongested block unless they have waited too long. Anything that cannot be submitted stays queued for the next turn.
+ */
+public class TransactionWriter {
+
+	private static final Priority[] PRIORITIES = Priority.values();
+	private static final int PRIORITY_COUNT = PRIORITIES.length;
+	private static final int LOW = Priority.LOW.ordinal();
+
+	private int key;
+	private int digestKey;
+	private BidEstimator bidEstimator;
+	private int[][] queues;       //Packed messages by priority ordinal, oldest first
+	private int[][] queuedRounds; //Round each queued message was written
+	private int[] queueSizes;
+
+	public TransactionWriter(Team team, BidEstimator bidEstimator) {
+		this.key = TransactionCodec.teamKey(team);
+		this.digestKey = TransactionCodec.digestKey(team);
+		this.bidEstimator = bidEstimator;
+		this.queues = new int[PRIORITY_COUNT][PlayerConstants.OUTBOUND_QUEUE_CAPACITY];
+		this.queuedRounds = new int[PRIORITY_COUNT][PlayerConstants.OUTBOUND_QUEUE_CAPACITY];
+		this.queueSizes = new int[PRIORITY_COUNT];
+	}
+
+	/**
+	 * Queues a message. A message identical to one already queued at the same priority is ignored.
+	 * If the queue for the priority is full, its oldest message is dropped.
+	 * @param rc
+	 * @param type
+	 * @param location
+	 * @param payload
+	 * @param priority
+	 */
+	public void write(RobotController rc, Robot.Type type, MapLocation location, int payload, Priority priority) {
+		int message = TransactionCodec.packMessage(type.ordinal(), location.x, location.y, payload);
+		int p = priority.ordinal();
+		int[] queue = queues[p];
+		int size = queueSizes[p];
+
+		for(int i = 0; i < size; i++) {
+			if(queue[i] == message) return;
+		}
+
+		if(size == queue.length) {
+			removeOldest(p, 1);
+			size--;
+		}
+
+		queue[size] = message;
+		queuedRounds[p][size] = rc.getRoundNum();
+		queueSizes[p] = size + 1;
+	}
+
+	/**
+	 * Submits transactions until no queued message is due or one cannot be afforded.
+	 * @param rc
+	 * @return False if a due transaction could not be submitted
+	 * @throws GameActionException
+	 */
+	public boolean flush(RobotController rc) throws GameActionException {
+		int round = rc.getRoundNum();
+
+		Priority priority;
+		while((priority = getDuePriority(round)) != null) {
+			int[] transaction = new int[TransactionCodec.TRANSACTION_LENGTH];
+			int count = 0;
+			for(int p = PRIORITY_COUNT - 1; p >= 0 && count < TransactionCodec.MESSAGES_PER_TRANSACTION; p--) {
+				int[] queue = queues[p];
+				for(int i = 0; i < queueSizes[p] && count < TransactionCodec.MESSAGES_PER_TRANSACTION; i++) {
+					transaction[count++] = queue[i];
+				}
+			}
+			TransactionCodec.seal(transaction, round, key);
+
+			int soupBid = bidEstimator.getBid(priority);
+			if(!rc.canSubmitTransaction(transaction, soupBid)) return false;
+			rc.submitTransaction(transaction, soupBid);
+
+			//Messages were taken from the front of each queue, highest priority first, so remove them the same way.
+			for(int p = PRIORITY_COUNT - 1; p >= 0 && count > 0; p--) {
+				int taken = queueSizes[p] < count ? queueSizes[p] : count;
+				removeOldest(p, taken);
+				count -= taken;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param round
+	 * @return Priority to bid the next transaction at, or null if nothing queued should be sent this round
+	 */
+	private Priority getDuePriority(int round) {
+		for(int p = PRIORITY_COUNT - 1; p > LOW; p--) {
+			if(queueSizes[p] > 0) return PRIORITIES[p];
+		}
+
+		if(queueSizes[LOW] == 0) return null;
+		if(!bidEstimator.isCongested()) return Priority.LOW;
+		if(round - queuedRounds[LOW][0] >= PlayerConstants.LOW_PRIORITY_MAX_WAIT) return Priority.NORMAL;
+		return null;
+	}
+
+	private void removeOldest(int p, int count) {
+		int remaining = queueSizes[p] - count;
+		System.arraycopy(queues[p], count, queues[p], 0, remaining);
+		System.arraycopy(queuedRounds[p], count, queuedRounds[p], 0, remaining);
+		queueSizes[p] = remaining;
+	}
+
+	/**
+	 * Submits a state digest as a transaction of its own, bid at the normal price.
+	 * @param rc
+	 * @param digest
+	 * @return Whether the digest was submitted
+	 * @throws GameActionException
+	 */
+	public boolean submitDigest(RobotController rc, StateDigest digest) throws GameActionException {
+		int[] transaction = new int[TransactionCodec.TRANSACTION_LENGTH];
+		digest.encode(transaction);
+		TransactionCodec.seal(transaction, rc.getRoundNum(), digestKey);
+
+		int soupBid = bidEstimator.getBid(Priority.NORMAL);
+		if(!rc.canSubmitTransaction(transaction, soupBid)) return false;
+		rc.submitTransaction(transaction, soupBid);
+		return true;
+	}
+
+	public boolean hasPendingMessages() {
+		for(int p = 0; p < PRIORITY_COUNT; p++) {
+			if(queueSizes[p] > 0) return true;
+		}
+		return false;
+	}
+
+}
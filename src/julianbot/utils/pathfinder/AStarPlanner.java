@@ -0,0 +1,253 @@
+package julianbot.utils.pathfinder;
+
+import battlecode.common.Clock;
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * A* planner over the tiles within a robot's sensor radius.
+ * Tiles are sensed lazily as the search reaches them, so a search that heads straight for its goal senses only a fraction of the radius.
+ * Ground units treat flooded tiles and steps steeper than GameConstants.MAX_DIRT_DIFFERENCE as impassable, while drones pay extra to cross tiles that enemy guns can shoot.
+ */
+public class AStarPlanner {
+
+	private static Direction[] directions = {Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST, Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST};
+
+	//In Battlecode, diagonal moves cost the same as cardinal moves, so the octile heuristic reduces to Chebyshev distance.
+	private static final int MOVE_COST = 10;
+	private static final int THREATENED_TILE_COST = 40;
+
+	private static final byte TILE_BLOCKED = 1;
+	private static final byte TILE_OPEN = 2;
+
+	private int lengthToEdge;
+	private int radiusSquared;
+	private int dimension;
+	private int[] neighborOffsets;
+
+	private int searchStamp;
+	private int[] senseStamps;
+	private byte[] tileStates;
+	private int[] elevations;
+	private int[] extraCosts;
+
+	private int[] openStamps;
+	private int[] closedStamps;
+	private int[] gScores;
+	private byte[] parentDirections;
+
+	private int[] heap;
+	private int[] heapKeys;
+	private int heapSize;
+
+	private MapLocation sourceLocation;
+
+	public AStarPlanner(int radiusSquared) {
+		this.lengthToEdge = (int) Math.sqrt(radiusSquared);
+		this.radiusSquared = radiusSquared;
+		this.dimension = 3 + 2 * lengthToEdge;
+
+		int nodeCount = dimension * dimension;
+		this.senseStamps = new int[nodeCount];
+		this.tileStates = new byte[nodeCount];
+		this.elevations = new int[nodeCount];
+		this.extraCosts = new int[nodeCount];
+		this.openStamps = new int[nodeCount];
+		this.closedStamps = new int[nodeCount];
+		this.gScores = new int[nodeCount];
+		this.parentDirections = new byte[nodeCount];
+
+		//Nodes may be pushed again whenever a cheaper route to them is found, which can happen at most once per neighbor.
+		this.heap = new int[nodeCount * 8];
+		this.heapKeys = new int[nodeCount * 8];
+
+		this.neighborOffsets = new int[directions.length];
+		for(int i = 0; i < directions.length; i++) {
+			neighborOffsets[i] = directions[i].dy * dimension + directions[i].dx;
+		}
+	}
+
+	/**
+	 * Plans a route from the robot's location to the destination.
+	 * If the destination cannot be reached within the sensor radius or the bytecode budget, the route leads to the explored tile closest to it.
+	 * The budget is the ceiling, or what is left of the turn after the reserve if that is less, so a plan late in a turn does not run into the bytecode limit.
+	 * @param rc
+	 * @param destination
+	 * @param flying Whether elevation and flooding should be ignored
+	 * @param threats Locations of enemy units that can shoot drones. Only considered when flying.
+	 * @param bytecodeCeiling Maximum number of bytecodes this call may spend
+	 * @param bytecodeReserve Bytecodes to leave for the rest of the turn
+	 * @return Directions to follow, or an empty array if no progress can be made
+	 * @throws GameActionException
+	 */
+	public Direction[] plan(RobotController rc, MapLocation destination, boolean flying, MapLocation[] threats, int bytecodeCeiling, int bytecodeReserve) throws GameActionException {
+		int bytecodeLimit = Clock.getBytecodeNum() + Math.min(bytecodeCeiling, Clock.getBytecodesLeft() - bytecodeReserve);
+		int stamp = ++searchStamp;
+		sourceLocation = rc.getLocation();
+
+		int source = getLocationCode(sourceLocation);
+		int goal = getLocationCode(destination);
+		int goalX = destination.x - sourceLocation.x + lengthToEdge + 1;
+		int goalY = destination.y - sourceLocation.y + lengthToEdge + 1;
+
+		//The robot occupies its own tile, so it is marked open rather than sensed.
+		senseStamps[source] = stamp;
+		tileStates[source] = TILE_OPEN;
+		extraCosts[source] = 0;
+		if(!flying) elevations[source] = rc.senseElevation(sourceLocation);
+
+		//If the goal itself can never be entered, standing next to it is as close as we can get.
+		boolean acceptAdjacentToGoal = goal >= 0 && senseTile(rc, goal, destination, flying, threats) == TILE_BLOCKED;
+
+		heapSize = 0;
+		gScores[source] = 0;
+		openStamps[source] = stamp;
+		push(source, heuristic(source, goalX, goalY));
+
+		int bestNode = source;
+		int bestHeuristic = heuristic(source, goalX, goalY);
+		int reachedNode = -1;
+
+		while(heapSize > 0) {
+			if(Clock.getBytecodeNum() > bytecodeLimit) break;
+
+			int node = pop();
+			if(closedStamps[node] == stamp) continue;
+			closedStamps[node] = stamp;
+
+			int h = heuristic(node, goalX, goalY);
+			if(node == goal || (acceptAdjacentToGoal && h == MOVE_COST)) {
+				reachedNode = node;
+				break;
+			}
+
+			if(h < bestHeuristic) {
+				bestHeuristic = h;
+				bestNode = node;
+			}
+
+			int nodeScore = gScores[node];
+			for(int i = 0; i < 8; i++) {
+				int n = node + neighborOffsets[i];
+				if(closedStamps[n] == stamp) continue;
+
+				byte state = senseStamps[n] == stamp ? tileStates[n] : senseTile(rc, n, locationOf(n), flying, threats);
+				if(state != TILE_OPEN) continue;
+				if(!flying && Math.abs(elevations[n] - elevations[node]) > GameConstants.MAX_DIRT_DIFFERENCE) continue;
+
+				int score = nodeScore + MOVE_COST + extraCosts[n];
+				if(openStamps[n] != stamp || score < gScores[n]) {
+					openStamps[n] = stamp;
+					gScores[n] = score;
+					parentDirections[n] = (byte) i;
+					push(n, score + heuristic(n, goalX, goalY));
+				}
+			}
+		}
+
+		return buildPath(source, reachedNode >= 0 ? reachedNode : bestNode);
+	}
+
+	private Direction[] buildPath(int source, int target) {
+		int depth = 0;
+		int vertex = target;
+		while(vertex != source) {
+			vertex -= neighborOffsets[parentDirections[vertex]];
+			depth++;
+		}
+
+		Direction[] path = new Direction[depth];
+		vertex = target;
+		for(int i = depth - 1; i >= 0; i--) {
+			int directionIndex = parentDirections[vertex];
+			path[i] = directions[directionIndex];
+			vertex -= neighborOffsets[directionIndex];
+		}
+
+		return path;
+	}
+
+	private byte senseTile(RobotController rc, int locationCode, MapLocation location, boolean flying, MapLocation[] threats) throws GameActionException {
+		senseStamps[locationCode] = searchStamp;
+		extraCosts[locationCode] = 0;
+
+		byte state = TILE_BLOCKED;
+		if(location.distanceSquaredTo(sourceLocation) <= radiusSquared && rc.canSenseLocation(location) && !rc.isLocationOccupied(location)) {
+			if(flying) {
+				state = TILE_OPEN;
+				if(threats != null) {
+					for(MapLocation threat : threats) {
+						if(threat.isWithinDistanceSquared(location, GameConstants.NET_GUN_SHOOT_RADIUS_SQUARED)) extraCosts[locationCode] += THREATENED_TILE_COST;
+					}
+				}
+			} else if(!rc.senseFlooding(location)) {
+				state = TILE_OPEN;
+				elevations[locationCode] = rc.senseElevation(location);
+			}
+		}
+
+		tileStates[locationCode] = state;
+		return state;
+	}
+
+	private int getLocationCode(MapLocation location) {
+		int graphX = location.x - sourceLocation.x + lengthToEdge + 1;
+		int graphY = location.y - sourceLocation.y + lengthToEdge + 1;
+		if(graphX < 1 || graphX >= dimension - 1 || graphY < 1 || graphY >= dimension - 1) return -1;
+		return graphY * dimension + graphX;
+	}
+
+	private MapLocation locationOf(int locationCode) {
+		int graphX = locationCode % dimension;
+		int graphY = locationCode / dimension;
+		return sourceLocation.translate(graphX - lengthToEdge - 1, graphY - lengthToEdge - 1);
+	}
+
+	private int heuristic(int locationCode, int goalX, int goalY) {
+		int dx = locationCode % dimension - goalX;
+		int dy = locationCode / dimension - goalY;
+		if(dx < 0) dx = -dx;
+		if(dy < 0) dy = -dy;
+		return MOVE_COST * (dx > dy ? dx : dy);
+	}
+
+	//BINARY HEAP
+	private void push(int node, int key) {
+		int i = heapSize++;
+		while(i > 0) {
+			int parent = (i - 1) >> 1;
+			if(heapKeys[parent] <= key) break;
+			heap[i] = heap[parent];
+			heapKeys[i] = heapKeys[parent];
+			i = parent;
+		}
+
+		heap[i] = node;
+		heapKeys[i] = key;
+	}
+
+	private int pop() {
+		int top = heap[0];
+		int last = --heapSize;
+		int node = heap[last];
+		int key = heapKeys[last];
+
+		int i = 0;
+		int child;
+		while((child = 2 * i + 1) < last) {
+			if(child + 1 < last && heapKeys[child + 1] < heapKeys[child]) child++;
+			if(heapKeys[child] >= key) break;
+			heap[i] = heap[child];
+			heapKeys[i] = heapKeys[child];
+			i = child;
+		}
+
+		heap[i] = node;
+		heapKeys[i] = key;
+		return top;
+	}
+
+}
@@ -1,138 +1,312 @@
 package julianbot.utils.pathfinder;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-
+import battlecode.common.Clock;
 import battlecode.common.Direction;
 import battlecode.common.GameActionException;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotController;
+import julianbot.utils.TileOffsets;
 
+/**
+ * Grid of the tiles within a robot's sensor radius, stored in flat primitive arrays.
+ * The grid is padded by a one-tile border that is never passable, so neighbors can be found by adding a fixed index offset without wrapping between rows.
+ */
 public class MapGraph {
 
 	private static Direction[] directions = {Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST, Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST};
-	
+
 	private int lengthToEdge;
 	private int radiusSquared;
 	private int dimension;
-	
+
 	private int nodeCount;
-	private LinkedList<Integer> adj[];
-	private int[] parentCodes;
-	
+	private int[] neighborOffsets;
+	private byte[] passable;
+	private byte[] parentDirections;
+	private int[] depths;
+	private int[] visitStamps;
+	private int visitStamp;
+	private int[] queue;
+
 	private MapLocation sourceLocation;
-	
-	@SuppressWarnings("unchecked")
+
+	//INCREMENTAL SENSING
+	private TileOffsets offsets;
+	private int[] offsetCodes; //Node of each tile within the radius, in the order they are sensed
+	private int sensingIndex;
+
+	//INCREMENTAL SEARCH
+	private int searchDestination;
+	private int searchHead;
+	private int searchTail;
+
 	public MapGraph(int radiusSquared) {
 		this.lengthToEdge = (int) Math.sqrt(radiusSquared);
 		this.radiusSquared = radiusSquared;
-		this.dimension = 1 + 2 * lengthToEdge;
-		
+		this.dimension = 3 + 2 * lengthToEdge;
+
 		this.nodeCount = dimension * dimension;
-		this.adj = new LinkedList[nodeCount];
-		this.parentCodes = new int[nodeCount];
-		
-		for(int i = 0; i < nodeCount; ++i) {
-			this.adj[i] = new LinkedList<>();
+		this.passable = new byte[nodeCount];
+		this.parentDirections = new byte[nodeCount];
+		this.depths = new int[nodeCount];
+		this.visitStamps = new int[nodeCount];
+		this.queue = new int[nodeCount];
+
+		this.neighborOffsets = new int[directions.length];
+		for(int i = 0; i < directions.length; i++) {
+			neighborOffsets[i] = directions[i].dy * dimension + directions[i].dx;
+		}
+
+		//Only tiles within the radius are ever sensed, so the corners of the grid, like its border, are never passable.
+		this.offsets = TileOffsets.forRadius(radiusSquared);
+		this.offsetCodes = new int[offsets.size()];
+		for(int i = 0; i < offsetCodes.length; i++) {
+			offsetCodes[i] = (offsets.dy[i] + lengthToEdge + 1) * dimension + offsets.dx[i] + lengthToEdge + 1;
 		}
 	}
-	
+
 	private int getLocationCode(MapLocation testLocation) {
-		int graphX = testLocation.x - sourceLocation.x + lengthToEdge;
-		int graphY = testLocation.y - sourceLocation.y + lengthToEdge;
+		int graphX = testLocation.x - sourceLocation.x + lengthToEdge + 1;
+		int graphY = testLocation.y - sourceLocation.y + lengthToEdge + 1;
+		if(graphX < 1 || graphX >= dimension - 1 || graphY < 1 || graphY >= dimension - 1) return -1;
 		return graphY * dimension + graphX;
 	}
-	
-	private MapLocation getLocation(int locationCode) {
-		int graphX = locationCode % dimension;
-		int graphY = locationCode / dimension;
-		return sourceLocation.translate(graphX - lengthToEdge, graphY - lengthToEdge);
+
+	public MapLocation getSourceLocation() {
+		return sourceLocation;
+	}
+
+	/**
+	 * @param location
+	 * @return Whether a step in any direction from the location stays within the graph
+	 */
+	public boolean coversNeighborsOf(MapLocation location) {
+		int dx = location.x - sourceLocation.x;
+		int dy = location.y - sourceLocation.y;
+		return dx > -lengthToEdge && dx < lengthToEdge && dy > -lengthToEdge && dy < lengthToEdge;
+	}
+
+	/**
+	 * Returns the furthest tile within the radius along a greedy walk from the source towards the given location.
+	 * Used as a waypoint when the true destination lies beyond what the graph covers.
+	 * @param destination
+	 * @return
+	 */
+	public MapLocation getWaypointTowards(MapLocation destination) {
+		MapLocation waypoint = sourceLocation;
+		while(!waypoint.equals(destination)) {
+			MapLocation next = waypoint.add(waypoint.directionTo(destination));
+			if(next.distanceSquaredTo(sourceLocation) > radiusSquared) break;
+			waypoint = next;
+		}
+
+		return waypoint;
 	}
-	
+
+	/**
+	 * Senses every tile within the radius exactly once, marking it passable if it can be sensed and is unoccupied.
+	 * @param rc
+	 * @throws GameActionException
+	 */
 	public void connectEdges(RobotController rc) throws GameActionException {
 		this.sourceLocation = rc.getLocation();
-		
-		for(int i = -lengthToEdge; i <= lengthToEdge; i++) {
-			for(int j = -lengthToEdge; j <= lengthToEdge; j++) {
-				if(i * i + j * j > radiusSquared) continue;				
-				connectAllAdjacencies(rc, i, j);
-			}
+
+		for(int i = 0; i < offsetCodes.length; i++) {
+			senseTile(rc, i);
 		}
 	}
-	
-	private void connectAllAdjacencies(RobotController rc, int dx, int dy) throws GameActionException {
-		MapLocation location = sourceLocation.translate(dx, dy);
-		int locationCode = getLocationCode(location);
-		
-		for(Direction direction : directions) {
-			int totalDX = dx + direction.dx;
-			int totalDY = dy + direction.dy;
-			
-			if(totalDX * totalDX + totalDY * totalDY > radiusSquared) continue;
-			
-			MapLocation adjacentLocation = location.add(direction);
-			if(rc.canSenseLocation(adjacentLocation) && !rc.isLocationOccupied(adjacentLocation)) addEdge(locationCode, getLocationCode(adjacentLocation));
+
+	public void beginSensing(MapLocation sourceLocation) {
+		this.sourceLocation = sourceLocation;
+		this.sensingIndex = 0;
+	}
+
+	/**
+	 * Senses tiles of the graph until finished or until fewer than the given number of bytecodes remain.
+	 * Tiles are placed relative to the source, but the robot may have moved since sensing began, so a tile on the map that is out of sensor range now is taken to be open.
+	 * A route through it that turns out to be blocked is abandoned when the step onto it fails.
+	 * @param rc
+	 * @param bytecodeReserve
+	 * @return Whether all tiles have been sensed
+	 * @throws GameActionException
+	 */
+	public boolean continueSensing(RobotController rc, int bytecodeReserve) throws GameActionException {
+		while(sensingIndex < offsetCodes.length) {
+			if(Clock.getBytecodesLeft() < bytecodeReserve) return false;
+			senseTile(rc, sensingIndex++);
 		}
+
+		//The robot was standing on the source when sensing began, but it will have left by the time the path is walked.
+		passable[getLocationCode(sourceLocation)] = 1;
+		return true;
 	}
-	
-	private void addEdge(int v, int w) {
-		adj[v].add(w);
+
+	private void senseTile(RobotController rc, int i) throws GameActionException {
+		MapLocation location = sourceLocation.translate(offsets.dx[i], offsets.dy[i]);
+		boolean open;
+		if(location.x < 0 || location.x >= rc.getMapWidth() || location.y < 0 || location.y >= rc.getMapHeight()) open = false;
+		else if(!rc.canSenseLocation(location)) open = true;
+		else open = !rc.isLocationOccupied(location);
+		passable[offsetCodes[i]] = open ? (byte) 1 : (byte) 0;
 	}
-	
+
 	public Direction[] BFS(MapLocation start, MapLocation mapDestination) {
 		int source = getLocationCode(start);
 		int destination = getLocationCode(mapDestination);
-		
-		boolean visited[] = new boolean[nodeCount];
-		
-		LinkedList<Integer> queue = new LinkedList<Integer>(); 
-		  
-        // Mark the current node as visited and enqueue it 
-        visited[source]=true;
-        queue.add(source);
-  
-        
-        int node = source;
-        boolean foundSolution = false;
-        while (queue.size() != 0) 
-        { 
-            node = queue.poll(); 
-            
-            Iterator<Integer> i = adj[node].listIterator(); 
-            while (i.hasNext()) 
-            { 
-                int n = i.next(); 
-                if (!visited[n]) 
-                { 
-                    visited[n] = true; 
-                    queue.add(n); 
-                    parentCodes[n] = node;
-                    if(n == destination) {
-                    	foundSolution = true;
-                    	break;
-                    }
-                } 
-            }
-        }
-        
-        if(!foundSolution) return new Direction[0];
-        
-        int depth = 1;
-        int vertex = destination;
-        while(vertex != source) {
-        	vertex = parentCodes[vertex];
-        	depth++;
-        }
-        
-        Direction[] path = new Direction[depth - 1];
-        vertex = destination;
-        for(int i = path.length - 1; i >= 0; i--) {
-        	MapLocation b = getLocation(vertex);
-        	MapLocation a = getLocation((vertex = parentCodes[vertex]));
-        	path[i] = a.directionTo(b);
-        }
-        
-        return path;
+		if(source < 0 || destination < 0 || passable[destination] == 0) return new Direction[0];
+
+		//Stamping visited nodes with a per-search value avoids clearing or reallocating a visited array on every search.
+		int stamp = ++visitStamp;
+		int[] visitStamps = this.visitStamps;
+		int[] queue = this.queue;
+		int[] neighborOffsets = this.neighborOffsets;
+		byte[] passable = this.passable;
+		byte[] parentDirections = this.parentDirections;
+
+		visitStamps[source] = stamp;
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = source;
+
+		boolean foundSolution = source == destination;
+		while(head != tail && !foundSolution) {
+			int node = queue[head++];
+
+			for(int i = 0; i < 8; i++) {
+				int n = node + neighborOffsets[i];
+				if(visitStamps[n] != stamp && passable[n] != 0) {
+					visitStamps[n] = stamp;
+					parentDirections[n] = (byte) i;
+					if(n == destination) {
+						foundSolution = true;
+						break;
+					}
+					queue[tail++] = n;
+				}
+			}
+		}
+
+		if(!foundSolution) return new Direction[0];
+
+		int depth = 0;
+		int vertex = destination;
+		while(vertex != source) {
+			vertex -= neighborOffsets[parentDirections[vertex]];
+			depth++;
+		}
+
+		Direction[] path = new Direction[depth];
+		vertex = destination;
+		for(int i = depth - 1; i >= 0; i--) {
+			int directionIndex = parentDirections[vertex];
+			path[i] = directions[directionIndex];
+			vertex -= neighborOffsets[directionIndex];
+		}
+
+		return path;
+	}
+
+	/**
+	 * Starts a breadth-first search outwards from the destination.
+	 * Searching backwards means the finished search holds a route to the destination from every reachable tile, so the robot may keep moving while the search is spread across turns.
+	 * @param mapDestination
+	 * @return Whether the destination lies within the graph
+	 */
+	public boolean beginReverseSearch(MapLocation mapDestination) {
+		searchDestination = getLocationCode(mapDestination);
+		if(searchDestination < 0) return false;
+
+		int stamp = ++visitStamp;
+		visitStamps[searchDestination] = stamp;
+		depths[searchDestination] = 0;
+		searchHead = 0;
+		searchTail = 0;
+		queue[searchTail++] = searchDestination;
+		return true;
+	}
+
+	/**
+	 * Expands the reverse search until it is exhausted or until fewer than the given number of bytecodes remain.
+	 * @param bytecodeReserve
+	 * @return Whether the search is finished
+	 */
+	public boolean continueReverseSearch(int bytecodeReserve) {
+		int stamp = visitStamp;
+		int[] visitStamps = this.visitStamps;
+		int[] queue = this.queue;
+		int[] depths = this.depths;
+		int[] neighborOffsets = this.neighborOffsets;
+		byte[] passable = this.passable;
+		byte[] parentDirections = this.parentDirections;
+
+		int head = searchHead;
+		int tail = searchTail;
+		while(head != tail) {
+			if(Clock.getBytecodesLeft() < bytecodeReserve) {
+				searchHead = head;
+				searchTail = tail;
+				return false;
+			}
+
+			int node = queue[head++];
+			int nextDepth = depths[node] + 1;
+
+			for(int i = 0; i < 8; i++) {
+				int n = node + neighborOffsets[i];
+				if(visitStamps[n] != stamp && passable[n] != 0) {
+					visitStamps[n] = stamp;
+					parentDirections[n] = (byte) i;
+					depths[n] = nextDepth;
+					queue[tail++] = n;
+				}
+			}
+		}
+
+		searchHead = head;
+		searchTail = tail;
+		return true;
+	}
+
+	/**
+	 * Reads the route to the destination of a finished reverse search from the given location.
+	 * If the location itself was not reached, the route starts by stepping onto the closest reached neighbor.
+	 * @param start
+	 * @return Directions to follow, or an empty array if no route exists
+	 */
+	public Direction[] getReverseSearchRouteFrom(MapLocation start) {
+		int node = getLocationCode(start);
+		if(node < 0) return new Direction[0];
+
+		int stamp = visitStamp;
+		Direction firstStep = null;
+
+		if(visitStamps[node] != stamp) {
+			int closestNeighbor = -1;
+			int closestDepth = Integer.MAX_VALUE;
+			for(int i = 0; i < 8; i++) {
+				int n = node + neighborOffsets[i];
+				if(visitStamps[n] == stamp && depths[n] < closestDepth) {
+					closestNeighbor = n;
+					closestDepth = depths[n];
+					firstStep = directions[i];
+				}
+			}
+
+			if(closestNeighbor < 0) return new Direction[0];
+			node = closestNeighbor;
+		}
+
+		int offset = firstStep == null ? 0 : 1;
+		Direction[] path = new Direction[depths[node] + offset];
+		if(firstStep != null) path[0] = firstStep;
+
+		for(int i = offset; i < path.length; i++) {
+			int directionIndex = parentDirections[node];
+			path[i] = directions[(directionIndex + 4) % 8];
+			node -= neighborOffsets[directionIndex];
+		}
+
+		return path;
 	}
-	
+
 }
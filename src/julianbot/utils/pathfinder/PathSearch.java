@@ -0,0 +1,90 @@
+package julianbot.utils.pathfinder;
+
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+
+/**
+ * A pathfinding job that can be paused when bytecode runs low and resumed on a later turn.
+ * Sensing the graph and searching it are both checkpointed, so no work is lost at Clock.yield().
+ */
+public class PathSearch {
+
+	private static final int PHASE_SENSING = 0;
+	private static final int PHASE_SEARCHING = 1;
+	private static final int PHASE_COMPLETE = 2;
+	private static final int PHASE_FAILED = 3;
+
+	private MapGraph mapGraph;
+	private MapLocation destination;
+	private MapLocation searchTarget;
+	private int phase;
+
+	public PathSearch(int radiusSquared, MapLocation sourceLocation, MapLocation destination) {
+		this.mapGraph = new MapGraph(radiusSquared);
+		this.destination = destination;
+		this.phase = PHASE_SENSING;
+
+		mapGraph.beginSensing(sourceLocation);
+		this.searchTarget = mapGraph.getWaypointTowards(destination);
+	}
+
+	/**
+	 * Continues the search until it finishes or until fewer than the given number of bytecodes remain.
+	 * @param rc
+	 * @param bytecodeReserve
+	 * @return Whether the search has finished, successfully or not
+	 * @throws GameActionException
+	 */
+	public boolean resume(RobotController rc, int bytecodeReserve) throws GameActionException {
+		if(phase == PHASE_SENSING) {
+			if(!mapGraph.continueSensing(rc, bytecodeReserve)) return false;
+			phase = mapGraph.beginReverseSearch(searchTarget) ? PHASE_SEARCHING : PHASE_FAILED;
+		}
+
+		if(phase == PHASE_SEARCHING) {
+			if(!mapGraph.continueReverseSearch(bytecodeReserve)) return false;
+			phase = PHASE_COMPLETE;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Whether the robot may move while the search goes on. It stays put while the graph is sensed, so that tiles are sensed from where they are placed,
+	 * and after that only moves where its next step stays within the graph, so that the finished search still has a route from where it is.
+	 * @param location The robot's location
+	 * @return
+	 */
+	public boolean allowsMovingFrom(MapLocation location) {
+		return phase != PHASE_SENSING && mapGraph.coversNeighborsOf(location);
+	}
+
+	public boolean isFinished() {
+		return phase == PHASE_COMPLETE || phase == PHASE_FAILED;
+	}
+
+	/**
+	 * Returns the route from the given location to the search target, which is the destination itself when it lies within the sensed graph.
+	 * @param start
+	 * @return
+	 */
+	public Direction[] getRouteFrom(MapLocation start) {
+		if(phase != PHASE_COMPLETE) return new Direction[0];
+		return mapGraph.getReverseSearchRouteFrom(start);
+	}
+
+	public MapLocation getDestination() {
+		return destination;
+	}
+
+	public MapLocation getSearchTarget() {
+		return searchTarget;
+	}
+
+	public MapGraph getMapGraph() {
+		return mapGraph;
+	}
+
+}
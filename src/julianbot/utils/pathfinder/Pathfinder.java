@@ -18,4 +18,8 @@ public class Pathfinder {
 		return mapGraph.BFS(start, destination);
 	}
 	
+	public static PathSearch beginSearch(RobotController rc, int radiusSquared, MapLocation destination) {
+		return new PathSearch(radiusSquared, rc.getLocation(), destination);
+	}
+	
 }
@@ -1,5 +1,6 @@
 package lectureplayer;
 import battlecode.common.*;
+import julianbot.utils.FastRandom;
 
 public class Landscaper extends Unit {
 
@@ -38,7 +39,7 @@ public class Landscaper extends Unit {
             }
         }
 
-        if (Math.random() < 0.8){
+        if (FastRandom.nextInt(10) < 8){
             // build the wall
             if (bestPlaceToBuildWall != null) {
                 rc.depositDirt(rc.getLocation().directionTo(bestPlaceToBuildWall));
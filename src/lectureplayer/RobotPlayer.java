@@ -1,5 +1,6 @@
 package lectureplayer;
 import battlecode.common.*;
+import julianbot.utils.FastRandom;
 
 public strictfp class RobotPlayer {
     /**
@@ -7,6 +8,7 @@ public strictfp class RobotPlayer {
      * If this method returns, the robot dies!
      **/
     public static void run(RobotController rc) throws GameActionException {
+        FastRandom.initialize(rc);
         Robot me = null;
 
         switch (rc.getType()) {
@@ -1,5 +1,6 @@
 package lectureplayer;
 import battlecode.common.*;
+import julianbot.utils.FastRandom;
 
 // This is a file to accumulate all the random helper functions
 // which don't interact with the game, but are common enough to be used in multiple places.
@@ -22,6 +23,6 @@ public class Util {
      * @return a random Direction
      */
     static Direction randomDirection() {
-        return directions[(int) (Math.random() * directions.length)];
+        return directions[FastRandom.nextInt(directions.length)];
     }
 }
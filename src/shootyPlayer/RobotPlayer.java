@@ -7,6 +7,7 @@ import battlecode.common.RobotController;
 import battlecode.common.RobotInfo;
 import battlecode.common.RobotType;
 import battlecode.common.Team;
+import julianbot.utils.FastRandom;
 
 public strictfp class RobotPlayer {
     static RobotController rc;
@@ -27,6 +28,7 @@ public strictfp class RobotPlayer {
         // This is the RobotController object. You use it to perform actions from this robot,
         // and to get information on its current status.
         RobotPlayer.rc = rc;
+        FastRandom.initialize(rc);
 
         turnCount = 0;
 
@@ -138,7 +140,7 @@ public strictfp class RobotPlayer {
      * @return a random Direction
      */
     static Direction randomDirection() {
-        return directions[(int) (Math.random() * directions.length)];
+        return directions[FastRandom.nextInt(directions.length)];
     }
 
     /**
@@ -147,7 +149,7 @@ public strictfp class RobotPlayer {
      * @return a random RobotType
      */
     static RobotType randomSpawnedByMiner() {
-        return spawnedByMiner[(int) (Math.random() * spawnedByMiner.length)];
+        return spawnedByMiner[FastRandom.nextInt(spawnedByMiner.length)];
     }
 
     static boolean tryMove() throws GameActionException {
@@ -16,6 +16,7 @@ public strictfp class RobotPlayer {
         // This is the RobotController object. You use it to perform actions from this robot,
         // and to get information on its current status.
         RobotPlayer.rc = rc;
+        Robots.seedRandom();
 
         turnCount = 0;
 
@@ -1,18 +1,37 @@
 package testplayer;
 
 import battlecode.common.*;
+import julianbot.utils.FastRandom;
 
 public class Robots extends RobotPlayer{
     static Direction[] directions = {Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST, Direction.NORTHEAST, Direction.NORTHWEST, Direction.SOUTHEAST, Direction.SOUTHWEST};
     static RobotType[] spawnedByMiner = {RobotType.REFINERY, RobotType.VAPORATOR, RobotType.DESIGN_SCHOOL,
             RobotType.FULFILLMENT_CENTER, RobotType.NET_GUN};
+
+    /**
+     * Seeds the random number generator for this robot, from the global seed when one is set and from its ID and creation round otherwise.
+     */
+    static void seedRandom() {
+        FastRandom.initialize(rc);
+    }
+
+    /**
+     * Returns a random int from 0 to bound - 1.
+     *
+     * @param bound the number of possible values
+     * @return a random int from 0 to bound - 1
+     */
+    static int randomInt(int bound) {
+        return FastRandom.nextInt(bound);
+    }
+
     /**
      * Returns a random Direction.
      *
      * @return a random Direction
      */
     static Direction randomDirection() {
-        return directions[(int) (Math.random() * directions.length)];
+        return directions[randomInt(directions.length)];
     }
 
     /**
@@ -21,7 +40,7 @@ public class Robots extends RobotPlayer{
      * @return a random RobotType
      */
     static RobotType randomSpawnedByMiner() {
-        return spawnedByMiner[(int) (Math.random() * spawnedByMiner.length)];
+        return spawnedByMiner[randomInt(spawnedByMiner.length)];
     }
 
     static boolean tryMove() throws GameActionException {
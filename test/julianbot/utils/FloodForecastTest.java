@@ -0,0 +1,44 @@
+package julianbot.utils;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.GameConstants;
+
+public class FloodForecastTest {
+
+	//The engine's flooding formula, which the table in FloodForecast was generated from
+	private static int formula(int round) {
+		return (int) (Math.pow(Math.E, (0.0028 * round) - (1.38 * Math.sin(0.00157 * round - 1.73)) + (1.38 * Math.sin(-1.73))) - 1);
+	}
+
+	@Test
+	public void testWaterLevelMatchesFormula() {
+		for(int round = 0; round <= GameConstants.GAME_MAX_NUMBER_OF_ROUNDS + 10; round++) {
+			assertEquals("round " + round, formula(round), FloodForecast.getWaterLevel(round));
+		}
+	}
+
+	@Test
+	public void testFirstRoundAtLevelMatchesFormula() {
+		int maxLevel = formula(GameConstants.GAME_MAX_NUMBER_OF_ROUNDS);
+		int round = 0;
+		for(int level = 1; level <= maxLevel; level++) {
+			while(formula(round) < level) round++;
+			assertEquals("level " + level, round, FloodForecast.getFirstRoundAtLevel(level));
+		}
+		assertEquals(0, FloodForecast.getFirstRoundAtLevel(0));
+		assertEquals(Integer.MAX_VALUE, FloodForecast.getFirstRoundAtLevel(maxLevel + 1));
+	}
+
+	@Test
+	public void testRoundsUntilLevel() {
+		int firstRound = FloodForecast.getFirstRoundAtLevel(10);
+		assertEquals(firstRound - 100, FloodForecast.getRoundsUntilLevel(10, 100));
+		assertEquals(0, FloodForecast.getRoundsUntilLevel(10, firstRound));
+		assertEquals(0, FloodForecast.getRoundsUntilLevel(10, firstRound + 1));
+		assertEquals(0, FloodForecast.getRoundsUntilLevel(-5, 1));
+		assertEquals(Integer.MAX_VALUE, FloodForecast.getRoundsUntilLevel(formula(GameConstants.GAME_MAX_NUMBER_OF_ROUNDS) + 1, 1));
+	}
+
+}
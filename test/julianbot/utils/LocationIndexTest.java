@@ -0,0 +1,125 @@
+package julianbot.utils;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import battlecode.common.MapLocation;
+
+public class LocationIndexTest {
+
+	private static int bruteForceDistance(List<MapLocation> locations, MapLocation target, int minimumDistanceSquared) {
+		int closest = -1;
+		for(MapLocation location : locations) {
+			int distance = location.distanceSquaredTo(target);
+			if(distance >= minimumDistanceSquared && (closest < 0 || distance < closest)) closest = distance;
+		}
+		return closest;
+	}
+
+	private static void assertNearestMatches(LocationIndex index, List<MapLocation> locations, MapLocation target, int minimumDistanceSquared) {
+		MapLocation nearest = index.nearest(target, minimumDistanceSquared);
+		int expected = bruteForceDistance(locations, target, minimumDistanceSquared);
+		if(expected < 0) {
+			assertNull(nearest);
+		} else {
+			assertNotNull(nearest);
+			assertTrue(locations.contains(nearest));
+			assertEquals(expected, nearest.distanceSquaredTo(target));
+		}
+	}
+
+	@Test
+	public void testNearestMatchesBruteForce() {
+		Random random = new Random(2020);
+		int[][] sizes = {{32, 32}, {33, 47}, {64, 64}, {5, 61}};
+		for(int[] size : sizes) {
+			int width = size[0];
+			int height = size[1];
+			LocationIndex index = new LocationIndex(width, height);
+			List<MapLocation> locations = new ArrayList<>();
+
+			for(int step = 0; step < 600; step++) {
+				MapLocation location = new MapLocation(random.nextInt(width), random.nextInt(height));
+				if(random.nextInt(3) == 0) {
+					assertEquals(locations.remove(location), index.remove(location));
+				} else {
+					boolean added = !locations.contains(location);
+					if(added) locations.add(location);
+					assertEquals(added, index.add(location));
+				}
+				assertEquals(locations.size(), index.size());
+
+				//Targets off the map as well as on it
+				MapLocation target = new MapLocation(random.nextInt(width + 20) - 10, random.nextInt(height + 20) - 10);
+				assertNearestMatches(index, locations, target, 0);
+				assertNearestMatches(index, locations, target, random.nextInt(200));
+			}
+		}
+	}
+
+	@Test
+	public void testEmptyIndexHasNoNearest() {
+		LocationIndex index = new LocationIndex(20, 20);
+		assertNull(index.nearest(new MapLocation(5, 5)));
+
+		index.add(new MapLocation(5, 5));
+		assertEquals(new MapLocation(5, 5), index.nearest(new MapLocation(19, 19)));
+		assertNull(index.nearest(new MapLocation(5, 5), 1));
+	}
+
+	@Test
+	public void testMembershipAndRemovalHistory() {
+		LocationIndex index = new LocationIndex(40, 30);
+		MapLocation a = new MapLocation(0, 0);
+		MapLocation b = new MapLocation(39, 29);
+		MapLocation offMap = new MapLocation(40, 0);
+
+		assertTrue(index.add(a));
+		assertTrue(index.add(b));
+		assertFalse(index.add(a));
+		assertFalse(index.add(offMap));
+		assertTrue(index.contains(a));
+		assertFalse(index.contains(offMap));
+		assertFalse(index.wasRemoved(a));
+
+		assertTrue(index.remove(a));
+		assertFalse(index.remove(a));
+		assertFalse(index.contains(a));
+		assertTrue(index.wasRemoved(a));
+		assertFalse(index.wasRemoved(b));
+		assertEquals(1, index.size());
+		assertEquals(b, index.get(0));
+
+		//A removed location can be added back, and is still remembered as removed.
+		assertTrue(index.add(a));
+		assertTrue(index.contains(a));
+		assertTrue(index.wasRemoved(a));
+	}
+
+	@Test
+	public void testIterationAfterRemovals() {
+		LocationIndex index = new LocationIndex(16, 16);
+		List<MapLocation> locations = new ArrayList<>();
+		for(int x = 0; x < 16; x++) {
+			MapLocation location = new MapLocation(x, x);
+			locations.add(location);
+			index.add(location);
+		}
+		for(int i = index.size() - 1; i >= 0; i--) {
+			if(index.get(i).x % 3 == 0) {
+				locations.remove(index.get(i));
+				index.remove(index.get(i));
+			}
+		}
+
+		assertEquals(locations.size(), index.size());
+		for(int i = 0; i < index.size(); i++) {
+			assertTrue(locations.contains(index.get(i)));
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+package julianbot.utils.blockchain;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.MapLocation;
+import battlecode.common.Team;
+
+public class StateDigestTest {
+
+	private static StateDigest roundTrip(StateDigest digest) {
+		int[] transaction = new int[TransactionCodec.TRANSACTION_LENGTH];
+		digest.encode(transaction);
+		StateDigest decoded = new StateDigest();
+		decoded.decode(transaction);
+		return decoded;
+	}
+
+	@Test
+	public void testFullDigestRoundTrip() {
+		StateDigest digest = new StateDigest();
+		digest.setHqLocation(new MapLocation(0, 63));
+		digest.setEnemyHqLocation(new MapLocation(63, 0));
+		digest.setBuildSitesStatus(true, 1500);
+		digest.setKillOrder(2999, 250);
+		digest.setPauseRound(4095);
+		for(int i = 0; i < StateDigest.MAX_REFINERIES; i++) {
+			digest.addRefinery(new MapLocation(10 + i, 20 + i));
+		}
+		for(int i = 0; i < StateDigest.MAX_SOUP_LOCATIONS; i++) {
+			digest.addSoupLocation(new MapLocation(10 * i, 63 - 10 * i), 100 + i);
+		}
+
+		StateDigest decoded = roundTrip(digest);
+		assertEquals(digest.getHqLocation(), decoded.getHqLocation());
+		assertEquals(digest.getEnemyHqLocation(), decoded.getEnemyHqLocation());
+		assertTrue(decoded.getBuildSitesBlocked());
+		assertEquals(1500, decoded.getBuildSitesStatusRound());
+		assertEquals(2999, decoded.getKillOrderRound());
+		assertEquals(250, decoded.getKillOrderDuration());
+		assertEquals(4095, decoded.getPauseRound());
+		assertEquals(digest.getRefineryCount(), decoded.getRefineryCount());
+		for(int i = 0; i < digest.getRefineryCount(); i++) {
+			assertEquals(digest.getRefinery(i), decoded.getRefinery(i));
+		}
+		assertEquals(StateDigest.MAX_SOUP_LOCATIONS, decoded.getSoupCount());
+		for(int i = 0; i < digest.getSoupCount(); i++) {
+			assertEquals(digest.getSoupLocation(i), decoded.getSoupLocation(i));
+		}
+	}
+
+	@Test
+	public void testEmptyDigestRoundTrip() {
+		StateDigest decoded = roundTrip(new StateDigest());
+		assertNull(decoded.getHqLocation());
+		assertNull(decoded.getEnemyHqLocation());
+		assertFalse(decoded.getBuildSitesBlocked());
+		assertEquals(0, decoded.getKillOrderRound());
+		assertEquals(0, decoded.getPauseRound());
+		assertEquals(0, decoded.getRefineryCount());
+		assertEquals(0, decoded.getSoupCount());
+	}
+
+	@Test
+	public void testSealedDigestIsNotAMessage() {
+		StateDigest digest = new StateDigest();
+		digest.setHqLocation(new MapLocation(5, 5));
+		int[] transaction = new int[TransactionCodec.TRANSACTION_LENGTH];
+		digest.encode(transaction);
+		TransactionCodec.seal(transaction, 321, TransactionCodec.digestKey(Team.A));
+
+		assertTrue(TransactionCodec.authenticate(transaction, TransactionCodec.digestKey(Team.A)));
+		assertFalse(TransactionCodec.authenticate(transaction, TransactionCodec.teamKey(Team.A)));
+		assertEquals(321, TransactionCodec.getSentRound(transaction));
+	}
+
+	@Test
+	public void testRefineriesKeepNewest() {
+		StateDigest digest = new StateDigest();
+		for(int i = 0; i <= StateDigest.MAX_REFINERIES; i++) {
+			digest.addRefinery(new MapLocation(i, i));
+		}
+		digest.addRefinery(new MapLocation(StateDigest.MAX_REFINERIES, StateDigest.MAX_REFINERIES));
+
+		assertEquals(StateDigest.MAX_REFINERIES, digest.getRefineryCount());
+		assertEquals(new MapLocation(StateDigest.MAX_REFINERIES, StateDigest.MAX_REFINERIES), digest.getRefinery(0));
+		assertEquals(new MapLocation(1, 1), digest.getRefinery(StateDigest.MAX_REFINERIES - 1));
+	}
+
+	@Test
+	public void testSoupReportsJoinNearbyClusters() {
+		StateDigest digest = new StateDigest();
+		digest.addSoupLocation(new MapLocation(10, 10), 1);
+		digest.addSoupLocation(new MapLocation(40, 40), 2);
+		digest.addSoupLocation(new MapLocation(12, 11), 3);
+
+		assertEquals(2, digest.getSoupCount());
+		assertEquals(new MapLocation(10, 10), digest.getSoupLocation(0));
+		assertEquals(new MapLocation(40, 40), digest.getSoupLocation(1));
+	}
+
+	@Test
+	public void testSoupKeepsMostRecentlyReported() {
+		StateDigest digest = new StateDigest();
+		for(int i = 0; i <= StateDigest.MAX_SOUP_LOCATIONS; i++) {
+			digest.addSoupLocation(new MapLocation(10 * i, 0), i);
+		}
+
+		assertEquals(StateDigest.MAX_SOUP_LOCATIONS, digest.getSoupCount());
+		assertEquals(new MapLocation(10 * StateDigest.MAX_SOUP_LOCATIONS, 0), digest.getSoupLocation(0));
+		assertEquals(new MapLocation(10, 0), digest.getSoupLocation(StateDigest.MAX_SOUP_LOCATIONS - 1));
+	}
+
+	@Test
+	public void testStaleSoupIsPruned() {
+		StateDigest digest = new StateDigest();
+		digest.addSoupLocation(new MapLocation(0, 0), 100);
+		digest.addSoupLocation(new MapLocation(20, 20), 200);
+		digest.addSoupLocation(new MapLocation(40, 40), 300);
+		digest.addSoupLocation(new MapLocation(1, 1), 400); //Refreshes the first cluster
+
+		digest.pruneSoupLocations(450, 300);
+		assertEquals(3, digest.getSoupCount());
+		assertEquals(new MapLocation(20, 20), digest.getSoupLocation(2));
+
+		digest.pruneSoupLocations(650, 300);
+		assertEquals(1, digest.getSoupCount());
+		assertEquals(new MapLocation(0, 0), digest.getSoupLocation(0));
+		assertEquals(1, roundTrip(digest).getSoupCount());
+
+		digest.pruneSoupLocations(700, 300);
+		assertEquals(1, digest.getSoupCount());
+		digest.pruneSoupLocations(10000, 300);
+		assertEquals(0, digest.getSoupCount());
+	}
+
+}
@@ -0,0 +1,67 @@
+package julianbot.utils.blockchain;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.Team;
+import julianbot.robots.Robot;
+
+public class TransactionCodecTest {
+
+	@Test
+	public void testTypesFitTypeField() {
+		assertTrue(Robot.Type.values().length <= TransactionCodec.MAX_TYPE_CODE);
+	}
+
+	@Test
+	public void testMessageRoundTrip() {
+		Message message = new Message();
+		int[][] coordinates = {{0, 0}, {63, 63}, {17, 42}};
+		for(Robot.Type type : Robot.Type.values()) {
+			for(int[] xy : coordinates) {
+				int packed = TransactionCodec.packMessage(type.ordinal(), xy[0], xy[1], 1234);
+				assertTrue(message.decode(packed, 77));
+				assertEquals(type, message.getType());
+				assertEquals(xy[0], message.getX());
+				assertEquals(xy[1], message.getY());
+				assertEquals(1234, message.getBonus());
+				assertEquals(77, message.getSentRound());
+			}
+		}
+	}
+
+	@Test
+	public void testPayloadIsClamped() {
+		assertEquals(0, TransactionCodec.getPayload(TransactionCodec.packMessage(0, 1, 1, -5)));
+		assertEquals(TransactionCodec.MAX_PAYLOAD, TransactionCodec.getPayload(TransactionCodec.packMessage(0, 1, 1, 1 << 20)));
+	}
+
+	@Test
+	public void testEmptySlotIsNotAMessage() {
+		assertEquals(0, TransactionCodec.getTypeCode(0));
+		assertFalse(new Message().decode(0, 1));
+	}
+
+	@Test
+	public void testSealedTransactionAuthenticates() {
+		int[] transaction = new int[TransactionCodec.TRANSACTION_LENGTH];
+		transaction[0] = TransactionCodec.packMessage(Robot.Type.TRANSACTION_KILL_ORDER.ordinal(), 5, 9, 300);
+		transaction[1] = TransactionCodec.packMessage(Robot.Type.TRANSACTION_SOUP_AT_LOC.ordinal(), 30, 2, 0);
+		int key = TransactionCodec.teamKey(Team.A);
+		TransactionCodec.seal(transaction, 1500, key);
+
+		assertEquals(1500, TransactionCodec.getSentRound(transaction));
+		assertTrue(TransactionCodec.authenticate(transaction, key));
+		assertFalse(TransactionCodec.authenticate(transaction, TransactionCodec.teamKey(Team.B)));
+		assertFalse(TransactionCodec.authenticate(transaction, TransactionCodec.digestKey(Team.A)));
+
+		transaction[1] ^= 1 << 16;
+		assertFalse(TransactionCodec.authenticate(transaction, key));
+	}
+
+	@Test
+	public void testWrongLengthDoesNotAuthenticate() {
+		assertFalse(TransactionCodec.authenticate(new int[3], TransactionCodec.teamKey(Team.A)));
+	}
+
+}
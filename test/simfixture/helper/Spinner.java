@@ -0,0 +1,25 @@
+package simfixture.helper;
+
+public class Spinner {
+
+	private static int calls;
+
+	/**
+	 * Loops the given number of times, so that its cost grows with the count
+	 * @param count
+	 * @return
+	 */
+	public static int spin(int count) {
+		calls++;
+		int sum = 0;
+		for(int i = 0; i < count; i++) {
+			sum += i;
+		}
+		return sum;
+	}
+
+	public static int getCalls() {
+		return calls;
+	}
+
+}
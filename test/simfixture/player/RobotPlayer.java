@@ -0,0 +1,25 @@
+package simfixture.player;
+
+import battlecode.common.Clock;
+import battlecode.common.RobotController;
+import simfixture.helper.Spinner;
+
+/**
+ * A player for the simulator's tests, which spends its turns in a helper from another package.
+ * Throws, and so dies, if the helper's static state shows turns it did not take itself.
+ */
+public strictfp class RobotPlayer {
+
+	public static final int SPINS = 1000;
+
+	public static void run(RobotController rc) {
+		int turns = 0;
+		while(true) {
+			turns++;
+			Spinner.spin(SPINS);
+			if(Spinner.getCalls() != turns) throw new IllegalStateException("Helper state shared between robots");
+			Clock.yield();
+		}
+	}
+
+}
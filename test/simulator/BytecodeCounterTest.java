@@ -0,0 +1,38 @@
+package simulator;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+import simfixture.player.RobotPlayer;
+
+public class BytecodeCounterTest {
+
+	@Test
+	public void testHelperInOtherPackageIsCharged() {
+		BytecodeProfile profile = new BytecodeProfile();
+		profile.activate();
+		SimulatedWorld world = new SimulatedWorld(8, 8);
+		world.setPlayer(Team.A, new PlayerClasses("simfixture.player", getClass().getClassLoader(), new BytecodeCounter(profile)));
+		world.setProfile(profile);
+		SimulatedRobot robot = world.spawn(RobotType.MINER, Team.A, new MapLocation(1, 1));
+
+		world.runRound();
+		world.runRound();
+		world.shutdown();
+
+		assertNull(robot.getFailure());
+		//Each pass of the helper's loop is several instructions, all of which belong to the robot's turn.
+		assertTrue("Turn charged " + robot.getBytecodeNum(), robot.getBytecodeNum() > RobotPlayer.SPINS);
+
+		ByteArrayOutputStream report = new ByteArrayOutputStream();
+		profile.print(new PrintStream(report), 5);
+		assertTrue(report.toString().contains("simfixture.helper.Spinner.spin"));
+	}
+
+}
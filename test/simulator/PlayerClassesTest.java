@@ -0,0 +1,42 @@
+package simulator;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+
+public class PlayerClassesTest {
+
+	private static final String PLAYER = "simfixture.player";
+
+	@Test
+	public void testHelpersBesidePlayerArePlayerClasses() {
+		PlayerClasses player = new PlayerClasses(PLAYER, getClass().getClassLoader(), null);
+		assertTrue(player.isPlayerClass(PLAYER + ".RobotPlayer"));
+		assertTrue(player.isPlayerClass("simfixture.helper.Spinner"));
+		assertFalse(player.isPlayerClass("simulator.SimClock"));
+		assertFalse(player.isPlayerClass("battlecode.common.MapLocation"));
+		assertFalse(player.isPlayerClass("java.lang.String"));
+	}
+
+	@Test
+	public void testHelperStaticsArePerRobot() {
+		SimulatedWorld world = new SimulatedWorld(8, 8);
+		world.setPlayer(Team.A, new PlayerClasses(PLAYER, getClass().getClassLoader(), null));
+		SimulatedRobot first = world.spawn(RobotType.MINER, Team.A, new MapLocation(1, 1));
+		SimulatedRobot second = world.spawn(RobotType.MINER, Team.A, new MapLocation(5, 5));
+
+		for(int round = 0; round < 3; round++) {
+			world.runRound();
+		}
+		world.shutdown();
+
+		assertNull(first.getFailure());
+		assertNull(second.getFailure());
+		assertTrue(first.alive);
+		assertTrue(second.alive);
+	}
+
+}
@@ -0,0 +1,162 @@
+package optimizer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * Replaces calls to trivial accessors with the field access they wrap, so that "data.getHqLocation()" costs one instruction instead of a call and three.
+ * An accessor is a method whose body is only "return field;" or "this.field = value;" on a field of its own class.
+ * Calls are only replaced when no player class overrides the accessor, and fields read or written from another class are made public so the access verifies.
+ */
+public class AccessorInliner {
+
+	private final Map<String, ClassNode> classes;
+	private final Map<String, Accessor> accessors; //By declaring class, name and descriptor
+	private final Set<String> overridden; //Methods, by declaring class, name and descriptor, that a subclass overrides
+
+	private static class Accessor {
+		final ClassNode owner;
+		final FieldNode field;
+		final int opcode; //GETFIELD, PUTFIELD or GETSTATIC
+
+		Accessor(ClassNode owner, FieldNode field, int opcode) {
+			this.owner = owner;
+			this.field = field;
+			this.opcode = opcode;
+		}
+	}
+
+	public AccessorInliner(Map<String, ClassNode> classes) {
+		this.classes = classes;
+		this.accessors = new HashMap<>();
+		this.overridden = new HashSet<>();
+
+		for(ClassNode node : classes.values()) {
+			for(MethodNode method : node.methods) {
+				Accessor accessor = asAccessor(node, method);
+				if(accessor != null) accessors.put(node.name + "." + method.name + method.desc, accessor);
+
+				if((method.access & (Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE)) != 0 || method.name.startsWith("<")) continue;
+				for(ClassNode ancestor = classes.get(node.superName); ancestor != null; ancestor = classes.get(ancestor.superName)) {
+					if(findMethod(ancestor, method.name, method.desc) != null) overridden.add(ancestor.name + "." + method.name + method.desc);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces the accessor calls in a method
+	 * @param caller Class declaring the method
+	 * @param method
+	 * @return Number of calls replaced
+	 */
+	public int inline(ClassNode caller, MethodNode method) {
+		int inlined = 0;
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(!(instruction instanceof MethodInsnNode)) continue;
+
+			MethodInsnNode call = (MethodInsnNode) instruction;
+			Accessor accessor = resolve(caller, call);
+			if(accessor == null) continue;
+
+			if(accessor.owner != caller) {
+				accessor.field.access = (accessor.field.access & ~(Opcodes.ACC_PRIVATE | Opcodes.ACC_PROTECTED)) | Opcodes.ACC_PUBLIC;
+			}
+			FieldInsnNode access = new FieldInsnNode(accessor.opcode, accessor.owner.name, accessor.field.name, accessor.field.desc);
+			method.instructions.set(call, access);
+			instruction = access;
+			inlined++;
+		}
+		return inlined;
+	}
+
+	private Accessor resolve(ClassNode caller, MethodInsnNode call) {
+		int opcode = call.getOpcode();
+		if(opcode != Opcodes.INVOKEVIRTUAL && opcode != Opcodes.INVOKESTATIC && opcode != Opcodes.INVOKESPECIAL) return null;
+
+		ClassNode declaring = classes.get(call.owner);
+		while(declaring != null && findMethod(declaring, call.name, call.desc) == null) {
+			declaring = classes.get(declaring.superName);
+		}
+		if(declaring == null) return null;
+
+		String key = declaring.name + "." + call.name + call.desc;
+		Accessor accessor = accessors.get(key);
+		if(accessor == null) return null;
+
+		MethodNode target = findMethod(declaring, call.name, call.desc);
+		if(opcode == Opcodes.INVOKESPECIAL && ((target.access & Opcodes.ACC_PRIVATE) == 0 || declaring != caller)) return null;
+		if(opcode == Opcodes.INVOKEVIRTUAL && overridden.contains(key)) return null;
+
+		//The field is made public, but the class declaring it must also be visible from the caller.
+		if(declaring != caller && (declaring.access & Opcodes.ACC_PUBLIC) == 0 && !packageOf(declaring.name).equals(packageOf(caller.name))) return null;
+		return accessor;
+	}
+
+	private static Accessor asAccessor(ClassNode node, MethodNode method) {
+		if((method.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE | Opcodes.ACC_SYNCHRONIZED)) != 0 || method.name.startsWith("<")) return null;
+
+		AbstractInsnNode[] body = Instructions.real(method);
+		Type[] arguments = Type.getArgumentTypes(method.desc);
+		Type returnType = Type.getReturnType(method.desc);
+		boolean isStatic = (method.access & Opcodes.ACC_STATIC) != 0;
+
+		//static T get() { return FIELD; }
+		if(isStatic && arguments.length == 0 && body.length == 2
+				&& body[0].getOpcode() == Opcodes.GETSTATIC && body[1].getOpcode() == returnType.getOpcode(Opcodes.IRETURN)) {
+			return asAccess(node, (FieldInsnNode) body[0], returnType, Opcodes.GETSTATIC);
+		}
+		if(isStatic) return null;
+
+		//T get() { return this.field; }
+		if(arguments.length == 0 && body.length == 3 && isLoadThis(body[0])
+				&& body[1].getOpcode() == Opcodes.GETFIELD && body[2].getOpcode() == returnType.getOpcode(Opcodes.IRETURN)) {
+			return asAccess(node, (FieldInsnNode) body[1], returnType, Opcodes.GETFIELD);
+		}
+
+		//void set(T value) { this.field = value; }
+		if(arguments.length == 1 && returnType == Type.VOID_TYPE && body.length == 4 && isLoadThis(body[0])
+				&& body[1].getOpcode() == arguments[0].getOpcode(Opcodes.ILOAD) && ((VarInsnNode) body[1]).var == 1
+				&& body[2].getOpcode() == Opcodes.PUTFIELD && body[3].getOpcode() == Opcodes.RETURN) {
+			return asAccess(node, (FieldInsnNode) body[2], arguments[0], Opcodes.PUTFIELD);
+		}
+		return null;
+	}
+
+	private static Accessor asAccess(ClassNode node, FieldInsnNode access, Type valueType, int opcode) {
+		if(!access.owner.equals(node.name) || !access.desc.equals(valueType.getDescriptor())) return null;
+		for(FieldNode field : node.fields) {
+			if(field.name.equals(access.name) && field.desc.equals(access.desc)) return new Accessor(node, field, opcode);
+		}
+		return null;
+	}
+
+	private static boolean isLoadThis(AbstractInsnNode instruction) {
+		return instruction.getOpcode() == Opcodes.ALOAD && ((VarInsnNode) instruction).var == 0;
+	}
+
+	private static MethodNode findMethod(ClassNode node, String name, String desc) {
+		for(MethodNode method : node.methods) {
+			if(method.name.equals(name) && method.desc.equals(desc)) return method;
+		}
+		return null;
+	}
+
+	private static String packageOf(String className) {
+		int slash = className.lastIndexOf('/');
+		return slash < 0 ? "" : className.substring(0, slash);
+	}
+
+}
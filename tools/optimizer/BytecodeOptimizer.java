@@ -0,0 +1,151 @@
+package optimizer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Rewrites compiled player classes so they cost fewer bytecodes, leaving the source as it is. The passes run in order:
+ * folding static final fields the compiler could not (ConstantFolder), inlining trivial accessors (AccessorInliner), and removing debug calls (DebugCallStripper).
+ * Classes outside the given packages, and files that are not classes, are copied unchanged.
+ * Writes a report of each changed method's instruction and call counts before and after. An inlined accessor shows up as one call fewer, since the field access replaces the call one for one but the accessor's body no longer runs.
+ * Counts are of instructions in the class file, not of bytecodes run; estimateBytecode measures those.
+ *
+ * Usage: BytecodeOptimizer <classes directory> <output directory> <report file> [packages=<comma separated packages>] [strip=<indicators,println or none>]
+ */
+public class BytecodeOptimizer {
+
+	private static class MethodReport {
+		final String name;
+		final int before;
+		final int callsBefore;
+		int after;
+		int callsAfter;
+
+		MethodReport(String name, MethodNode method) {
+			this.name = name;
+			this.before = Instructions.count(method);
+			this.callsBefore = Instructions.countCalls(method);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 3) {
+			System.err.println("Usage: BytecodeOptimizer <classes directory> <output directory> <report file> [packages=<comma separated packages>] [strip=<indicators,println or none>]");
+			System.exit(1);
+		}
+
+		Path input = Paths.get(args[0]);
+		Path output = Paths.get(args[1]);
+		Path report = Paths.get(args[2]);
+		List<String> packages = new ArrayList<>();
+		List<String> strip = Arrays.asList("indicators", "println");
+		for(int i = 3; i < args.length; i++) {
+			if(args[i].startsWith("packages=")) {
+				for(String name : args[i].substring("packages=".length()).split(",")) {
+					if(!name.isEmpty()) packages.add(name.replace('.', '/') + "/");
+				}
+			} else if(args[i].startsWith("strip=")) {
+				strip = Arrays.asList(args[i].substring("strip=".length()).split(","));
+			}
+		}
+
+		List<Path> files;
+		try(Stream<Path> walk = Files.walk(input)) {
+			files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+
+		//Every pass needs to see all the classes it may rewrite before it rewrites any, for overrides and initializers.
+		Map<String, ClassNode> classes = new LinkedHashMap<>();
+		for(Path file : files) {
+			String relative = input.relativize(file).toString().replace('\\', '/');
+			if(!relative.endsWith(".class") || !isIncluded(relative, packages)) continue;
+
+			ClassNode node = new ClassNode();
+			new ClassReader(Files.readAllBytes(file)).accept(node, 0);
+			classes.put(node.name, node);
+		}
+
+		ConstantFolder folder = new ConstantFolder(classes);
+		AccessorInliner inliner = new AccessorInliner(classes);
+		DebugCallStripper stripper = new DebugCallStripper(strip.contains("indicators"), strip.contains("println"));
+
+		List<MethodReport> methods = new ArrayList<>();
+		int folded = 0, inlined = 0, stripped = 0;
+		long totalBefore = 0, totalAfter = 0;
+		for(ClassNode node : classes.values()) {
+			for(MethodNode method : node.methods) {
+				MethodReport entry = new MethodReport(node.name.replace('/', '.') + "." + method.name + method.desc, method);
+				folded += folder.fold(node, method);
+				inlined += inliner.inline(node, method);
+				stripped += stripper.strip(method);
+				entry.after = Instructions.count(method);
+				entry.callsAfter = Instructions.countCalls(method);
+
+				totalBefore += entry.before;
+				totalAfter += entry.after;
+				if(entry.after != entry.before || entry.callsAfter != entry.callsBefore) methods.add(entry);
+			}
+		}
+
+		for(Path file : files) {
+			Path target = output.resolve(input.relativize(file).toString());
+			Files.createDirectories(target.getParent());
+
+			String relative = input.relativize(file).toString().replace('\\', '/');
+			ClassNode node = relative.endsWith(".class") ? classes.get(relative.substring(0, relative.length() - ".class".length())) : null;
+			if(node == null) {
+				Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+				continue;
+			}
+
+			//Each rewrite swaps instructions within straight-line code, so the existing stack map frames stay valid and only the maximum stack size needs recomputing.
+			ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+			node.accept(writer);
+			Files.write(target, writer.toByteArray());
+		}
+
+		methods.sort((a, b) -> Integer.compare(b.before - b.after + b.callsBefore - b.callsAfter, a.before - a.after + a.callsBefore - a.callsAfter));
+		Files.createDirectories(report.toAbsolutePath().getParent());
+		try(PrintStream out = new PrintStream(Files.newOutputStream(report))) {
+			printReport(out, methods, totalBefore, totalAfter);
+		}
+
+		System.out.printf("Rewrote %d classes into %s: %d constant reads folded from %d fields, %d accessor calls inlined, %d debug calls removed%n",
+				classes.size(), output, folded, folder.getConstantCount(), inlined, stripped);
+		System.out.printf("Instructions: %d before, %d after (%.1f%% fewer), %d methods changed; see %s%n",
+				totalBefore, totalAfter, 100.0 * (totalBefore - totalAfter) / Math.max(totalBefore, 1), methods.size(), report);
+	}
+
+	private static boolean isIncluded(String relativePath, List<String> packages) {
+		if(packages.isEmpty()) return true;
+		for(String prefix : packages) {
+			if(relativePath.startsWith(prefix)) return true;
+		}
+		return false;
+	}
+
+	private static void printReport(PrintStream out, List<MethodReport> methods, long totalBefore, long totalAfter) {
+		out.printf("%d instructions before, %d after%n", totalBefore, totalAfter);
+		out.println("Changed methods by instructions and calls saved (instructions before and after, then calls before and after):");
+		for(MethodReport method : methods) {
+			out.printf("  %-100s %6d %6d %5d %5d%n", method.name, method.before, method.after, method.callsBefore, method.callsAfter);
+		}
+	}
+
+}
@@ -0,0 +1,327 @@
+package optimizer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Replaces reads of static final fields that the compiler could not fold with the value the static initializer gives them.
+ * The compiler folds fields initialized from constant expressions, but not ones like "(int) Math.sqrt(RobotType.MINER.sensorRadiusSquared)".
+ * The initializer's expression is evaluated here when it only uses constants, arithmetic, java.lang.Math, and final fields of engine and library classes, which are read by reflection.
+ * The fields and their initializers are left in place, so the rewritten classes behave the same apart from reads made before the initializer runs.
+ */
+public class ConstantFolder {
+
+	private final Map<String, ClassNode> classes;
+	private final Map<String, Object> constants; //Values, by class and field name
+
+	public ConstantFolder(Map<String, ClassNode> classes) {
+		this.classes = classes;
+		this.constants = new HashMap<>();
+
+		//Initializers can read fields folded earlier, so classes are revisited until nothing more folds.
+		boolean folded = true;
+		while(folded) {
+			folded = false;
+			for(ClassNode node : classes.values()) {
+				folded |= findConstants(node);
+			}
+		}
+	}
+
+	/**
+	 * @return Number of fields whose reads are replaced
+	 */
+	public int getConstantCount() {
+		return constants.size();
+	}
+
+	/**
+	 * Replaces reads of folded fields in a method
+	 * @param owner Class declaring the method
+	 * @param method
+	 * @return Number of reads replaced
+	 */
+	public int fold(ClassNode owner, MethodNode method) {
+		int folded = 0;
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction.getOpcode() != Opcodes.GETSTATIC) continue;
+
+			FieldInsnNode read = (FieldInsnNode) instruction;
+			Object value = constants.get(read.owner + "." + read.name);
+			if(value == null) continue;
+			if(read.owner.equals(owner.name) && method.name.equals("<clinit>")) continue; //The initializer may read it before assigning it
+
+			AbstractInsnNode push = Instructions.push(value);
+			method.instructions.set(read, push);
+			instruction = push;
+			folded++;
+		}
+		return folded;
+	}
+
+	private boolean findConstants(ClassNode node) {
+		MethodNode initializer = null;
+		for(MethodNode method : node.methods) {
+			if(method.name.equals("<clinit>")) initializer = method;
+		}
+		if(initializer == null) return false;
+
+		boolean found = false;
+		Set<LabelNode> boundaries = Instructions.getBoundaries(initializer);
+		for(AbstractInsnNode instruction = initializer.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction.getOpcode() != Opcodes.PUTSTATIC) continue;
+
+			FieldInsnNode write = (FieldInsnNode) instruction;
+			String key = write.owner + "." + write.name;
+			if(!write.owner.equals(node.name) || constants.containsKey(key) || !isFoldable(node, write)) continue;
+
+			AbstractInsnNode start = Instructions.findOperandStart(write, 1, boundaries, ConstantFolder::isFoldableCall);
+			if(start == null) continue;
+
+			Object value = evaluate(start, write);
+			if(value == null) continue;
+			constants.put(key, value);
+			found = true;
+		}
+		return found;
+	}
+
+	private static boolean isFoldable(ClassNode node, FieldInsnNode write) {
+		for(FieldNode field : node.fields) {
+			if(!field.name.equals(write.name) || !field.desc.equals(write.desc)) continue;
+			if((field.access & (Opcodes.ACC_STATIC | Opcodes.ACC_FINAL)) != (Opcodes.ACC_STATIC | Opcodes.ACC_FINAL)) return false;
+			if(field.value != null) return false; //Already a compile-time constant
+			return Type.getType(field.desc).getSort() != Type.OBJECT || field.desc.equals("Ljava/lang/String;");
+		}
+		return false;
+	}
+
+	/**
+	 * Runs straight-line code and returns the value it leaves on the stack
+	 * @param start
+	 * @param end Instruction after the code
+	 * @return The value, or null if the code does something that is not evaluated here
+	 */
+	private Object evaluate(AbstractInsnNode start, AbstractInsnNode end) {
+		List<Object> stack = new ArrayList<>();
+		try {
+			for(AbstractInsnNode instruction = start; instruction != end; instruction = instruction.getNext()) {
+				int opcode = instruction.getOpcode();
+				if(opcode < 0) continue;
+				if(!execute(instruction, opcode, stack)) return null;
+			}
+		} catch(ReflectiveOperationException | ArithmeticException | ClassCastException | LinkageError e) {
+			return null;
+		}
+		return stack.size() == 1 ? stack.get(0) : null;
+	}
+
+	private boolean execute(AbstractInsnNode instruction, int opcode, List<Object> stack) throws ReflectiveOperationException {
+		if(opcode >= Opcodes.ICONST_M1 && opcode <= Opcodes.ICONST_5) return stack.add(opcode - Opcodes.ICONST_0);
+		if(opcode >= Opcodes.LCONST_0 && opcode <= Opcodes.LCONST_1) return stack.add((long) (opcode - Opcodes.LCONST_0));
+		if(opcode >= Opcodes.FCONST_0 && opcode <= Opcodes.FCONST_2) return stack.add((float) (opcode - Opcodes.FCONST_0));
+		if(opcode >= Opcodes.DCONST_0 && opcode <= Opcodes.DCONST_1) return stack.add((double) (opcode - Opcodes.DCONST_0));
+		if(opcode >= Opcodes.IADD && opcode <= Opcodes.LXOR && opcode != Opcodes.INEG && opcode != Opcodes.LNEG && opcode != Opcodes.FNEG && opcode != Opcodes.DNEG) {
+			Object right = pop(stack);
+			return stack.add(binary(opcode, pop(stack), right));
+		}
+		if((opcode >= Opcodes.INEG && opcode <= Opcodes.DNEG) || (opcode >= Opcodes.I2L && opcode <= Opcodes.I2S)) {
+			return stack.add(unary(opcode, pop(stack)));
+		}
+		if(opcode >= Opcodes.LCMP && opcode <= Opcodes.DCMPG) {
+			Object right = pop(stack);
+			return stack.add(compare(opcode, pop(stack), right));
+		}
+
+		switch(opcode) {
+			case Opcodes.BIPUSH:
+			case Opcodes.SIPUSH:
+				return stack.add(((IntInsnNode) instruction).operand);
+			case Opcodes.LDC:
+				Object constant = ((LdcInsnNode) instruction).cst;
+				return !(constant instanceof Type) && stack.add(constant);
+			case Opcodes.GETSTATIC: {
+				FieldInsnNode read = (FieldInsnNode) instruction;
+				Object value = constants.get(read.owner + "." + read.name);
+				if(value == null) {
+					if(classes.containsKey(read.owner)) return false; //Player classes are never initialized here
+					value = readFinal(Class.forName(read.owner.replace('/', '.')), read.name, null);
+				}
+				return value != null && stack.add(normalize(value));
+			}
+			case Opcodes.GETFIELD: {
+				FieldInsnNode read = (FieldInsnNode) instruction;
+				Object target = pop(stack);
+				if(target instanceof Number || target instanceof String) return false;
+				Object value = readFinal(target.getClass(), read.name, target);
+				return value != null && stack.add(normalize(value));
+			}
+			case Opcodes.INVOKESTATIC: {
+				MethodInsnNode call = (MethodInsnNode) instruction;
+				Type[] argumentTypes = Type.getArgumentTypes(call.desc);
+				Class<?>[] parameterTypes = new Class<?>[argumentTypes.length];
+				Object[] arguments = new Object[argumentTypes.length];
+				for(int i = argumentTypes.length - 1; i >= 0; i--) {
+					parameterTypes[i] = toClass(argumentTypes[i]);
+					arguments[i] = pop(stack);
+					if(parameterTypes[i] == null) return false;
+				}
+				Method method = Math.class.getMethod(call.name, parameterTypes);
+				return stack.add(normalize(method.invoke(null, arguments)));
+			}
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isFoldableCall(MethodInsnNode call) {
+		return call.getOpcode() == Opcodes.INVOKESTATIC && call.owner.equals("java/lang/Math") && !call.name.equals("random");
+	}
+
+	//ARITHMETIC
+
+	private static Object binary(int opcode, Object left, Object right) {
+		if(opcode >= Opcodes.ISHL && opcode <= Opcodes.LUSHR) {
+			int shift = (Integer) right;
+			if(left instanceof Integer) {
+				int value = (Integer) left;
+				return opcode == Opcodes.ISHL ? value << shift : opcode == Opcodes.ISHR ? value >> shift : value >>> shift;
+			}
+			long value = (Long) left;
+			return opcode == Opcodes.LSHL ? value << shift : opcode == Opcodes.LSHR ? value >> shift : value >>> shift;
+		}
+
+		//Opcodes come in runs of int, long, float and double for add, subtract, multiply, divide and remainder, then of int and long for and, or and xor.
+		int operation = opcode <= Opcodes.DREM ? (opcode - Opcodes.IADD) / 4 : 5 + (opcode - Opcodes.IAND) / 2;
+		if(left instanceof Integer) {
+			int l = (Integer) left, r = (Integer) right;
+			switch(operation) {
+				case 0: return l + r;
+				case 1: return l - r;
+				case 2: return l * r;
+				case 3: return l / r;
+				case 4: return l % r;
+				case 5: return l & r;
+				case 6: return l | r;
+				default: return l ^ r;
+			}
+		}
+		if(left instanceof Long) {
+			long l = (Long) left, r = (Long) right;
+			switch(operation) {
+				case 0: return l + r;
+				case 1: return l - r;
+				case 2: return l * r;
+				case 3: return l / r;
+				case 4: return l % r;
+				case 5: return l & r;
+				case 6: return l | r;
+				default: return l ^ r;
+			}
+		}
+		if(left instanceof Float) {
+			float l = (Float) left, r = (Float) right;
+			switch(operation) {
+				case 0: return l + r;
+				case 1: return l - r;
+				case 2: return l * r;
+				case 3: return l / r;
+				default: return l % r;
+			}
+		}
+		double l = (Double) left, r = (Double) right;
+		switch(operation) {
+			case 0: return l + r;
+			case 1: return l - r;
+			case 2: return l * r;
+			case 3: return l / r;
+			default: return l % r;
+		}
+	}
+
+	private static Object unary(int opcode, Object operand) {
+		Number value = (Number) operand;
+		switch(opcode) {
+			case Opcodes.INEG: return -(Integer) operand;
+			case Opcodes.LNEG: return -(Long) operand;
+			case Opcodes.FNEG: return -(Float) operand;
+			case Opcodes.DNEG: return -(Double) operand;
+			case Opcodes.L2I: case Opcodes.F2I: case Opcodes.D2I: return value.intValue();
+			case Opcodes.I2L: case Opcodes.F2L: case Opcodes.D2L: return value.longValue();
+			case Opcodes.I2F: case Opcodes.L2F: case Opcodes.D2F: return value.floatValue();
+			case Opcodes.I2D: case Opcodes.L2D: case Opcodes.F2D: return value.doubleValue();
+			case Opcodes.I2B: return (int) (byte) value.intValue();
+			case Opcodes.I2C: return (int) (char) value.intValue();
+			default: return (int) (short) value.intValue();
+		}
+	}
+
+	private static Object compare(int opcode, Object left, Object right) {
+		if(opcode == Opcodes.LCMP) return Long.compare((Long) left, (Long) right);
+		double l = ((Number) left).doubleValue();
+		double r = ((Number) right).doubleValue();
+		if(l < r) return -1;
+		if(l > r) return 1;
+		if(l == r) return 0;
+		return opcode == Opcodes.FCMPG || opcode == Opcodes.DCMPG ? 1 : -1; //NaN
+	}
+
+	//REFLECTION
+
+	private static Object readFinal(Class<?> owner, String name, Object target) throws ReflectiveOperationException {
+		for(Class<?> c = owner; c != null; c = c.getSuperclass()) {
+			for(Field field : c.getDeclaredFields()) {
+				if(!field.getName().equals(name)) continue;
+				if(!Modifier.isFinal(field.getModifiers()) || Modifier.isStatic(field.getModifiers()) != (target == null)) return null;
+				field.setAccessible(true);
+				return field.get(target);
+			}
+		}
+		return null;
+	}
+
+	private static Object pop(List<Object> stack) {
+		return stack.remove(stack.size() - 1);
+	}
+
+	/**
+	 * Puts a value in the form the stack holds it in: ints, booleans, chars, bytes and shorts as Integer
+	 * @param value
+	 * @return
+	 */
+	private static Object normalize(Object value) {
+		if(value instanceof Boolean) return ((Boolean) value) ? 1 : 0;
+		if(value instanceof Character) return (int) (Character) value;
+		if(value instanceof Byte || value instanceof Short) return ((Number) value).intValue();
+		return value;
+	}
+
+	private static Class<?> toClass(Type type) {
+		switch(type.getSort()) {
+			case Type.INT: return int.class;
+			case Type.LONG: return long.class;
+			case Type.FLOAT: return float.class;
+			case Type.DOUBLE: return double.class;
+			default: return null;
+		}
+	}
+
+}
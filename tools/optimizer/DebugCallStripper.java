@@ -0,0 +1,116 @@
+package optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Removes debug output that does nothing in a competition match: indicator dots and lines, and printing with System.out.println.
+ * When the call's arguments are computed by straight-line code without side effects, such as "rc.getLocation().add(dir)", that code is removed with the call.
+ * Otherwise the arguments are still computed and only the call is replaced, by instructions that discard them.
+ */
+public class DebugCallStripper {
+
+	private final boolean stripIndicators;
+	private final boolean stripPrinting;
+
+	public DebugCallStripper(boolean stripIndicators, boolean stripPrinting) {
+		this.stripIndicators = stripIndicators;
+		this.stripPrinting = stripPrinting;
+	}
+
+	/**
+	 * Removes the debug calls in a method
+	 * @param method
+	 * @return Number of calls removed
+	 */
+	public int strip(MethodNode method) {
+		List<MethodInsnNode> calls = new ArrayList<>();
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction instanceof MethodInsnNode && isDebugCall((MethodInsnNode) instruction)) calls.add((MethodInsnNode) instruction);
+		}
+		if(calls.isEmpty()) return 0;
+
+		Set<LabelNode> boundaries = Instructions.getBoundaries(method);
+		for(MethodInsnNode call : calls) {
+			Type[] arguments = Type.getArgumentTypes(call.desc);
+			AbstractInsnNode start = Instructions.findOperandStart(call, arguments.length + 1, boundaries, DebugCallStripper::isPureCall);
+			if(start != null) {
+				//Labels and line numbers stay, since other code and debug info may refer to them.
+				AbstractInsnNode instruction = start;
+				while(instruction != call) {
+					AbstractInsnNode next = instruction.getNext();
+					if(instruction.getOpcode() >= 0) method.instructions.remove(instruction);
+					instruction = next;
+				}
+
+				//A block holding only the debug call would leave two stack map frames at one offset, which is not allowed, so it keeps a NOP.
+				if(isBetweenFrames(call)) method.instructions.set(call, new InsnNode(Opcodes.NOP));
+				else method.instructions.remove(call);
+			} else {
+				InsnList discard = new InsnList();
+				for(int i = arguments.length - 1; i >= 0; i--) {
+					discard.add(new InsnNode(arguments[i].getSize() == 2 ? Opcodes.POP2 : Opcodes.POP));
+				}
+				discard.add(new InsnNode(Opcodes.POP));
+				method.instructions.insert(call, discard);
+				method.instructions.remove(call);
+			}
+		}
+		return calls.size();
+	}
+
+	private static boolean isBetweenFrames(AbstractInsnNode instruction) {
+		AbstractInsnNode previous = instruction.getPrevious();
+		while(previous != null && previous.getOpcode() < 0 && !(previous instanceof FrameNode)) {
+			previous = previous.getPrevious();
+		}
+		AbstractInsnNode next = instruction.getNext();
+		while(next != null && next.getOpcode() < 0 && !(next instanceof FrameNode)) {
+			next = next.getNext();
+		}
+		return previous instanceof FrameNode && next instanceof FrameNode;
+	}
+
+	private boolean isDebugCall(MethodInsnNode call) {
+		if(stripIndicators && call.owner.equals("battlecode/common/RobotController")) {
+			return call.name.equals("setIndicatorDot") || call.name.equals("setIndicatorLine");
+		}
+		if(stripPrinting && call.owner.equals("java/io/PrintStream")) {
+			return call.name.equals("println") || call.name.equals("print");
+		}
+		return false;
+	}
+
+	/**
+	 * Whether a call made while computing a debug call's arguments can be removed along with it
+	 * @param call
+	 * @return
+	 */
+	private static boolean isPureCall(MethodInsnNode call) {
+		switch(call.owner) {
+			case "battlecode/common/MapLocation":
+			case "battlecode/common/Direction":
+			case "java/lang/String":
+			case "java/lang/StringBuilder":
+			case "java/lang/Integer":
+			case "java/lang/Math":
+				return !call.name.equals("random");
+			case "battlecode/common/RobotController":
+				return call.name.startsWith("get") || call.name.startsWith("is") || call.name.equals("adjacentLocation") || call.name.equals("onTheMap");
+			default:
+				return false;
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+package optimizer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+/**
+ * Helpers shared by the optimizer's passes.
+ */
+public class Instructions {
+
+	/**
+	 * @param method
+	 * @return The method's instructions, leaving out labels, line numbers and frames
+	 */
+	public static AbstractInsnNode[] real(MethodNode method) {
+		List<AbstractInsnNode> real = new ArrayList<>();
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction.getOpcode() >= 0) real.add(instruction);
+		}
+		return real.toArray(new AbstractInsnNode[0]);
+	}
+
+	/**
+	 * @param method
+	 * @return Number of instructions in the method, leaving out labels, line numbers and frames
+	 */
+	public static int count(MethodNode method) {
+		int count = 0;
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction.getOpcode() >= 0) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @param method
+	 * @return Number of method calls in the method
+	 */
+	public static int countCalls(MethodNode method) {
+		int count = 0;
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction instanceof MethodInsnNode) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the labels that code can arrive at other than by falling through, or that bound an exception handler's range
+	 * @param method
+	 * @return
+	 */
+	public static Set<LabelNode> getBoundaries(MethodNode method) {
+		Set<LabelNode> boundaries = new HashSet<>();
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction instanceof JumpInsnNode) {
+				boundaries.add(((JumpInsnNode) instruction).label);
+			} else if(instruction instanceof TableSwitchInsnNode) {
+				boundaries.add(((TableSwitchInsnNode) instruction).dflt);
+				boundaries.addAll(((TableSwitchInsnNode) instruction).labels);
+			} else if(instruction instanceof LookupSwitchInsnNode) {
+				boundaries.add(((LookupSwitchInsnNode) instruction).dflt);
+				boundaries.addAll(((LookupSwitchInsnNode) instruction).labels);
+			}
+		}
+		for(TryCatchBlockNode block : method.tryCatchBlocks) {
+			boundaries.add(block.start);
+			boundaries.add(block.end);
+			boundaries.add(block.handler);
+		}
+		return boundaries;
+	}
+
+	/**
+	 * Finds the code that computes the operands of an instruction, if that code runs straight through without side effects, so that it can be removed or evaluated along with the instruction.
+	 * Walks back from the instruction until the values it takes off the stack have all been pushed.
+	 * @param consumer
+	 * @param operands Number of stack values the instruction takes
+	 * @param boundaries Labels the code must not span, from getBoundaries
+	 * @param pureCall Which method calls are free of side effects
+	 * @return The first instruction of the code, or null if there is no such code
+	 */
+	public static AbstractInsnNode findOperandStart(AbstractInsnNode consumer, int operands, Set<LabelNode> boundaries, Predicate<MethodInsnNode> pureCall) {
+		int needed = operands;
+		for(AbstractInsnNode instruction = consumer.getPrevious(); instruction != null; instruction = instruction.getPrevious()) {
+			if(instruction instanceof LabelNode) {
+				if(boundaries.contains(instruction)) return null;
+				continue;
+			}
+			if(instruction instanceof FrameNode) return null;
+			if(instruction.getOpcode() < 0) continue; //Line numbers
+
+			int[] effect = getStackEffect(instruction, pureCall);
+			if(effect == null || effect[1] > needed) return null;
+			needed += effect[0] - effect[1];
+			if(needed == 0) return instruction;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns how many stack values an instruction without side effects takes and leaves, counting longs and doubles as one value
+	 * @param instruction
+	 * @param pureCall Which method calls are free of side effects
+	 * @return {taken, left}, or null if the instruction has side effects or changes control flow
+	 */
+	private static int[] getStackEffect(AbstractInsnNode instruction, Predicate<MethodInsnNode> pureCall) {
+		int opcode = instruction.getOpcode();
+		if(opcode >= Opcodes.ACONST_NULL && opcode <= Opcodes.LDC) return new int[] {0, 1};
+		if(opcode >= Opcodes.ILOAD && opcode <= Opcodes.ALOAD) return new int[] {0, 1};
+		if(opcode >= Opcodes.IALOAD && opcode <= Opcodes.SALOAD) return new int[] {2, 1};
+		if(opcode >= Opcodes.IADD && opcode <= Opcodes.DREM) return new int[] {2, 1};
+		if(opcode >= Opcodes.INEG && opcode <= Opcodes.DNEG) return new int[] {1, 1};
+		if(opcode >= Opcodes.ISHL && opcode <= Opcodes.LXOR) return new int[] {2, 1};
+		if(opcode >= Opcodes.I2L && opcode <= Opcodes.I2S) return new int[] {1, 1};
+		if(opcode >= Opcodes.LCMP && opcode <= Opcodes.DCMPG) return new int[] {2, 1};
+
+		switch(opcode) {
+			case Opcodes.POP:
+				return new int[] {1, 0};
+			case Opcodes.DUP:
+				return new int[] {1, 2};
+			case Opcodes.GETSTATIC:
+			case Opcodes.NEW:
+				return new int[] {0, 1};
+			case Opcodes.GETFIELD:
+			case Opcodes.NEWARRAY:
+			case Opcodes.ANEWARRAY:
+			case Opcodes.ARRAYLENGTH:
+			case Opcodes.CHECKCAST:
+			case Opcodes.INSTANCEOF:
+				return new int[] {1, 1};
+			case Opcodes.INVOKEVIRTUAL:
+			case Opcodes.INVOKESPECIAL:
+			case Opcodes.INVOKESTATIC:
+			case Opcodes.INVOKEINTERFACE:
+				MethodInsnNode call = (MethodInsnNode) instruction;
+				if(!pureCall.test(call)) return null;
+				int taken = Type.getArgumentTypes(call.desc).length + (opcode == Opcodes.INVOKESTATIC ? 0 : 1);
+				return new int[] {taken, Type.getReturnType(call.desc) == Type.VOID_TYPE ? 0 : 1};
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Returns the shortest instruction that pushes a constant
+	 * @param value An Integer, Long, Float, Double or String
+	 * @return
+	 */
+	public static AbstractInsnNode push(Object value) {
+		if(value instanceof Integer) {
+			int i = (Integer) value;
+			if(i >= -1 && i <= 5) return new InsnNode(Opcodes.ICONST_0 + i);
+			if(i >= Byte.MIN_VALUE && i <= Byte.MAX_VALUE) return new IntInsnNode(Opcodes.BIPUSH, i);
+			if(i >= Short.MIN_VALUE && i <= Short.MAX_VALUE) return new IntInsnNode(Opcodes.SIPUSH, i);
+		} else if(value instanceof Long) {
+			long l = (Long) value;
+			if(l == 0 || l == 1) return new InsnNode(Opcodes.LCONST_0 + (int) l);
+		} else if(value instanceof Float) {
+			float f = (Float) value;
+			if(f == 0 && Float.floatToRawIntBits(f) == 0 || f == 1 || f == 2) return new InsnNode(Opcodes.FCONST_0 + (int) f);
+		} else if(value instanceof Double) {
+			double d = (Double) value;
+			if(d == 0 && Double.doubleToRawLongBits(d) == 0 || d == 1) return new InsnNode(Opcodes.DCONST_0 + (int) d);
+		}
+		return new LdcInsnNode(value);
+	}
+
+}
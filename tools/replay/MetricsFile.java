@@ -0,0 +1,194 @@
+package replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A compact columnar file of per-round replay metrics.
+ *
+ * <pre>
+ * file    := MAGIC version:int columnCount:int columnName:UTF* chunk*
+ * chunk   := length:int replayName:UTF winner:byte rounds:int column*   (length counts the bytes after itself)
+ * column  := varint*                                                   (one per round, zigzag encoded differences from the previous round)
+ * </pre>
+ *
+ * Consecutive rounds differ little, so most values take a single byte. Each chunk carries its length so readers can skip replays without decoding them.
+ */
+public class MetricsFile {
+
+	public static final int MAGIC = 0x42435233; //"BCR3"
+	public static final int VERSION = 1;
+
+	/**
+	 * Appends replays to a metrics file. Chunks are encoded by the caller's thread and written whole, so several threads may share a writer.
+	 */
+	public static class Writer implements AutoCloseable {
+
+		private final DataOutputStream out;
+		private final int columnCount;
+
+		public Writer(OutputStream out, String[] columnNames) throws IOException {
+			this.out = new DataOutputStream(out);
+			this.columnCount = columnNames.length;
+			this.out.writeInt(MAGIC);
+			this.out.writeInt(VERSION);
+			this.out.writeInt(columnNames.length);
+			for(String name : columnNames) {
+				this.out.writeUTF(name);
+			}
+		}
+
+		/**
+		 * @param replayName
+		 * @param winner 'A', 'B' or '?' if the replay has no result
+		 * @param columns Values by column, then by round. Every column must hold at least the given number of rounds.
+		 * @param rounds
+		 * @throws IOException
+		 */
+		public void write(String replayName, char winner, int[][] columns, int rounds) throws IOException {
+			if(columns.length != columnCount) throw new IllegalArgumentException("Expected " + columnCount + " columns, got " + columns.length);
+
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + rounds * columnCount);
+			DataOutputStream chunk = new DataOutputStream(buffer);
+			chunk.writeUTF(replayName);
+			chunk.writeByte(winner);
+			chunk.writeInt(rounds);
+			for(int[] column : columns) {
+				int previous = 0;
+				for(int i = 0; i < rounds; i++) {
+					writeVarint(chunk, zigzag(column[i] - previous));
+					previous = column[i];
+				}
+			}
+
+			synchronized(this) {
+				out.writeInt(buffer.size());
+				buffer.writeTo(out);
+			}
+		}
+
+		@Override
+		public synchronized void close() throws IOException {
+			out.close();
+		}
+
+	}
+
+	/**
+	 * One replay read back from a metrics file.
+	 */
+	public static class Chunk {
+		public String replayName;
+		public char winner;
+		public int rounds;
+		public int[][] columns;
+	}
+
+	/**
+	 * Reads a metrics file one replay at a time.
+	 */
+	public static class Reader implements AutoCloseable {
+
+		private final DataInputStream in;
+		private final String[] columnNames;
+
+		public Reader(InputStream in) throws IOException {
+			this.in = new DataInputStream(in);
+			if(this.in.readInt() != MAGIC) throw new IOException("Not a replay metrics file");
+			int version = this.in.readInt();
+			if(version != VERSION) throw new IOException("Unsupported metrics file version " + version);
+
+			this.columnNames = new String[this.in.readInt()];
+			for(int i = 0; i < columnNames.length; i++) {
+				columnNames[i] = this.in.readUTF();
+			}
+		}
+
+		public String[] getColumnNames() {
+			return columnNames;
+		}
+
+		/**
+		 * @return The next replay, or null at the end of the file
+		 * @throws IOException
+		 */
+		public Chunk next() throws IOException {
+			try {
+				in.readInt(); //Length, only needed to skip
+			} catch(EOFException e) {
+				return null;
+			}
+
+			Chunk chunk = new Chunk();
+			chunk.replayName = in.readUTF();
+			chunk.winner = (char) in.readByte();
+			chunk.rounds = in.readInt();
+			chunk.columns = new int[columnNames.length][chunk.rounds];
+			for(int[] column : chunk.columns) {
+				int previous = 0;
+				for(int i = 0; i < chunk.rounds; i++) {
+					previous += unzigzag(readVarint(in));
+					column[i] = previous;
+				}
+			}
+			return chunk;
+		}
+
+		/**
+		 * Skips the next replay without decoding it.
+		 * @return False at the end of the file
+		 * @throws IOException
+		 */
+		public boolean skip() throws IOException {
+			int length;
+			try {
+				length = in.readInt();
+			} catch(EOFException e) {
+				return false;
+			}
+			while(length > 0) {
+				int skipped = in.skipBytes(length);
+				if(skipped == 0) throw new EOFException();
+				length -= skipped;
+			}
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeVarint(DataOutputStream out, int value) throws IOException {
+		while((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarint(DataInputStream in) throws IOException {
+		int value = 0;
+		for(int shift = 0; ; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if((b & 0x80) == 0) return value;
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Extracts per-round metrics from many replays into one metrics file, or prints a metrics file as CSV.
+ * Each replay's metrics are named after its path as found from the arguments, so pass directories relative to a common root to get comparable names.
+ * Each worker owns one ReplayScanner, so memory stays bounded by a handful of replays however many are read.
+ *
+ * Usage: ReplayAnalyzer scan <metrics file> <replay or directory>... [workers=<n>]
+ *        ReplayAnalyzer dump <metrics file>
+ */
+public class ReplayAnalyzer {
+
+	public static void main(String[] args) throws Exception {
+		if(args.length >= 3 && args[0].equals("scan")) {
+			scan(args);
+		} else if(args.length == 2 && args[0].equals("dump")) {
+			dump(Paths.get(args[1]), System.out);
+		} else {
+			System.err.println("Usage: ReplayAnalyzer scan <metrics file> <replay or directory>... [workers=<n>]");
+			System.err.println("       ReplayAnalyzer dump <metrics file>");
+			System.exit(1);
+		}
+	}
+
+	private static void scan(String[] args) throws Exception {
+		Path output = Paths.get(args[1]);
+		int workers = Runtime.getRuntime().availableProcessors();
+		List<Path> replays = new ArrayList<>();
+		for(int i = 2; i < args.length; i++) {
+			if(args[i].startsWith("workers=")) {
+				workers = Integer.parseInt(args[i].substring("workers=".length()));
+				continue;
+			}
+			try(Stream<Path> files = Files.walk(Paths.get(args[i]))) {
+				files.filter(file -> file.toString().endsWith(".bc20")).forEach(replays::add);
+			}
+		}
+
+		long start = System.nanoTime();
+		AtomicInteger failures = new AtomicInteger();
+		ThreadLocal<ReplayScanner> scanners = ThreadLocal.withInitial(ReplayScanner::new);
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		try(MetricsFile.Writer writer = new MetricsFile.Writer(new BufferedOutputStream(Files.newOutputStream(output)), ReplayScanner.COLUMN_NAMES)) {
+			List<Future<?>> results = new ArrayList<>();
+			for(Path replay : replays) {
+				results.add(pool.submit(() -> {
+					try {
+						scanners.get().scan(replay, writer);
+					} catch(IOException | RuntimeException e) {
+						//A truncated or foreign file should not stop the batch.
+						failures.incrementAndGet();
+						System.err.println(replay + ": " + e);
+					}
+				}));
+			}
+			for(Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Scanned %d replays (%d failed) into %s in %.1fs%n", replays.size(), failures.get(), output, seconds);
+	}
+
+	/**
+	 * Prints a metrics file as CSV, one line per replay and round.
+	 * @param file
+	 * @param out
+	 * @throws IOException
+	 */
+	public static void dump(Path file, PrintStream out) throws IOException {
+		try(MetricsFile.Reader reader = new MetricsFile.Reader(new BufferedInputStream(Files.newInputStream(file)))) {
+			out.println("replay,winner," + String.join(",", reader.getColumnNames()));
+
+			MetricsFile.Chunk chunk;
+			StringBuilder line = new StringBuilder();
+			while((chunk = reader.next()) != null) {
+				for(int round = 0; round < chunk.rounds; round++) {
+					line.setLength(0);
+					line.append(chunk.replayName).append(',').append(chunk.winner);
+					for(int[] column : chunk.columns) {
+						line.append(',').append(column[round]);
+					}
+					out.println(line);
+				}
+			}
+		}
+	}
+
+}
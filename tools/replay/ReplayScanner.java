@@ -0,0 +1,281 @@
+package replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import battlecode.common.GameConstants;
+import battlecode.common.RobotType;
+import battlecode.schema.BodyType;
+import battlecode.schema.Event;
+import battlecode.schema.EventWrapper;
+import battlecode.schema.GameMap;
+import battlecode.schema.GameWrapper;
+import battlecode.schema.MatchFooter;
+import battlecode.schema.MatchHeader;
+import battlecode.schema.Round;
+import battlecode.schema.SpawnedBodyTable;
+import battlecode.schema.Vec;
+import battlecode.schema.VecTable;
+
+/**
+ * Extracts per-round metrics from replays, one replay at a time.
+ * A replay is a single gzipped flatbuffer, so it has to be decompressed whole, but it is decompressed into a buffer that is reused for the next replay,
+ * and the rounds are walked in place through reused flatbuffer accessors. A scanner's memory is therefore bounded by the largest replay it has read, however many it reads.
+ * Scanners are not thread safe. Use one per thread.
+ */
+public class ReplayScanner {
+
+	private static final RobotType[] TYPES = RobotType.values();
+	private static final int WALL_RING = 2; //Chebyshev distance of the wall julianbot builds around its HQ
+	private static final int MAX_ROBOT_ID = 1 << 16;
+	private static final int NO_TEAM = -1;
+
+	//COLUMNS
+	public static final int ROUND = 0;
+	public static final int FLOODED_TILES = 1;
+	private static final int TEAM_COLUMNS_START = 2;
+	private static final int SOUP = 0; //Offsets within a team's columns
+	private static final int UNITS = 1;
+	private static final int WALL_MIN = UNITS + TYPES.length;
+	private static final int COLUMNS_PER_TEAM = WALL_MIN + 1;
+	public static final String[] COLUMN_NAMES = columnNames();
+
+	//BUFFERS
+	private byte[] replay = new byte[1 << 20];
+	private int[][] columns = new int[COLUMN_NAMES.length][GameConstants.GAME_MAX_NUMBER_OF_ROUNDS];
+	private int rounds;
+
+	//ACCESSORS
+	private final GameWrapper game = new GameWrapper();
+	private final EventWrapper event = new EventWrapper();
+	private final MatchHeader matchHeader = new MatchHeader();
+	private final MatchFooter matchFooter = new MatchFooter();
+	private final Round roundEvent = new Round();
+	private final GameMap map = new GameMap();
+	private final SpawnedBodyTable bodies = new SpawnedBodyTable();
+	private final VecTable locations = new VecTable();
+	private final Vec corner = new Vec();
+
+	//MATCH STATE
+	private int minX;
+	private int minY;
+	private int width;
+	private int height;
+	private int[] dirt = new int[64 * 64];
+	private boolean[] flooded = new boolean[64 * 64];
+	private int floodedTiles;
+	private final byte[] teamById = new byte[MAX_ROBOT_ID];
+	private final byte[] typeById = new byte[MAX_ROBOT_ID];
+	private final int[] teamSoup = new int[2];
+	private final int[][] unitCounts = new int[2][TYPES.length];
+	private final int[] hqX = new int[2];
+	private final int[] hqY = new int[2];
+
+	private static String[] columnNames() {
+		String[] names = new String[TEAM_COLUMNS_START + 2 * COLUMNS_PER_TEAM];
+		names[ROUND] = "round";
+		names[FLOODED_TILES] = "floodedTiles";
+		String[] teams = {"A", "B"};
+		for(int team = 0; team < 2; team++) {
+			int start = TEAM_COLUMNS_START + team * COLUMNS_PER_TEAM;
+			names[start + SOUP] = teams[team] + ".soup";
+			for(int type = 0; type < TYPES.length; type++) {
+				names[start + UNITS + type] = teams[team] + "." + TYPES[type];
+			}
+			names[start + WALL_MIN] = teams[team] + ".wallMin";
+		}
+		return names;
+	}
+
+	/**
+	 * Reads a replay and writes one chunk of metrics for each match in it.
+	 * Chunks are named after the replay's path as given, not just its file name, so that replays with the same name in different directories stay apart.
+	 * @param file
+	 * @param writer
+	 * @throws IOException
+	 */
+	public void scan(Path file, MetricsFile.Writer writer) throws IOException {
+		int length = decompress(file);
+		GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(replay, 0, length), game);
+
+		String name = file.normalize().toString().replace(File.separatorChar, '/');
+		int match = 0;
+		boolean inMatch = false;
+		for(int i = 0; i < game.eventsLength(); i++) {
+			game.events(event, i);
+			switch(event.eType()) {
+				case Event.MatchHeader:
+					event.e(matchHeader);
+					beginMatch(matchHeader.map(map));
+					inMatch = true;
+					break;
+				case Event.Round:
+					if(!inMatch) break;
+					event.e(roundEvent);
+					readRound(roundEvent);
+					break;
+				case Event.MatchFooter:
+					event.e(matchFooter);
+					writer.write(match++ == 0 ? name : name + "#" + match, matchFooter.winner() == 1 ? 'A' : 'B', columns, rounds);
+					inMatch = false;
+					break;
+				default:
+					break;
+			}
+		}
+
+		//A match cut short has no footer, and so no winner.
+		if(inMatch) writer.write(match == 0 ? name : name + "#" + (match + 1), '?', columns, rounds);
+	}
+
+	private int decompress(Path file) throws IOException {
+		try(InputStream in = new GZIPInputStream(Files.newInputStream(file), 1 << 16)) {
+			int length = 0;
+			int read;
+			while((read = in.read(replay, length, replay.length - length)) != -1) {
+				length += read;
+				if(length == replay.length) replay = Arrays.copyOf(replay, replay.length * 2);
+			}
+			return length;
+		}
+	}
+
+	private void beginMatch(GameMap map) {
+		map.minCorner(corner);
+		minX = (int) corner.x();
+		minY = (int) corner.y();
+		map.maxCorner(corner);
+		width = (int) corner.x() - minX;
+		height = (int) corner.y() - minY;
+
+		int tiles = width * height;
+		if(dirt.length < tiles) {
+			dirt = new int[tiles];
+			flooded = new boolean[tiles];
+		}
+		floodedTiles = 0;
+		for(int i = 0; i < tiles; i++) {
+			dirt[i] = i < map.dirtLength() ? map.dirt(i) : 0;
+			flooded[i] = i < map.waterLength() && map.water(i);
+			if(flooded[i]) floodedTiles++;
+		}
+
+		Arrays.fill(teamById, (byte) NO_TEAM);
+		Arrays.fill(teamSoup, 0);
+		for(int[] counts : unitCounts) {
+			Arrays.fill(counts, 0);
+		}
+		Arrays.fill(hqX, -1);
+		Arrays.fill(hqY, -1);
+		rounds = 0;
+
+		spawn(map.bodies(bodies));
+	}
+
+	private void readRound(Round round) {
+		spawn(round.spawnedBodies(bodies));
+
+		for(int i = 0; i < round.diedIDsLength(); i++) {
+			int id = round.diedIDs(i);
+			if(id < 0 || id >= MAX_ROBOT_ID || teamById[id] == NO_TEAM) continue;
+			unitCounts[teamById[id]][typeById[id]]--;
+			teamById[id] = NO_TEAM;
+		}
+
+		if(round.dirtChangedLocs(locations) != null) {
+			for(int i = 0; i < round.dirtChangesLength(); i++) {
+				int tile = tileIndex(locations.xs(i), locations.ys(i));
+				if(tile >= 0) dirt[tile] += round.dirtChanges(i);
+			}
+		}
+
+		if(round.waterChangedLocs(locations) != null) {
+			for(int i = 0; i < round.waterChangesLength(); i++) {
+				int tile = tileIndex(locations.xs(i), locations.ys(i));
+				//Water only ever rises, so any change to a dry tile floods it.
+				if(tile >= 0 && !flooded[tile] && round.waterChanges(i) > 0) {
+					flooded[tile] = true;
+					floodedTiles++;
+				}
+			}
+		}
+
+		if(rounds == columns[0].length) {
+			for(int c = 0; c < columns.length; c++) {
+				columns[c] = Arrays.copyOf(columns[c], rounds * 2);
+			}
+		}
+
+		for(int i = 0; i < round.teamIDsLength(); i++) {
+			int team = round.teamIDs(i) - 1;
+			if(team == 0 || team == 1) teamSoup[team] = round.teamSoups(i);
+		}
+
+		int row = rounds++;
+		columns[ROUND][row] = round.roundID();
+		columns[FLOODED_TILES][row] = floodedTiles;
+		for(int team = 0; team < 2; team++) {
+			int start = TEAM_COLUMNS_START + team * COLUMNS_PER_TEAM;
+			columns[start + SOUP][row] = teamSoup[team];
+			for(int type = 0; type < TYPES.length; type++) {
+				columns[start + UNITS + type][row] = unitCounts[team][type];
+			}
+			columns[start + WALL_MIN][row] = lowestWallElevation(team);
+		}
+	}
+
+	private void spawn(SpawnedBodyTable spawned) {
+		if(spawned == null) return;
+		spawned.locs(locations);
+		for(int i = 0; i < spawned.robotIDsLength(); i++) {
+			int id = spawned.robotIDs(i);
+			int team = spawned.teamIDs(i) - 1; //Team A is 1, team B is 2, and neutral robots are 0
+			if(id < 0 || id >= MAX_ROBOT_ID || team < 0 || team > 1) continue;
+
+			int type = RobotType.valueOf(BodyType.name(spawned.types(i))).ordinal();
+			teamById[id] = (byte) team;
+			typeById[id] = (byte) type;
+			unitCounts[team][type]++;
+			if(TYPES[type] == RobotType.HQ) {
+				hqX[team] = locations.xs(i) - minX;
+				hqY[team] = locations.ys(i) - minY;
+			}
+		}
+	}
+
+	private int tileIndex(int x, int y) {
+		x -= minX;
+		y -= minY;
+		if(x < 0 || x >= width || y < 0 || y >= height) return -1;
+		return y * width + x;
+	}
+
+	/**
+	 * @param team
+	 * @return The lowest dirt on the ring of tiles where the wall around the team's HQ is built, or -1 if the HQ is unknown
+	 */
+	private int lowestWallElevation(int team) {
+		int centerX = hqX[team];
+		int centerY = hqY[team];
+		if(centerX < 0) return -1;
+
+		int lowest = Integer.MAX_VALUE;
+		for(int dx = -WALL_RING; dx <= WALL_RING; dx++) {
+			for(int dy = -WALL_RING; dy <= WALL_RING; dy += (dx == -WALL_RING || dx == WALL_RING) ? 1 : 2 * WALL_RING) {
+				int x = centerX + dx;
+				int y = centerY + dy;
+				if(x < 0 || x >= width || y < 0 || y >= height) continue;
+				int elevation = dirt[y * width + x];
+				if(elevation < lowest) lowest = elevation;
+			}
+		}
+		return lowest == Integer.MAX_VALUE ? -1 : lowest;
+	}
+
+}
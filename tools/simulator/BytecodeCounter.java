@@ -0,0 +1,122 @@
+package simulator;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+/**
+ * Adds bytecode counting to player classes, in the way the engine's instrumenter does.
+ * Every instruction costs one bytecode. Instructions are counted along each straight run of code, and the run is charged to BytecodeProfile just before control can leave it:
+ * before a jump, switch, return, throw or method call, and before falling through into a label that something jumps to.
+ * Unlike the engine, calls into library code only cost the call instruction.
+ * Every player class is instrumented, including helpers in other packages compiled alongside the player, so their bytecodes are charged to the robot that calls them.
+ */
+public class BytecodeCounter implements PlayerClasses.ClassTransformer {
+
+	private static final String PROFILE = BytecodeProfile.class.getName().replace('.', '/');
+
+	private final BytecodeProfile profile;
+
+	public BytecodeCounter(BytecodeProfile profile) {
+		this.profile = profile;
+	}
+
+	@Override
+	public byte[] transform(String className, byte[] classFile) {
+		ClassNode node = new ClassNode();
+		new ClassReader(classFile).accept(node, 0);
+
+		for(MethodNode method : node.methods) {
+			if(method.instructions.size() == 0) continue; //Abstract or native
+			instrument(method, profile.registerMethod(className + "." + method.name));
+		}
+
+		//No jumps are added, so the existing stack map frames stay valid and only the maximum stack size needs recomputing.
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		node.accept(writer);
+		return writer.toByteArray();
+	}
+
+	private void instrument(MethodNode method, int methodId) {
+		Set<LabelNode> targets = getJumpTargets(method);
+		InsnList instructions = method.instructions;
+
+		int pending = 0;
+		for(AbstractInsnNode instruction = instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction instanceof LabelNode) {
+				if(pending > 0 && targets.contains(instruction)) {
+					instructions.insertBefore(instruction, charge(methodId, pending));
+					pending = 0;
+				}
+				continue;
+			}
+			if(instruction.getOpcode() < 0) continue; //Line numbers and frames are not instructions
+
+			pending++;
+			if(endsRun(instruction)) {
+				instructions.insertBefore(instruction, charge(methodId, pending));
+				pending = 0;
+			}
+		}
+	}
+
+	private static Set<LabelNode> getJumpTargets(MethodNode method) {
+		Set<LabelNode> targets = new HashSet<>();
+		for(AbstractInsnNode instruction = method.instructions.getFirst(); instruction != null; instruction = instruction.getNext()) {
+			if(instruction instanceof JumpInsnNode) {
+				targets.add(((JumpInsnNode) instruction).label);
+			} else if(instruction instanceof TableSwitchInsnNode) {
+				targets.add(((TableSwitchInsnNode) instruction).dflt);
+				targets.addAll(((TableSwitchInsnNode) instruction).labels);
+			} else if(instruction instanceof LookupSwitchInsnNode) {
+				targets.add(((LookupSwitchInsnNode) instruction).dflt);
+				targets.addAll(((LookupSwitchInsnNode) instruction).labels);
+			}
+		}
+		for(TryCatchBlockNode block : method.tryCatchBlocks) {
+			targets.add(block.handler);
+		}
+		return targets;
+	}
+
+	private static boolean endsRun(AbstractInsnNode instruction) {
+		if(instruction instanceof JumpInsnNode || instruction instanceof TableSwitchInsnNode || instruction instanceof LookupSwitchInsnNode) return true;
+		if(instruction instanceof MethodInsnNode || instruction instanceof InvokeDynamicInsnNode) return true;
+
+		int opcode = instruction.getOpcode();
+		return (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN) || opcode == Opcodes.ATHROW;
+	}
+
+	private static InsnList charge(int methodId, int bytecodes) {
+		InsnList charge = new InsnList();
+		charge.add(pushInt(methodId));
+		charge.add(pushInt(bytecodes));
+		charge.add(new MethodInsnNode(Opcodes.INVOKESTATIC, PROFILE, "charge", "(II)V", false));
+		return charge;
+	}
+
+	private static AbstractInsnNode pushInt(int value) {
+		if(value >= -1 && value <= 5) return new InsnNode(Opcodes.ICONST_0 + value);
+		if(value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) return new IntInsnNode(Opcodes.BIPUSH, value);
+		if(value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) return new IntInsnNode(Opcodes.SIPUSH, value);
+		return new LdcInsnNode(value);
+	}
+
+}
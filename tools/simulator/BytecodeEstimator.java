@@ -0,0 +1,41 @@
+package simulator;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Plays a match in the simulator with bytecode counting added to both players, then reports how much of its bytecode limit each robot type used per turn and which methods used it.
+ * Usage: BytecodeEstimator <map file> <team A package> <team B package> [rounds] [methods listed per robot type]
+ */
+public class BytecodeEstimator {
+
+	private static final int DEFAULT_TOP_METHODS = 15;
+
+	public static void main(String[] args) throws Exception {
+		if(args.length < 3) {
+			System.err.println("Usage: BytecodeEstimator <map file> <team A package> <team B package> [rounds] [methods listed per robot type]");
+			System.exit(1);
+		}
+
+		Path mapFile = Paths.get(args[0]);
+		int maxRounds = args.length > 3 ? Integer.parseInt(args[3]) : Integer.MAX_VALUE;
+		int topMethods = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_TOP_METHODS;
+
+		BytecodeProfile profile = new BytecodeProfile();
+		profile.activate();
+		BytecodeCounter counter = new BytecodeCounter(profile);
+		ClassLoader parent = BytecodeEstimator.class.getClassLoader();
+		SimulatedWorld world = TextMap.load(mapFile, new PlayerClasses(args[1], parent, counter), new PlayerClasses(args[2], parent, counter));
+		world.setProfile(profile);
+
+		while(!world.isOver() && world.getRound() < maxRounds) {
+			world.runRound();
+		}
+		world.shutdown();
+
+		System.out.println("Map " + mapFile.getFileName() + ": " + args[1] + " (A) vs " + args[2] + " (B), " + world.getRound() + " rounds");
+		System.out.println();
+		profile.print(System.out, topMethods);
+	}
+
+}
@@ -0,0 +1,192 @@
+package simulator;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import battlecode.common.RobotType;
+
+/**
+ * Bytecodes spent in every turn by each player's robot types, and within those turns by each instrumented method.
+ * Classes instrumented by BytecodeCounter call charge, which also charges SimClock, so robots are paused at their limit as in the engine.
+ * Only one robot runs at a time, so the turn in progress is kept in a single set of counters and folded into the statistics when the turn ends.
+ */
+public class BytecodeProfile {
+
+	private static final int BUCKETS = 24; //Powers of two, up to 2^23 bytecodes in a turn
+	private static BytecodeProfile active;
+
+	//METHODS
+	private final Map<String, Integer> methodIds = new HashMap<>();
+	private final List<String> methodNames = new ArrayList<>();
+
+	//TURN IN PROGRESS
+	private int[] turnBytecodes = new int[64]; //By method
+	private int[] touched = new int[64]; //Methods charged this turn
+	private int touchedCount;
+
+	private final Map<String, UnitStats> units = new TreeMap<>();
+
+	/**
+	 * Bytecodes used in each turn by one robot type of one player.
+	 */
+	private static class UnitStats {
+		final RobotType type;
+		int[] turns = new int[256];
+		int turnCount;
+		int turnsOverLimit;
+		Map<Integer, MethodStats> methods = new HashMap<>();
+
+		UnitStats(RobotType type) {
+			this.type = type;
+		}
+
+		void addTurn(int bytecodes) {
+			if(turnCount == turns.length) turns = Arrays.copyOf(turns, turnCount * 2);
+			turns[turnCount++] = bytecodes;
+			if(bytecodes >= type.bytecodeLimit) turnsOverLimit++;
+		}
+	}
+
+	/**
+	 * Bytecodes one method used in each turn it ran, as a histogram with power of two buckets.
+	 */
+	private static class MethodStats {
+		final String name;
+		int turns;
+		long total;
+		int max;
+		final int[] buckets = new int[BUCKETS];
+
+		MethodStats(String name) {
+			this.name = name;
+		}
+
+		void addTurn(int bytecodes) {
+			turns++;
+			total += bytecodes;
+			if(bytecodes > max) max = bytecodes;
+			int bucket = 32 - Integer.numberOfLeadingZeros(bytecodes - 1);
+			buckets[bucket < BUCKETS ? bucket : BUCKETS - 1]++;
+		}
+	}
+
+	/**
+	 * Makes this the profile that instrumented classes charge to.
+	 */
+	public void activate() {
+		active = this;
+	}
+
+	/**
+	 * Called by instrumented code at the end of each straight run of instructions.
+	 * @param methodId
+	 * @param bytecodes
+	 */
+	public static void charge(int methodId, int bytecodes) {
+		//Charge first: if this crosses the limit, the robot is paused and these bytecodes belong to its next turn.
+		SimClock.charge(bytecodes);
+		BytecodeProfile profile = active;
+		if(profile != null) profile.record(methodId, bytecodes);
+	}
+
+	private void record(int methodId, int bytecodes) {
+		if(turnBytecodes[methodId] == 0) {
+			if(touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+			touched[touchedCount++] = methodId;
+		}
+		turnBytecodes[methodId] += bytecodes;
+	}
+
+	synchronized int registerMethod(String name) {
+		Integer id = methodIds.get(name);
+		if(id != null) return id;
+
+		id = methodNames.size();
+		methodIds.put(name, id);
+		methodNames.add(name);
+		if(id == turnBytecodes.length) turnBytecodes = Arrays.copyOf(turnBytecodes, id * 2);
+		return id;
+	}
+
+	/**
+	 * Folds the turn a robot just took into its player's statistics for its type.
+	 * @param robot
+	 */
+	void endTurn(SimulatedRobot robot) {
+		String key = robot.getPlayer().getPlayerPackage() + " " + robot.type;
+		UnitStats unit = units.get(key);
+		if(unit == null) {
+			unit = new UnitStats(robot.type);
+			units.put(key, unit);
+		}
+		unit.addTurn(robot.getBytecodeNum());
+
+		for(int i = 0; i < touchedCount; i++) {
+			int methodId = touched[i];
+			MethodStats method = unit.methods.get(methodId);
+			if(method == null) {
+				method = new MethodStats(methodNames.get(methodId));
+				unit.methods.put(methodId, method);
+			}
+			method.addTurn(turnBytecodes[methodId]);
+			turnBytecodes[methodId] = 0;
+		}
+		touchedCount = 0;
+	}
+
+	/**
+	 * Prints, for each player and robot type, how close its turns came to the bytecode limit and the methods that used the most.
+	 * @param out
+	 * @param topMethods Methods to list for each robot type
+	 */
+	public void print(PrintStream out, int topMethods) {
+		for(Map.Entry<String, UnitStats> entry : units.entrySet()) {
+			UnitStats unit = entry.getValue();
+			int[] turns = Arrays.copyOf(unit.turns, unit.turnCount);
+			Arrays.sort(turns);
+			int limit = unit.type.bytecodeLimit;
+			int p99 = percentile(turns, 99);
+
+			out.println(entry.getKey() + " (limit " + limit + ")");
+			out.printf("  %d turns, %.1f%% over the limit%n", turns.length, 100.0 * unit.turnsOverLimit / turns.length);
+			out.printf("  per turn: p50 %d, p90 %d, p99 %d, max %d%n", percentile(turns, 50), percentile(turns, 90), p99, turns[turns.length - 1]);
+			out.printf("  headroom at p99: %d bytecodes (%.1f%%)%n", limit - p99, 100.0 * (limit - p99) / limit);
+
+			List<MethodStats> methods = new ArrayList<>(unit.methods.values());
+			methods.sort((a, b) -> Long.compare(b.total, a.total));
+			long unitTotal = 0;
+			for(MethodStats method : methods) {
+				unitTotal += method.total;
+			}
+
+			out.println("  methods by own bytecodes (share, turns run, mean and max per turn, then turns per bucket of at most 2^k):");
+			for(int i = 0; i < topMethods && i < methods.size(); i++) {
+				MethodStats method = methods.get(i);
+				out.printf("    %-60s %5.1f%% %7d %8d %8d  %s%n", method.name, 100.0 * method.total / unitTotal, method.turns, method.total / method.turns, method.max, histogram(method.buckets));
+			}
+			out.println();
+		}
+	}
+
+	private static int percentile(int[] sorted, int percent) {
+		if(sorted.length == 0) return 0;
+		int index = (sorted.length * percent + 99) / 100 - 1;
+		return sorted[index < 0 ? 0 : index];
+	}
+
+	private static String histogram(int[] buckets) {
+		StringBuilder histogram = new StringBuilder();
+		for(int k = 0; k < buckets.length; k++) {
+			if(buckets[k] == 0) continue;
+			if(histogram.length() > 0) histogram.append(' ');
+			histogram.append(k).append(':').append(buckets[k]);
+		}
+		return histogram.toString();
+	}
+
+}
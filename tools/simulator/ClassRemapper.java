@@ -0,0 +1,111 @@
+package simulator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Renames a class referenced by compiled class files.
+ * Only the constant pool is rewritten: class references and descriptors name classes through its UTF8 entries, and everything after the pool is copied unchanged.
+ */
+public class ClassRemapper {
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_INTERFACE_METHODREF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+	private final String from;
+	private final String to;
+	private final String fromDescriptor;
+	private final String toDescriptor;
+
+	/**
+	 * @param from Internal name of the class to replace, e.g. "battlecode/common/Clock"
+	 * @param to Internal name of its replacement
+	 */
+	public ClassRemapper(String from, String to) {
+		this.from = from;
+		this.to = to;
+		this.fromDescriptor = "L" + from + ";";
+		this.toDescriptor = "L" + to + ";";
+	}
+
+	public byte[] remap(byte[] classFile) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(classFile.length + 64);
+		DataOutputStream out = new DataOutputStream(buffer);
+
+		out.writeInt(in.readInt());     //Magic
+		out.writeShort(in.readUnsignedShort()); //Minor version
+		out.writeShort(in.readUnsignedShort()); //Major version
+
+		int poolCount = in.readUnsignedShort();
+		out.writeShort(poolCount);
+		for(int i = 1; i < poolCount; i++) {
+			int tag = in.readUnsignedByte();
+			out.writeByte(tag);
+			switch(tag) {
+				case CONSTANT_UTF8:
+					out.writeUTF(rename(in.readUTF()));
+					break;
+				case CONSTANT_CLASS:
+				case CONSTANT_STRING:
+				case CONSTANT_METHOD_TYPE:
+				case CONSTANT_MODULE:
+				case CONSTANT_PACKAGE:
+					out.writeShort(in.readUnsignedShort());
+					break;
+				case CONSTANT_METHOD_HANDLE:
+					out.writeByte(in.readUnsignedByte());
+					out.writeShort(in.readUnsignedShort());
+					break;
+				case CONSTANT_INTEGER:
+				case CONSTANT_FLOAT:
+				case CONSTANT_FIELDREF:
+				case CONSTANT_METHODREF:
+				case CONSTANT_INTERFACE_METHODREF:
+				case CONSTANT_NAME_AND_TYPE:
+				case CONSTANT_DYNAMIC:
+				case CONSTANT_INVOKE_DYNAMIC:
+					out.writeInt(in.readInt());
+					break;
+				case CONSTANT_LONG:
+				case CONSTANT_DOUBLE:
+					out.writeLong(in.readLong());
+					i++; //Eight byte constants take up two pool slots.
+					break;
+				default:
+					throw new IOException("Unknown constant pool tag " + tag);
+			}
+		}
+
+		byte[] rest = new byte[in.available()];
+		in.readFully(rest);
+		out.write(rest);
+		out.flush();
+		return buffer.toByteArray();
+	}
+
+	private String rename(String value) {
+		if(value.equals(from)) return to;
+		if(value.indexOf(fromDescriptor) >= 0) return value.replace(fromDescriptor, toDescriptor);
+		return value;
+	}
+
+}
@@ -0,0 +1,206 @@
+package simulator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.GameActionExceptionType;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotInfo;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+
+/**
+ * Implements RobotController for one simulated robot.
+ * Calls are dispatched by method name rather than by implementing the interface directly, so the simulator keeps compiling as the engine adds methods.
+ * Methods the simulator does not know about throw UnsupportedOperationException when called.
+ */
+public class ControllerHandler implements InvocationHandler {
+
+	private final SimulatedWorld world;
+	private final SimulatedRobot self;
+
+	public ControllerHandler(SimulatedWorld world, SimulatedRobot self) {
+		this.world = world;
+		this.self = self;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if(method.getDeclaringClass() == Object.class) {
+			switch(method.getName()) {
+				case "equals":   return proxy == args[0];
+				case "hashCode": return self.id;
+				default:         return "RobotController[" + self.type + "#" + self.id + "]";
+			}
+		}
+
+		self.checkTerminated();
+		SimClock.charge(SimClock.CONTROLLER_CALL_COST); //Charges self when called from its own thread, and nothing otherwise
+		Object result = dispatch(method.getName(), args == null ? new Object[0] : args);
+		return convert(result, method.getReturnType());
+	}
+
+	private Object dispatch(String name, Object[] args) throws GameActionException {
+		switch(name) {
+			//STATUS
+			case "getRoundNum":                  return world.getRound();
+			case "getTeamSoup":                  return world.getTeamSoup(self.team);
+			case "getMapWidth":                  return world.getWidth();
+			case "getMapHeight":                 return world.getHeight();
+			case "getID":                        return self.id;
+			case "getTeam":                      return self.team;
+			case "getType":                      return self.type;
+			case "getLocation":                  return self.location;
+			case "getSoupCarrying":              return self.soupCarrying;
+			case "getDirtCarrying":              return self.dirtCarrying;
+			case "isCurrentlyHoldingUnit":       return self.heldRobot != null;
+			case "getCooldownTurns":             return self.cooldownTurns;
+			case "isReady":                      return self.cooldownTurns < 1;
+			case "getCurrentSensorRadiusSquared": return self.type.sensorRadiusSquared;
+			case "getRobotCount":                return countRobots();
+
+			//SENSING
+			case "onTheMap":                     return onTheMap((MapLocation) args[0]);
+			case "canSenseLocation":             return world.canSense(self, (MapLocation) args[0]);
+			case "canSenseRadiusSquared":        return (Integer) args[0] <= self.type.sensorRadiusSquared;
+			case "isLocationOccupied":           return senseRobotAtLocation((MapLocation) args[0]) != null;
+			case "senseRobotAtLocation":         return senseRobotAtLocation((MapLocation) args[0]);
+			case "canSenseRobot":                return senseRobot((Integer) args[0]) != null;
+			case "senseRobot":                   return requireRobot(senseRobot((Integer) args[0]), (Integer) args[0]);
+			case "senseNearbyRobots":            return senseNearbyRobots(args);
+			case "senseNearbySoup":              return senseNearbySoup(args);
+			case "senseSoup":                    return world.getSoup(sensed((MapLocation) args[0]));
+			case "sensePollution":               sensed((MapLocation) args[0]); return 0;
+			case "senseElevation":               return world.getElevation(sensed((MapLocation) args[0]));
+			case "senseFlooding":                return world.isFlooded(sensed((MapLocation) args[0]));
+			case "adjacentLocation":             return self.location.add((Direction) args[0]);
+
+			//ACTIONS
+			case "canMove":                      return world.canMove(self, (Direction) args[0]);
+			case "move":                         world.move(self, (Direction) args[0]); return null;
+			case "canBuildRobot":                return world.canBuildRobot(self, (RobotType) args[0], (Direction) args[1]);
+			case "buildRobot":                   world.buildRobot(self, (RobotType) args[0], (Direction) args[1]); return null;
+			case "canMineSoup":                  return world.canMineSoup(self, (Direction) args[0]);
+			case "mineSoup":                     world.mineSoup(self, (Direction) args[0]); return null;
+			case "canDepositSoup":               return world.canDepositSoup(self, (Direction) args[0]);
+			case "depositSoup":                  world.depositSoup(self, (Direction) args[0], (Integer) args[1]); return null;
+			case "canDigDirt":                   return world.canDigDirt(self, (Direction) args[0]);
+			case "digDirt":                      world.digDirt(self, (Direction) args[0]); return null;
+			case "canDepositDirt":               return world.canDepositDirt(self, (Direction) args[0]);
+			case "depositDirt":                  world.depositDirt(self, (Direction) args[0]); return null;
+			case "canPickUpUnit":                return world.canPickUpUnit(self, (Integer) args[0]);
+			case "pickUpUnit":                   world.pickUpUnit(self, (Integer) args[0]); return null;
+			case "canDropUnit":                  return world.canDropUnit(self, (Direction) args[0]);
+			case "dropUnit":                     world.dropUnit(self, (Direction) args[0]); return null;
+			case "canShootUnit":                 return world.canShootUnit(self, (Integer) args[0]);
+			case "shootUnit":                    world.shootUnit(self, (Integer) args[0]); return null;
+			case "disintegrate":                 world.killRobot(self); return null;
+			case "resign":                       world.resign(self); return null;
+
+			//BLOCKCHAIN
+			case "canSubmitTransaction":         return world.canSubmitTransaction(self, (int[]) args[0], (Integer) args[1]);
+			case "submitTransaction":            world.submitTransaction(self, (int[]) args[0], (Integer) args[1]); return null;
+			case "getBlock":
+			case "getRoundMessages":             return world.getBlock((Integer) args[0]);
+
+			//DEBUG
+			case "setIndicatorDot":
+			case "setIndicatorLine":
+			case "setIndicatorDebugString":      return null;
+
+			default:
+				throw new UnsupportedOperationException("The simulator does not support RobotController." + name);
+		}
+	}
+
+	private boolean onTheMap(MapLocation location) throws GameActionException {
+		if(!world.canSense(self, location) && world.onTheMap(location)) throw new GameActionException(GameActionExceptionType.CANT_SENSE_THAT, "Cannot sense " + location);
+		return world.onTheMap(location);
+	}
+
+	private MapLocation sensed(MapLocation location) throws GameActionException {
+		world.assertCanSense(self, location);
+		return location;
+	}
+
+	private RobotInfo senseRobotAtLocation(MapLocation location) throws GameActionException {
+		SimulatedRobot robot = world.getRobotAt(sensed(location));
+		return robot == null ? null : robot.toRobotInfo();
+	}
+
+	private RobotInfo senseRobot(int id) {
+		SimulatedRobot robot = world.getRobot(id);
+		if(robot == null || robot.held || !world.canSense(self, robot.location)) return null;
+		return robot.toRobotInfo();
+	}
+
+	private RobotInfo requireRobot(RobotInfo robot, int id) throws GameActionException {
+		if(robot == null) throw new GameActionException(GameActionExceptionType.CANT_SENSE_THAT, "Cannot sense robot " + id);
+		return robot;
+	}
+
+	/**
+	 * Handles every overload: (), (radiusSquared), (radiusSquared, team) and (center, radiusSquared, team).
+	 * A radius of -1 means the whole sensor radius, and a null team means both teams.
+	 */
+	private RobotInfo[] senseNearbyRobots(Object[] args) {
+		MapLocation center = args.length == 3 ? (MapLocation) args[0] : self.location;
+		int radiusSquared = args.length == 0 ? -1 : (Integer) args[args.length == 3 ? 1 : 0];
+		Team team = args.length >= 2 ? (Team) args[args.length - 1] : null;
+		if(radiusSquared < 0 || radiusSquared > self.type.sensorRadiusSquared) radiusSquared = self.type.sensorRadiusSquared;
+
+		List<RobotInfo> sensed = new ArrayList<>();
+		for(SimulatedRobot robot : world.getRobots()) {
+			if(robot == self || !robot.alive || robot.held) continue;
+			if(team != null && robot.team != team) continue;
+			if(center.distanceSquaredTo(robot.location) > radiusSquared || !world.canSense(self, robot.location)) continue;
+			sensed.add(robot.toRobotInfo());
+		}
+		return sensed.toArray(new RobotInfo[sensed.size()]);
+	}
+
+	/**
+	 * Handles every overload: (), (radiusSquared) and (center, radiusSquared).
+	 */
+	private MapLocation[] senseNearbySoup(Object[] args) {
+		MapLocation center = args.length == 2 ? (MapLocation) args[0] : self.location;
+		int radiusSquared = args.length == 0 ? -1 : (Integer) args[args.length - 1];
+		if(radiusSquared < 0 || radiusSquared > self.type.sensorRadiusSquared) radiusSquared = self.type.sensorRadiusSquared;
+
+		int reach = (int) Math.sqrt(radiusSquared);
+		List<MapLocation> sensed = new ArrayList<>();
+		for(int dx = -reach; dx <= reach; dx++) {
+			for(int dy = -reach; dy <= reach; dy++) {
+				if(dx * dx + dy * dy > radiusSquared) continue;
+				MapLocation location = center.translate(dx, dy);
+				if(world.canSense(self, location) && world.getSoup(location) > 0) sensed.add(location);
+			}
+		}
+		return sensed.toArray(new MapLocation[sensed.size()]);
+	}
+
+	private int countRobots() {
+		int count = 0;
+		for(SimulatedRobot robot : world.getRobots()) {
+			if(robot.alive && robot.team == self.team) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Converts numeric results to the primitive type the interface declares, since the engine has switched some between float and double.
+	 */
+	private static Object convert(Object result, Class<?> returnType) {
+		if(!(result instanceof Number)) return result;
+		Number number = (Number) result;
+		if(returnType == float.class) return number.floatValue();
+		if(returnType == double.class) return number.doubleValue();
+		if(returnType == int.class) return number.intValue();
+		return result;
+	}
+
+}
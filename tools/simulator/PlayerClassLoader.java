@@ -0,0 +1,32 @@
+package simulator;
+
+/**
+ * Loads one robot's copy of a player, as the engine does, so that static fields are not shared between robots.
+ * Player classes, which include helpers from other packages compiled alongside the player, are defined by this loader from the prepared class files in PlayerClasses.
+ * Everything else comes from the parent.
+ */
+public class PlayerClassLoader extends ClassLoader {
+
+	private final PlayerClasses classes;
+
+	public PlayerClassLoader(PlayerClasses classes) {
+		super(classes.getParent());
+		this.classes = classes;
+	}
+
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		if(!classes.isPlayerClass(name)) return super.loadClass(name, resolve);
+
+		synchronized(getClassLoadingLock(name)) {
+			Class<?> loaded = findLoadedClass(name);
+			if(loaded == null) {
+				byte[] classFile = classes.getClassFile(name);
+				loaded = defineClass(name, classFile, 0, classFile.length);
+			}
+			if(resolve) resolveClass(loaded);
+			return loaded;
+		}
+	}
+
+}
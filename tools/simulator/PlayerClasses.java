@@ -0,0 +1,128 @@
+package simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import battlecode.common.RobotController;
+
+/**
+ * The class files of one player, read from the parent class loader and prepared for the simulator once, then shared by every robot of that player.
+ * Preparing a class remaps Clock to SimClock and then applies the optional transformer.
+ *
+ * As in the engine, which loads the whole team classpath for each robot, every class found in the same directory or jar as the player's RobotPlayer is a player class,
+ * including those of other packages the player uses, such as julianbot.utils used by clonebot.
+ */
+public class PlayerClasses {
+
+	private static final ClassRemapper CLOCK_REMAPPER = new ClassRemapper("battlecode/common/Clock", SimClock.class.getName().replace('.', '/'));
+
+	/**
+	 * Rewrites player class files after Clock has been remapped, e.g. to add bytecode counting.
+	 */
+	public interface ClassTransformer {
+		byte[] transform(String className, byte[] classFile) throws IOException;
+	}
+
+	private final String playerPackage;
+	private final String packagePrefix;
+	private final ClassLoader parent;
+	private final ClassTransformer transformer;
+	private final Map<String, byte[]> classFiles;
+	private final Map<String, Boolean> playerClasses; //Whether each class name looked up so far is a player class
+	private String classRoot; //Location of the player's classes, e.g. "file:/.../build/classes/"
+
+	public PlayerClasses(String playerPackage, ClassLoader parent, ClassTransformer transformer) {
+		this.playerPackage = playerPackage;
+		this.packagePrefix = playerPackage + ".";
+		this.parent = parent;
+		this.transformer = transformer;
+		this.classFiles = new HashMap<>();
+		this.playerClasses = new HashMap<>();
+	}
+
+	public String getPlayerPackage() {
+		return playerPackage;
+	}
+
+	public ClassLoader getParent() {
+		return parent;
+	}
+
+	/**
+	 * @param name
+	 * @return Whether the class comes from the same directory or jar as the player's RobotPlayer
+	 */
+	public synchronized boolean isPlayerClass(String name) {
+		if(name.startsWith(packagePrefix)) return true;
+		if(name.startsWith("java.") || name.startsWith("battlecode.")) return false;
+
+		Boolean playerClass = playerClasses.get(name);
+		if(playerClass == null) {
+			URL location = parent.getResource(name.replace('.', '/') + ".class");
+			playerClass = location != null && location.toString().startsWith(getClassRoot());
+			playerClasses.put(name, playerClass);
+		}
+		return playerClass;
+	}
+
+	private String getClassRoot() {
+		if(classRoot == null) {
+			String robotPlayer = packagePrefix.replace('.', '/') + "RobotPlayer.class";
+			URL location = parent.getResource(robotPlayer);
+			if(location == null) throw new IllegalStateException("No " + robotPlayer + " on the classpath");
+			String path = location.toString();
+			classRoot = path.substring(0, path.length() - robotPlayer.length());
+		}
+		return classRoot;
+	}
+
+	/**
+	 * Loads a fresh copy of the player and runs RobotPlayer.run for one robot. Returns when the player's run method does.
+	 * @param rc
+	 * @throws Throwable Whatever the player's run method threw
+	 */
+	public void runPlayer(RobotController rc) throws Throwable {
+		try {
+			Class<?> robotPlayer = new PlayerClassLoader(this).loadClass(packagePrefix + "RobotPlayer");
+			Method run = robotPlayer.getMethod("run", RobotController.class);
+			run.invoke(null, rc);
+		} catch(InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	synchronized byte[] getClassFile(String name) throws ClassNotFoundException {
+		byte[] classFile = classFiles.get(name);
+		if(classFile == null) {
+			classFile = prepare(name);
+			classFiles.put(name, classFile);
+		}
+		return classFile;
+	}
+
+	private byte[] prepare(String name) throws ClassNotFoundException {
+		String path = name.replace('.', '/') + ".class";
+		try(InputStream in = parent.getResourceAsStream(path)) {
+			if(in == null) throw new ClassNotFoundException(name);
+
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			byte[] chunk = new byte[8192];
+			int read;
+			while((read = in.read(chunk)) != -1) {
+				buffer.write(chunk, 0, read);
+			}
+
+			byte[] classFile = CLOCK_REMAPPER.remap(buffer.toByteArray());
+			return transformer == null ? classFile : transformer.transform(name, classFile);
+		} catch(IOException e) {
+			throw new ClassNotFoundException(name, e);
+		}
+	}
+
+}
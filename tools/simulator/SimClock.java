@@ -0,0 +1,46 @@
+package simulator;
+
+/**
+ * Stands in for battlecode.common.Clock inside player classes loaded by the simulator.
+ * PlayerClassLoader rewrites every reference to Clock into a reference to this class, so a yield hands control back to the simulator instead of the engine.
+ *
+ * Bytecodes are only counted where something calls charge. The controller charges every call made through it, and instrumented classes charge as they run.
+ */
+public final class SimClock {
+
+	public static final int CONTROLLER_CALL_COST = 1; //Charged for each controller or clock call, so budgeted loops still terminate in uninstrumented classes.
+
+	private static final ThreadLocal<SimulatedRobot> CURRENT = new ThreadLocal<>();
+
+	private SimClock() {}
+
+	static void bind(SimulatedRobot robot) {
+		CURRENT.set(robot);
+	}
+
+	public static void yield() {
+		CURRENT.get().yieldTurn();
+	}
+
+	public static int getBytecodesLeft() {
+		SimulatedRobot robot = CURRENT.get();
+		robot.charge(CONTROLLER_CALL_COST);
+		return robot.getBytecodesLeft();
+	}
+
+	public static int getBytecodeNum() {
+		SimulatedRobot robot = CURRENT.get();
+		robot.charge(CONTROLLER_CALL_COST);
+		return robot.getBytecodeNum();
+	}
+
+	/**
+	 * Charges bytecodes to the robot running on this thread. If that exceeds its limit, the robot is paused until its next turn, as in the engine.
+	 * @param bytecodes
+	 */
+	public static void charge(int bytecodes) {
+		SimulatedRobot robot = CURRENT.get();
+		if(robot != null) robot.charge(bytecodes);
+	}
+
+}
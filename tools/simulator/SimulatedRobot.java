@@ -0,0 +1,154 @@
+package simulator;
+
+import java.util.concurrent.Semaphore;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.RobotInfo;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+
+/**
+ * A robot in the simulated world, and the thread its player runs on.
+ * As in the engine, the player's run method never returns between turns. Yielding blocks the robot's thread and wakes the simulator, and the next turn wakes the robot's thread again, so exactly one of them is running at a time.
+ */
+public class SimulatedRobot {
+
+	/**
+	 * Thrown into a robot's thread to unwind it when the robot dies or the simulation ends.
+	 * It is an Error so that players' catch(Exception) blocks do not swallow it.
+	 */
+	static class Terminated extends Error {
+		private static final long serialVersionUID = 1L;
+
+		Terminated() {
+			super(null, null, false, false);
+		}
+	}
+
+	//STATE
+	final int id;
+	final Team team;
+	final RobotType type;
+	MapLocation location;
+	int soupCarrying;
+	int dirtCarrying; //For buildings, the dirt piled on top of them
+	double cooldownTurns;
+	SimulatedRobot heldRobot;
+	boolean held;
+	boolean alive;
+
+	//THREAD
+	private final SimulatedWorld world;
+	private final PlayerClasses player;
+	private Thread thread;
+	private final Semaphore turnStart = new Semaphore(0);
+	private final Semaphore turnEnd = new Semaphore(0);
+	private volatile boolean terminated;
+	private int bytecodesUsed;
+	private Throwable failure;
+
+	//STATISTICS
+	int turnsTaken;
+	int turnsOverLimit;
+
+	SimulatedRobot(SimulatedWorld world, PlayerClasses player, int id, Team team, RobotType type, MapLocation location) {
+		this.world = world;
+		this.player = player;
+		this.id = id;
+		this.team = team;
+		this.type = type;
+		this.location = location;
+		this.alive = true;
+	}
+
+	/**
+	 * Runs the robot until it yields, runs out of bytecode, or dies. Called from the simulator thread.
+	 */
+	void takeTurn() {
+		if(!alive) return;
+		turnsTaken++;
+		bytecodesUsed = 0;
+
+		if(thread == null) {
+			RobotController controller = world.createController(this);
+			thread = new Thread(() -> runPlayer(controller), type + "#" + id);
+			thread.setDaemon(true);
+			thread.start();
+		} else {
+			turnStart.release();
+		}
+		turnEnd.acquireUninterruptibly();
+	}
+
+	private void runPlayer(RobotController controller) {
+		SimClock.bind(this);
+		try {
+			player.runPlayer(controller);
+		} catch(Terminated e) {
+			//The robot died or the simulation ended.
+		} catch(Throwable t) {
+			failure = t;
+		} finally {
+			if(!terminated) {
+				//The player returned or threw during its own turn, which kills the robot, as in the engine.
+				alive = false;
+				world.removeDeadRobot(this);
+				turnEnd.release();
+			}
+		}
+	}
+
+	/**
+	 * Ends the current turn. Called from the robot's thread.
+	 */
+	void yieldTurn() {
+		turnEnd.release();
+		turnStart.acquireUninterruptibly();
+		if(terminated) throw new Terminated();
+	}
+
+	/**
+	 * Unwinds the robot's thread without waiting for it. Called when the robot dies outside of its own turn, or when the simulation ends.
+	 */
+	void terminate() {
+		if(thread == null || terminated) return;
+		if(Thread.currentThread() == thread) throw new Terminated(); //Dying during its own turn, so runPlayer ends the turn as it unwinds.
+		terminated = true;
+		turnStart.release();
+	}
+
+	void checkTerminated() {
+		if(terminated) throw new Terminated();
+	}
+
+	void charge(int bytecodes) {
+		bytecodesUsed += bytecodes;
+		if(bytecodesUsed >= type.bytecodeLimit) {
+			turnsOverLimit++;
+			yieldTurn();
+			bytecodesUsed = bytecodes;
+		}
+	}
+
+	int getBytecodesLeft() {
+		return type.bytecodeLimit - bytecodesUsed;
+	}
+
+	int getBytecodeNum() {
+		return bytecodesUsed;
+	}
+
+	PlayerClasses getPlayer() {
+		return player;
+	}
+
+	RobotInfo toRobotInfo() {
+		return new RobotInfo(id, team, type, soupCarrying, heldRobot != null, heldRobot == null ? -1 : heldRobot.id, dirtCarrying, (float) cooldownTurns, location);
+	}
+
+	public Throwable getFailure() {
+		return failure;
+	}
+
+}
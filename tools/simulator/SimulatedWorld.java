@@ -0,0 +1,487 @@
+package simulator;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.GameActionExceptionType;
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotController;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+import battlecode.common.Transaction;
+
+/**
+ * The state and rules of a simulated match.
+ * The rules follow the engine closely enough to exercise our players, but leave out pollution, refinery throughput, cows and tiebreakers.
+ */
+public class SimulatedWorld {
+
+	public static final int PASSIVE_SOUP_INCOME = 1; //Soup each team receives every round.
+	private static final int FIRST_ROBOT_ID = 10000;
+
+	//MAP
+	private final int width;
+	private final int height;
+	private final int[][] elevation;
+	private final int[][] soup;
+	private final boolean[][] flooded;
+	private final SimulatedRobot[][] robotAt;
+
+	//ROBOTS
+	private final List<SimulatedRobot> robots = new ArrayList<>(); //In turn order
+	private final Map<Integer, SimulatedRobot> robotsById = new HashMap<>();
+	private final PlayerClasses[] players = new PlayerClasses[2];
+	private int nextId = FIRST_ROBOT_ID;
+
+	//TEAMS
+	private final int[] teamSoup = new int[2];
+	private Team winner;
+
+	//BLOCKCHAIN
+	private final List<Transaction[]> blocks = new ArrayList<>(); //Indexed by round
+	private final List<Transaction> transactionPool = new ArrayList<>();
+	private int transactionsSubmitted;
+
+	private int round;
+	private long robotTurns;
+	private BytecodeProfile profile;
+
+	public SimulatedWorld(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.elevation = new int[width][height];
+		this.soup = new int[width][height];
+		this.flooded = new boolean[width][height];
+		this.robotAt = new SimulatedRobot[width][height];
+		this.blocks.add(new Transaction[0]); //There is no round zero.
+		Arrays.fill(teamSoup, GameConstants.INITIAL_SOUP);
+	}
+
+	//SETUP
+	public void setPlayer(Team team, PlayerClasses player) {
+		players[team.ordinal()] = player;
+	}
+
+	public void setElevation(int x, int y, int value) {
+		elevation[x][y] = value;
+	}
+
+	public void setSoup(int x, int y, int value) {
+		soup[x][y] = value;
+	}
+
+	public void setFlooded(int x, int y, boolean value) {
+		flooded[x][y] = value;
+	}
+
+	/**
+	 * Records the bytecodes of every turn taken from now on in the given profile.
+	 * @param profile
+	 */
+	public void setProfile(BytecodeProfile profile) {
+		this.profile = profile;
+	}
+
+	public SimulatedRobot spawn(RobotType type, Team team, MapLocation location) {
+		SimulatedRobot robot = new SimulatedRobot(this, players[team.ordinal()], nextId++, team, type, location);
+		robot.cooldownTurns = round == 0 ? 0 : GameConstants.INITIAL_COOLDOWN_TURNS; //Robots placed by the map start ready.
+		robots.add(robot);
+		robotsById.put(robot.id, robot);
+		robotAt[location.x][location.y] = robot;
+		return robot;
+	}
+
+	/**
+	 * Sets the current round without playing the rounds before it.
+	 * @param round
+	 */
+	public void setRound(int round) {
+		this.round = round;
+	}
+
+	/**
+	 * Moves a robot to the given location and clears its cooldown without giving it a turn.
+	 * Lets benchmarks replay the same move from the same position.
+	 * @param robot
+	 * @param location
+	 */
+	public void place(SimulatedRobot robot, MapLocation location) {
+		if(robotAt[robot.location.x][robot.location.y] == robot) robotAt[robot.location.x][robot.location.y] = null;
+		robotAt[location.x][location.y] = robot;
+		robot.location = location;
+		robot.cooldownTurns = 0;
+	}
+
+	/**
+	 * Creates the controller a robot's player is given.
+	 * Calls are only metered on the robot's own thread, so benchmarks may also drive player code through it directly.
+	 * @param robot
+	 * @return
+	 */
+	public RobotController createController(SimulatedRobot robot) {
+		return (RobotController) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {RobotController.class}, new ControllerHandler(this, robot));
+	}
+
+	//ROUNDS
+	/**
+	 * Gives every robot one turn, in the order they were created, then settles the blockchain, income and flooding.
+	 */
+	public void runRound() {
+		round++;
+
+		for(SimulatedRobot robot : new ArrayList<>(robots)) {
+			if(winner != null) break;
+			if(!robot.alive) continue;
+
+			robot.cooldownTurns = robot.cooldownTurns > 1 ? robot.cooldownTurns - 1 : 0;
+			robot.takeTurn();
+			robotTurns++;
+			if(profile != null) profile.endTurn(robot);
+		}
+		robots.removeIf(robot -> !robot.alive);
+
+		mineBlock();
+		for(int i = 0; i < teamSoup.length; i++) {
+			teamSoup[i] += PASSIVE_SOUP_INCOME;
+		}
+		spreadFlooding();
+		drownRobots();
+	}
+
+	public boolean isOver() {
+		return winner != null || round >= GameConstants.GAME_MAX_NUMBER_OF_ROUNDS;
+	}
+
+	/**
+	 * Unwinds every robot's thread. Should be called once the simulation is finished with.
+	 */
+	public void shutdown() {
+		for(SimulatedRobot robot : robots) {
+			robot.terminate();
+		}
+	}
+
+	private void mineBlock() {
+		transactionPool.sort((a, b) -> b.getCost() != a.getCost() ? b.getCost() - a.getCost() : a.getNum() - b.getNum());
+		int included = Math.min(transactionPool.size(), GameConstants.NUMBER_OF_TRANSACTIONS_PER_BLOCK);
+		List<Transaction> block = transactionPool.subList(0, included);
+		blocks.add(block.toArray(new Transaction[included]));
+		block.clear();
+	}
+
+	private void spreadFlooding() {
+		double waterLevel = getWaterLevel(round);
+		int[] queue = new int[width * height];
+		int head = 0, tail = 0;
+		for(int x = 0; x < width; x++) {
+			for(int y = 0; y < height; y++) {
+				if(flooded[x][y]) queue[tail++] = x * height + y;
+			}
+		}
+
+		while(head < tail) {
+			int tile = queue[head++];
+			int x = tile / height;
+			int y = tile % height;
+			for(Direction direction : Direction.allDirections()) {
+				int nx = x + direction.getDeltaX();
+				int ny = y + direction.getDeltaY();
+				if(nx < 0 || ny < 0 || nx >= width || ny >= height || flooded[nx][ny] || elevation[nx][ny] >= waterLevel) continue;
+				flooded[nx][ny] = true;
+				queue[tail++] = nx * height + ny;
+			}
+		}
+	}
+
+	private void drownRobots() {
+		for(SimulatedRobot robot : new ArrayList<>(robots)) {
+			if(robot.alive && !robot.held && !robot.type.canFly() && flooded[robot.location.x][robot.location.y]) killRobot(robot);
+		}
+		robots.removeIf(robot -> !robot.alive);
+	}
+
+	static double getWaterLevel(int round) {
+		return Math.exp(0.0028 * round - 1.38 * Math.sin(0.00157 * round - 1.73) + 1.38 * Math.sin(-1.73)) - 1;
+	}
+
+	//DEATH
+	void killRobot(SimulatedRobot robot) {
+		removeDeadRobot(robot);
+		robot.terminate();
+	}
+
+	/**
+	 * Removes a robot from the map. The robot's thread is left alone, so this is also used when a player's run method ends on its own.
+	 * @param robot
+	 */
+	void removeDeadRobot(SimulatedRobot robot) {
+		if(robot.alive) robot.alive = false;
+		if(!robot.held && robotAt[robot.location.x][robot.location.y] == robot) robotAt[robot.location.x][robot.location.y] = null;
+
+		SimulatedRobot cargo = robot.heldRobot;
+		if(cargo != null) {
+			robot.heldRobot = null;
+			cargo.held = false;
+			if(robotAt[robot.location.x][robot.location.y] == null) robotAt[robot.location.x][robot.location.y] = cargo;
+			else killRobot(cargo);
+		}
+
+		if(robot.type == RobotType.HQ && winner == null) winner = robot.team.opponent();
+	}
+
+	//SENSING
+	boolean onTheMap(MapLocation location) {
+		return location.x >= 0 && location.y >= 0 && location.x < width && location.y < height;
+	}
+
+	boolean canSense(SimulatedRobot self, MapLocation location) {
+		return onTheMap(location) && self.location.distanceSquaredTo(location) <= self.type.sensorRadiusSquared;
+	}
+
+	void assertCanSense(SimulatedRobot self, MapLocation location) throws GameActionException {
+		if(!canSense(self, location)) throw new GameActionException(GameActionExceptionType.CANT_SENSE_THAT, "Cannot sense " + location);
+	}
+
+	SimulatedRobot getRobotAt(MapLocation location) {
+		return robotAt[location.x][location.y];
+	}
+
+	SimulatedRobot getRobot(int id) {
+		SimulatedRobot robot = robotsById.get(id);
+		return robot != null && robot.alive ? robot : null;
+	}
+
+	List<SimulatedRobot> getRobots() {
+		return robots;
+	}
+
+	int getElevation(MapLocation location) {
+		return elevation[location.x][location.y];
+	}
+
+	int getSoup(MapLocation location) {
+		return soup[location.x][location.y];
+	}
+
+	boolean isFlooded(MapLocation location) {
+		return flooded[location.x][location.y];
+	}
+
+	//ACTIONS
+	private boolean canAct(SimulatedRobot self) {
+		return self.cooldownTurns < 1 && !self.held;
+	}
+
+	private MapLocation target(SimulatedRobot self, Direction direction) {
+		return self.location.add(direction);
+	}
+
+	boolean canMove(SimulatedRobot self, Direction direction) {
+		if(!self.type.canMove() || !canAct(self) || direction == Direction.CENTER) return false;
+		MapLocation target = target(self, direction);
+		if(!onTheMap(target) || getRobotAt(target) != null) return false;
+		return self.type.canFly() || Math.abs(getElevation(target) - getElevation(self.location)) <= GameConstants.MAX_DIRT_DIFFERENCE;
+	}
+
+	void move(SimulatedRobot self, Direction direction) throws GameActionException {
+		require(canMove(self, direction), GameActionExceptionType.CANT_MOVE_THERE, "Cannot move " + direction);
+		MapLocation target = target(self, direction);
+		robotAt[self.location.x][self.location.y] = null;
+		robotAt[target.x][target.y] = self;
+		self.location = target;
+		if(self.heldRobot != null) self.heldRobot.location = target;
+		self.cooldownTurns += self.type.actionCooldown;
+	}
+
+	boolean canBuildRobot(SimulatedRobot self, RobotType type, Direction direction) {
+		if(type.spawnSource != self.type || !canAct(self) || teamSoup[self.team.ordinal()] < type.cost) return false;
+		MapLocation target = target(self, direction);
+		return onTheMap(target) && getRobotAt(target) == null;
+	}
+
+	void buildRobot(SimulatedRobot self, RobotType type, Direction direction) throws GameActionException {
+		require(canBuildRobot(self, type, direction), GameActionExceptionType.CANT_DO_THAT, "Cannot build " + type + " " + direction);
+		teamSoup[self.team.ordinal()] -= type.cost;
+		spawn(type, self.team, target(self, direction));
+		self.cooldownTurns += self.type.actionCooldown;
+	}
+
+	boolean canMineSoup(SimulatedRobot self, Direction direction) {
+		if(self.type != RobotType.MINER || !canAct(self) || self.soupCarrying >= self.type.soupLimit) return false;
+		MapLocation target = target(self, direction);
+		return onTheMap(target) && getSoup(target) > 0;
+	}
+
+	void mineSoup(SimulatedRobot self, Direction direction) throws GameActionException {
+		require(canMineSoup(self, direction), GameActionExceptionType.CANT_DO_THAT, "Cannot mine " + direction);
+		MapLocation target = target(self, direction);
+		int amount = Math.min(GameConstants.SOUP_MINING_RATE, Math.min(getSoup(target), self.type.soupLimit - self.soupCarrying));
+		soup[target.x][target.y] -= amount;
+		self.soupCarrying += amount;
+		self.cooldownTurns += self.type.actionCooldown;
+	}
+
+	boolean canDepositSoup(SimulatedRobot self, Direction direction) {
+		if(self.type != RobotType.MINER || !canAct(self) || self.soupCarrying == 0) return false;
+		MapLocation target = target(self, direction);
+		if(!onTheMap(target)) return false;
+		SimulatedRobot building = getRobotAt(target);
+		return building != null && building.team == self.team && (building.type == RobotType.REFINERY || building.type == RobotType.HQ);
+	}
+
+	void depositSoup(SimulatedRobot self, Direction direction, int amount) throws GameActionException {
+		require(canDepositSoup(self, direction) && amount > 0 && amount <= self.soupCarrying, GameActionExceptionType.CANT_DO_THAT, "Cannot deposit " + amount + " soup " + direction);
+		self.soupCarrying -= amount;
+		teamSoup[self.team.ordinal()] += amount;
+		self.cooldownTurns += self.type.actionCooldown;
+	}
+
+	boolean canDigDirt(SimulatedRobot self, Direction direction) {
+		if(self.type != RobotType.LANDSCAPER || !canAct(self) || self.dirtCarrying >= self.type.dirtLimit) return false;
+		MapLocation target = target(self, direction);
+		if(!onTheMap(target)) return false;
+		SimulatedRobot building = getRobotAt(target);
+		return building == null || !building.type.isBuilding() || building.dirtCarrying > 0;
+	}
+
+	void digDirt(SimulatedRobot self, Direction direction) throws GameActionException {
+		require(canDigDirt(self, direction), GameActionExceptionType.CANT_DO_THAT, "Cannot dig " + direction);
+		MapLocation target = target(self, direction);
+		SimulatedRobot building = getRobotAt(target);
+		if(building != null && building.type.isBuilding()) building.dirtCarrying--;
+		else elevation[target.x][target.y]--;
+		self.dirtCarrying++;
+		self.cooldownTurns += self.type.actionCooldown;
+	}
+
+	boolean canDepositDirt(SimulatedRobot self, Direction direction) {
+		if(self.type != RobotType.LANDSCAPER || !canAct(self) || self.dirtCarrying == 0) return false;
+		return onTheMap(target(self, direction));
+	}
+
+	void depositDirt(SimulatedRobot self, Direction direction) throws GameActionException {
+		require(canDepositDirt(self, direction), GameActionExceptionType.CANT_DO_THAT, "Cannot deposit dirt " + direction);
+		MapLocation target = target(self, direction);
+		SimulatedRobot building = getRobotAt(target);
+		self.dirtCarrying--;
+		self.cooldownTurns += self.type.actionCooldown;
+		if(building != null && building.type.isBuilding()) {
+			building.dirtCarrying++;
+			if(building.type.dirtLimit > 0 && building.dirtCarrying >= building.type.dirtLimit) killRobot(building);
+		} else {
+			elevation[target.x][target.y]++;
+		}
+	}
+
+	boolean canPickUpUnit(SimulatedRobot self, int id) {
+		if(self.type != RobotType.DELIVERY_DRONE || !canAct(self) || self.heldRobot != null) return false;
+		SimulatedRobot target = getRobot(id);
+		return target != null && target != self && !target.held && target.type.canBePickedUp()
+				&& self.location.distanceSquaredTo(target.location) <= GameConstants.DELIVERY_DRONE_PICKUP_RADIUS_SQUARED;
+	}
+
+	void pickUpUnit(SimulatedRobot self, int id) throws GameActionException {
+		require(canPickUpUnit(self, id), GameActionExceptionType.CANT_DO_THAT, "Cannot pick up " + id);
+		SimulatedRobot target = getRobot(id);
+		robotAt[target.location.x][target.location.y] = null;
+		target.held = true;
+		target.location = self.location;
+		self.heldRobot = target;
+		self.cooldownTurns += self.type.actionCooldown;
+	}
+
+	boolean canDropUnit(SimulatedRobot self, Direction direction) {
+		if(self.heldRobot == null || !canAct(self) || direction == Direction.CENTER) return false;
+		MapLocation target = target(self, direction);
+		return onTheMap(target) && getRobotAt(target) == null;
+	}
+
+	void dropUnit(SimulatedRobot self, Direction direction) throws GameActionException {
+		require(canDropUnit(self, direction), GameActionExceptionType.CANT_DO_THAT, "Cannot drop " + direction);
+		MapLocation target = target(self, direction);
+		SimulatedRobot cargo = self.heldRobot;
+		self.heldRobot = null;
+		cargo.held = false;
+		cargo.location = target;
+		robotAt[target.x][target.y] = cargo;
+		self.cooldownTurns += self.type.actionCooldown;
+	}
+
+	boolean canShootUnit(SimulatedRobot self, int id) {
+		if(!self.type.canShoot() || !canAct(self)) return false;
+		SimulatedRobot target = getRobot(id);
+		return target != null && target.team != self.team && target.type == RobotType.DELIVERY_DRONE
+				&& self.location.distanceSquaredTo(target.location) <= GameConstants.NET_GUN_SHOOT_RADIUS_SQUARED;
+	}
+
+	void shootUnit(SimulatedRobot self, int id) throws GameActionException {
+		require(canShootUnit(self, id), GameActionExceptionType.CANT_DO_THAT, "Cannot shoot " + id);
+		self.cooldownTurns += self.type.actionCooldown;
+		killRobot(getRobot(id));
+	}
+
+	void resign(SimulatedRobot self) {
+		if(winner == null) winner = self.team.opponent();
+	}
+
+	//BLOCKCHAIN
+	boolean canSubmitTransaction(SimulatedRobot self, int[] message, int cost) {
+		return message != null && message.length <= GameConstants.MAX_BLOCKCHAIN_TRANSACTION_LENGTH && cost > 0 && teamSoup[self.team.ordinal()] >= cost;
+	}
+
+	void submitTransaction(SimulatedRobot self, int[] message, int cost) throws GameActionException {
+		require(canSubmitTransaction(self, message, cost), GameActionExceptionType.NOT_ENOUGH_RESOURCE, "Cannot submit transaction for " + cost);
+		teamSoup[self.team.ordinal()] -= cost;
+		transactionPool.add(new Transaction(cost, message.clone(), transactionsSubmitted++));
+	}
+
+	Transaction[] getBlock(int blockRound) throws GameActionException {
+		require(blockRound >= 1 && blockRound < round, GameActionExceptionType.CANT_DO_THAT, "Block " + blockRound + " has not been mined");
+		return blocks.get(blockRound).clone();
+	}
+
+	private static void require(boolean condition, GameActionExceptionType type, String message) throws GameActionException {
+		if(!condition) throw new GameActionException(type, message);
+	}
+
+	//STATUS
+	public int getRound() {
+		return round;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getTeamSoup(Team team) {
+		return teamSoup[team.ordinal()];
+	}
+
+	public Team getWinner() {
+		return winner;
+	}
+
+	public long getRobotTurns() {
+		return robotTurns;
+	}
+
+	public int countRobots(Team team, RobotType type) {
+		int count = 0;
+		for(SimulatedRobot robot : robots) {
+			if(robot.alive && robot.team == team && robot.type == type) count++;
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,46 @@
+package simulator;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+
+/**
+ * Plays a match in the simulator and prints a summary.
+ * Usage: SimulatorMain <map file> <team A package> <team B package> [rounds]
+ */
+public class SimulatorMain {
+
+	public static void main(String[] args) throws Exception {
+		if(args.length < 3) {
+			System.err.println("Usage: SimulatorMain <map file> <team A package> <team B package> [rounds]");
+			System.exit(1);
+		}
+
+		Path mapFile = Paths.get(args[0]);
+		int maxRounds = args.length > 3 ? Integer.parseInt(args[3]) : Integer.MAX_VALUE;
+		ClassLoader parent = SimulatorMain.class.getClassLoader();
+		SimulatedWorld world = TextMap.load(mapFile, new PlayerClasses(args[1], parent, null), new PlayerClasses(args[2], parent, null));
+
+		long start = System.nanoTime();
+		while(!world.isOver() && world.getRound() < maxRounds) {
+			world.runRound();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		world.shutdown();
+
+		System.out.println("Map " + mapFile.getFileName() + ": " + args[1] + " (A) vs " + args[2] + " (B)");
+		System.out.println("Winner: " + (world.getWinner() == null ? "none" : world.getWinner()) + " after " + world.getRound() + " rounds");
+		System.out.printf("%d robot turns in %.2fs (%.0f turns/s)%n", world.getRobotTurns(), seconds, world.getRobotTurns() / seconds);
+		for(Team team : new Team[] {Team.A, Team.B}) {
+			StringBuilder summary = new StringBuilder(team + ": soup=" + world.getTeamSoup(team));
+			for(RobotType type : RobotType.values()) {
+				int count = world.countRobots(team, type);
+				if(count > 0) summary.append(' ').append(type).append('=').append(count);
+			}
+			System.out.println(summary);
+		}
+	}
+
+}
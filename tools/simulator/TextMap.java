@@ -0,0 +1,90 @@
+package simulator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import battlecode.common.MapLocation;
+import battlecode.common.RobotType;
+import battlecode.common.Team;
+
+/**
+ * Reads maps written in a plain text format:
+ *
+ * <pre>
+ * # Lines starting with '#' are comments.
+ * size 32 32
+ * elevation
+ * 3 3 3 ...          (one row per line, the first row is the top of the map)
+ * soup               (optional, laid out like elevation)
+ * 0 0 200 ...
+ * water              (optional, '~' for water and '.' for land)
+ * ~ ~ . ...
+ * robot HQ A 5 5
+ * robot HQ B 26 26
+ * </pre>
+ */
+public class TextMap {
+
+	public static SimulatedWorld load(Path file, PlayerClasses teamA, PlayerClasses teamB) throws IOException {
+		List<String> lines = new ArrayList<>();
+		for(String line : Files.readAllLines(file)) {
+			line = line.trim();
+			if(!line.isEmpty() && !line.startsWith("#")) lines.add(line);
+		}
+
+		SimulatedWorld world = null;
+		int width = 0, height = 0;
+		for(int i = 0; i < lines.size(); i++) {
+			String[] tokens = lines.get(i).split("\\s+");
+			switch(tokens[0]) {
+				case "size":
+					width = Integer.parseInt(tokens[1]);
+					height = Integer.parseInt(tokens[2]);
+					world = new SimulatedWorld(width, height);
+					world.setPlayer(Team.A, teamA);
+					world.setPlayer(Team.B, teamB);
+					break;
+				case "elevation":
+				case "soup":
+				case "water":
+					if(world == null) throw new IOException(file + ": '" + tokens[0] + "' before 'size'");
+					readGrid(file, world, tokens[0], lines, i + 1, width, height);
+					i += height;
+					break;
+				case "robot":
+					if(world == null) throw new IOException(file + ": 'robot' before 'size'");
+					RobotType type = RobotType.valueOf(tokens[1]);
+					Team team = Team.valueOf(tokens[2]);
+					world.spawn(type, team, new MapLocation(Integer.parseInt(tokens[3]), Integer.parseInt(tokens[4])));
+					break;
+				default:
+					throw new IOException(file + ": unknown section '" + tokens[0] + "'");
+			}
+		}
+
+		if(world == null) throw new IOException(file + ": missing 'size'");
+		return world;
+	}
+
+	private static void readGrid(Path file, SimulatedWorld world, String layer, List<String> lines, int start, int width, int height) throws IOException {
+		if(start + height > lines.size()) throw new IOException(file + ": '" + layer + "' needs " + height + " rows");
+
+		for(int row = 0; row < height; row++) {
+			String[] cells = lines.get(start + row).split("\\s+");
+			if(cells.length != width) throw new IOException(file + ": '" + layer + "' row " + row + " has " + cells.length + " cells, expected " + width);
+
+			int y = height - 1 - row;
+			for(int x = 0; x < width; x++) {
+				switch(layer) {
+					case "elevation": world.setElevation(x, y, Integer.parseInt(cells[x])); break;
+					case "soup":      world.setSoup(x, y, Integer.parseInt(cells[x]));      break;
+					case "water":     world.setFlooded(x, y, cells[x].equals("~"));         break;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,274 @@
+package tournament;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plays every pair of players against each other on every map, from both sides, with each match in its own engine JVM.
+ * Matches use the same engine properties as the run task and run on a pool of workers, one per core by default. Each match's engine output and replay are kept, and a win-rate matrix and per-match durations are printed at the end.
+ *
+ * Usage: TournamentRunner key=value ...
+ *   engineClasspath  Classpath of the engine, as the run task uses it (required)
+ *   classLocation    Where the compiled players are (required)
+ *   players          Comma separated player packages (required)
+ *   maps             Comma separated map names (required)
+ *   workers          Matches to run at once (default: available processors)
+ *   timeoutMinutes   Minutes before a match is abandoned (default: 10)
+ *   out              Directory for logs, replays and the report (default: build/tournament)
+ */
+public class TournamentRunner {
+
+	private static final Pattern WINNER = Pattern.compile("\\((A|B)\\) wins");
+	private static final int DEFAULT_TIMEOUT_MINUTES = 10;
+
+	/**
+	 * One match and, once played, its outcome.
+	 */
+	static class Match {
+		final String teamA;
+		final String teamB;
+		final String map;
+		String winner; //The winning player, or null if the match did not finish
+		String failure;
+		long millis;
+
+		Match(String teamA, String teamB, String map) {
+			this.teamA = teamA;
+			this.teamB = teamB;
+			this.map = map;
+		}
+
+		String getName() {
+			return teamA + "-vs-" + teamB + "-on-" + map;
+		}
+	}
+
+	private final String engineClasspath;
+	private final String classLocation;
+	private final Path outputDirectory;
+	private final long timeoutMinutes;
+
+	public TournamentRunner(String engineClasspath, String classLocation, Path outputDirectory, long timeoutMinutes) {
+		this.engineClasspath = engineClasspath;
+		this.classLocation = classLocation;
+		this.outputDirectory = outputDirectory;
+		this.timeoutMinutes = timeoutMinutes;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for(String arg : args) {
+			int split = arg.indexOf('=');
+			if(split < 0) usage("Expected key=value, got '" + arg + "'");
+			options.put(arg.substring(0, split), arg.substring(split + 1));
+		}
+		for(String required : new String[] {"engineClasspath", "classLocation", "players", "maps"}) {
+			if(!options.containsKey(required)) usage("Missing " + required);
+		}
+
+		List<String> players = split(options.get("players"));
+		List<String> maps = split(options.get("maps"));
+		int workers = options.containsKey("workers") ? Integer.parseInt(options.get("workers")) : Runtime.getRuntime().availableProcessors();
+		long timeoutMinutes = options.containsKey("timeoutMinutes") ? Long.parseLong(options.get("timeoutMinutes")) : DEFAULT_TIMEOUT_MINUTES;
+		Path out = Paths.get(options.getOrDefault("out", "build/tournament"));
+
+		List<Match> matches = new ArrayList<>();
+		for(int i = 0; i < players.size(); i++) {
+			for(int j = i + 1; j < players.size(); j++) {
+				for(String map : maps) {
+					//Both sides, so that neither player keeps an advantage from its spawn.
+					matches.add(new Match(players.get(i), players.get(j), map));
+					matches.add(new Match(players.get(j), players.get(i), map));
+				}
+			}
+		}
+
+		TournamentRunner runner = new TournamentRunner(options.get("engineClasspath"), options.get("classLocation"), out, timeoutMinutes);
+		System.out.println("Playing " + matches.size() + " matches on " + workers + " workers");
+		long start = System.nanoTime();
+		runner.playAll(matches, workers);
+		long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+
+		try(PrintStream report = new PrintStream(out.resolve("report.txt").toFile(), "UTF-8")) {
+			for(PrintStream stream : new PrintStream[] {System.out, report}) {
+				stream.println();
+				printMatches(stream, matches);
+				stream.println();
+				printWinRates(stream, players, matches);
+				stream.println();
+				stream.println(matches.size() + " matches in " + seconds + "s");
+			}
+		}
+	}
+
+	private static void usage(String problem) {
+		System.err.println(problem);
+		System.err.println("Usage: TournamentRunner engineClasspath=<classpath> classLocation=<dir> players=<a,b,...> maps=<m,n,...> [workers=<n>] [timeoutMinutes=<n>] [out=<dir>]");
+		System.exit(1);
+	}
+
+	private static List<String> split(String list) {
+		List<String> values = new ArrayList<>();
+		for(String value : list.split(",")) {
+			if(!value.trim().isEmpty()) values.add(value.trim());
+		}
+		return values;
+	}
+
+	public void playAll(List<Match> matches, int workers) throws Exception {
+		Files.createDirectories(outputDirectory.resolve("logs"));
+		Files.createDirectories(outputDirectory.resolve("replays"));
+
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for(Match match : matches) {
+				results.add(pool.submit(() -> {
+					play(match);
+					synchronized(System.out) {
+						System.out.println(describe(match));
+					}
+				}));
+			}
+			for(Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Plays one match in a new engine JVM, with the same engine properties as the run task. The
+	 * engine output, robot prints included, goes to the match log.
+	 * @param match
+	 */
+	void play(Match match) {
+		Path log = outputDirectory.resolve("logs").resolve(match.getName() + ".txt");
+		Path replay = outputDirectory.resolve("replays").resolve(match.getName() + ".bc20");
+		String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+		ProcessBuilder builder = new ProcessBuilder(Arrays.asList(
+			java,
+			"-Dbc.server.mode=headless",
+			"-Dbc.server.map-path=maps",
+			"-Dbc.server.debug=true",
+			"-Dbc.engine.debug-methods=true",
+			"-Dbc.game.team-a=" + match.teamA,
+			"-Dbc.game.team-b=" + match.teamB,
+			"-Dbc.game.team-a.url=" + classLocation,
+			"-Dbc.game.team-b.url=" + classLocation,
+			"-Dbc.game.maps=" + match.map,
+			"-Dbc.server.save-file=" + replay,
+			"-cp", engineClasspath,
+			"battlecode.server.Main",
+			"-c=-"));
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(log.toFile());
+
+		long start = System.nanoTime();
+		try {
+			Process process = builder.start();
+			if(!process.waitFor(timeoutMinutes, TimeUnit.MINUTES)) {
+				process.destroyForcibly();
+				match.failure = "timed out";
+			} else if(process.exitValue() != 0) {
+				match.failure = "exit code " + process.exitValue();
+			} else {
+				match.winner = findWinner(match, log);
+				if(match.winner == null) match.failure = "no winner in log";
+			}
+		} catch(IOException e) {
+			match.failure = e.toString();
+		} catch(InterruptedException e) {
+			match.failure = "interrupted";
+			Thread.currentThread().interrupt();
+		}
+		match.millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	private static String findWinner(Match match, Path log) throws IOException {
+		for(String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+			Matcher matcher = WINNER.matcher(line);
+			if(matcher.find()) return matcher.group(1).equals("A") ? match.teamA : match.teamB;
+		}
+		return null;
+	}
+
+	private static String describe(Match match) {
+		String outcome = match.winner != null ? match.winner + " wins" : "FAILED (" + match.failure + ")";
+		return String.format("%-60s %-30s %6.1fs", match.getName(), outcome, match.millis / 1000.0);
+	}
+
+	private static void printMatches(PrintStream out, List<Match> matches) {
+		out.println("Matches:");
+		for(Match match : matches) {
+			out.println("  " + describe(match));
+		}
+	}
+
+	/**
+	 * Prints the share of finished matches each row player won against each column player.
+	 */
+	private static void printWinRates(PrintStream out, List<String> players, List<Match> matches) {
+		int n = players.size();
+		int[][] wins = new int[n][n];
+		int[][] played = new int[n][n];
+		for(Match match : matches) {
+			if(match.winner == null) continue;
+			int a = players.indexOf(match.teamA);
+			int b = players.indexOf(match.teamB);
+			played[a][b]++;
+			played[b][a]++;
+			if(match.winner.equals(match.teamA)) wins[a][b]++;
+			else wins[b][a]++;
+		}
+
+		int width = 6;
+		for(String player : players) {
+			width = Math.max(width, player.length() + 1);
+		}
+
+		out.println("Win rate of row against column:");
+		StringBuilder header = new StringBuilder(String.format("%-" + width + "s", ""));
+		for(String player : players) {
+			header.append(String.format("%" + width + "s", player));
+		}
+		header.append(String.format("%" + width + "s", "total"));
+		out.println(header);
+
+		for(int row = 0; row < n; row++) {
+			StringBuilder line = new StringBuilder(String.format("%-" + width + "s", players.get(row)));
+			int totalWins = 0;
+			int totalPlayed = 0;
+			for(int column = 0; column < n; column++) {
+				totalWins += wins[row][column];
+				totalPlayed += played[row][column];
+				line.append(String.format("%" + width + "s", row == column || played[row][column] == 0 ? "-" : formatRate(wins[row][column], played[row][column])));
+			}
+			line.append(String.format("%" + width + "s", totalPlayed == 0 ? "-" : formatRate(totalWins, totalPlayed)));
+			out.println(line);
+		}
+	}
+
+	private static String formatRate(int wins, int played) {
+		return Math.round(100.0 * wins / played) + "%";
+	}
+
+}